@@ -1,6 +1,7 @@
 -- Tiny Platform 数据字典模块数据库表结构
 -- 创建时间: 2025-01-XX
 -- 说明: 数据字典核心表结构，支持多租户和平台字典
+-- 升级: 已有库从旧版结构升级见 dict-upgrade-delta-versions.sql
 
 -- ============================================
 -- 1. 字典类型表
@@ -22,7 +23,8 @@ CREATE TABLE IF NOT EXISTS dict_type (
     INDEX idx_tenant_id (tenant_id),
     INDEX idx_dict_code (dict_code),
     INDEX idx_category_id (category_id),
-    INDEX idx_enabled (enabled)
+    INDEX idx_enabled (enabled),
+    INDEX idx_tenant_id_id (tenant_id, id) COMMENT '管理端按租户分页（id 游标）'
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='字典类型表';
 
 -- ============================================
@@ -48,6 +50,7 @@ CREATE TABLE IF NOT EXISTS dict_item (
     INDEX idx_value (value),
     INDEX idx_enabled (enabled),
     INDEX idx_sort_order (sort_order),
+    INDEX idx_type_tenant_sort (dict_type_id, tenant_id, sort_order, id) COMMENT '管理端按字典类型分页（sort_order, id 游标）',
     FOREIGN KEY (dict_type_id) REFERENCES dict_type(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='字典项表';
 
@@ -91,10 +94,14 @@ CREATE TABLE IF NOT EXISTS dict_version (
     dict_code VARCHAR(64) NOT NULL COMMENT '字典编码',
     version VARCHAR(32) NOT NULL COMMENT '版本号，如 1.0.0',
     tenant_id BIGINT DEFAULT 0 COMMENT '租户ID',
+    version_no INT NOT NULL COMMENT '版本序号，同一字典同一租户内从1递增',
+    checkpoint BOOLEAN NOT NULL DEFAULT TRUE COMMENT '是否为检查点（全量快照），否则只保存差异',
+    base_version_no INT NOT NULL COMMENT '最近检查点的版本序号',
     description VARCHAR(255) COMMENT '版本描述',
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     created_by VARCHAR(64) COMMENT '创建人',
     UNIQUE KEY uk_dict_version_tenant (dict_code, version, tenant_id),
+    UNIQUE KEY uk_dict_version_no (dict_code, tenant_id, version_no),
     INDEX idx_dict_code (dict_code),
     INDEX idx_tenant_id (tenant_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='字典版本表';
@@ -106,6 +113,8 @@ CREATE TABLE IF NOT EXISTS dict_item_version_snapshot (
     id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '主键ID',
     dict_version_id BIGINT NOT NULL COMMENT '字典版本ID',
     dict_item_id BIGINT COMMENT '字典项ID（可为NULL，表示已删除）',
+    tenant_id BIGINT NOT NULL DEFAULT 0 COMMENT '字典项所属租户ID',
+    change_type VARCHAR(16) NOT NULL DEFAULT 'UPSERT' COMMENT '变更类型：UPSERT（新增/变更，检查点全部为UPSERT）, REMOVE（删除）',
     value VARCHAR(64) NOT NULL COMMENT '字典值',
     label VARCHAR(128) NOT NULL COMMENT '字典标签',
     sort_order INT DEFAULT 0 COMMENT '排序顺序',
@@ -138,7 +147,20 @@ CREATE TABLE IF NOT EXISTS dict_audit_log (
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='字典审计日志表';
 
 -- ============================================
--- 8. 初始化平台字典数据（示例）
+-- 8. 字典变更日志表（用于客户端增量同步）
+-- ============================================
+CREATE TABLE IF NOT EXISTS dict_change_log (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '主键ID，即变更版本号（单调递增）',
+    dict_code VARCHAR(64) NOT NULL COMMENT '字典编码',
+    tenant_id BIGINT NOT NULL DEFAULT 0 COMMENT '租户ID，0表示平台字典变更（影响所有租户）',
+    value VARCHAR(64) NOT NULL COMMENT '变化的字典值',
+    change_type VARCHAR(16) NOT NULL COMMENT '变更类型：CREATE, UPDATE, DELETE',
+    changed_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '变更时间',
+    INDEX idx_dict_tenant_id (dict_code, tenant_id, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='字典变更日志表';
+
+-- ============================================
+-- 9. 初始化平台字典数据（示例）
 -- ============================================
 -- 插入性别字典类型
 INSERT INTO dict_type (dict_code, dict_name, description, tenant_id, enabled, sort_order) 
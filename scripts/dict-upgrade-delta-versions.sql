@@ -0,0 +1,47 @@
+-- Tiny Platform 数据字典模块升级脚本：版本存储改为「检查点 + 差异」
+-- 说明: 已按旧版 dict-schema.sql 建表的库执行一次（新库直接执行 dict-schema.sql 即可）。
+--       旧版本都保存全量字典项，升级后均视为检查点；version_no 由版本号 1.0.N 推出（N + 1），
+--       与新代码的版本号生成规则一致。
+
+-- ============================================
+-- 1. dict_version：新增列（先允许 NULL，回填后再收紧）
+-- ============================================
+ALTER TABLE dict_version
+    ADD COLUMN version_no INT NULL COMMENT '版本序号，同一字典同一租户内从1递增' AFTER tenant_id,
+    ADD COLUMN checkpoint BOOLEAN NOT NULL DEFAULT TRUE COMMENT '是否为检查点（全量快照），否则只保存差异' AFTER version_no,
+    ADD COLUMN base_version_no INT NULL COMMENT '最近检查点的版本序号' AFTER checkpoint;
+
+UPDATE dict_version
+SET version_no = CAST(SUBSTRING_INDEX(version, '.', -1) AS UNSIGNED) + 1,
+    checkpoint = TRUE;
+
+UPDATE dict_version SET base_version_no = version_no;
+
+ALTER TABLE dict_version
+    MODIFY COLUMN version_no INT NOT NULL COMMENT '版本序号，同一字典同一租户内从1递增',
+    MODIFY COLUMN base_version_no INT NOT NULL COMMENT '最近检查点的版本序号',
+    ADD UNIQUE KEY uk_dict_version_no (dict_code, tenant_id, version_no);
+
+-- ============================================
+-- 2. dict_item_version_snapshot：新增列并回填字典项所属租户
+-- ============================================
+ALTER TABLE dict_item_version_snapshot
+    ADD COLUMN tenant_id BIGINT NOT NULL DEFAULT 0 COMMENT '字典项所属租户ID' AFTER dict_item_id,
+    ADD COLUMN change_type VARCHAR(16) NOT NULL DEFAULT 'UPSERT' COMMENT '变更类型：UPSERT（新增/变更，检查点全部为UPSERT）, REMOVE（删除）' AFTER tenant_id;
+
+-- 字典项仍存在：取字典项的租户
+UPDATE dict_item_version_snapshot s
+JOIN dict_item i ON i.id = s.dict_item_id
+SET s.tenant_id = i.tenant_id;
+
+-- 字典项已删除：同一字典下存在同值的平台字典项时视为平台字典项，否则归属版本所在租户
+UPDATE dict_item_version_snapshot s
+JOIN dict_version v ON v.id = s.dict_version_id
+LEFT JOIN dict_item i ON i.id = s.dict_item_id
+SET s.tenant_id = CASE
+        WHEN EXISTS (SELECT 1 FROM dict_type t
+                     JOIN dict_item p ON p.dict_type_id = t.id AND p.tenant_id = 0
+                     WHERE t.dict_code = v.dict_code AND p.value = s.value) THEN 0
+        ELSE COALESCE(v.tenant_id, 0)
+    END
+WHERE i.id IS NULL;
@@ -0,0 +1,210 @@
+package com.tiny.core.dict.benchmark;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 运行字典基准测试并与基线对比
+ *
+ * <p>基线文件每行一条结果：{@code 基准名[参数]\t分数\t单位[\t容差]}，以 # 开头的行为注释。
+ * 分数单位为 xx/op（耗时）时越小越好，否则（吞吐）越大越好；
+ * 任一结果比基线差超过容差时以退出码 1 结束。容差取该行第四列，没有时取全局容差
+ * （默认 25%，{@code -Dtiny.benchmark.tolerance=0.25}）。
+ * 基线文件不存在或没有一条结果能与基线对比时同样失败，不会把全部结果当作新增而通过。
+ *
+ * <p>默认基线为本模块目录下的 baseline.tsv（按 benchmarks.jar 所在的 target 目录定位，与工作目录无关）。
+ * 线程数超过本机 CPU 数的基准（并发读、读取期间刷新）测到的主要是时间片轮转，波动远大于单线程基准，
+ * {@code --update} 时以 {@value #OVERSUBSCRIBED_TOLERANCE} 的容差写入基线，只拦截成倍的退化。
+ *
+ * <p>运行方式：
+ * <pre>
+ * mvn -pl tiny-core-dict-benchmark -am package -DskipTests
+ * java -jar tiny-core-dict-benchmark/target/benchmarks.jar                    # 对比 baseline.tsv
+ * java -jar tiny-core-dict-benchmark/target/benchmarks.jar --update           # 重新生成基线
+ * java -jar tiny-core-dict-benchmark/target/benchmarks.jar DictRuntime -f 1   # 其余参数交给 JMH
+ * </pre>
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public final class DictBenchmarkBaseline {
+
+    private static final String BASELINE_FILE = "baseline.tsv";
+    private static final String DEFAULT_INCLUDE = DictBenchmarkBaseline.class.getPackageName() + ".*Benchmark";
+
+    /**
+     * 线程数超过 CPU 数的基准写入基线时的容差
+     */
+    static final double OVERSUBSCRIBED_TOLERANCE = 1.0;
+
+    private DictBenchmarkBaseline() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path baselineFile = defaultBaseline();
+        boolean update = false;
+        List<String> jmhArgs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--update".equals(args[i])) {
+                update = true;
+            } else if ("--baseline".equals(args[i]) && i + 1 < args.length) {
+                baselineFile = Path.of(args[++i]);
+            } else {
+                jmhArgs.add(args[i]);
+            }
+        }
+        double tolerance = Double.parseDouble(System.getProperty("tiny.benchmark.tolerance", "0.25"));
+        if (!update && !Files.isRegularFile(baselineFile)) {
+            System.out.printf("基线文件不存在: %s（先用 --update 生成，或用 --baseline 指定）%n", baselineFile);
+            System.exit(2);
+        }
+
+        CommandLineOptions commandLine = new CommandLineOptions(jmhArgs.toArray(new String[0]));
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(DEFAULT_INCLUDE);
+        }
+        Map<String, Score> results = toScores(new Runner(options.build()).run());
+
+        if (update) {
+            write(baselineFile, results);
+            System.out.printf("基线已写入 %s（%d 条）%n", baselineFile, results.size());
+            return;
+        }
+        Map<String, Score> baseline = read(baselineFile);
+        if (results.keySet().stream().noneMatch(baseline::containsKey)) {
+            System.out.printf("没有结果能与基线 %s 对比%n", baselineFile);
+            System.exit(1);
+        }
+        int regressions = compare(baseline, results, tolerance);
+        if (regressions > 0) {
+            System.out.printf("%d 项结果比基线差超过容差（全局容差 %.0f%%）%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 本模块目录下的基线文件：benchmarks.jar（或 classes 目录）位于 &lt;模块&gt;/target 下
+     */
+    static Path defaultBaseline() {
+        try {
+            Path location = Path.of(DictBenchmarkBaseline.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            Path target = location.getParent();
+            if (target != null && target.getParent() != null) {
+                return target.getParent().resolve(BASELINE_FILE);
+            }
+        } catch (URISyntaxException | RuntimeException ignored) {
+            // 无法定位代码位置时退回工作目录
+        }
+        return Path.of(BASELINE_FILE);
+    }
+
+    /**
+     * 结果分数，tolerance 为该项自己的容差（null 表示使用全局容差）
+     */
+    record Score(double value, String unit, Double tolerance) {
+
+        boolean lowerIsBetter() {
+            return unit.endsWith("/op");
+        }
+
+        /**
+         * 相对基线变差的比例，负数表示变好
+         */
+        double regressionFrom(Score baseline) {
+            double change = (value - baseline.value()) / baseline.value();
+            return lowerIsBetter() ? change : -change;
+        }
+    }
+
+    private static Map<String, Score> toScores(Collection<RunResult> runResults) {
+        Map<String, Score> scores = new TreeMap<>();
+        int cpus = Runtime.getRuntime().availableProcessors();
+        for (RunResult runResult : runResults) {
+            String name = runResult.getParams().getBenchmark();
+            name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+            int threads = runResult.getParams().getThreads();
+            Double tolerance = threads > cpus ? OVERSUBSCRIBED_TOLERANCE : null;
+            StringBuilder key = new StringBuilder(name);
+            Collection<String> paramKeys = runResult.getParams().getParamsKeys();
+            if (!paramKeys.isEmpty()) {
+                List<String> params = new ArrayList<>();
+                for (String paramKey : paramKeys) {
+                    params.add(paramKey + "=" + runResult.getParams().getParam(paramKey));
+                }
+                key.append('[').append(String.join(",", params)).append(']');
+            }
+            scores.put(key.toString(), toScore(runResult.getPrimaryResult(), tolerance));
+            // 分组基准（如读取期间刷新）的各线程组结果
+            runResult.getSecondaryResults()
+                .forEach((label, result) -> scores.put(key + ":" + label, toScore(result, tolerance)));
+        }
+        return scores;
+    }
+
+    private static Score toScore(Result<?> result, Double tolerance) {
+        return new Score(result.getScore(), result.getScoreUnit(), tolerance);
+    }
+
+    private static int compare(Map<String, Score> baseline, Map<String, Score> results, double tolerance) {
+        int regressions = 0;
+        System.out.printf("%-70s %12s %12s %8s%n", "基准", "基线", "本次", "变化");
+        for (Map.Entry<String, Score> entry : results.entrySet()) {
+            Score current = entry.getValue();
+            Score expected = baseline.get(entry.getKey());
+            if (expected == null || !expected.unit().equals(current.unit())) {
+                System.out.printf("%-70s %12s %12.3f %8s%n", entry.getKey(), "-", current.value(), "新增");
+                continue;
+            }
+            double regression = current.regressionFrom(expected);
+            boolean failed = regression > (expected.tolerance() != null ? expected.tolerance() : tolerance);
+            if (failed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %12.3f %12.3f %+7.1f%%%s%n", entry.getKey(), expected.value(), current.value(),
+                regression * 100, failed ? " 退化" : "");
+        }
+        return regressions;
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\t");
+            if (fields.length == 3 || fields.length == 4) {
+                Double tolerance = fields.length == 4 ? Double.valueOf(fields[3]) : null;
+                scores.put(fields[0], new Score(Double.parseDouble(fields[1]), fields[2], tolerance));
+            }
+        }
+        return scores;
+    }
+
+    private static void write(Path file, Map<String, Score> scores) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# 字典基准测试基线：java " + System.getProperty("java.version") + ", "
+            + System.getProperty("os.name") + " " + System.getProperty("os.arch") + ", "
+            + Runtime.getRuntime().availableProcessors() + " CPU");
+        scores.forEach((key, score) -> lines.add(key + "\t" + String.format(Locale.ROOT, "%.3f", score.value())
+            + "\t" + score.unit() + (score.tolerance() != null ? "\t" + score.tolerance() : "")));
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+}
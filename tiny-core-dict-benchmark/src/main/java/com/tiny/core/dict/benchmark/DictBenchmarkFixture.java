@@ -0,0 +1,111 @@
+package com.tiny.core.dict.benchmark;
+
+import com.tiny.core.dict.cache.memory.MemoryDictCacheManager;
+import com.tiny.core.dict.model.DictItem;
+import com.tiny.core.dict.model.DictType;
+import com.tiny.core.dict.runtime.DictRuntime;
+import com.tiny.core.dict.runtime.DictRuntimeImpl;
+
+import java.util.SplittableRandom;
+
+/**
+ * 基准测试数据
+ *
+ * <p>生成 dictCount 个平台字典（每个 valueCount 个值），约十分之一的 (租户, 字典) 带一个标签覆盖项，
+ * 并预先生成随机的查询序列，避免在测量中装箱、拼接字符串或生成随机数。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+final class DictBenchmarkFixture {
+
+    /**
+     * 查询序列长度（2 的幂，便于取模）
+     */
+    static final int LOOKUP_COUNT = 1 << 16;
+
+    private static final Long PLATFORM_TENANT_ID = 0L;
+
+    final int tenantCount;
+    final int dictCount;
+    final int valueCount;
+    final String[] dictCodes;
+    final String[][] values;
+
+    final InMemoryDictRepositories repositories = new InMemoryDictRepositories();
+    final MemoryDictCacheManager cacheManager;
+    final DictRuntime runtime;
+
+    final Long[] lookupTenants = new Long[LOOKUP_COUNT];
+    final int[] lookupDicts = new int[LOOKUP_COUNT];
+    final String[] lookupCodes = new String[LOOKUP_COUNT];
+    final String[] lookupValues = new String[LOOKUP_COUNT];
+
+    DictBenchmarkFixture(int tenantCount, int dictCount, int valueCount) {
+        this.tenantCount = tenantCount;
+        this.dictCount = dictCount;
+        this.valueCount = valueCount;
+        this.dictCodes = new String[dictCount];
+        this.values = new String[dictCount][valueCount];
+        this.cacheManager = new MemoryDictCacheManager(repositories.items(), repositories.types());
+        // 变更流不在读路径上，基准测试不需要
+        this.runtime = new DictRuntimeImpl(cacheManager, null);
+
+        for (int d = 0; d < dictCount; d++) {
+            dictCodes[d] = "DICT_CODE_" + d;
+            DictType type = new DictType();
+            type.setDictCode(dictCodes[d]);
+            type.setDictName(dictCodes[d]);
+            type.setTenantId(PLATFORM_TENANT_ID);
+            Long typeId = repositories.types().save(type).getId();
+            for (int v = 0; v < valueCount; v++) {
+                values[d][v] = "VALUE_" + v;
+                repositories.items().save(item(typeId, PLATFORM_TENANT_ID, values[d][v], "标签" + v, v));
+            }
+            for (long t = 1; t <= tenantCount; t++) {
+                if ((t + d) % 10 == 0) {
+                    repositories.items().save(item(typeId, t, values[d][0], "租户标签" + t, 0));
+                }
+            }
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            int d = random.nextInt(dictCount);
+            lookupTenants[i] = (long) (random.nextInt(tenantCount) + 1);
+            lookupDicts[i] = d;
+            lookupCodes[i] = dictCodes[d];
+            lookupValues[i] = values[d][random.nextInt(valueCount)];
+        }
+    }
+
+    /**
+     * 预热查询序列涉及的缓存，之后的查询都走命中路径
+     */
+    DictBenchmarkFixture warm() {
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            cacheManager.getDictCache(lookupCodes[i], lookupTenants[i]);
+        }
+        return this;
+    }
+
+    /**
+     * 第 index 个字典的前 count 个值
+     */
+    String[] firstValues(int index, int count) {
+        String[] result = new String[Math.min(count, valueCount)];
+        System.arraycopy(values[index], 0, result, 0, result.length);
+        return result;
+    }
+
+    private static DictItem item(Long typeId, Long tenantId, String value, String label, int sortOrder) {
+        DictItem item = new DictItem();
+        item.setDictTypeId(typeId);
+        item.setTenantId(tenantId);
+        item.setValue(value);
+        item.setLabel(label);
+        item.setEnabled(true);
+        item.setSortOrder(sortOrder);
+        return item;
+    }
+}
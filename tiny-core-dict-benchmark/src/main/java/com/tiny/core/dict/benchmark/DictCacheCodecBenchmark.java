@@ -0,0 +1,86 @@
+package com.tiny.core.dict.benchmark;
+
+import com.tiny.core.dict.cache.DictCache;
+import com.tiny.core.dict.cache.DictEtags;
+import com.tiny.core.dict.cache.redis.RedisConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 字典缓存序列化基准测试
+ *
+ * <p>测量 Redis 缓存使用的 Value 序列化器（{@link RedisConfig#createValueSerializer()}）
+ * 序列化、反序列化一个 {@link DictCache} 的开销，以及计算 ETag 的开销，按字典值个数变化。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DictCacheCodecBenchmark {
+
+    @Param({"10", "200", "2000"})
+    public int valueCount;
+
+    private RedisSerializer<Object> serializer;
+    private DictCache cache;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = RedisConfig.createValueSerializer();
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int v = 0; v < valueCount; v++) {
+            map.put("VALUE_" + v, "标签" + v);
+        }
+        cache = new DictCache(map, LocalDateTime.now());
+        serialized = serializer.serialize(cache);
+        if (!(serializer.deserialize(serialized) instanceof DictCache restored) || !map.equals(restored.getValueLabelMap())) {
+            throw new IllegalStateException("DictCache 序列化往返结果不一致");
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(cache);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(serialized);
+    }
+
+    @Benchmark
+    public String etag() {
+        return DictEtags.of(cache.getValueLabelMap());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(DictCacheCodecBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
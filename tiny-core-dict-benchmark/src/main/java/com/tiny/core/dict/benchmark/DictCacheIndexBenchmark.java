@@ -0,0 +1,120 @@
+package com.tiny.core.dict.benchmark;
+
+import com.tiny.core.dict.cache.DictCache;
+import com.tiny.core.dict.cache.memory.DictCacheIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 字典缓存索引基准测试
+ *
+ * <p>对比原嵌套结构 {@code Map<Long, Map<String, DictCache>>}（每次读取先 computeIfAbsent 外层 Map）
+ * 与 {@link DictCacheIndex} 的命中路径查询开销。
+ *
+ * <p>运行方式见 {@link DictBenchmarkBaseline}。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class DictCacheIndexBenchmark {
+
+    private static final int LOOKUP_COUNT = 1 << 16;
+
+    @Param({"1000", "20000"})
+    public int tenantCount;
+
+    @Param({"20", "100"})
+    public int dictCount;
+
+    private Map<Long, Map<String, DictCache>> nested;
+    private DictCacheIndex index;
+
+    private Long[] lookupTenants;
+    private String[] lookupCodes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DictCache shared = new DictCache(Map.of("MALE", "男", "FEMALE", "女"), LocalDateTime.now());
+        String[] codes = new String[dictCount];
+        for (int d = 0; d < dictCount; d++) {
+            codes[d] = "DICT_CODE_" + d;
+        }
+
+        nested = new ConcurrentHashMap<>();
+        index = new DictCacheIndex();
+        for (long t = 1; t <= tenantCount; t++) {
+            Map<String, DictCache> tenantCache = new ConcurrentHashMap<>();
+            for (String code : codes) {
+                tenantCache.put(code, shared);
+                index.computeIfAbsent(code, t, () -> shared);
+            }
+            nested.put(t, tenantCache);
+        }
+
+        // 预先生成查询序列，避免在测量中装箱或拼接字符串
+        SplittableRandom random = new SplittableRandom(42);
+        lookupTenants = new Long[LOOKUP_COUNT];
+        lookupCodes = new String[LOOKUP_COUNT];
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            lookupTenants[i] = (long) (random.nextInt(tenantCount) + 1);
+            lookupCodes[i] = codes[random.nextInt(dictCount)];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            next = (next + 1) & (LOOKUP_COUNT - 1);
+            return next;
+        }
+    }
+
+    @Benchmark
+    public DictCache nestedMap(Cursor cursor) {
+        int i = cursor.advance();
+        Long tenantId = lookupTenants[i];
+        nested.computeIfAbsent(tenantId, k -> new ConcurrentHashMap<>());
+        return nested.get(tenantId).get(lookupCodes[i]);
+    }
+
+    @Benchmark
+    public DictCache packedIndex(Cursor cursor) {
+        int i = cursor.advance();
+        return index.get(lookupCodes[i], lookupTenants[i]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(DictCacheIndexBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
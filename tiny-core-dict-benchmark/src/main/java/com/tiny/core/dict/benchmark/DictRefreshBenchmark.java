@@ -0,0 +1,97 @@
+package com.tiny.core.dict.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 读取期间刷新的基准测试
+ *
+ * <p>三个线程持续 getLabel，一个线程持续刷新缓存，观察刷新对读取延迟的影响以及刷新本身的耗时。
+ * {@code readOnly} 组只有读取线程，作为对照。
+ * <ul>
+ *   <li>platform：刷新平台字典（替换共享快照，所有租户随之生效）</li>
+ *   <li>tenant：刷新单个租户的覆盖层</li>
+ * </ul>
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DictRefreshBenchmark {
+
+    @Param({"platform", "tenant"})
+    public String refreshScope;
+
+    private DictBenchmarkFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new DictBenchmarkFixture(1000, 50, 20).warm();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            next = (next + 1) & (DictBenchmarkFixture.LOOKUP_COUNT - 1);
+            return next;
+        }
+    }
+
+    @Benchmark
+    @Group("refreshUnderRead")
+    @GroupThreads(3)
+    public String read(Cursor cursor) {
+        return lookup(cursor);
+    }
+
+    @Benchmark
+    @Group("refreshUnderRead")
+    @GroupThreads(1)
+    public void refresh(Cursor cursor) {
+        int i = cursor.advance();
+        Long tenantId = "platform".equals(refreshScope) ? 0L : fixture.lookupTenants[i];
+        fixture.cacheManager.refreshDictCache(fixture.lookupCodes[i], tenantId);
+    }
+
+    @Benchmark
+    @Group("readOnly")
+    @GroupThreads(3)
+    public String readOnly(Cursor cursor) {
+        return lookup(cursor);
+    }
+
+    private String lookup(Cursor cursor) {
+        int i = cursor.advance();
+        return fixture.runtime.getLabel(fixture.lookupCodes[i], fixture.lookupValues[i], fixture.lookupTenants[i]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(DictRefreshBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
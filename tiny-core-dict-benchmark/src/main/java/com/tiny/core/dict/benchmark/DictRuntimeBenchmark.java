@@ -0,0 +1,109 @@
+package com.tiny.core.dict.benchmark;
+
+import com.tiny.core.dict.cache.DictCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 字典运行时命中路径基准测试
+ *
+ * <p>覆盖 {@code MemoryDictCacheManager.getDictCache} 与 {@code DictRuntimeImpl} 的
+ * getLabel / getLabels / getDict，缓存全部预热，只测命中路径；按租户数和字典数两个维度变化。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DictRuntimeBenchmark {
+
+    /**
+     * getLabels 每次查询的值个数
+     */
+    private static final int BATCH_SIZE = 10;
+
+    @Param({"100", "10000"})
+    public int tenantCount;
+
+    @Param({"20", "200"})
+    public int dictCount;
+
+    private DictBenchmarkFixture fixture;
+
+    /**
+     * 每个字典一组 getLabels 的查询值
+     */
+    private List<List<String>> batches;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new DictBenchmarkFixture(tenantCount, dictCount, 20).warm();
+        batches = new ArrayList<>(dictCount);
+        for (int d = 0; d < dictCount; d++) {
+            batches.add(Arrays.asList(fixture.firstValues(d, BATCH_SIZE)));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int advance() {
+            next = (next + 1) & (DictBenchmarkFixture.LOOKUP_COUNT - 1);
+            return next;
+        }
+    }
+
+    @Benchmark
+    public DictCache getDictCache(Cursor cursor) {
+        int i = cursor.advance();
+        return fixture.cacheManager.getDictCache(fixture.lookupCodes[i], fixture.lookupTenants[i]);
+    }
+
+    @Benchmark
+    public String getLabel(Cursor cursor) {
+        int i = cursor.advance();
+        return fixture.runtime.getLabel(fixture.lookupCodes[i], fixture.lookupValues[i], fixture.lookupTenants[i]);
+    }
+
+    @Benchmark
+    public Map<String, String> getLabels(Cursor cursor) {
+        int i = cursor.advance();
+        return fixture.runtime.getLabels(fixture.lookupCodes[i], batches.get(fixture.lookupDicts[i]), fixture.lookupTenants[i]);
+    }
+
+    @Benchmark
+    public Map<String, String> getDict(Cursor cursor) {
+        int i = cursor.advance();
+        return fixture.runtime.getDict(fixture.lookupCodes[i], fixture.lookupTenants[i]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(DictRuntimeBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,150 @@
+package com.tiny.core.dict.benchmark;
+
+import com.tiny.core.dict.model.DictItem;
+import com.tiny.core.dict.model.DictType;
+import com.tiny.core.dict.repository.DictItemRepository;
+import com.tiny.core.dict.repository.DictTypeRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基准测试用的内存 Repository
+ *
+ * <p>代替数据库，让缓存加载只包含缓存自身的开销。只实现缓存加载和基准数据准备用到的方法。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+final class InMemoryDictRepositories {
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<String, DictType> typesByCode = new ConcurrentHashMap<>();
+
+    /**
+     * dictTypeId → tenantId → 字典项（按 sortOrder 排序）
+     */
+    private final Map<Long, Map<Long, List<DictItem>>> items = new ConcurrentHashMap<>();
+
+    private final DictTypeRepository typeRepository = new TypeRepository();
+    private final DictItemRepository itemRepository = new ItemRepository();
+
+    DictTypeRepository types() {
+        return typeRepository;
+    }
+
+    DictItemRepository items() {
+        return itemRepository;
+    }
+
+    private final class TypeRepository implements DictTypeRepository {
+
+        @Override
+        public Optional<DictType> findByDictCode(String dictCode) {
+            return Optional.ofNullable(typesByCode.get(dictCode));
+        }
+
+        @Override
+        public Optional<DictType> findByDictCodeAndTenantId(String dictCode, Long tenantId) {
+            return findByDictCode(dictCode).filter(type -> type.getTenantId().equals(tenantId));
+        }
+
+        @Override
+        public List<DictType> findByTenantIdIn(List<Long> tenantIds) {
+            return typesByCode.values().stream().filter(type -> tenantIds.contains(type.getTenantId())).toList();
+        }
+
+        @Override
+        public DictType save(DictType dictType) {
+            if (dictType.getId() == null) {
+                dictType.setId(ids.incrementAndGet());
+            }
+            typesByCode.put(dictType.getDictCode(), dictType);
+            return dictType;
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            typesByCode.values().removeIf(type -> type.getId().equals(id));
+        }
+
+        @Override
+        public Optional<DictType> findById(Long id) {
+            return typesByCode.values().stream().filter(type -> type.getId().equals(id)).findFirst();
+        }
+    }
+
+    private final class ItemRepository implements DictItemRepository {
+
+        @Override
+        public List<DictItem> findByDictTypeIdAndTenantIdInOrderBySortOrder(Long dictTypeId, List<Long> tenantIds) {
+            Map<Long, List<DictItem>> byTenant = items.getOrDefault(dictTypeId, Map.of());
+            List<DictItem> result = new ArrayList<>();
+            for (Long tenantId : tenantIds) {
+                result.addAll(byTenant.getOrDefault(tenantId, List.of()));
+            }
+            if (tenantIds.size() > 1) {
+                result.sort(Comparator.comparing(DictItem::getSortOrder));
+            }
+            return result;
+        }
+
+        @Override
+        public List<DictItem> findByDictTypeId(Long dictTypeId) {
+            List<DictItem> result = new ArrayList<>();
+            items.getOrDefault(dictTypeId, Map.of()).values().forEach(result::addAll);
+            return result;
+        }
+
+        @Override
+        public List<DictItem> findByDictTypeIdAndTenantId(Long dictTypeId, Long tenantId) {
+            return findByDictTypeIdAndTenantIdInOrderBySortOrder(dictTypeId, List.of(tenantId));
+        }
+
+        @Override
+        public Optional<DictItem> findByDictTypeIdAndValueAndTenantId(Long dictTypeId, String value, Long tenantId) {
+            return findByDictTypeIdAndTenantId(dictTypeId, tenantId).stream()
+                .filter(item -> item.getValue().equals(value))
+                .findFirst();
+        }
+
+        @Override
+        public DictItem save(DictItem dictItem) {
+            if (dictItem.getId() == null) {
+                dictItem.setId(ids.incrementAndGet());
+            }
+            List<DictItem> tenantItems = items
+                .computeIfAbsent(dictItem.getDictTypeId(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(dictItem.getTenantId(), k -> new ArrayList<>());
+            synchronized (tenantItems) {
+                tenantItems.removeIf(item -> item.getId().equals(dictItem.getId()));
+                tenantItems.add(dictItem);
+                tenantItems.sort(Comparator.comparing(DictItem::getSortOrder));
+            }
+            return dictItem;
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            items.values().forEach(byTenant -> byTenant.values().forEach(list -> {
+                synchronized (list) {
+                    list.removeIf(item -> item.getId().equals(id));
+                }
+            }));
+        }
+
+        @Override
+        public Optional<DictItem> findById(Long id) {
+            return items.values().stream()
+                .flatMap(byTenant -> byTenant.values().stream())
+                .flatMap(List::stream)
+                .filter(item -> item.getId().equals(id))
+                .findFirst();
+        }
+    }
+}
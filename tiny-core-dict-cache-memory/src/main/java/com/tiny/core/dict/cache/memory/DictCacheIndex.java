@@ -0,0 +1,148 @@
+package com.tiny.core.dict.cache.memory;
+
+import com.tiny.core.dict.cache.DictCache;
+import org.jctools.maps.NonBlockingHashMapLong;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 扁平化字典缓存索引
+ *
+ * <p>以 (tenantId, dictCode 编号) 拼接成的 long 作为 Key，存放在原生 long 键的并发 Map 中，
+ * 读路径只有一次 dictCode 编号查询和一次 long 哈希查找，不装箱、不创建租户级子 Map。
+ *
+ * <p>Key 布局：高 44 位为 tenantId，低 20 位为 dictCode 编号。
+ * 超出范围的 tenantId（负数或 ≥ 2^44）或编号，退化到以 {@code tenantId:dictCode} 为 Key 的普通 Map，
+ * 保证正确性不受影响。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public final class DictCacheIndex {
+
+    static final int CODE_BITS = 20;
+    static final int MAX_CODE_ID = (1 << CODE_BITS) - 1;
+    static final long MAX_TENANT_ID = (1L << (Long.SIZE - CODE_BITS)) - 1;
+
+    private final DictCodeRegistry codeRegistry;
+    private final NonBlockingHashMapLong<DictCache> index = new NonBlockingHashMapLong<>();
+    private final ConcurrentHashMap<String, DictCache> overflow = new ConcurrentHashMap<>();
+
+    public DictCacheIndex() {
+        this(new DictCodeRegistry());
+    }
+
+    public DictCacheIndex(DictCodeRegistry codeRegistry) {
+        this.codeRegistry = codeRegistry;
+    }
+
+    /**
+     * 查询缓存，不触发加载
+     *
+     * @param dictCode 字典编码
+     * @param tenantId 租户ID
+     * @return 字典缓存，不存在时返回 null
+     */
+    public DictCache get(String dictCode, Long tenantId) {
+        int codeId = codeRegistry.idOf(dictCode);
+        if (codeId == DictCodeRegistry.UNKNOWN) {
+            return null;
+        }
+        if (isPackable(codeId, tenantId)) {
+            return index.get(pack(tenantId, codeId));
+        }
+        return overflow.get(overflowKey(dictCode, tenantId));
+    }
+
+    /**
+     * 查询缓存，不存在时调用 loader 加载并放入索引
+     *
+     * <p>并发首次加载同一 Key 时 loader 可能被调用多次，以先写入者为准；
+     * 字典加载是幂等的，以此换取读路径无锁。
+     *
+     * @param dictCode 字典编码
+     * @param tenantId 租户ID
+     * @param loader   加载函数
+     * @return 字典缓存
+     */
+    public DictCache computeIfAbsent(String dictCode, Long tenantId, Supplier<DictCache> loader) {
+        DictCache cached = get(dictCode, tenantId);
+        if (cached != null) {
+            return cached;
+        }
+        int codeId = codeRegistry.intern(dictCode);
+        if (isPackable(codeId, tenantId)) {
+            DictCache loaded = loader.get();
+            DictCache existing = index.putIfAbsent(pack(tenantId, codeId), loaded);
+            return existing != null ? existing : loaded;
+        }
+        return overflow.computeIfAbsent(overflowKey(dictCode, tenantId), key -> loader.get());
+    }
+
+    /**
+     * 仅当缓存已存在时重新加载并替换
+     *
+     * <p>判断与替换是一个原子操作（computeIfPresent），并发 remove 之后不会把旧条目重新放回；
+     * 与并发替换冲突时 loader 可能被调用多次。
+     *
+     * @param dictCode 字典编码
+     * @param tenantId 租户ID
+     * @param loader   加载函数
+     * @return 是否执行了替换
+     */
+    public boolean replaceIfPresent(String dictCode, Long tenantId, Supplier<DictCache> loader) {
+        int codeId = codeRegistry.idOf(dictCode);
+        if (codeId == DictCodeRegistry.UNKNOWN) {
+            return false;
+        }
+        if (isPackable(codeId, tenantId)) {
+            return index.computeIfPresent(pack(tenantId, codeId), (key, old) -> loader.get()) != null;
+        }
+        return overflow.computeIfPresent(overflowKey(dictCode, tenantId), (key, old) -> loader.get()) != null;
+    }
+
+    /**
+     * 移除缓存
+     */
+    public void remove(String dictCode, Long tenantId) {
+        int codeId = codeRegistry.idOf(dictCode);
+        if (codeId == DictCodeRegistry.UNKNOWN) {
+            return;
+        }
+        if (isPackable(codeId, tenantId)) {
+            index.remove(pack(tenantId, codeId));
+        } else {
+            overflow.remove(overflowKey(dictCode, tenantId));
+        }
+    }
+
+    /**
+     * 清空所有缓存（保留 dictCode 编号）
+     */
+    public void clear() {
+        index.clear();
+        overflow.clear();
+    }
+
+    /**
+     * 当前缓存条目数
+     */
+    public int size() {
+        return index.size() + overflow.size();
+    }
+
+    static boolean isPackable(int codeId, Long tenantId) {
+        return tenantId != null
+            && tenantId >= 0 && tenantId <= MAX_TENANT_ID
+            && codeId <= MAX_CODE_ID;
+    }
+
+    static long pack(long tenantId, int codeId) {
+        return (tenantId << CODE_BITS) | codeId;
+    }
+
+    private static String overflowKey(String dictCode, Long tenantId) {
+        return tenantId + ":" + dictCode;
+    }
+}
@@ -0,0 +1,59 @@
+package com.tiny.core.dict.cache.memory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 字典编码驻留表
+ *
+ * <p>在字典加载时将 dictCode 映射为从 0 开始递增的小整数，供 {@link DictCacheIndex}
+ * 拼接 long 型缓存 Key 使用。读路径只做一次 {@link #idOf(String)} 查询，不分配对象。
+ *
+ * <p>字典编码数量有限（通常几百到几千），编号一经分配不再回收，
+ * 即使对应字典缓存被清除，编号仍保留以便下次加载复用。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public final class DictCodeRegistry {
+
+    /**
+     * 未驻留的字典编码
+     */
+    public static final int UNKNOWN = -1;
+
+    private final ConcurrentHashMap<String, Integer> codeIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * 查询字典编码对应的编号（读路径）
+     *
+     * @param dictCode 字典编码
+     * @return 编号，未驻留时返回 {@link #UNKNOWN}
+     */
+    public int idOf(String dictCode) {
+        Integer id = codeIds.get(dictCode);
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * 驻留字典编码（加载路径），已存在时返回原编号
+     *
+     * @param dictCode 字典编码
+     * @return 编号
+     */
+    public int intern(String dictCode) {
+        Integer id = codeIds.get(dictCode);
+        if (id != null) {
+            return id;
+        }
+        return codeIds.computeIfAbsent(dictCode, code -> nextId.getAndIncrement());
+    }
+
+    /**
+     * 已驻留的字典编码数量
+     */
+    public int size() {
+        return codeIds.size();
+    }
+}
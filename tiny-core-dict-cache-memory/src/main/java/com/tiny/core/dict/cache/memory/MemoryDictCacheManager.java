@@ -2,22 +2,28 @@ package com.tiny.core.dict.cache.memory;
 
 import com.tiny.core.dict.cache.DictCache;
 import com.tiny.core.dict.cache.DictCacheManager;
+import com.tiny.core.dict.cache.OverlayDictCache;
 import com.tiny.core.dict.model.DictItem;
 import com.tiny.core.dict.repository.DictItemRepository;
 import com.tiny.core.dict.repository.DictTypeRepository;
 import org.springframework.scheduling.annotation.Async;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * 内存字典缓存管理器
  * 
- * <p>使用 ConcurrentHashMap 实现内存缓存，支持多租户隔离。
- * 缓存 Key 格式：tenantId:dictCode
+ * <p>使用 {@link DictCacheIndex} 实现内存缓存，支持多租户隔离。
+ * 缓存 Key 为 (tenantId, dictCode 编号) 拼接成的 long，dictCode 在加载时驻留为小整数。
+ * 
+ * <p>平台字典（tenantId=0）每个 dictCode 只保存一份不可变快照；
+ * 租户只保存相对平台的覆盖层（{@link OverlayDictCache}），没有覆盖的租户不额外占用字典数据。
  * 
  * @author Tiny Platform
  * @version 1.0.0
@@ -27,10 +33,18 @@ public class MemoryDictCacheManager implements DictCacheManager {
     private final DictItemRepository dictItemRepository;
     private final DictTypeRepository dictTypeRepository;
     
+    private static final Long PLATFORM_TENANT_ID = 0L;
+    
+    /**
+     * 租户没有任何覆盖时的占位，解析时直接返回平台快照
+     */
+    private static final DictCache NO_OVERLAY = new DictCache(Collections.emptyMap(), null);
+    
     /**
-     * 缓存结构：Map<tenantId, Map<dictCode, DictCache>>
+     * 缓存结构：long(tenantId, dictCodeId) → DictCache
+     * tenantId=0 为平台快照，其余为租户覆盖层或 {@link #NO_OVERLAY}
      */
-    private final Map<Long, Map<String, DictCache>> cache = new ConcurrentHashMap<>();
+    private final DictCacheIndex cache = new DictCacheIndex();
     
     public MemoryDictCacheManager(DictItemRepository dictItemRepository,
                                   DictTypeRepository dictTypeRepository) {
@@ -40,51 +54,88 @@ public class MemoryDictCacheManager implements DictCacheManager {
     
     @Override
     public DictCache getDictCache(String dictCode, Long tenantId) {
-        // 确保租户缓存 Map 存在
-        cache.computeIfAbsent(tenantId, k -> new ConcurrentHashMap<>());
+        if (PLATFORM_TENANT_ID.equals(tenantId)) {
+            return getPlatformDict(dictCode);
+        }
+        // 命中路径不创建加载 lambda
+        DictCache overlay = cache.get(dictCode, tenantId);
+        if (overlay == null) {
+            // 如果缓存不存在，则从数据库加载
+            overlay = cache.computeIfAbsent(dictCode, tenantId, () -> loadOverlay(dictCode, tenantId));
+        }
+        return overlay == NO_OVERLAY ? getPlatformDict(dictCode) : overlay;
+    }
+    
+    /**
+     * 获取平台字典快照（所有租户共享）
+     */
+    private DictCache getPlatformDict(String dictCode) {
+        DictCache cached = cache.get(dictCode, PLATFORM_TENANT_ID);
+        if (cached != null) {
+            return cached;
+        }
+        return cache.computeIfAbsent(dictCode, PLATFORM_TENANT_ID, () -> loadPlatformDict(dictCode));
+    }
+    
+    /**
+     * 从数据库加载平台字典（tenant_id=0），只包含启用的项
+     */
+    private DictCache loadPlatformDict(String dictCode) {
+        List<DictItem> items = dictItemRepository.findByDictTypeIdAndTenantIdInOrderBySortOrder(
+            resolveDictTypeId(dictCode), List.of(PLATFORM_TENANT_ID));
         
-        // 如果缓存不存在，则从数据库加载
-        Map<String, DictCache> tenantCache = cache.get(tenantId);
-        return tenantCache.computeIfAbsent(dictCode, code -> loadDict(dictCode, tenantId));
+        Map<String, String> map = new LinkedHashMap<>();
+        for (DictItem item : items) {
+            if (Boolean.TRUE.equals(item.getEnabled())) {
+                map.put(item.getValue(), item.getLabel());
+            }
+        }
+        return new DictCache(Collections.unmodifiableMap(map), LocalDateTime.now());
     }
     
     /**
-     * 从数据库加载字典数据
+     * 从数据库加载租户覆盖层
      * 
-     * <p>优化查询：一次性查询平台字典（tenant_id=0）和租户字典，
-     * 租户值自动覆盖平台值（相同 value）。
+     * <p>只查询租户自己的字典项：启用的项覆盖平台标签，禁用的项屏蔽平台值。
+     * 租户没有任何字典项时返回 {@link #NO_OVERLAY}，解析时直接使用平台快照。
      */
-    private DictCache loadDict(String dictCode, Long tenantId) {
-        // 1. 查询字典类型
-        Long dictTypeId = dictTypeRepository.findByDictCode(dictCode)
+    private DictCache loadOverlay(String dictCode, Long tenantId) {
+        List<DictItem> items = dictItemRepository.findByDictTypeIdAndTenantIdInOrderBySortOrder(
+            resolveDictTypeId(dictCode), List.of(tenantId));
+        if (items.isEmpty()) {
+            return NO_OVERLAY;
+        }
+        
+        Map<String, String> overrides = new LinkedHashMap<>();
+        Set<String> disabled = new HashSet<>();
+        for (DictItem item : items) {
+            if (Boolean.TRUE.equals(item.getEnabled())) {
+                overrides.put(item.getValue(), item.getLabel());
+            } else {
+                disabled.add(item.getValue());
+            }
+        }
+        return new OverlayDictCache(() -> getPlatformDict(dictCode), overrides, disabled, LocalDateTime.now());
+    }
+    
+    private Long resolveDictTypeId(String dictCode) {
+        return dictTypeRepository.findByDictCode(dictCode)
             .orElseThrow(() -> new IllegalArgumentException("Dictionary not found: " + dictCode))
             .getId();
-        
-        // 2. 查询平台字典（tenant_id=0）和租户字典
-        List<Long> tenantIds = List.of(0L, tenantId);
-        List<DictItem> items = dictItemRepository
-            .findByDictTypeIdAndTenantIdInOrderBySortOrder(dictTypeId, tenantIds);
-        
-        // 3. 构建 value -> label 映射，租户字典覆盖平台字典
-        Map<String, String> map = items.stream()
-            .filter(item -> Boolean.TRUE.equals(item.getEnabled())) // 只包含启用的项
-            .collect(Collectors.toMap(
-                DictItem::getValue,
-                DictItem::getLabel,
-                (existing, replacement) -> replacement  // 租户覆盖平台
-            ));
-        
-        DictCache dictCache = new DictCache();
-        dictCache.setValueLabelMap(map);
-        dictCache.setLastUpdateTime(LocalDateTime.now());
-        return dictCache;
     }
     
+    /**
+     * 刷新字典缓存
+     * 
+     * <p>平台字典（tenantId=0）只替换共享快照，所有租户覆盖层随之生效，与租户数量无关；
+     * 租户字典只重新加载该租户的覆盖层。
+     */
     @Override
     public void refreshDictCache(String dictCode, Long tenantId) {
-        Map<String, DictCache> tenantCache = cache.get(tenantId);
-        if (tenantCache != null) {
-            tenantCache.put(dictCode, loadDict(dictCode, tenantId));
+        if (PLATFORM_TENANT_ID.equals(tenantId)) {
+            cache.replaceIfPresent(dictCode, PLATFORM_TENANT_ID, () -> loadPlatformDict(dictCode));
+        } else {
+            cache.replaceIfPresent(dictCode, tenantId, () -> loadOverlay(dictCode, tenantId));
         }
     }
     
@@ -96,10 +147,7 @@ public class MemoryDictCacheManager implements DictCacheManager {
     
     @Override
     public void evictDictCache(String dictCode, Long tenantId) {
-        Map<String, DictCache> tenantCache = cache.get(tenantId);
-        if (tenantCache != null) {
-            tenantCache.remove(dictCode);
-        }
+        cache.remove(dictCode, tenantId);
     }
     
     @Override
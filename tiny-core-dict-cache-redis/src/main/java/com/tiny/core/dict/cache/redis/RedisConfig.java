@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.type.MapType;
 import com.fasterxml.jackson.databind.type.SimpleType;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.tiny.core.dict.cache.DictCache;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -43,18 +44,25 @@ public class RedisConfig {
         template.setHashKeySerializer(stringSerializer);
         
         // Value 序列化器：使用 JSON
-        Jackson2JsonRedisSerializer<Object> jsonSerializer = new Jackson2JsonRedisSerializer<>(Object.class);
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        objectMapper.activateDefaultTyping(objectMapper.getPolymorphicTypeValidator(), 
-            ObjectMapper.DefaultTyping.NON_FINAL);
-        jsonSerializer.setObjectMapper(objectMapper);
-        
+        Jackson2JsonRedisSerializer<Object> jsonSerializer = createValueSerializer();
         template.setValueSerializer(jsonSerializer);
         template.setHashValueSerializer(jsonSerializer);
         
         template.afterPropertiesSet();
         return template;
     }
+    
+    /**
+     * 创建 DictCache 的 Value 序列化器（JSON，带类型信息）
+     * 
+     * <p>注册 {@link JavaTimeModule}，否则 {@code lastUpdateTime}（LocalDateTime）无法序列化。
+     */
+    public static Jackson2JsonRedisSerializer<Object> createValueSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.activateDefaultTyping(objectMapper.getPolymorphicTypeValidator(), 
+            ObjectMapper.DefaultTyping.NON_FINAL);
+        return new Jackson2JsonRedisSerializer<>(objectMapper, Object.class);
+    }
 }
-
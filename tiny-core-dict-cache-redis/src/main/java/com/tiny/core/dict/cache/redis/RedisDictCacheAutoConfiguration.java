@@ -39,7 +39,8 @@ public class RedisDictCacheAutoConfiguration {
             ? dictProperties.getCache().getExpireTime() 
             : 3600; // 默认 1 小时
         
-        return new RedisDictCacheManager(dictItemRepository, dictTypeRepository, redisTemplate, ttlSeconds);
+        return new RedisDictCacheManager(dictItemRepository, dictTypeRepository, redisTemplate, ttlSeconds,
+            dictProperties.getCache().getRedisKeyPrefix());
     }
 }
 
@@ -5,12 +5,23 @@ import com.tiny.core.dict.cache.DictCacheManager;
 import com.tiny.core.dict.model.DictItem;
 import com.tiny.core.dict.repository.DictItemRepository;
 import com.tiny.core.dict.repository.DictTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.scheduling.annotation.Async;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -20,20 +31,38 @@ import java.util.stream.Collectors;
  * Redis 字典缓存管理器
  * 
  * <p>使用 Redis 实现字典缓存，支持多租户隔离。
- * 缓存 Key 格式：dict:{tenantId}:{dictCode}
+ * 缓存 Key 格式：{keyPrefix}{tenantId}:{dictCode}，keyPrefix 默认为 dict:，共享 Redis 时可配置独立命名空间。
+ * 
+ * <p>批量失效使用游标 SCAN + 分批 UNLINK：不会像 KEYS 一样阻塞 Redis，
+ * UNLINK 在后台线程释放内存，集群模式下逐个主节点扫描。
+ * Redis 4.0 以前不支持 UNLINK，第一次收到 unknown command 后改用 DEL。
  * 
  * @author Tiny Platform
  * @version 1.0.0
  */
 public class RedisDictCacheManager implements DictCacheManager {
     
-    private static final String CACHE_KEY_PREFIX = "dict:";
+    private static final Logger logger = LoggerFactory.getLogger(RedisDictCacheManager.class);
+    
+    private static final String DEFAULT_KEY_PREFIX = "dict:";
     private static final long DEFAULT_TTL_SECONDS = 3600; // 默认 1 小时过期
+    private static final Long PLATFORM_TENANT_ID = 0L;
+    
+    /**
+     * 每次 SCAN 的建议数量，也是每条 UNLINK 命令删除的 Key 数
+     */
+    static final int SCAN_BATCH_SIZE = 500;
     
     private final DictItemRepository dictItemRepository;
     private final DictTypeRepository dictTypeRepository;
     private final RedisTemplate<String, Object> redisTemplate;
     private final long ttlSeconds;
+    private final String keyPrefix;
+    
+    /**
+     * Redis 不支持 UNLINK，改用 DEL
+     */
+    private volatile boolean unlinkUnsupported;
     
     public RedisDictCacheManager(DictItemRepository dictItemRepository,
                                  DictTypeRepository dictTypeRepository,
@@ -45,10 +74,19 @@ public class RedisDictCacheManager implements DictCacheManager {
                                  DictTypeRepository dictTypeRepository,
                                  RedisTemplate<String, Object> redisTemplate,
                                  long ttlSeconds) {
+        this(dictItemRepository, dictTypeRepository, redisTemplate, ttlSeconds, DEFAULT_KEY_PREFIX);
+    }
+    
+    public RedisDictCacheManager(DictItemRepository dictItemRepository,
+                                 DictTypeRepository dictTypeRepository,
+                                 RedisTemplate<String, Object> redisTemplate,
+                                 long ttlSeconds,
+                                 String keyPrefix) {
         this.dictItemRepository = dictItemRepository;
         this.dictTypeRepository = dictTypeRepository;
         this.redisTemplate = redisTemplate;
         this.ttlSeconds = ttlSeconds;
+        this.keyPrefix = keyPrefix;
     }
     
     @Override
@@ -126,15 +164,120 @@ public class RedisDictCacheManager implements DictCacheManager {
     
     @Override
     public void evictDictCache(String dictCode, Long tenantId) {
-        String cacheKey = buildCacheKey(dictCode, tenantId);
-        redisTemplate.delete(cacheKey);
+        unlinkKeys(List.of(buildCacheKey(dictCode, tenantId)));
+    }
+    
+    /**
+     * 批量清除多个租户的字典缓存，每 {@value #SCAN_BATCH_SIZE} 个 Key 一次 UNLINK
+     * 
+     * <p>每个租户缓存的是合并了平台字典的完整结果，包含平台（tenantId=0）时清除该字典所有租户的缓存。
+     */
+    @Override
+    public void evictDictCache(String dictCode, Collection<Long> tenantIds) {
+        if (tenantIds.contains(PLATFORM_TENANT_ID)) {
+            unlinkMatching(keyPrefix + "*:" + dictCode);
+            return;
+        }
+        List<String> batch = new ArrayList<>(Math.min(tenantIds.size(), SCAN_BATCH_SIZE));
+        for (Long tenantId : tenantIds) {
+            batch.add(buildCacheKey(dictCode, tenantId));
+            if (batch.size() == SCAN_BATCH_SIZE) {
+                unlinkKeys(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            unlinkKeys(batch);
+        }
     }
     
     @Override
     public void evictAllDictCache() {
-        // 删除所有以 dict: 开头的 key
-        // 注意：在生产环境中，应该使用更精确的 key 模式，避免误删其他数据
-        redisTemplate.delete(redisTemplate.keys(CACHE_KEY_PREFIX + "*"));
+        unlinkMatching(keyPrefix + "*");
+    }
+    
+    /**
+     * 失效指定租户的所有字典缓存
+     * 
+     * @param tenantId 租户ID
+     * @return 删除的 Key 数
+     */
+    public long evictTenantDictCache(Long tenantId) {
+        return unlinkMatching(keyPrefix + tenantId + ":*");
+    }
+    
+    /**
+     * 游标扫描匹配的 Key 并分批 UNLINK
+     */
+    private long unlinkMatching(String pattern) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build();
+        Long deleted = redisTemplate.execute((RedisCallback<Long>) connection -> {
+            if (connection instanceof RedisClusterConnection clusterConnection) {
+                long total = 0;
+                for (RedisClusterNode node : clusterConnection.clusterGetNodes()) {
+                    if (node.isMaster()) {
+                        try (Cursor<byte[]> cursor = clusterConnection.scan(node, options)) {
+                            total += unlinkAll(connection, cursor);
+                        }
+                    }
+                }
+                return total;
+            }
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                return unlinkAll(connection, cursor);
+            }
+        });
+        return deleted != null ? deleted : 0;
+    }
+    
+    private long unlinkAll(RedisConnection connection, Cursor<byte[]> cursor) {
+        long total = 0;
+        List<byte[]> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        while (cursor.hasNext()) {
+            batch.add(cursor.next());
+            if (batch.size() == SCAN_BATCH_SIZE) {
+                total += unlink(connection, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            total += unlink(connection, batch);
+        }
+        return total;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void unlinkKeys(List<String> keys) {
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        List<byte[]> rawKeys = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            rawKeys.add(keySerializer.serialize(key));
+        }
+        redisTemplate.execute((RedisCallback<Long>) connection -> unlink(connection, rawKeys));
+    }
+    
+    private long unlink(RedisConnection connection, List<byte[]> keys) {
+        byte[][] rawKeys = keys.toArray(new byte[0][]);
+        if (!unlinkUnsupported) {
+            try {
+                Long count = connection.keyCommands().unlink(rawKeys);
+                return count != null ? count : 0;
+            } catch (DataAccessException e) {
+                if (!isUnknownCommand(e)) {
+                    throw e;
+                }
+                unlinkUnsupported = true;
+                logger.warn("Redis 不支持 UNLINK，字典缓存失效改用 DEL: {}",
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+        Long count = connection.keyCommands().del(rawKeys);
+        return count != null ? count : 0;
+    }
+    
+    private static boolean isUnknownCommand(DataAccessException e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.toLowerCase().contains("unknown command");
     }
     
     /**
@@ -145,7 +288,7 @@ public class RedisDictCacheManager implements DictCacheManager {
      * @return 缓存 Key
      */
     private String buildCacheKey(String dictCode, Long tenantId) {
-        return CACHE_KEY_PREFIX + tenantId + ":" + dictCode;
+        return keyPrefix + tenantId + ":" + dictCode;
     }
 }
 
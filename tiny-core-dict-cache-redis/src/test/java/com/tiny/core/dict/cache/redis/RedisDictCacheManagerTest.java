@@ -0,0 +1,203 @@
+package com.tiny.core.dict.cache.redis;
+
+import com.tiny.core.dict.repository.DictItemRepository;
+import com.tiny.core.dict.repository.DictTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * RedisDictCacheManager 测试：游标扫描、分批 UNLINK、集群逐主节点扫描与不支持 UNLINK 时改用 DEL
+ */
+class RedisDictCacheManagerTest {
+
+    private RedisConnectionFactory connectionFactory;
+    private RedisKeyCommands keyCommands;
+    private List<Integer> unlinkBatchSizes;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = mock(RedisConnectionFactory.class);
+        keyCommands = mock(RedisKeyCommands.class);
+        unlinkBatchSizes = new ArrayList<>();
+        when(keyCommands.unlink(any(byte[][].class))).thenAnswer(invocation -> {
+            int size = invocation.getArguments().length;
+            unlinkBatchSizes.add(size);
+            return (long) size;
+        });
+    }
+
+    @Test
+    @DisplayName("测试全部失效时游标扫描前缀下的 Key，每 500 个 UNLINK 一次")
+    void shouldScanAndUnlinkInBatches() {
+        RedisConnection connection = standalone();
+        Cursor<byte[]> cursor = cursor(keys("dict:", 1201));
+        when(keyCommands.scan(any(ScanOptions.class))).thenReturn(cursor);
+
+        manager().evictAllDictCache();
+
+        ArgumentCaptor<ScanOptions> options = ArgumentCaptor.forClass(ScanOptions.class);
+        verify(keyCommands).scan(options.capture());
+        assertEquals("dict:*", options.getValue().getPattern());
+        assertEquals(RedisDictCacheManager.SCAN_BATCH_SIZE, options.getValue().getCount());
+        assertEquals(List.of(500, 500, 201), unlinkBatchSizes);
+        verify(connection, never()).keys(any());
+    }
+
+    @Test
+    @DisplayName("测试按租户失效只扫描该租户的命名空间，返回删除的 Key 数")
+    void shouldEvictOneTenant() {
+        standalone();
+        Cursor<byte[]> cursor = cursor(keys("tiny:7:", 3));
+        when(keyCommands.scan(any(ScanOptions.class))).thenReturn(cursor);
+
+        long deleted = manager("tiny:").evictTenantDictCache(7L);
+
+        ArgumentCaptor<ScanOptions> options = ArgumentCaptor.forClass(ScanOptions.class);
+        verify(keyCommands).scan(options.capture());
+        assertEquals("tiny:7:*", options.getValue().getPattern());
+        assertEquals(3, deleted);
+    }
+
+    @Test
+    @DisplayName("测试批量失效租户时直接按 Key 分批 UNLINK，包含平台时改为扫描该字典")
+    void shouldEvictTenantsByKeyOrByScan() {
+        standalone();
+        List<Long> tenants = IntStream.rangeClosed(1, 1001).mapToObj(Long::valueOf).toList();
+
+        manager().evictDictCache("gender", tenants);
+
+        assertEquals(List.of(500, 500, 1), unlinkBatchSizes);
+        verify(keyCommands, never()).scan(any(ScanOptions.class));
+
+        Cursor<byte[]> cursor = cursor(keys("dict:", 2));
+        when(keyCommands.scan(any(ScanOptions.class))).thenReturn(cursor);
+        manager().evictDictCache("gender", List.of(3L, 0L));
+
+        ArgumentCaptor<ScanOptions> options = ArgumentCaptor.forClass(ScanOptions.class);
+        verify(keyCommands).scan(options.capture());
+        assertEquals("dict:*:gender", options.getValue().getPattern());
+    }
+
+    @Test
+    @DisplayName("测试集群模式逐个主节点扫描，跳过从节点")
+    void shouldScanEachClusterMaster() {
+        RedisClusterConnection connection = mock(RedisClusterConnection.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        RedisClusterNode master1 = node("10.0.0.1", RedisNode.NodeType.MASTER);
+        RedisClusterNode master2 = node("10.0.0.2", RedisNode.NodeType.MASTER);
+        RedisClusterNode replica = node("10.0.0.3", RedisNode.NodeType.REPLICA);
+        when(connection.clusterGetNodes()).thenReturn(Set.of(master1, master2, replica));
+        Cursor<byte[]> cursor1 = cursor(keys("dict:", 2));
+        Cursor<byte[]> cursor2 = cursor(keys("dict:", 3));
+        when(connection.scan(any(RedisClusterNode.class), any(ScanOptions.class))).thenReturn(cursor1, cursor2);
+
+        manager().evictAllDictCache();
+
+        verify(connection, times(2)).scan(any(RedisClusterNode.class), any(ScanOptions.class));
+        verify(connection, never()).scan(eq(replica), any(ScanOptions.class));
+        assertEquals(5, unlinkBatchSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    @DisplayName("测试 Redis 不支持 UNLINK 时改用 DEL，之后不再尝试 UNLINK")
+    void shouldFallBackToDel() {
+        standalone();
+        when(keyCommands.unlink(any(byte[][].class)))
+            .thenThrow(new RedisSystemException("Error in execution",
+                new IllegalStateException("ERR unknown command 'UNLINK'")));
+        when(keyCommands.del(any(byte[][].class))).thenReturn(1L);
+        RedisDictCacheManager manager = manager();
+
+        manager.evictDictCache("gender", 1L);
+        manager.evictDictCache("gender", 2L);
+
+        verify(keyCommands, times(1)).unlink(any(byte[][].class));
+        ArgumentCaptor<byte[]> deleted = ArgumentCaptor.forClass(byte[].class);
+        verify(keyCommands, times(2)).del(deleted.capture());
+        assertEquals(List.of("dict:1:gender", "dict:2:gender"),
+            deleted.getAllValues().stream().map(key -> new String(key, StandardCharsets.UTF_8)).toList());
+    }
+
+    @Test
+    @DisplayName("测试 UNLINK 的其他错误不改用 DEL")
+    void shouldRethrowOtherErrors() {
+        standalone();
+        when(keyCommands.unlink(any(byte[][].class)))
+            .thenThrow(new RedisSystemException("Error in execution", new IllegalStateException("READONLY")));
+
+        assertThrows(RedisSystemException.class, () -> manager().evictDictCache("gender", 1L));
+        verify(keyCommands, never()).del(any(byte[][].class));
+    }
+
+    private RedisConnection standalone() {
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        return connection;
+    }
+
+    private RedisDictCacheManager manager() {
+        return manager("dict:");
+    }
+
+    private RedisDictCacheManager manager(String keyPrefix) {
+        RedisTemplate<String, Object> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.afterPropertiesSet();
+        return new RedisDictCacheManager(mock(DictItemRepository.class), mock(DictTypeRepository.class),
+            template, 3600, keyPrefix);
+    }
+
+    private static List<byte[]> keys(String prefix, int count) {
+        List<byte[]> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add((prefix + "dict" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        return keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<byte[]> cursor(List<byte[]> keys) {
+        Iterator<byte[]> iterator = keys.iterator();
+        Cursor<byte[]> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
+    }
+
+    private static RedisClusterNode node(String host, RedisNode.NodeType type) {
+        return RedisClusterNode.newRedisClusterNode().listeningAt(host, 6379).promotedAs(type).build();
+    }
+}
@@ -0,0 +1,407 @@
+package com.tiny.core.dict.repository.jpa;
+
+import com.tiny.core.dict.model.DictItem;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 字典 JDBC 批量写入
+ * 
+ * <p>JPA 的 IDENTITY 主键策略会让 Hibernate 放弃批量插入，逐行执行 INSERT。
+ * 批量导入等大数据量写入走 JDBC batch，一批只有一次网络往返
+ * （MySQL 需开启 {@code rewriteBatchedStatements=true} 才会合并为多值 INSERT）。
+ * 
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+@Component
+public class JdbcDictBatchWriter {
+    
+    private static final String INSERT_ITEM_SQL =
+        "INSERT INTO dict_item (dict_type_id, value, label, description, tenant_id, enabled, sort_order, " +
+        "ext_attrs, created_at, updated_at, created_by, updated_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String UPDATE_ITEM_SQL =
+        "UPDATE dict_item SET value = ?, label = ?, enabled = ?, sort_order = ?, ext_attrs = ?, updated_at = ? " +
+        "WHERE id = ?";
+    
+    private static final String DELETE_ITEM_SQL = "DELETE FROM dict_item WHERE id = ?";
+    
+    private static final String INSERT_VERSION_SQL =
+        "INSERT INTO dict_version (dict_code, version, tenant_id, version_no, checkpoint, base_version_no, " +
+        "description, created_by, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_SNAPSHOT_SQL =
+        "INSERT INTO dict_item_version_snapshot (dict_version_id, dict_item_id, tenant_id, change_type, " +
+        "value, label, sort_order, enabled, ext_attrs) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_AUDIT_LOG_SQL =
+        "INSERT INTO dict_audit_log (dict_code, dict_item_id, operation_type, tenant_id, old_value, new_value, " +
+        "operator, operator_ip, operation_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_CHANGE_LOG_SQL =
+        "INSERT INTO dict_change_log (dict_code, tenant_id, value, change_type, changed_at) VALUES (?, ?, ?, ?, ?)";
+    
+    private static final String LOCK_DICT_TYPE_SQL = "SELECT id FROM dict_type WHERE dict_code = ? FOR UPDATE";
+    
+    private static final String DELETE_CHANGE_LOG_RANGE_SQL = "DELETE FROM dict_change_log WHERE id > ? AND id <= ?";
+    
+    private static final String UPDATE_LABEL_SQL =
+        "UPDATE dict_item SET label = ?, updated_at = ? WHERE dict_type_id = ? AND value = ?";
+    
+    private static final String SELECT_TENANT_IDS_SQL =
+        "SELECT tenant_id FROM dict_item WHERE dict_type_id = ? AND value = ?";
+    
+    /**
+     * IN 条件中每条语句的最大参数数
+     */
+    private static final int IN_CHUNK_SIZE = 1000;
+    
+    /**
+     * 清理变更日志时每条 DELETE 覆盖的主键区间
+     */
+    private static final int PURGE_CHUNK_SIZE = 10000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public JdbcDictBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * 批量插入字典项，并回填生成的主键
+     * 
+     * @param items 字典项（插入后 id 被回填）
+     */
+    public void insertItems(List<DictItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            con -> con.prepareStatement(INSERT_ITEM_SQL, Statement.RETURN_GENERATED_KEYS),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    DictItem item = items.get(i);
+                    ps.setLong(1, item.getDictTypeId());
+                    ps.setString(2, item.getValue());
+                    ps.setString(3, item.getLabel());
+                    ps.setString(4, item.getDescription());
+                    ps.setLong(5, item.getTenantId());
+                    ps.setBoolean(6, item.getEnabled());
+                    ps.setInt(7, item.getSortOrder() != null ? item.getSortOrder() : 0);
+                    ps.setString(8, item.getExtAttrs());
+                    ps.setTimestamp(9, item.getCreatedAt() != null ? Timestamp.valueOf(item.getCreatedAt()) : null);
+                    ps.setTimestamp(10, item.getUpdatedAt() != null ? Timestamp.valueOf(item.getUpdatedAt()) : null);
+                    ps.setString(11, item.getCreatedBy());
+                    ps.setString(12, item.getUpdatedBy());
+                }
+                
+                @Override
+                public int getBatchSize() {
+                    return items.size();
+                }
+            },
+            keyHolder);
+        
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < items.size() && i < keys.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            items.get(i).setId(((Number) key).longValue());
+        }
+    }
+    
+    /**
+     * 批量更新字典项的值、标签、启用状态、排序和扩展属性
+     */
+    public void updateItems(List<DictItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_ITEM_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                DictItem item = items.get(i);
+                ps.setString(1, item.getValue());
+                ps.setString(2, item.getLabel());
+                ps.setBoolean(3, item.getEnabled());
+                ps.setInt(4, item.getSortOrder() != null ? item.getSortOrder() : 0);
+                ps.setString(5, item.getExtAttrs());
+                ps.setTimestamp(6, now);
+                ps.setLong(7, item.getId());
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return items.size();
+            }
+        });
+    }
+    
+    /**
+     * 批量删除字典项
+     */
+    public void deleteItems(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_ITEM_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, ids.get(i));
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+    }
+    
+    /**
+     * 批量插入字典版本，并回填生成的主键
+     * 
+     * @param versions 版本（插入后 id 被回填）
+     */
+    public void insertVersions(List<JpaDictVersion> versions) {
+        if (versions.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            con -> con.prepareStatement(INSERT_VERSION_SQL, Statement.RETURN_GENERATED_KEYS),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    JpaDictVersion version = versions.get(i);
+                    ps.setString(1, version.getDictCode());
+                    ps.setString(2, version.getVersion());
+                    ps.setLong(3, version.getTenantId());
+                    ps.setInt(4, version.getVersionNo());
+                    ps.setBoolean(5, version.getCheckpoint());
+                    ps.setInt(6, version.getBaseVersionNo());
+                    ps.setString(7, version.getDescription());
+                    ps.setString(8, version.getCreatedBy());
+                    ps.setTimestamp(9, version.getCreatedAt() != null ? Timestamp.valueOf(version.getCreatedAt()) : null);
+                }
+                
+                @Override
+                public int getBatchSize() {
+                    return versions.size();
+                }
+            },
+            keyHolder);
+        
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < versions.size() && i < keys.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            versions.get(i).setId(((Number) key).longValue());
+        }
+    }
+    
+    /**
+     * 批量插入字典项版本快照
+     */
+    public void insertSnapshots(List<JpaDictItemVersionSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SNAPSHOT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                JpaDictItemVersionSnapshot snapshot = snapshots.get(i);
+                ps.setLong(1, snapshot.getDictVersionId());
+                if (snapshot.getDictItemId() != null) {
+                    ps.setLong(2, snapshot.getDictItemId());
+                } else {
+                    ps.setNull(2, Types.BIGINT);
+                }
+                ps.setLong(3, snapshot.getTenantId());
+                ps.setString(4, snapshot.getChangeType());
+                ps.setString(5, snapshot.getValue());
+                ps.setString(6, snapshot.getLabel());
+                ps.setInt(7, snapshot.getSortOrder() != null ? snapshot.getSortOrder() : 0);
+                ps.setBoolean(8, snapshot.getEnabled() == null || snapshot.getEnabled());
+                ps.setString(9, snapshot.getExtAttrs());
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return snapshots.size();
+            }
+        });
+    }
+    
+    /**
+     * 批量插入审计日志
+     */
+    public void insertAuditLogs(List<JpaDictAuditLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_AUDIT_LOG_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                JpaDictAuditLog log = logs.get(i);
+                ps.setString(1, log.getDictCode());
+                if (log.getDictItemId() != null) {
+                    ps.setLong(2, log.getDictItemId());
+                } else {
+                    ps.setNull(2, Types.BIGINT);
+                }
+                ps.setString(3, log.getOperationType());
+                ps.setLong(4, log.getTenantId());
+                ps.setString(5, log.getOldValue());
+                ps.setString(6, log.getNewValue());
+                ps.setString(7, log.getOperator());
+                ps.setString(8, log.getOperatorIp());
+                ps.setTimestamp(9, log.getOperationTime() != null ? Timestamp.valueOf(log.getOperationTime()) : null);
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return logs.size();
+            }
+        });
+    }
+    
+    /**
+     * 批量插入字典变更日志
+     * 
+     * <p>插入前锁定字典类型行（直到事务结束），同一字典的变更日志按提交顺序分配主键，
+     * 读取方以主键为游标不会漏读晚提交的小主键。
+     */
+    public void insertChangeLogs(String dictCode, Long tenantId, String changeType, List<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        lockDictType(dictCode);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_CHANGE_LOG_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setString(1, dictCode);
+                ps.setLong(2, tenantId);
+                ps.setString(3, values.get(i));
+                ps.setString(4, changeType);
+                ps.setTimestamp(5, now);
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return values.size();
+            }
+        });
+    }
+    
+    /**
+     * 批量写入多个租户的同一字典值变更日志
+     */
+    public void insertTenantChangeLogs(String dictCode, List<Long> tenantIds, String changeType, String value) {
+        if (tenantIds.isEmpty()) {
+            return;
+        }
+        lockDictType(dictCode);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_CHANGE_LOG_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setString(1, dictCode);
+                ps.setLong(2, tenantIds.get(i));
+                ps.setString(3, value);
+                ps.setString(4, changeType);
+                ps.setTimestamp(5, now);
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return tenantIds.size();
+            }
+        });
+    }
+    
+    /**
+     * 锁定字典类型行直到事务结束（须在事务内调用）
+     * 
+     * <p>同一字典的变更日志主键分配、版本序号分配都在此锁下进行，并发事务按提交顺序串行。
+     */
+    public void lockDictType(String dictCode) {
+        jdbcTemplate.queryForList(LOCK_DICT_TYPE_SQL, Long.class, dictCode);
+    }
+    
+    /**
+     * 清理指定时间之前的变更日志
+     * 
+     * <p>按主键区间分批删除，每批单独提交；始终保留最新一条，使最小主键可以标识已清理的范围。
+     * 
+     * @param before 早于该时间的变更日志被删除
+     * @return 删除的行数
+     */
+    public int purgeChangeLogs(LocalDateTime before) {
+        Long cutoff = jdbcTemplate.queryForObject(
+            "SELECT MAX(id) FROM dict_change_log WHERE changed_at < ?", Long.class, Timestamp.valueOf(before));
+        Long latest = jdbcTemplate.queryForObject("SELECT MAX(id) FROM dict_change_log", Long.class);
+        Long oldest = jdbcTemplate.queryForObject("SELECT MIN(id) FROM dict_change_log", Long.class);
+        if (cutoff == null || latest == null || oldest == null) {
+            return 0;
+        }
+        long upTo = Math.min(cutoff, latest - 1);
+        int deleted = 0;
+        for (long from = oldest - 1; from < upTo; from += PURGE_CHUNK_SIZE) {
+            deleted += jdbcTemplate.update(DELETE_CHANGE_LOG_RANGE_SQL, from, Math.min(from + PURGE_CHUNK_SIZE, upTo));
+        }
+        return deleted;
+    }
+    
+    /**
+     * 按租户集合更新同一字典值的标签
+     * 
+     * <p>集合更新，每 {@value #IN_CHUNK_SIZE} 个租户一条 UPDATE，不逐行读取和保存。
+     * 
+     * @param dictTypeId 字典类型ID
+     * @param value 字典值
+     * @param label 新标签
+     * @param tenantIds 租户ID列表，null 表示所有租户（含平台）
+     * @return 实际存在该字典项并被更新的租户ID
+     */
+    public List<Long> updateLabels(Long dictTypeId, String value, String label, List<Long> tenantIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (tenantIds == null) {
+            jdbcTemplate.update(UPDATE_LABEL_SQL, label, now, dictTypeId, value);
+            return jdbcTemplate.queryForList(SELECT_TENANT_IDS_SQL, Long.class, dictTypeId, value);
+        }
+        List<Long> updated = new ArrayList<>();
+        for (int from = 0; from < tenantIds.size(); from += IN_CHUNK_SIZE) {
+            List<Long> chunk = tenantIds.subList(from, Math.min(from + IN_CHUNK_SIZE, tenantIds.size()));
+            String in = " AND tenant_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            
+            List<Object> args = new ArrayList<>(chunk.size() + 4);
+            args.add(label);
+            args.add(now);
+            args.add(dictTypeId);
+            args.add(value);
+            args.addAll(chunk);
+            if (jdbcTemplate.update(UPDATE_LABEL_SQL + in, args.toArray()) > 0) {
+                updated.addAll(jdbcTemplate.queryForList(SELECT_TENANT_IDS_SQL + in, Long.class,
+                    args.subList(2, args.size()).toArray()));
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,87 @@
+package com.tiny.core.dict.repository.jpa;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 字典变更日志 JPA 实体类
+ * 
+ * <p>每个变化的字典值一行，自增主键即变更版本号（全局单调递增），
+ * 供客户端按版本号增量同步。
+ * 
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "dict_change_log", indexes = {
+    @Index(name = "idx_dict_tenant_id", columnList = "dict_code, tenant_id, id")
+})
+public class JpaDictChangeLog {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "dict_code", nullable = false, length = 64)
+    private String dictCode;
+
+    @Column(name = "tenant_id", nullable = false)
+    private Long tenantId = 0L;
+
+    @Column(name = "value", nullable = false, length = 64)
+    private String value;
+
+    @Column(name = "change_type", nullable = false, length = 16)
+    private String changeType;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getDictCode() {
+        return dictCode;
+    }
+
+    public void setDictCode(String dictCode) {
+        this.dictCode = dictCode;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(String changeType) {
+        this.changeType = changeType;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.tiny.core.dict.repository.jpa;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 字典变更日志 Repository
+ * 
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+@Repository
+public interface JpaDictChangeLogRepository extends JpaRepository<JpaDictChangeLog, Long> {
+    
+    /**
+     * 查询指定版本之后的变更（按版本号升序，通过 Pageable 限制条数）
+     */
+    @Query("SELECT c FROM JpaDictChangeLog c WHERE c.dictCode = :dictCode AND c.tenantId IN :tenantIds " +
+           "AND c.id > :sinceId ORDER BY c.id ASC")
+    List<JpaDictChangeLog> findChangesSince(
+        @Param("dictCode") String dictCode,
+        @Param("tenantIds") Collection<Long> tenantIds,
+        @Param("sinceId") Long sinceId,
+        Pageable pageable);
+    
+    /**
+     * 当前最新版本号
+     */
+    @Query("SELECT MAX(c.id) FROM JpaDictChangeLog c WHERE c.dictCode = :dictCode AND c.tenantId IN :tenantIds")
+    Long findLatestId(
+        @Param("dictCode") String dictCode,
+        @Param("tenantIds") Collection<Long> tenantIds);
+    
+    /**
+     * 最早保留的版本号（更早的变更已被清理）
+     */
+    @Query("SELECT MIN(c.id) FROM JpaDictChangeLog c")
+    Long findOldestId();
+}
@@ -23,7 +23,8 @@ import java.time.LocalDateTime;
         @Index(name = "idx_tenant_id", columnList = "tenant_id"),
         @Index(name = "idx_value", columnList = "value"),
         @Index(name = "idx_enabled", columnList = "enabled"),
-        @Index(name = "idx_sort_order", columnList = "sort_order")
+        @Index(name = "idx_sort_order", columnList = "sort_order"),
+        @Index(name = "idx_type_tenant_sort", columnList = "dict_type_id, tenant_id, sort_order, id")
     })
 public class JpaDictItem {
     @Id
@@ -1,10 +1,12 @@
 package com.tiny.core.dict.repository.jpa;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +17,7 @@ import java.util.Optional;
  * @version 1.0.0
  */
 @Repository
-public interface JpaDictItemRepository extends JpaRepository<JpaDictItem, Long> {
+public interface JpaDictItemRepository extends JpaRepository<JpaDictItem, Long>, JpaSpecificationExecutor<JpaDictItem> {
     
     /**
      * 根据字典类型ID和租户ID列表查询字典项（优化查询）
@@ -42,5 +44,22 @@ public interface JpaDictItemRepository extends JpaRepository<JpaDictItem, Long>
      * 根据字典类型ID、值和租户ID查询字典项
      */
     Optional<JpaDictItem> findByDictTypeIdAndValueAndTenantId(Long dictTypeId, String value, Long tenantId);
+    
+    /**
+     * 批量检查已存在的字典值
+     * 
+     * <p>一次查询同一租户下多个字典类型、多个值的存在情况，返回 [dictTypeId, value]。
+     */
+    @Query("SELECT d.dictTypeId, d.value FROM JpaDictItem d WHERE d.tenantId = :tenantId " +
+           "AND d.dictTypeId IN :dictTypeIds AND d.value IN :values")
+    List<Object[]> findExistingTypeIdAndValues(
+        @Param("tenantId") Long tenantId,
+        @Param("dictTypeIds") Collection<Long> dictTypeIds,
+        @Param("values") Collection<String> values);
+    
+    /**
+     * 根据字典类型ID、租户ID列表和字典值列表查询字典项
+     */
+    List<JpaDictItem> findByDictTypeIdAndTenantIdInAndValueIn(
+        Long dictTypeId, Collection<Long> tenantIds, Collection<String> values);
 }
-
@@ -0,0 +1,50 @@
+package com.tiny.core.dict.repository.jpa;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * 字典项查询条件
+ * 
+ * <p>所有条件都落在 {@code (dict_type_id, tenant_id, sort_order, id)} 联合索引可用的列上，
+ * 文本条件只使用前缀匹配，避免 {@code LIKE '%x%'} 导致全表扫描。
+ * 
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public final class JpaDictItemSpecifications {
+    
+    private JpaDictItemSpecifications() {
+    }
+    
+    public static Specification<JpaDictItem> dictTypeId(Long dictTypeId) {
+        return (root, query, cb) -> cb.equal(root.get("dictTypeId"), dictTypeId);
+    }
+    
+    public static Specification<JpaDictItem> tenantIdIn(Collection<Long> tenantIds) {
+        return (root, query, cb) -> root.get("tenantId").in(tenantIds);
+    }
+    
+    public static Specification<JpaDictItem> enabled(Boolean enabled) {
+        return (root, query, cb) -> cb.equal(root.get("enabled"), enabled);
+    }
+    
+    /**
+     * 字典值前缀匹配
+     */
+    public static Specification<JpaDictItem> valueStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("value"), JpaLikePatterns.prefix(prefix), JpaLikePatterns.ESCAPE);
+    }
+    
+    /**
+     * 游标条件：按 (sortOrder, id) 升序排在游标之后的记录
+     */
+    public static Specification<JpaDictItem> after(Integer lastSortOrder, Long lastId) {
+        return (root, query, cb) -> cb.or(
+            cb.greaterThan(root.get("sortOrder"), lastSortOrder),
+            cb.and(
+                cb.equal(root.get("sortOrder"), lastSortOrder),
+                cb.greaterThan(root.get("id"), lastId)));
+    }
+}
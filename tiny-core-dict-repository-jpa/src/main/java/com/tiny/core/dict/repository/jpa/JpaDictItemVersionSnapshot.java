@@ -6,12 +6,21 @@ import java.time.LocalDateTime;
 /**
  * 字典项版本快照 JPA 实体类
  * 
+ * <p>检查点版本保存全量字典项（均为 UPSERT），差异版本只保存新增/变更（UPSERT）和删除（REMOVE）的字典项。
+ * 
  * @author Tiny Platform
  * @version 1.0.0
  */
 @Entity
-@Table(name = "dict_item_version_snapshot")
+@Table(name = "dict_item_version_snapshot", indexes = {
+    @Index(name = "idx_dict_version_id", columnList = "dict_version_id"),
+    @Index(name = "idx_dict_item_id", columnList = "dict_item_id")
+})
 public class JpaDictItemVersionSnapshot {
+
+    public static final String CHANGE_UPSERT = "UPSERT";
+    public static final String CHANGE_REMOVE = "REMOVE";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -22,6 +31,18 @@ public class JpaDictItemVersionSnapshot {
     @Column(name = "dict_item_id")
     private Long dictItemId;
 
+    /**
+     * 字典项所属租户（0 为平台字典项）
+     */
+    @Column(name = "tenant_id", nullable = false)
+    private Long tenantId = 0L;
+
+    /**
+     * 变更类型：UPSERT 或 REMOVE
+     */
+    @Column(name = "change_type", nullable = false, length = 16)
+    private String changeType = CHANGE_UPSERT;
+
     @Column(name = "value", nullable = false, length = 64)
     private String value;
 
@@ -62,6 +83,22 @@ public class JpaDictItemVersionSnapshot {
         this.dictItemId = dictItemId;
     }
 
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public void setTenantId(Long tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(String changeType) {
+        this.changeType = changeType;
+    }
+
     public String getValue() {
         return value;
     }
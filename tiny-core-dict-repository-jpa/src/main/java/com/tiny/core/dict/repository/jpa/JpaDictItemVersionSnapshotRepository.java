@@ -1,6 +1,8 @@
 package com.tiny.core.dict.repository.jpa;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,5 +17,17 @@ import java.util.List;
 public interface JpaDictItemVersionSnapshotRepository extends JpaRepository<JpaDictItemVersionSnapshot, Long> {
     
     List<JpaDictItemVersionSnapshot> findByDictVersionId(Long dictVersionId);
+    
+    /**
+     * 一次读取版本链上的所有快照行（检查点 + 之后的差异），按版本顺序排列
+     */
+    @Query("SELECT s FROM JpaDictItemVersionSnapshot s, JpaDictVersion v " +
+           "WHERE s.dictVersionId = v.id AND v.dictCode = :dictCode AND v.tenantId = :tenantId " +
+           "AND v.versionNo BETWEEN :fromVersionNo AND :toVersionNo " +
+           "ORDER BY v.versionNo ASC, s.id ASC")
+    List<JpaDictItemVersionSnapshot> findVersionChain(
+        @Param("dictCode") String dictCode,
+        @Param("tenantId") Long tenantId,
+        @Param("fromVersionNo") Integer fromVersionNo,
+        @Param("toVersionNo") Integer toVersionNo);
 }
-
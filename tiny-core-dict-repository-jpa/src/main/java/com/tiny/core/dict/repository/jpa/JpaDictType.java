@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
     @Index(name = "idx_tenant_id", columnList = "tenant_id"),
     @Index(name = "idx_dict_code", columnList = "dict_code"),
     @Index(name = "idx_category_id", columnList = "category_id"),
-    @Index(name = "idx_enabled", columnList = "enabled")
+    @Index(name = "idx_enabled", columnList = "enabled"),
+    @Index(name = "idx_tenant_id_id", columnList = "tenant_id, id")
 })
 public class JpaDictType {
     @Id
@@ -1,10 +1,12 @@
 package com.tiny.core.dict.repository.jpa;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +17,7 @@ import java.util.Optional;
  * @version 1.0.0
  */
 @Repository
-public interface JpaDictTypeRepository extends JpaRepository<JpaDictType, Long> {
+public interface JpaDictTypeRepository extends JpaRepository<JpaDictType, Long>, JpaSpecificationExecutor<JpaDictType> {
     
     /**
      * 根据字典编码查询字典类型
@@ -32,5 +34,9 @@ public interface JpaDictTypeRepository extends JpaRepository<JpaDictType, Long>
      */
     @Query("SELECT d FROM JpaDictType d WHERE d.tenantId IN :tenantIds")
     List<JpaDictType> findByTenantIdIn(@Param("tenantIds") List<Long> tenantIds);
+    
+    /**
+     * 根据字典编码列表批量查询字典类型
+     */
+    List<JpaDictType> findByDictCodeIn(Collection<String> dictCodes);
 }
-
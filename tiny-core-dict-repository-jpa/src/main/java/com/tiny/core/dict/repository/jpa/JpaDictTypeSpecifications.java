@@ -0,0 +1,46 @@
+package com.tiny.core.dict.repository.jpa;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * 字典类型查询条件
+ * 
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public final class JpaDictTypeSpecifications {
+    
+    private JpaDictTypeSpecifications() {
+    }
+    
+    public static Specification<JpaDictType> tenantIdIn(Collection<Long> tenantIds) {
+        return (root, query, cb) -> root.get("tenantId").in(tenantIds);
+    }
+    
+    /**
+     * 字典编码前缀匹配（可使用 dict_code 索引）
+     */
+    public static Specification<JpaDictType> dictCodeStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(root.get("dictCode"), JpaLikePatterns.prefix(prefix), JpaLikePatterns.ESCAPE);
+    }
+    
+    /**
+     * 字典名称模糊匹配（dict_name 无索引，在租户条件过滤后的行上执行）
+     */
+    public static Specification<JpaDictType> dictNameContains(String keyword) {
+        return (root, query, cb) -> cb.like(root.get("dictName"), JpaLikePatterns.contains(keyword), JpaLikePatterns.ESCAPE);
+    }
+    
+    public static Specification<JpaDictType> categoryId(Long categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("categoryId"), categoryId);
+    }
+    
+    /**
+     * 游标条件：按 id 降序排在游标之后的记录
+     */
+    public static Specification<JpaDictType> idBefore(Long lastId) {
+        return (root, query, cb) -> cb.lessThan(root.get("id"), lastId);
+    }
+}
@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "dict_version", uniqueConstraints = {
-    @UniqueConstraint(name = "uk_dict_version_tenant", columnNames = {"dict_code", "version", "tenant_id"})
+    @UniqueConstraint(name = "uk_dict_version_tenant", columnNames = {"dict_code", "version", "tenant_id"}),
+    @UniqueConstraint(name = "uk_dict_version_no", columnNames = {"dict_code", "tenant_id", "version_no"})
 })
 public class JpaDictVersion {
     @Id
@@ -27,6 +28,24 @@ public class JpaDictVersion {
     @Column(name = "tenant_id", nullable = false)
     private Long tenantId = 0L;
 
+    /**
+     * 版本序号，同一 (dictCode, tenantId) 内从 1 递增
+     */
+    @Column(name = "version_no", nullable = false)
+    private Integer versionNo;
+
+    /**
+     * 是否为检查点（保存全量快照），否则只保存相对上一版本的差异
+     */
+    @Column(name = "checkpoint", nullable = false)
+    private Boolean checkpoint = true;
+
+    /**
+     * 最近检查点的版本序号，检查点版本等于自身
+     */
+    @Column(name = "base_version_no", nullable = false)
+    private Integer baseVersionNo;
+
     @Column(name = "description", length = 255)
     private String description;
 
@@ -69,6 +88,30 @@ public class JpaDictVersion {
         this.tenantId = tenantId;
     }
 
+    public Integer getVersionNo() {
+        return versionNo;
+    }
+
+    public void setVersionNo(Integer versionNo) {
+        this.versionNo = versionNo;
+    }
+
+    public Boolean getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(Boolean checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    public Integer getBaseVersionNo() {
+        return baseVersionNo;
+    }
+
+    public void setBaseVersionNo(Integer baseVersionNo) {
+        this.baseVersionNo = baseVersionNo;
+    }
+
     public String getDescription() {
         return description;
     }
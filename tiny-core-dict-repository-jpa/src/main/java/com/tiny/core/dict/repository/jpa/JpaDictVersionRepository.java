@@ -1,6 +1,8 @@
 package com.tiny.core.dict.repository.jpa;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,5 +20,19 @@ public interface JpaDictVersionRepository extends JpaRepository<JpaDictVersion,
     Optional<JpaDictVersion> findByDictCodeAndVersionAndTenantId(String dictCode, String version, Long tenantId);
     
     List<JpaDictVersion> findByDictCodeAndTenantIdOrderByCreatedAtDesc(String dictCode, Long tenantId);
+    
+    Optional<JpaDictVersion> findByDictCodeAndTenantIdAndVersionNo(String dictCode, Long tenantId, Integer versionNo);
+    
+    /**
+     * 当前最大版本序号（数据库端计算，不加载历史版本）
+     */
+    @Query("SELECT MAX(v.versionNo) FROM JpaDictVersion v WHERE v.dictCode = :dictCode AND v.tenantId = :tenantId")
+    Integer findMaxVersionNo(@Param("dictCode") String dictCode, @Param("tenantId") Long tenantId);
+    
+    /**
+     * 各租户的最新版本（只返回保留版本历史的租户）
+     */
+    @Query("SELECT v FROM JpaDictVersion v WHERE v.dictCode = :dictCode AND v.versionNo = " +
+           "(SELECT MAX(l.versionNo) FROM JpaDictVersion l WHERE l.dictCode = v.dictCode AND l.tenantId = v.tenantId)")
+    List<JpaDictVersion> findLatestVersions(@Param("dictCode") String dictCode);
 }
-
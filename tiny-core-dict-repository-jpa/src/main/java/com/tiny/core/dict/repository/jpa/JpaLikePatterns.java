@@ -0,0 +1,35 @@
+package com.tiny.core.dict.repository.jpa;
+
+/**
+ * LIKE 模式构造工具，转义用户输入中的通配符
+ * 
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+final class JpaLikePatterns {
+    
+    static final char ESCAPE = '\\';
+    
+    private JpaLikePatterns() {
+    }
+    
+    static String prefix(String text) {
+        return escape(text) + "%";
+    }
+    
+    static String contains(String text) {
+        return "%" + escape(text) + "%";
+    }
+    
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 4);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                sb.append(ESCAPE);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
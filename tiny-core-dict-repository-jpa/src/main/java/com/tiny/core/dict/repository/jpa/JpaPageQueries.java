@@ -0,0 +1,63 @@
+package com.tiny.core.dict.repository.jpa;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.List;
+
+/**
+ * 数据库分页查询工具
+ * 
+ * <p>支持两种翻页方式：
+ * <ul>
+ *   <li>偏移分页：{@code LIMIT/OFFSET}，适合浅页</li>
+ *   <li>游标分页：条件中带上一页最后一条的排序键，始终从第 0 页读取，深页不再扫描被跳过的行</li>
+ * </ul>
+ * 不需要总数时只多读一行判断是否有下一页，省去 COUNT 查询。
+ * 
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public final class JpaPageQueries {
+    
+    private JpaPageQueries() {
+    }
+    
+    /**
+     * 分页查询
+     * 
+     * @param executor  JPA Specification 执行器
+     * @param filter    过滤条件
+     * @param cursor    游标条件，为 null 时使用偏移分页
+     * @param pageable  分页参数（排序必须与游标条件一致）
+     * @param withCount 是否查询总数
+     * @return 分页结果；不查询总数时 totalElements 为已知下界（有下一页时多计 1）
+     */
+    public static <T> Page<T> findPage(JpaSpecificationExecutor<T> executor,
+                                       Specification<T> filter,
+                                       Specification<T> cursor,
+                                       Pageable pageable,
+                                       boolean withCount) {
+        Specification<T> spec = cursor != null ? filter.and(cursor) : filter;
+        Pageable page = cursor != null
+            ? PageRequest.of(0, pageable.getPageSize(), pageable.getSort())
+            : pageable;
+        
+        if (!withCount) {
+            Slice<T> slice = executor.findBy(spec, q -> q.slice(page));
+            long knownTotal = page.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+            return new PageImpl<>(slice.getContent(), page, knownTotal);
+        }
+        if (cursor == null) {
+            return executor.findAll(spec, page);
+        }
+        // 游标分页的总数按不带游标的过滤条件统计
+        List<T> content = executor.findBy(spec, q -> q.sortBy(page.getSort()).limit(page.getPageSize()).all());
+        return new PageImpl<>(content, page, executor.count(filter));
+    }
+}
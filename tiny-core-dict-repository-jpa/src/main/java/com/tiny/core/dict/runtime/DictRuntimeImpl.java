@@ -2,6 +2,8 @@ package com.tiny.core.dict.runtime;
 
 import com.tiny.core.dict.cache.DictCache;
 import com.tiny.core.dict.cache.DictCacheManager;
+import com.tiny.core.dict.model.DictDelta;
+import com.tiny.core.dict.service.DictChangeFeedService;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
@@ -20,15 +22,18 @@ import java.util.Map;
 public class DictRuntimeImpl implements DictRuntime {
     
     private final DictCacheManager dictCacheManager;
+    private final DictChangeFeedService dictChangeFeedService;
     
-    public DictRuntimeImpl(DictCacheManager dictCacheManager) {
+    public DictRuntimeImpl(DictCacheManager dictCacheManager, DictChangeFeedService dictChangeFeedService) {
         this.dictCacheManager = dictCacheManager;
+        this.dictChangeFeedService = dictChangeFeedService;
     }
     
     @Override
     public String getLabel(String dictCode, String value, Long tenantId) {
         DictCache cache = dictCacheManager.getDictCache(dictCode, tenantId);
-        return cache.getValueLabelMap().getOrDefault(value, "");
+        String label = cache.getLabel(value);
+        return label != null ? label : "";
     }
     
     @Override
@@ -37,13 +42,18 @@ public class DictRuntimeImpl implements DictRuntime {
         return new HashMap<>(cache.getValueLabelMap());
     }
     
+    @Override
+    public String getDictEtag(String dictCode, Long tenantId) {
+        return dictCacheManager.getDictCache(dictCode, tenantId).getEtag();
+    }
+    
     @Override
     public Map<String, String> getLabels(String dictCode, List<String> values, Long tenantId) {
         DictCache cache = dictCacheManager.getDictCache(dictCode, tenantId);
         Map<String, String> result = new HashMap<>();
-        Map<String, String> valueLabelMap = cache.getValueLabelMap();
         for (String value : values) {
-            result.put(value, valueLabelMap.getOrDefault(value, ""));
+            String label = cache.getLabel(value);
+            result.put(value, label != null ? label : "");
         }
         return result;
     }
@@ -52,5 +62,10 @@ public class DictRuntimeImpl implements DictRuntime {
     public void refreshCache(String dictCode, Long tenantId) {
         dictCacheManager.refreshDictCache(dictCode, tenantId);
     }
+    
+    @Override
+    public DictDelta getChanges(String dictCode, Long tenantId, long sinceVersion) {
+        return dictChangeFeedService.getChanges(dictCode, tenantId, sinceVersion);
+    }
 }
 
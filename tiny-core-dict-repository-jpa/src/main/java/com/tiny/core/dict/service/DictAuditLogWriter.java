@@ -0,0 +1,246 @@
+package com.tiny.core.dict.service;
+
+import com.tiny.core.dict.repository.jpa.JdbcDictBatchWriter;
+import com.tiny.core.dict.repository.jpa.JpaDictAuditLog;
+import com.tiny.core.dict.starter.properties.DictProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 字典审计日志写入器
+ *
+ * <p>审计日志不在业务写路径上逐条保存，而是按 {@code tiny.core.dict.audit.mode} 批量写入：
+ * <ul>
+ *   <li>async（默认）：事务提交后放入有界队列，后台线程攒满一批（batch-size）或自第一条起等待
+ *       flush-interval-millis 后用 JDBC batch 写入；队列满时在调用线程直接写入，不丢弃</li>
+ *   <li>transactional：同一事务内的审计日志先缓存，提交前一次批量写入，与业务数据一起提交或回滚</li>
+ *   <li>sync：调用时立即批量写入</li>
+ * </ul>
+ * 应用正常关闭时停止接收，等后台线程写完当前批次，再写完队列中剩余的日志。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+@Component
+public class DictAuditLogWriter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DictAuditLogWriter.class);
+    
+    private static final int MAX_ATTEMPTS = 3;
+    
+    private final JdbcDictBatchWriter batchWriter;
+    private final DictProperties.Audit.Mode mode;
+    private final long flushIntervalMillis;
+    private final int batchSize;
+    private final BlockingQueue<JpaDictAuditLog> queue;
+    private final Thread flushThread;
+    private volatile boolean running = true;
+    
+    /**
+     * 后台线程被中断退出时未写入的批次，由 shutdown 补写
+     */
+    private volatile List<JpaDictAuditLog> unwritten = List.of();
+    
+    public DictAuditLogWriter(JdbcDictBatchWriter batchWriter, DictProperties properties) {
+        DictProperties.Audit audit = properties.getAudit();
+        this.batchWriter = batchWriter;
+        this.mode = audit.getMode();
+        this.flushIntervalMillis = Math.max(1, audit.getFlushIntervalMillis());
+        this.batchSize = Math.max(1, audit.getBatchSize());
+        if (isAsync()) {
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, audit.getQueueCapacity()));
+            this.flushThread = new Thread(this::flushLoop, "dict-audit-flush");
+            this.flushThread.setDaemon(true);
+            this.flushThread.start();
+        } else {
+            this.queue = null;
+            this.flushThread = null;
+        }
+    }
+    
+    /**
+     * 提交审计日志
+     */
+    public void submit(List<JpaDictAuditLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        if (mode == DictProperties.Audit.Mode.TRANSACTIONAL && inTransaction) {
+            pendingInTransaction().addAll(logs);
+        } else if (isAsync() && inTransaction) {
+            List<JpaDictAuditLog> copy = List.copyOf(logs);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(copy);
+                }
+            });
+        } else if (isAsync()) {
+            enqueue(logs);
+        } else {
+            write(logs);
+        }
+    }
+    
+    /**
+     * 待写入的审计日志数（异步模式）
+     */
+    public int getPendingCount() {
+        return queue != null ? queue.size() : 0;
+    }
+    
+    private boolean isAsync() {
+        return mode == DictProperties.Audit.Mode.ASYNC;
+    }
+    
+    /**
+     * 当前事务的待写入列表，首次使用时注册提交前写入
+     */
+    @SuppressWarnings("unchecked")
+    private List<JpaDictAuditLog> pendingInTransaction() {
+        List<JpaDictAuditLog> pending = (List<JpaDictAuditLog>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<JpaDictAuditLog> created = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(created);
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DictAuditLogWriter.this);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+    
+    /**
+     * 放入异步队列；关闭后或队列满时在调用线程直接写入
+     */
+    private void enqueue(List<JpaDictAuditLog> logs) {
+        List<JpaDictAuditLog> overflow = null;
+        for (JpaDictAuditLog log : logs) {
+            if (!running || !queue.offer(log)) {
+                if (overflow == null) {
+                    overflow = new ArrayList<>();
+                }
+                overflow.add(log);
+            }
+        }
+        if (overflow != null) {
+            write(overflow);
+        }
+    }
+    
+    private void flushLoop() {
+        List<JpaDictAuditLog> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                JpaDictAuditLog first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                writeWithRetry(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // 关闭超时被中断：当前批次交给 shutdown 写入
+            Thread.currentThread().interrupt();
+        } finally {
+            unwritten = List.copyOf(batch);
+        }
+    }
+    
+    /**
+     * 继续收集日志，直到攒满一批或自第一条起超过刷新间隔
+     */
+    private void fillBatch(List<JpaDictAuditLog> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            JpaDictAuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+    
+    private void writeWithRetry(List<JpaDictAuditLog> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                batchWriter.insertAuditLogs(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    logger.error("写入字典审计日志失败，丢弃 {} 条", batch.size(), e);
+                    return;
+                }
+                logger.warn("写入字典审计日志失败，第 {} 次重试", attempt, e);
+                Thread.sleep(flushIntervalMillis * attempt);
+            }
+        }
+    }
+    
+    /**
+     * 按批写入
+     */
+    private void write(List<JpaDictAuditLog> logs) {
+        for (int from = 0; from < logs.size(); from += batchSize) {
+            batchWriter.insertAuditLogs(logs.subList(from, Math.min(from + batchSize, logs.size())));
+        }
+    }
+    
+    /**
+     * 停止接收并写完队列中剩余的日志
+     * 
+     * <p>不直接中断后台线程：中断可能落在重试等待或获取连接上，使当前批次丢失。
+     * 后台线程最多一个刷新间隔后发现已停止并退出；超时仍未退出才中断，并补写它交回的批次。
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (flushThread == null) {
+            return;
+        }
+        running = false;
+        try {
+            flushThread.join(TimeUnit.SECONDS.toMillis(10) + flushIntervalMillis * (MAX_ATTEMPTS + 1));
+            if (flushThread.isAlive()) {
+                flushThread.interrupt();
+                flushThread.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flushThread.isAlive()) {
+            logger.warn("字典审计日志后台线程未能退出，其当前批次可能未写入");
+        }
+        List<JpaDictAuditLog> remaining = new ArrayList<>(unwritten);
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            logger.info("关闭前写入剩余字典审计日志 {} 条", remaining.size());
+            write(remaining);
+        }
+    }
+}
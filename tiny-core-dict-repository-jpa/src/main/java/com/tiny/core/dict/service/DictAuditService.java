@@ -23,19 +23,21 @@ public class DictAuditService {
     private final JpaDictAuditLogRepository auditLogRepository;
     private final DictItemRepository dictItemRepository;
     private final DictRuntime dictRuntime;
+    private final DictAuditLogWriter auditLogWriter;
     
     public DictAuditService(JpaDictAuditLogRepository auditLogRepository,
                            DictItemRepository dictItemRepository,
-                           DictRuntime dictRuntime) {
+                           DictRuntime dictRuntime,
+                           DictAuditLogWriter auditLogWriter) {
         this.auditLogRepository = auditLogRepository;
         this.dictItemRepository = dictItemRepository;
         this.dictRuntime = dictRuntime;
+        this.auditLogWriter = auditLogWriter;
     }
     
     /**
-     * 记录字典变更日志
+     * 记录字典变更日志（由 {@link DictAuditLogWriter} 按配置批量写入）
      */
-    @Transactional
     public void logDictChange(String dictCode, Long dictItemId, String operationType,
                               Long tenantId, String oldValueJson, String newValueJson,
                               String operator, String operatorIp) {
@@ -49,7 +51,14 @@ public class DictAuditService {
         log.setOperator(operator);
         log.setOperatorIp(operatorIp);
         log.setOperationTime(LocalDateTime.now());
-        auditLogRepository.save(log);
+        auditLogWriter.submit(List.of(log));
+    }
+    
+    /**
+     * 批量记录字典变更日志（由 {@link DictAuditLogWriter} 按配置批量写入）
+     */
+    public void logDictChanges(List<JpaDictAuditLog> logs) {
+        auditLogWriter.submit(logs);
     }
     
     /**
@@ -0,0 +1,184 @@
+package com.tiny.core.dict.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tiny.core.dict.cache.DictCache;
+import com.tiny.core.dict.cache.DictCacheManager;
+import com.tiny.core.dict.cache.DictEtags;
+import com.tiny.core.dict.model.DictType;
+import com.tiny.core.dict.repository.DictTypeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 租户字典全量包服务
+ *
+ * <p>把租户可见的所有字典打包为一个 JSON（dictCode → value → label），供前端启动时一次拉取。
+ * 包的 ETag 由各字典缓存快照的 ETag 组合而成；ETag 不变时直接复用已序列化和已压缩的字节，
+ * 每个版本只序列化、压缩一次。
+ *
+ * <p>租户可见的字典编码列表随包缓存，{@value #TYPE_LIST_TTL_MILLIS} 毫秒内不查询数据库，
+ * 校验包是否变化只读取各字典缓存的 ETag；本节点增删改字典类型时立即失效。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+@Service
+public class DictBundleService {
+
+    /**
+     * 字典编码列表的缓存时间（其他节点修改字典类型时的最大延迟）
+     */
+    static final long TYPE_LIST_TTL_MILLIS = 30_000;
+
+    private static final Long PLATFORM_TENANT_ID = 0L;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final DictTypeRepository dictTypeRepository;
+    private final DictCacheManager dictCacheManager;
+
+    /**
+     * tenantId → 最近一次生成的全量包
+     */
+    private final Map<Long, DictBundle> bundles = new ConcurrentHashMap<>();
+
+    public DictBundleService(DictTypeRepository dictTypeRepository, DictCacheManager dictCacheManager) {
+        this.dictTypeRepository = dictTypeRepository;
+        this.dictCacheManager = dictCacheManager;
+    }
+
+    /**
+     * 获取租户字典全量包
+     *
+     * @param tenantId 租户ID
+     * @return 全量包；内容未变化时返回同一份字节
+     */
+    public DictBundle getBundle(Long tenantId) {
+        long now = System.currentTimeMillis();
+        DictBundle cached = bundles.get(tenantId);
+        boolean typesFresh = cached != null && now - cached.typesLoadedAt < TYPE_LIST_TTL_MILLIS;
+        List<String> dictCodes = typesFresh ? cached.dictCodes : loadDictCodes(tenantId);
+
+        Map<String, DictCache> caches = new LinkedHashMap<>();
+        String[] etagParts = new String[dictCodes.size() * 2];
+        int i = 0;
+        for (String dictCode : dictCodes) {
+            DictCache cache = dictCacheManager.getDictCache(dictCode, tenantId);
+            caches.put(dictCode, cache);
+            etagParts[i++] = dictCode;
+            etagParts[i++] = cache.getEtag();
+        }
+        String etag = DictEtags.combine(etagParts);
+
+        if (cached != null && cached.getEtag().equals(etag)) {
+            if (typesFresh) {
+                return cached;
+            }
+            DictBundle revalidated = new DictBundle(etag, cached.json, cached.gzipJson, dictCodes, now);
+            bundles.put(tenantId, revalidated);
+            return revalidated;
+        }
+        DictBundle bundle = build(etag, caches, now);
+        bundles.put(tenantId, bundle);
+        return bundle;
+    }
+
+    /**
+     * 字典类型变更后失效全量包（事务提交后执行）；平台字典类型变更失效所有租户
+     *
+     * @param tenantId 字典类型所属租户
+     */
+    public void invalidate(Long tenantId) {
+        Runnable evict = () -> {
+            if (PLATFORM_TENANT_ID.equals(tenantId)) {
+                bundles.clear();
+            } else {
+                bundles.remove(tenantId);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    private List<String> loadDictCodes(Long tenantId) {
+        return dictTypeRepository.findByTenantIdIn(List.of(PLATFORM_TENANT_ID, tenantId)).stream()
+            .map(DictType::getDictCode)
+            .toList();
+    }
+
+    private DictBundle build(String etag, Map<String, DictCache> caches, long typesLoadedAt) {
+        Map<String, Map<String, String>> payload = new LinkedHashMap<>();
+        caches.forEach((dictCode, cache) -> payload.put(dictCode, cache.getValueLabelMap()));
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(payload);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(json);
+            }
+            return new DictBundle(etag, json, out.toByteArray(), List.copyOf(caches.keySet()), typesLoadedAt);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("序列化字典全量包失败", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("压缩字典全量包失败", e);
+        }
+    }
+
+    /**
+     * 字典全量包（不可变）
+     */
+    public static final class DictBundle {
+
+        private final String etag;
+        private final byte[] json;
+        private final byte[] gzipJson;
+        private final List<String> dictCodes;
+        private final long typesLoadedAt;
+
+        DictBundle(String etag, byte[] json, byte[] gzipJson, List<String> dictCodes, long typesLoadedAt) {
+            this.etag = etag;
+            this.json = json;
+            this.gzipJson = gzipJson;
+            this.dictCodes = dictCodes;
+            this.typesLoadedAt = typesLoadedAt;
+        }
+
+        /**
+         * 内容 ETag（不含引号）
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * UTF-8 JSON，调用方不得修改
+         */
+        public byte[] getJson() {
+            return json;
+        }
+
+        /**
+         * gzip 压缩后的 JSON，调用方不得修改
+         */
+        public byte[] getGzipJson() {
+            return gzipJson;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.tiny.core.dict.service;
+
+import com.tiny.core.dict.model.DictDelta;
+import com.tiny.core.dict.model.DictItem;
+import com.tiny.core.dict.model.DictType;
+import com.tiny.core.dict.repository.DictItemRepository;
+import com.tiny.core.dict.repository.DictTypeRepository;
+import com.tiny.core.dict.repository.jpa.DictRepositoryConverter;
+import com.tiny.core.dict.repository.jpa.JdbcDictBatchWriter;
+import com.tiny.core.dict.repository.jpa.JpaDictChangeLog;
+import com.tiny.core.dict.repository.jpa.JpaDictChangeLogRepository;
+import com.tiny.core.dict.repository.jpa.JpaDictItemRepository;
+import com.tiny.core.dict.starter.event.DictChangeEvent;
+import com.tiny.core.dict.starter.event.DictChangeNotifier;
+import com.tiny.core.dict.starter.properties.DictProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 字典变更流服务
+ *
+ * <p>字典项变更时记录到变更日志（自增主键即版本号），并在事务提交后发布 {@link DictChangeEvent}。
+ * 客户端携带已知版本号查询，只返回之后变化的字典值；标签按当前数据库状态合并平台和租户后返回。
+ *
+ * <p>同一字典的变更日志在写入时锁定字典类型行，主键按提交顺序分配，以主键为游标不会漏读。
+ * 变更日志保留 retention-days 天，定时清理；客户端版本早于保留范围时返回全量。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+@Service
+public class DictChangeFeedService {
+
+    /**
+     * 单次增量返回的最大变更数，超过则返回全量
+     */
+    static final int MAX_DELTA_CHANGES = 500;
+
+    private static final Long PLATFORM_TENANT_ID = 0L;
+
+    private static final Logger logger = LoggerFactory.getLogger(DictChangeFeedService.class);
+
+    private final JpaDictChangeLogRepository changeLogRepository;
+    private final JpaDictItemRepository jpaDictItemRepository;
+    private final DictTypeRepository dictTypeRepository;
+    private final DictItemRepository dictItemRepository;
+    private final JdbcDictBatchWriter batchWriter;
+    private final DictChangeNotifier dictChangeNotifier;
+    private final int retentionDays;
+
+    public DictChangeFeedService(JpaDictChangeLogRepository changeLogRepository,
+                                 JpaDictItemRepository jpaDictItemRepository,
+                                 DictTypeRepository dictTypeRepository,
+                                 DictItemRepository dictItemRepository,
+                                 JdbcDictBatchWriter batchWriter,
+                                 DictChangeNotifier dictChangeNotifier,
+                                 DictProperties dictProperties) {
+        this.changeLogRepository = changeLogRepository;
+        this.jpaDictItemRepository = jpaDictItemRepository;
+        this.dictTypeRepository = dictTypeRepository;
+        this.dictItemRepository = dictItemRepository;
+        this.batchWriter = batchWriter;
+        this.dictChangeNotifier = dictChangeNotifier;
+        this.retentionDays = Math.max(1, dictProperties.getChangeLog().getRetentionDays());
+    }
+
+    /**
+     * 记录字典变更
+     *
+     * <p>批量写入变更日志，并在事务提交后发布一次字典变更事件。
+     *
+     * @param dictCode   字典编码
+     * @param tenantId   字典项所属租户（0 表示平台字典，影响所有租户）
+     * @param changeType 变更类型
+     * @param values     变化的字典值
+     */
+    @Transactional
+    public void recordChanges(String dictCode, Long tenantId, DictChangeEvent.DictChangeType changeType,
+                              Collection<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        batchWriter.insertChangeLogs(dictCode, tenantId, changeType.name(), new ArrayList<>(values));
+
+        Runnable publish = () -> dictChangeNotifier.notifyDictChanged(dictCode, tenantId, changeType);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    /**
+     * 记录同一字典值在多个租户下的变更
+     *
+     * <p>一次批量写入所有租户的变更日志，不发布字典变更事件：
+     * 调用方（如批量强制变更）需在提交后自行统一失效缓存，避免逐租户刷新。
+     *
+     * @param dictCode   字典编码
+     * @param tenantIds  字典项所属租户
+     * @param changeType 变更类型
+     * @param value      变化的字典值
+     */
+    @Transactional
+    public void recordTenantChanges(String dictCode, Collection<Long> tenantIds,
+                                    DictChangeEvent.DictChangeType changeType, String value) {
+        batchWriter.insertTenantChangeLogs(dictCode, new ArrayList<>(tenantIds), changeType.name(), value);
+    }
+
+    /**
+     * 查询指定版本之后的变更
+     *
+     * @param dictCode     字典编码
+     * @param tenantId     租户ID
+     * @param sinceVersion 客户端已知版本号，0 表示首次同步
+     * @return 增量变更；sinceVersion 为 0、早于变更日志保留范围或变更数超过 {@value #MAX_DELTA_CHANGES} 时返回全量
+     */
+    @Transactional(readOnly = true)
+    public DictDelta getChanges(String dictCode, Long tenantId, long sinceVersion) {
+        DictType dictType = dictTypeRepository.findByDictCode(dictCode)
+            .orElseThrow(() -> new IllegalArgumentException("字典类型不存在: " + dictCode));
+        List<Long> tenantIds = List.of(PLATFORM_TENANT_ID, tenantId);
+
+        if (sinceVersion <= 0 || isExpired(sinceVersion)) {
+            return fullResync(dictType, tenantIds, dictCode);
+        }
+
+        List<JpaDictChangeLog> changes = changeLogRepository.findChangesSince(
+            dictCode, tenantIds, sinceVersion, PageRequest.of(0, MAX_DELTA_CHANGES + 1));
+        if (changes.isEmpty()) {
+            return new DictDelta(sinceVersion, false, Map.of(), List.of());
+        }
+        if (changes.size() > MAX_DELTA_CHANGES) {
+            return fullResync(dictType, tenantIds, dictCode);
+        }
+
+        Set<String> changedValues = new LinkedHashSet<>();
+        for (JpaDictChangeLog change : changes) {
+            changedValues.add(change.getValue());
+        }
+        List<DictItem> items = jpaDictItemRepository
+            .findByDictTypeIdAndTenantIdInAndValueIn(dictType.getId(), tenantIds, changedValues).stream()
+            .map(DictRepositoryConverter::toCoreDictItem)
+            .toList();
+        Map<String, String> effective = resolveEffective(items);
+
+        Map<String, String> upserts = new LinkedHashMap<>();
+        List<String> removed = new ArrayList<>();
+        for (String value : changedValues) {
+            String label = effective.get(value);
+            if (label != null) {
+                upserts.put(value, label);
+            } else {
+                removed.add(value);
+            }
+        }
+        long version = changes.get(changes.size() - 1).getId();
+        return new DictDelta(version, false, upserts, removed);
+    }
+
+    /**
+     * 清理任务只删除不晚于（最小保留主键 - 1）的变更，客户端版本比它更早说明中间的变更可能已被清理
+     */
+    private boolean isExpired(long sinceVersion) {
+        Long oldest = changeLogRepository.findOldestId();
+        return oldest != null && sinceVersion < oldest - 1;
+    }
+
+    /**
+     * 定时清理超过保留天数的变更日志（各节点执行，删除幂等）
+     */
+    @Scheduled(cron = "${tiny.core.dict.change-log.purge-cron:0 30 3 * * *}")
+    public void purgeExpiredChanges() {
+        int deleted = batchWriter.purgeChangeLogs(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            logger.info("清理字典变更日志 {} 条（保留 {} 天）", deleted, retentionDays);
+        }
+    }
+
+    private DictDelta fullResync(DictType dictType, List<Long> tenantIds, String dictCode) {
+        // 先取版本号再读数据：读到的数据不会早于版本号
+        Long latest = changeLogRepository.findLatestId(dictCode, tenantIds);
+        List<DictItem> items = dictItemRepository.findByDictTypeIdAndTenantIdInOrderBySortOrder(
+            dictType.getId(), tenantIds);
+        return new DictDelta(latest != null ? latest : 0L, true, resolveEffective(items), List.of());
+    }
+
+    /**
+     * 合并平台和租户字典项：平台启用项为基础，租户启用项覆盖标签，租户禁用项屏蔽平台值
+     */
+    private Map<String, String> resolveEffective(List<DictItem> items) {
+        Map<String, String> effective = new LinkedHashMap<>();
+        List<DictItem> tenantItems = new ArrayList<>();
+        for (DictItem item : items) {
+            if (PLATFORM_TENANT_ID.equals(item.getTenantId())) {
+                if (Boolean.TRUE.equals(item.getEnabled())) {
+                    effective.put(item.getValue(), item.getLabel());
+                }
+            } else {
+                tenantItems.add(item);
+            }
+        }
+        for (DictItem item : tenantItems) {
+            if (Boolean.TRUE.equals(item.getEnabled())) {
+                effective.put(item.getValue(), item.getLabel());
+            } else {
+                effective.remove(item.getValue());
+            }
+        }
+        return effective;
+    }
+}
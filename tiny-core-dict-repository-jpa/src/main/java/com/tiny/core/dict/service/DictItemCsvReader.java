@@ -0,0 +1,150 @@
+package com.tiny.core.dict.service;
+
+import com.tiny.core.dict.web.dto.DictItemCreateDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 字典项 CSV 流式读取
+ * 
+ * <p>逐条读取，不把整个文件载入内存。首行为表头，列名不区分大小写：
+ * {@code dictCode,value,label[,description,sortOrder,enabled]}。
+ * 支持 RFC 4180 引号转义（字段内逗号、换行、{@code ""}）。
+ * 
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+class DictItemCsvReader {
+    
+    private static final String[] REQUIRED_COLUMNS = {"dictcode", "value", "label"};
+    
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private int lineNumber;
+    private int recordLine;
+    
+    DictItemCsvReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV 文件为空");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1);
+            }
+            columns.put(name, i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV 缺少必需列: " + required);
+            }
+        }
+    }
+    
+    /**
+     * 读取下一条字典项
+     * 
+     * @return 字典项，读完返回 null
+     */
+    DictItemCreateDTO next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isBlank());
+        
+        DictItemCreateDTO dto = new DictItemCreateDTO();
+        dto.setDictCode(column(record, "dictcode"));
+        dto.setValue(column(record, "value"));
+        dto.setLabel(column(record, "label"));
+        dto.setDescription(column(record, "description"));
+        String sortOrder = column(record, "sortorder");
+        if (sortOrder != null) {
+            try {
+                dto.setSortOrder(Integer.parseInt(sortOrder));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("第 " + recordLine + " 行 sortOrder 不是整数: " + sortOrder);
+            }
+        }
+        String enabled = column(record, "enabled");
+        if (enabled != null) {
+            dto.setEnabled(Boolean.parseBoolean(enabled) || "1".equals(enabled));
+        }
+        return dto;
+    }
+    
+    /**
+     * 当前记录起始行号（从 1 开始，含表头）
+     */
+    int getRecordLine() {
+        return recordLine;
+    }
+    
+    private String column(List<String> record, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+    
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        lineNumber++;
+        recordLine = lineNumber;
+        
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int nextChar = reader.read();
+                    if (nextChar == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (nextChar != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r') {
+                // 忽略，行结束由 \n 判断
+            } else if (c == '\n') {
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
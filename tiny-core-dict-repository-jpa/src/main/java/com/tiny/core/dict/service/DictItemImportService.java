@@ -0,0 +1,291 @@
+package com.tiny.core.dict.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tiny.core.dict.model.DictItem;
+import com.tiny.core.dict.repository.jpa.JdbcDictBatchWriter;
+import com.tiny.core.dict.repository.jpa.JpaDictAuditLog;
+import com.tiny.core.dict.repository.jpa.JpaDictItemRepository;
+import com.tiny.core.dict.repository.jpa.JpaDictType;
+import com.tiny.core.dict.repository.jpa.JpaDictTypeRepository;
+import com.tiny.core.dict.starter.event.DictChangeEvent;
+import com.tiny.core.dict.web.converter.DictItemConverter;
+import com.tiny.core.dict.web.dto.DictItemCreateDTO;
+import com.tiny.core.dict.web.dto.DictItemDTO;
+import com.tiny.core.dict.web.dto.DictItemImportResultDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 字典项批量导入服务
+ * 
+ * <p>按批（{@value #BATCH_SIZE} 条）处理：
+ * <ol>
+ *   <li>字典类型按编码一次 IN 查询解析，整个导入过程中缓存</li>
+ *   <li>已存在的字典值一次 IN 查询检查</li>
+ *   <li>字典项和审计日志都通过 JDBC batch 写入</li>
+ * </ol>
+ * 整个导入在一个事务中，任一条校验失败则全部回滚。
+ * 导入的字典值批量写入变更日志，提交后每个受影响的字典只发布一次 {@link DictChangeEvent}，而不是每条字典项刷新一次缓存。
+ * 
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+@Service
+public class DictItemImportService {
+    
+    static final int BATCH_SIZE = 1000;
+    
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private final JpaDictTypeRepository jpaDictTypeRepository;
+    private final JpaDictItemRepository jpaDictItemRepository;
+    private final JdbcDictBatchWriter batchWriter;
+    private final DictAuditService dictAuditService;
+    private final DictChangeFeedService dictChangeFeedService;
+    private final Validator validator;
+    
+    public DictItemImportService(JpaDictTypeRepository jpaDictTypeRepository,
+                                 JpaDictItemRepository jpaDictItemRepository,
+                                 JdbcDictBatchWriter batchWriter,
+                                 DictAuditService dictAuditService,
+                                 DictChangeFeedService dictChangeFeedService,
+                                 Validator validator) {
+        this.jpaDictTypeRepository = jpaDictTypeRepository;
+        this.jpaDictItemRepository = jpaDictItemRepository;
+        this.batchWriter = batchWriter;
+        this.dictAuditService = dictAuditService;
+        this.dictChangeFeedService = dictChangeFeedService;
+        this.validator = validator;
+    }
+    
+    /**
+     * 批量导入字典项（JSON）
+     * 
+     * @param dtos     字典项列表
+     * @param tenantId 租户ID
+     * @param operator 操作人，可为空
+     * @return 创建的字典项
+     */
+    @Transactional
+    public List<DictItemDTO> importItems(List<DictItemCreateDTO> dtos, Long tenantId, String operator) {
+        ImportContext context = new ImportContext(tenantId, operator);
+        List<DictItemDTO> results = new ArrayList<>(dtos.size());
+        for (int from = 0; from < dtos.size(); from += BATCH_SIZE) {
+            List<DictItemCreateDTO> chunk = dtos.subList(from, Math.min(from + BATCH_SIZE, dtos.size()));
+            List<String> locations = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                locations.add("第 " + (from + i + 1) + " 条");
+            }
+            List<DictItem> saved = importChunk(context, chunk, locations);
+            for (int i = 0; i < saved.size(); i++) {
+                results.add(DictItemConverter.toDTO(saved.get(i), chunk.get(i).getDictCode()));
+            }
+        }
+        recordChanges(context);
+        return results;
+    }
+    
+    /**
+     * 批量导入字典项（CSV 流式读取）
+     * 
+     * <p>表头：{@code dictCode,value,label[,description,sortOrder,enabled]}，UTF-8 编码。
+     * 
+     * @param in       CSV 输入流（调用方负责关闭）
+     * @param tenantId 租户ID
+     * @param operator 操作人，可为空
+     * @return 导入结果
+     */
+    @Transactional
+    public DictItemImportResultDTO importCsv(InputStream in, Long tenantId, String operator) {
+        ImportContext context = new ImportContext(tenantId, operator);
+        try {
+            DictItemCsvReader reader = new DictItemCsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            List<DictItemCreateDTO> chunk = new ArrayList<>(BATCH_SIZE);
+            List<String> locations = new ArrayList<>(BATCH_SIZE);
+            DictItemCreateDTO dto;
+            while ((dto = reader.next()) != null) {
+                chunk.add(dto);
+                locations.add("第 " + reader.getRecordLine() + " 行");
+                if (chunk.size() == BATCH_SIZE) {
+                    importChunk(context, chunk, locations);
+                    chunk.clear();
+                    locations.clear();
+                }
+            }
+            importChunk(context, chunk, locations);
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取 CSV 失败", e);
+        }
+        recordChanges(context);
+        
+        int total = context.importedByDictCode.values().stream().mapToInt(Integer::intValue).sum();
+        return new DictItemImportResultDTO(total, context.importedByDictCode);
+    }
+    
+    private List<DictItem> importChunk(ImportContext context, List<DictItemCreateDTO> chunk, List<String> locations) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            validate(chunk.get(i), locations.get(i));
+        }
+        resolveDictTypes(context, chunk);
+        
+        // 导入数据内部去重
+        Set<Long> dictTypeIds = new HashSet<>();
+        Set<String> values = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            DictItemCreateDTO dto = chunk.get(i);
+            Long dictTypeId = context.dictTypeIds.get(dto.getDictCode());
+            if (!context.importedKeys.add(key(dictTypeId, dto.getValue()))) {
+                throw new IllegalArgumentException(locations.get(i) + " 字典值重复: "
+                    + dto.getDictCode() + "/" + dto.getValue());
+            }
+            dictTypeIds.add(dictTypeId);
+            values.add(dto.getValue());
+        }
+        
+        // 与数据库中已有数据去重（一次 IN 查询）
+        Set<String> existing = new HashSet<>();
+        for (Object[] row : jpaDictItemRepository.findExistingTypeIdAndValues(context.tenantId, dictTypeIds, values)) {
+            existing.add(key((Long) row[0], (String) row[1]));
+        }
+        if (!existing.isEmpty()) {
+            for (int i = 0; i < chunk.size(); i++) {
+                DictItemCreateDTO dto = chunk.get(i);
+                if (existing.contains(key(context.dictTypeIds.get(dto.getDictCode()), dto.getValue()))) {
+                    throw new IllegalArgumentException(locations.get(i) + " 字典值已存在: "
+                        + dto.getDictCode() + "/" + dto.getValue());
+                }
+            }
+        }
+        
+        List<DictItem> items = new ArrayList<>(chunk.size());
+        for (DictItemCreateDTO dto : chunk) {
+            DictItem item = DictItemConverter.toEntity(dto, context.dictTypeIds.get(dto.getDictCode()), context.tenantId);
+            item.setCreatedAt(context.now);
+            item.setUpdatedAt(context.now);
+            item.setCreatedBy(context.operator);
+            item.setUpdatedBy(context.operator);
+            items.add(item);
+        }
+        batchWriter.insertItems(items);
+        
+        List<JpaDictAuditLog> logs = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            String dictCode = chunk.get(i).getDictCode();
+            logs.add(createAuditLog(context, dictCode, items.get(i)));
+            context.importedByDictCode.merge(dictCode, 1, Integer::sum);
+            context.importedValues.computeIfAbsent(dictCode, k -> new ArrayList<>()).add(items.get(i).getValue());
+        }
+        dictAuditService.logDictChanges(logs);
+        return items;
+    }
+    
+    /**
+     * 按 {@link DictItemCreateDTO} 上的校验注解校验（CSV 导入的行不经过 Controller 的 @Valid）
+     */
+    private void validate(DictItemCreateDTO dto, String location) {
+        Set<ConstraintViolation<DictItemCreateDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<DictItemCreateDTO> first = violations.stream()
+                .min((a, b) -> a.getPropertyPath().toString().compareTo(b.getPropertyPath().toString()))
+                .get();
+            throw new IllegalArgumentException(location + " " + first.getMessage());
+        }
+    }
+    
+    /**
+     * 解析本批中尚未缓存的字典编码（一次 IN 查询）
+     */
+    private void resolveDictTypes(ImportContext context, List<DictItemCreateDTO> chunk) {
+        Set<String> unresolved = new LinkedHashSet<>();
+        for (DictItemCreateDTO dto : chunk) {
+            if (!context.dictTypeIds.containsKey(dto.getDictCode())) {
+                unresolved.add(dto.getDictCode());
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        for (JpaDictType type : jpaDictTypeRepository.findByDictCodeIn(unresolved)) {
+            context.dictTypeIds.put(type.getDictCode(), type.getId());
+        }
+        for (String dictCode : unresolved) {
+            if (!context.dictTypeIds.containsKey(dictCode)) {
+                throw new IllegalArgumentException("字典类型不存在: " + dictCode);
+            }
+        }
+    }
+    
+    private JpaDictAuditLog createAuditLog(ImportContext context, String dictCode, DictItem item) {
+        Map<String, Object> newValue = new LinkedHashMap<>();
+        newValue.put("value", item.getValue());
+        newValue.put("label", item.getLabel());
+        newValue.put("description", item.getDescription());
+        newValue.put("enabled", item.getEnabled());
+        newValue.put("sortOrder", item.getSortOrder());
+        
+        JpaDictAuditLog log = new JpaDictAuditLog();
+        log.setDictCode(dictCode);
+        log.setDictItemId(item.getId());
+        log.setOperationType(DictChangeEvent.DictChangeType.CREATE.name());
+        log.setTenantId(context.tenantId);
+        try {
+            log.setNewValue(objectMapper.writeValueAsString(newValue));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("序列化审计日志失败", e);
+        }
+        log.setOperator(context.operator);
+        log.setOperationTime(context.now);
+        return log;
+    }
+    
+    /**
+     * 每个字典记录一次变更（变更日志 + 事务提交后一次变更事件）
+     */
+    private void recordChanges(ImportContext context) {
+        context.importedValues.forEach((dictCode, values) -> dictChangeFeedService.recordChanges(
+            dictCode, context.tenantId, DictChangeEvent.DictChangeType.CREATE, values));
+    }
+    
+    private static String key(Long dictTypeId, String value) {
+        return dictTypeId + ":" + value;
+    }
+    
+    /**
+     * 单次导入的状态
+     */
+    private static final class ImportContext {
+        final Long tenantId;
+        final String operator;
+        final LocalDateTime now = LocalDateTime.now();
+        final Map<String, Long> dictTypeIds = new HashMap<>();
+        final Set<String> importedKeys = new HashSet<>();
+        final Map<String, Integer> importedByDictCode = new LinkedHashMap<>();
+        final Map<String, List<String>> importedValues = new LinkedHashMap<>();
+        
+        ImportContext(Long tenantId, String operator) {
+            this.tenantId = tenantId;
+            this.operator = operator;
+        }
+    }
+}
@@ -4,19 +4,27 @@ import com.tiny.core.dict.model.DictItem;
 import com.tiny.core.dict.model.DictType;
 import com.tiny.core.dict.repository.DictItemRepository;
 import com.tiny.core.dict.repository.DictTypeRepository;
+import com.tiny.core.dict.repository.jpa.DictRepositoryConverter;
+import com.tiny.core.dict.repository.jpa.JpaDictItem;
+import com.tiny.core.dict.repository.jpa.JpaDictItemRepository;
+import com.tiny.core.dict.repository.jpa.JpaDictItemSpecifications;
+import com.tiny.core.dict.repository.jpa.JpaPageQueries;
+import com.tiny.core.dict.starter.event.DictChangeEvent;
 import com.tiny.core.dict.web.dto.DictItemCreateDTO;
 import com.tiny.core.dict.web.dto.DictItemDTO;
 import com.tiny.core.dict.web.dto.DictItemQueryDTO;
 import com.tiny.core.dict.web.dto.DictItemUpdateDTO;
 import com.tiny.core.dict.web.converter.DictItemConverter;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 字典项服务
@@ -29,14 +37,32 @@ public class DictItemService {
     
     private final DictItemRepository dictItemRepository;
     private final DictTypeRepository dictTypeRepository;
+    private final JpaDictItemRepository jpaDictItemRepository;
+    private final DictItemImportService dictItemImportService;
+    private final DictChangeFeedService dictChangeFeedService;
     
-    public DictItemService(DictItemRepository dictItemRepository, DictTypeRepository dictTypeRepository) {
+    /**
+     * 游标分页排序键
+     */
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.ASC, "sortOrder", "id");
+    
+    public DictItemService(DictItemRepository dictItemRepository,
+                           DictTypeRepository dictTypeRepository,
+                           JpaDictItemRepository jpaDictItemRepository,
+                           DictItemImportService dictItemImportService,
+                           DictChangeFeedService dictChangeFeedService) {
         this.dictItemRepository = dictItemRepository;
         this.dictTypeRepository = dictTypeRepository;
+        this.jpaDictItemRepository = jpaDictItemRepository;
+        this.dictItemImportService = dictItemImportService;
+        this.dictChangeFeedService = dictChangeFeedService;
     }
     
     /**
      * 分页查询字典项
+     * 
+     * <p>过滤和分页都在数据库完成。传入游标（lastSortOrder + lastId）时按 (sortOrder, id) 升序做游标分页，
+     * 否则按请求的排序做偏移分页（追加 id 保证翻页稳定）；未指定排序时沿用 (sortOrder, id)。
      */
     public Page<DictItemDTO> listItems(DictItemQueryDTO query, Long tenantId, Pageable pageable) {
         // 根据字典编码查找字典类型
@@ -44,34 +70,39 @@ public class DictItemService {
             .orElseThrow(() -> new IllegalArgumentException("字典类型不存在: " + query.getDictCode()));
         
         // 查询字典项（平台 + 租户）
-        List<Long> tenantIds = List.of(0L, tenantId);
-        List<DictItem> items = dictItemRepository.findByDictTypeIdAndTenantIdInOrderBySortOrder(
-            dictType.getId(), tenantIds);
-        
-        // 简单的内存过滤
-        List<DictItem> filtered = items.stream()
-            .filter(item -> {
-                if (query.getValue() != null && !item.getValue().contains(query.getValue())) {
-                    return false;
-                }
-                if (query.getEnabled() != null && !query.getEnabled().equals(item.getEnabled())) {
-                    return false;
-                }
-                return true;
-            })
-            .collect(Collectors.toList());
+        List<Specification<JpaDictItem>> conditions = new ArrayList<>();
+        conditions.add(JpaDictItemSpecifications.dictTypeId(dictType.getId()));
+        conditions.add(JpaDictItemSpecifications.tenantIdIn(List.of(0L, tenantId)));
+        if (query.getValue() != null && !query.getValue().isEmpty()) {
+            conditions.add(JpaDictItemSpecifications.valueStartsWith(query.getValue()));
+        }
+        if (query.getEnabled() != null) {
+            conditions.add(JpaDictItemSpecifications.enabled(query.getEnabled()));
+        }
         
-        // 转换为 DTO
-        List<DictItemDTO> dtos = filtered.stream()
-            .map(item -> DictItemConverter.toDTO(item, query.getDictCode()))
-            .collect(Collectors.toList());
+        Specification<JpaDictItem> cursor = null;
+        Pageable page;
+        if (query.getLastSortOrder() != null && query.getLastId() != null) {
+            cursor = JpaDictItemSpecifications.after(query.getLastSortOrder(), query.getLastId());
+            page = PageRequest.of(0, pageable.getPageSize(), KEYSET_SORT);
+        } else {
+            Sort sort;
+            if (pageable.getSort().isUnsorted()) {
+                sort = KEYSET_SORT;
+            } else if (pageable.getSort().getOrderFor("id") != null) {
+                sort = pageable.getSort();
+            } else {
+                sort = pageable.getSort().and(Sort.by(Sort.Direction.ASC, "id"));
+            }
+            page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+        }
         
-        // 简单的分页
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), dtos.size());
-        List<DictItemDTO> pageContent = dtos.subList(start, end);
+        Page<JpaDictItem> result = JpaPageQueries.findPage(jpaDictItemRepository,
+            Specification.allOf(conditions), cursor, page, !Boolean.FALSE.equals(query.getWithCount()));
         
-        return new PageImpl<>(pageContent, pageable, dtos.size());
+        // 转换为 DTO
+        return result.map(item -> DictItemConverter.toDTO(
+            DictRepositoryConverter.toCoreDictItem(item), query.getDictCode()));
     }
     
     /**
@@ -91,17 +122,19 @@ public class DictItemService {
         
         DictItem entity = DictItemConverter.toEntity(dto, dictType.getId(), tenantId);
         DictItem saved = dictItemRepository.save(entity);
+        dictChangeFeedService.recordChanges(dto.getDictCode(), tenantId,
+            DictChangeEvent.DictChangeType.CREATE, List.of(saved.getValue()));
         return DictItemConverter.toDTO(saved, dto.getDictCode());
     }
     
     /**
      * 批量创建字典项
+     * 
+     * <p>走批量导入路径：字典类型和已存在值各一次 IN 查询，JDBC batch 插入，每个字典只刷新一次缓存。
      */
     @Transactional
     public List<DictItemDTO> createItemsBatch(List<DictItemCreateDTO> dtos, Long tenantId) {
-        return dtos.stream()
-            .map(dto -> createItem(dto, tenantId))
-            .collect(Collectors.toList());
+        return dictItemImportService.importItems(dtos, tenantId, null);
     }
     
     /**
@@ -136,6 +169,8 @@ public class DictItemService {
         // 获取字典编码
         DictType dictType = dictTypeRepository.findById(entity.getDictTypeId())
             .orElseThrow(() -> new IllegalArgumentException("字典类型不存在"));
+        dictChangeFeedService.recordChanges(dictType.getDictCode(), entity.getTenantId(),
+            DictChangeEvent.DictChangeType.UPDATE, List.of(entity.getValue()));
         
         return DictItemConverter.toDTO(entity, dictType.getDictCode());
     }
@@ -154,6 +189,11 @@ public class DictItemService {
         }
         
         dictItemRepository.deleteById(id);
+        
+        DictType dictType = dictTypeRepository.findById(entity.getDictTypeId())
+            .orElseThrow(() -> new IllegalArgumentException("字典类型不存在"));
+        dictChangeFeedService.recordChanges(dictType.getDictCode(), entity.getTenantId(),
+            DictChangeEvent.DictChangeType.DELETE, List.of(entity.getValue()));
     }
 }
 
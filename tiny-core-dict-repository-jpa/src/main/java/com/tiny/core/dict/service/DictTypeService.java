@@ -2,19 +2,28 @@ package com.tiny.core.dict.service;
 
 import com.tiny.core.dict.model.DictType;
 import com.tiny.core.dict.repository.DictTypeRepository;
+import com.tiny.core.dict.repository.jpa.DictRepositoryConverter;
+import com.tiny.core.dict.repository.jpa.JpaDictType;
+import com.tiny.core.dict.repository.jpa.JpaDictTypeRepository;
+import com.tiny.core.dict.repository.jpa.JpaDictTypeSpecifications;
+import com.tiny.core.dict.repository.jpa.JpaPageQueries;
+import com.tiny.core.dict.starter.event.DictChangeEvent;
+import com.tiny.core.dict.starter.event.DictChangeNotifier;
 import com.tiny.core.dict.web.dto.DictTypeCreateDTO;
 import com.tiny.core.dict.web.dto.DictTypeDTO;
 import com.tiny.core.dict.web.dto.DictTypeQueryDTO;
 import com.tiny.core.dict.web.dto.DictTypeUpdateDTO;
 import com.tiny.core.dict.web.converter.DictTypeConverter;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 字典类型服务
@@ -26,46 +35,60 @@ import java.util.stream.Collectors;
 public class DictTypeService {
     
     private final DictTypeRepository dictTypeRepository;
+    private final JpaDictTypeRepository jpaDictTypeRepository;
+    private final DictBundleService dictBundleService;
+    private final DictChangeNotifier dictChangeNotifier;
     
-    public DictTypeService(DictTypeRepository dictTypeRepository) {
+    /**
+     * 游标分页排序键
+     */
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "id");
+    
+    public DictTypeService(DictTypeRepository dictTypeRepository, JpaDictTypeRepository jpaDictTypeRepository,
+                           DictBundleService dictBundleService, DictChangeNotifier dictChangeNotifier) {
         this.dictTypeRepository = dictTypeRepository;
+        this.jpaDictTypeRepository = jpaDictTypeRepository;
+        this.dictBundleService = dictBundleService;
+        this.dictChangeNotifier = dictChangeNotifier;
     }
     
     /**
      * 分页查询字典类型
+     * 
+     * <p>过滤和分页都在数据库完成。传入游标（lastId）时按 id 降序做游标分页，
+     * 否则按请求的排序做偏移分页（追加 id 保证翻页稳定）。
      */
     public Page<DictTypeDTO> listTypes(DictTypeQueryDTO query, Long tenantId, Pageable pageable) {
-        // 简化实现：查询所有租户相关的字典类型（平台 + 租户）
-        List<Long> tenantIds = List.of(0L, tenantId);
-        List<DictType> types = dictTypeRepository.findByTenantIdIn(tenantIds);
-        
-        // 简单的内存过滤（实际应该使用 JPA Specification 或 QueryDSL）
-        List<DictType> filtered = types.stream()
-            .filter(type -> {
-                if (query.getDictCode() != null && !type.getDictCode().contains(query.getDictCode())) {
-                    return false;
-                }
-                if (query.getDictName() != null && !type.getDictName().contains(query.getDictName())) {
-                    return false;
-                }
-                if (query.getCategoryId() != null && !query.getCategoryId().equals(type.getCategoryId())) {
-                    return false;
-                }
-                return true;
-            })
-            .collect(Collectors.toList());
+        // 查询租户相关的字典类型（平台 + 租户）
+        List<Specification<JpaDictType>> conditions = new ArrayList<>();
+        conditions.add(JpaDictTypeSpecifications.tenantIdIn(List.of(0L, tenantId)));
+        if (query.getDictCode() != null && !query.getDictCode().isEmpty()) {
+            conditions.add(JpaDictTypeSpecifications.dictCodeStartsWith(query.getDictCode()));
+        }
+        if (query.getDictName() != null && !query.getDictName().isEmpty()) {
+            conditions.add(JpaDictTypeSpecifications.dictNameContains(query.getDictName()));
+        }
+        if (query.getCategoryId() != null) {
+            conditions.add(JpaDictTypeSpecifications.categoryId(query.getCategoryId()));
+        }
         
-        // 转换为 DTO
-        List<DictTypeDTO> dtos = filtered.stream()
-            .map(DictTypeConverter::toDTO)
-            .collect(Collectors.toList());
+        Specification<JpaDictType> cursor = null;
+        Pageable page;
+        if (query.getLastId() != null) {
+            cursor = JpaDictTypeSpecifications.idBefore(query.getLastId());
+            page = PageRequest.of(0, pageable.getPageSize(), KEYSET_SORT);
+        } else {
+            Sort sort = pageable.getSort().getOrderFor("id") != null
+                ? pageable.getSort()
+                : pageable.getSort().and(KEYSET_SORT);
+            page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+        }
         
-        // 简单的分页（实际应该使用数据库分页）
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), dtos.size());
-        List<DictTypeDTO> pageContent = dtos.subList(start, end);
+        Page<JpaDictType> result = JpaPageQueries.findPage(jpaDictTypeRepository,
+            Specification.allOf(conditions), cursor, page, !Boolean.FALSE.equals(query.getWithCount()));
         
-        return new PageImpl<>(pageContent, pageable, dtos.size());
+        // 转换为 DTO
+        return result.map(type -> DictTypeConverter.toDTO(DictRepositoryConverter.toCoreDictType(type)));
     }
     
     /**
@@ -80,6 +103,8 @@ public class DictTypeService {
         
         DictType entity = DictTypeConverter.toEntity(dto, tenantId);
         DictType saved = dictTypeRepository.save(entity);
+        dictBundleService.invalidate(saved.getTenantId());
+        dictChangeNotifier.notifyDictTypeChanged(saved.getDictCode(), saved.getTenantId(), DictChangeEvent.DictChangeType.CREATE);
         return DictTypeConverter.toDTO(saved);
     }
     
@@ -98,6 +123,8 @@ public class DictTypeService {
         
         DictTypeConverter.updateEntity(entity, dto);
         DictType saved = dictTypeRepository.save(entity);
+        dictBundleService.invalidate(saved.getTenantId());
+        dictChangeNotifier.notifyDictTypeChanged(saved.getDictCode(), saved.getTenantId(), DictChangeEvent.DictChangeType.UPDATE);
         return DictTypeConverter.toDTO(saved);
     }
     
@@ -115,6 +142,8 @@ public class DictTypeService {
         }
         
         dictTypeRepository.deleteById(id);
+        dictBundleService.invalidate(entity.getTenantId());
+        dictChangeNotifier.notifyDictTypeChanged(entity.getDictCode(), entity.getTenantId(), DictChangeEvent.DictChangeType.DELETE);
     }
 }
 
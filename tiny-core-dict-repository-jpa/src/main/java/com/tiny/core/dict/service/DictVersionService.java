@@ -4,43 +4,83 @@ import com.tiny.core.dict.model.DictItem;
 import com.tiny.core.dict.model.DictType;
 import com.tiny.core.dict.repository.DictItemRepository;
 import com.tiny.core.dict.repository.DictTypeRepository;
+import com.tiny.core.dict.repository.jpa.DictRepositoryConverter;
+import com.tiny.core.dict.repository.jpa.JdbcDictBatchWriter;
+import com.tiny.core.dict.repository.jpa.JpaDictItem;
+import com.tiny.core.dict.repository.jpa.JpaDictItemRepository;
 import com.tiny.core.dict.repository.jpa.JpaDictItemVersionSnapshot;
 import com.tiny.core.dict.repository.jpa.JpaDictItemVersionSnapshotRepository;
 import com.tiny.core.dict.repository.jpa.JpaDictVersion;
 import com.tiny.core.dict.repository.jpa.JpaDictVersionRepository;
-import com.tiny.core.dict.runtime.DictRuntime;
+import com.tiny.core.dict.starter.event.DictChangeEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * 字典版本管理服务
- * 
+ *
+ * <p>版本存储采用「检查点 + 差异」：
+ * <ul>
+ *   <li>检查点版本保存全量字典项，每 {@value #CHECKPOINT_INTERVAL} 个版本
+ *       或差异超过当前字典项一半时生成一次</li>
+ *   <li>其余版本只保存相对上一版本新增/变更（UPSERT）和删除（REMOVE）的字典项</li>
+ * </ul>
+ * 任一版本的完整状态 = 最近检查点 + 之后各版本差异依次应用，一次查询读出。
+ *
+ * <p>同一字典的版本序号在字典类型行锁下分配（{@link JdbcDictBatchWriter#lockDictType}）。
+ *
  * @author Tiny Platform
  * @version 1.0.0
  */
 @Service
 public class DictVersionService {
     
+    /**
+     * 检查点间隔（版本数）
+     */
+    static final int CHECKPOINT_INTERVAL = 20;
+    
+    /**
+     * 按租户查询字典项时每条语句的最大租户数
+     */
+    private static final int TENANT_CHUNK_SIZE = 1000;
+    
+    private static final Long PLATFORM_TENANT_ID = 0L;
+    
     private final DictTypeRepository dictTypeRepository;
     private final DictItemRepository dictItemRepository;
+    private final JpaDictItemRepository jpaDictItemRepository;
     private final JpaDictVersionRepository versionRepository;
     private final JpaDictItemVersionSnapshotRepository snapshotRepository;
-    private final DictRuntime dictRuntime;
+    private final JdbcDictBatchWriter batchWriter;
+    private final DictChangeFeedService dictChangeFeedService;
     
     public DictVersionService(DictTypeRepository dictTypeRepository,
                               DictItemRepository dictItemRepository,
+                              JpaDictItemRepository jpaDictItemRepository,
                               JpaDictVersionRepository versionRepository,
                               JpaDictItemVersionSnapshotRepository snapshotRepository,
-                              DictRuntime dictRuntime) {
+                              JdbcDictBatchWriter batchWriter,
+                              DictChangeFeedService dictChangeFeedService) {
         this.dictTypeRepository = dictTypeRepository;
         this.dictItemRepository = dictItemRepository;
+        this.jpaDictItemRepository = jpaDictItemRepository;
         this.versionRepository = versionRepository;
         this.snapshotRepository = snapshotRepository;
-        this.dictRuntime = dictRuntime;
+        this.batchWriter = batchWriter;
+        this.dictChangeFeedService = dictChangeFeedService;
     }
     
     /**
@@ -51,92 +91,320 @@ public class DictVersionService {
         // 1. 查找字典类型
         DictType dictType = dictTypeRepository.findByDictCode(dictCode)
             .orElseThrow(() -> new IllegalArgumentException("字典类型不存在: " + dictCode));
+        // 锁定字典类型行：并发创建同一字典的版本时依次取号，不会在 uk_dict_version_no 上冲突
+        batchWriter.lockDictType(dictCode);
         
         // 2. 获取当前字典项
         List<DictItem> items = dictItemRepository.findByDictTypeIdAndTenantIdInOrderBySortOrder(
             dictType.getId(), List.of(0L, tenantId));
         
-        // 3. 生成版本号
-        String version = getNextVersion(dictCode, tenantId);
+        // 3. 生成版本号（数据库端 MAX，不加载历史版本）
+        Integer maxVersionNo = versionRepository.findMaxVersionNo(dictCode, tenantId);
+        int versionNo = maxVersionNo != null ? maxVersionNo + 1 : 1;
         
-        // 4. 创建版本记录
+        // 4. 计算相对上一版本的差异
+        List<JpaDictItemVersionSnapshot> rows;
+        boolean checkpoint;
+        JpaDictVersion previous = maxVersionNo != null
+            ? versionRepository.findByDictCodeAndTenantIdAndVersionNo(dictCode, tenantId, maxVersionNo).orElse(null)
+            : null;
+        if (previous == null || versionNo - previous.getBaseVersionNo() >= CHECKPOINT_INTERVAL) {
+            checkpoint = true;
+            rows = fullSnapshot(items);
+        } else {
+            rows = diff(materialize(previous), items);
+            checkpoint = rows.size() > items.size() / 2;
+            if (checkpoint) {
+                rows = fullSnapshot(items);
+            }
+        }
+        
+        // 5. 创建版本记录
         JpaDictVersion versionEntity = new JpaDictVersion();
         versionEntity.setDictCode(dictCode);
-        versionEntity.setVersion(version);
+        versionEntity.setVersion(formatVersion(versionNo));
+        versionEntity.setVersionNo(versionNo);
+        versionEntity.setCheckpoint(checkpoint);
+        versionEntity.setBaseVersionNo(checkpoint ? versionNo : previous.getBaseVersionNo());
         versionEntity.setTenantId(tenantId);
         versionEntity.setDescription(description);
         versionEntity.setCreatedBy(createdBy);
         versionEntity.setCreatedAt(LocalDateTime.now());
-        versionEntity = versionRepository.save(versionEntity);
+        versionEntity = versionRepository.saveAndFlush(versionEntity);
         
-        // 5. 创建快照
-        for (DictItem item : items) {
-            JpaDictItemVersionSnapshot snapshot = new JpaDictItemVersionSnapshot();
-            snapshot.setDictVersionId(versionEntity.getId());
-            snapshot.setDictItemId(item.getId());
-            snapshot.setValue(item.getValue());
-            snapshot.setLabel(item.getLabel());
-            snapshot.setSortOrder(item.getSortOrder());
-            snapshot.setEnabled(item.getEnabled());
-            snapshot.setExtAttrs(item.getExtAttrs());
-            snapshotRepository.save(snapshot);
+        // 6. 批量写入快照行
+        for (JpaDictItemVersionSnapshot row : rows) {
+            row.setDictVersionId(versionEntity.getId());
         }
+        batchWriter.insertSnapshots(rows);
         
         return versionEntity;
     }
     
+    /**
+     * 强制变更一个字典值后，为保留版本历史的受影响租户批量生成版本
+     *
+     * <p>新版本是相对各租户最新版本的差异版本，只包含该字典值变更后的字典项：
+     * 一次查询各租户最新版本、按租户分块查询变更后的字典项，版本行与快照行各一次批量写入，
+     * 不逐租户物化版本链或读取全部字典项。差异不包含上一版本之后其他尚未生成版本的修改；
+     * 强制变更版本不生成检查点，版本链达到检查点间隔后由下一次 {@link #createVersion} 生成。
+     *
+     * <p>租户版本包含平台字典项，平台（tenantId=0）的字典项被修改时所有保留版本历史的租户都生成版本。
+     * 没有版本历史的租户不补建首个全量版本。
+     *
+     * @param dictCode   字典编码
+     * @param dictTypeId 字典类型ID
+     * @param value      被修改的字典值
+     * @param tenantIds  字典项被修改的租户
+     * @return 生成的版本
+     */
+    @Transactional
+    public List<JpaDictVersion> createForceVersions(String dictCode, Long dictTypeId, String value,
+                                                    Collection<Long> tenantIds, String description, String createdBy) {
+        if (tenantIds.isEmpty()) {
+            return List.of();
+        }
+        batchWriter.lockDictType(dictCode);
+        
+        // 1. 受影响且保留版本历史的租户及其最新版本
+        Set<Long> changed = new HashSet<>(tenantIds);
+        boolean platformChanged = changed.contains(PLATFORM_TENANT_ID);
+        List<JpaDictVersion> latest = new ArrayList<>();
+        for (JpaDictVersion version : versionRepository.findLatestVersions(dictCode)) {
+            if (platformChanged || changed.contains(version.getTenantId())) {
+                latest.add(version);
+            }
+        }
+        if (latest.isEmpty()) {
+            return List.of();
+        }
+        
+        // 2. 变更后的字典项：受影响租户自己的，以及平台的
+        List<Long> itemTenantIds = new ArrayList<>();
+        if (platformChanged) {
+            itemTenantIds.add(PLATFORM_TENANT_ID);
+        }
+        for (JpaDictVersion version : latest) {
+            if (!PLATFORM_TENANT_ID.equals(version.getTenantId()) && changed.contains(version.getTenantId())) {
+                itemTenantIds.add(version.getTenantId());
+            }
+        }
+        Map<Long, DictItem> itemsByTenant = new HashMap<>();
+        for (int from = 0; from < itemTenantIds.size(); from += TENANT_CHUNK_SIZE) {
+            List<Long> chunk = itemTenantIds.subList(from, Math.min(from + TENANT_CHUNK_SIZE, itemTenantIds.size()));
+            for (JpaDictItem item : jpaDictItemRepository.findByDictTypeIdAndTenantIdInAndValueIn(
+                    dictTypeId, chunk, List.of(value))) {
+                itemsByTenant.put(item.getTenantId(), DictRepositoryConverter.toCoreDictItem(item));
+            }
+        }
+        DictItem platformItem = itemsByTenant.get(PLATFORM_TENANT_ID);
+        
+        // 3. 每个租户一个差异版本
+        LocalDateTime now = LocalDateTime.now();
+        List<JpaDictVersion> versions = new ArrayList<>(latest.size());
+        List<List<JpaDictItemVersionSnapshot>> rowsByVersion = new ArrayList<>(latest.size());
+        for (JpaDictVersion previous : latest) {
+            List<JpaDictItemVersionSnapshot> rows = new ArrayList<>(2);
+            if (platformItem != null) {
+                rows.add(toSnapshot(platformItem, JpaDictItemVersionSnapshot.CHANGE_UPSERT));
+            }
+            DictItem tenantItem = PLATFORM_TENANT_ID.equals(previous.getTenantId())
+                ? null : itemsByTenant.get(previous.getTenantId());
+            if (tenantItem != null) {
+                rows.add(toSnapshot(tenantItem, JpaDictItemVersionSnapshot.CHANGE_UPSERT));
+            }
+            if (rows.isEmpty()) {
+                continue;
+            }
+            int versionNo = previous.getVersionNo() + 1;
+            JpaDictVersion version = new JpaDictVersion();
+            version.setDictCode(dictCode);
+            version.setVersion(formatVersion(versionNo));
+            version.setVersionNo(versionNo);
+            version.setCheckpoint(false);
+            version.setBaseVersionNo(previous.getBaseVersionNo());
+            version.setTenantId(previous.getTenantId());
+            version.setDescription(description);
+            version.setCreatedBy(createdBy);
+            version.setCreatedAt(now);
+            versions.add(version);
+            rowsByVersion.add(rows);
+        }
+        
+        // 4. 批量写入版本行与快照行
+        batchWriter.insertVersions(versions);
+        List<JpaDictItemVersionSnapshot> allRows = new ArrayList<>();
+        for (int i = 0; i < versions.size(); i++) {
+            for (JpaDictItemVersionSnapshot row : rowsByVersion.get(i)) {
+                row.setDictVersionId(versions.get(i).getId());
+                allRows.add(row);
+            }
+        }
+        batchWriter.insertSnapshots(allRows);
+        return versions;
+    }
+    
     /**
      * 回滚到指定版本
+     *
+     * <p>从最近检查点物化目标版本状态（一次读取），与当前字典项比较后批量写回：
+     * 变更的更新、已删除的重新插入；本租户在目标版本之后新增的字典项被删除。
+     * 只写回本租户的字典项，版本中的平台字典项（tenantId=0）不受租户回滚影响。
      */
     @Transactional
     public void rollbackToVersion(String dictCode, String version, Long tenantId) {
-        // 1. 获取版本快照
+        // 1. 物化目标版本
         JpaDictVersion dictVersion = versionRepository
             .findByDictCodeAndVersionAndTenantId(dictCode, version, tenantId)
             .orElseThrow(() -> new IllegalArgumentException("版本不存在"));
+        Map<Long, JpaDictItemVersionSnapshot> target = materialize(dictVersion);
         
-        List<JpaDictItemVersionSnapshot> snapshots = snapshotRepository
-            .findByDictVersionId(dictVersion.getId());
+        DictType dictType = dictTypeRepository.findByDictCode(dictCode)
+            .orElseThrow(() -> new IllegalArgumentException("字典类型不存在: " + dictCode));
+        Map<Long, DictItem> current = new LinkedHashMap<>();
+        for (DictItem item : dictItemRepository.findByDictTypeIdAndTenantIdInOrderBySortOrder(
+                dictType.getId(), List.of(tenantId))) {
+            current.put(item.getId(), item);
+        }
         
-        // 2. 恢复字典项
-        for (JpaDictItemVersionSnapshot snapshot : snapshots) {
-            DictItem item = dictItemRepository.findById(snapshot.getDictItemId())
-                .orElse(new DictItem());
-            
-            item.setValue(snapshot.getValue());
-            item.setLabel(snapshot.getLabel());
-            item.setSortOrder(snapshot.getSortOrder());
-            item.setEnabled(snapshot.getEnabled());
-            item.setExtAttrs(snapshot.getExtAttrs());
-            dictItemRepository.save(item);
+        // 2. 计算需要更新、插入、删除的字典项，按字典项所属租户收集变化的字典值
+        List<DictItem> toUpdate = new ArrayList<>();
+        List<DictItem> toInsert = new ArrayList<>();
+        Map<Long, Set<String>> changedValues = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (JpaDictItemVersionSnapshot snapshot : target.values()) {
+            if (!Objects.equals(snapshot.getTenantId(), tenantId)) {
+                continue;
+            }
+            DictItem item = current.remove(snapshot.getDictItemId());
+            if (item == null) {
+                item = new DictItem();
+                item.setDictTypeId(dictType.getId());
+                item.setTenantId(snapshot.getTenantId());
+                item.setCreatedAt(now);
+                item.setUpdatedAt(now);
+                applySnapshot(item, snapshot);
+                toInsert.add(item);
+                addChangedValue(changedValues, item);
+            } else if (!sameContent(snapshot, item)) {
+                // 字典值本身也可能变化，新旧值都要记录
+                addChangedValue(changedValues, item);
+                applySnapshot(item, snapshot);
+                toUpdate.add(item);
+                addChangedValue(changedValues, item);
+            }
         }
+        List<Long> toDelete = new ArrayList<>();
+        for (DictItem item : current.values()) {
+            toDelete.add(item.getId());
+            addChangedValue(changedValues, item);
+        }
+        
+        // 3. 批量写回：先删除再更新、插入，避免重新插入的字典值与待删除的字典项冲突唯一键
+        batchWriter.deleteItems(toDelete);
+        batchWriter.updateItems(toUpdate);
+        batchWriter.insertItems(toInsert);
         
-        // 3. 刷新缓存
-        dictRuntime.refreshCache(dictCode, tenantId);
+        // 4. 记录变更（事务提交后发布变更事件刷新缓存）
+        changedValues.forEach((itemTenantId, values) -> dictChangeFeedService.recordChanges(
+            dictCode, itemTenantId, DictChangeEvent.DictChangeType.UPDATE, values));
+    }
+    
+    private void addChangedValue(Map<Long, Set<String>> changedValues, DictItem item) {
+        changedValues.computeIfAbsent(item.getTenantId(), k -> new LinkedHashSet<>()).add(item.getValue());
     }
     
     /**
-     * 获取下一个版本号
+     * 物化指定版本的完整状态：最近检查点 + 之后各版本差异
+     *
+     * @return dictItemId → 快照行（按检查点中的顺序）
      */
-    private String getNextVersion(String dictCode, Long tenantId) {
-        List<JpaDictVersion> versions = versionRepository
-            .findByDictCodeAndTenantIdOrderByCreatedAtDesc(dictCode, tenantId);
+    private Map<Long, JpaDictItemVersionSnapshot> materialize(JpaDictVersion version) {
+        List<JpaDictItemVersionSnapshot> chain = snapshotRepository.findVersionChain(
+            version.getDictCode(), version.getTenantId(), version.getBaseVersionNo(), version.getVersionNo());
         
-        if (versions.isEmpty()) {
-            return "1.0.0";
+        Map<Long, JpaDictItemVersionSnapshot> state = new LinkedHashMap<>();
+        for (JpaDictItemVersionSnapshot row : chain) {
+            if (JpaDictItemVersionSnapshot.CHANGE_REMOVE.equals(row.getChangeType())) {
+                state.remove(row.getDictItemId());
+            } else {
+                state.put(row.getDictItemId(), row);
+            }
         }
-        
-        // 简单版本号递增（实际可以使用语义化版本号）
-        String lastVersion = versions.get(0).getVersion();
-        // TODO: 实现版本号递增逻辑
-        return incrementVersion(lastVersion);
+        return state;
     }
     
-    private String incrementVersion(String version) {
-        // 简化实现：假设版本号格式为 "1.0.0"
-        String[] parts = version.split("\\.");
-        int patch = Integer.parseInt(parts[2]) + 1;
-        return parts[0] + "." + parts[1] + "." + patch;
+    private List<JpaDictItemVersionSnapshot> fullSnapshot(List<DictItem> items) {
+        List<JpaDictItemVersionSnapshot> rows = new ArrayList<>(items.size());
+        for (DictItem item : items) {
+            rows.add(toSnapshot(item, JpaDictItemVersionSnapshot.CHANGE_UPSERT));
+        }
+        return rows;
+    }
+    
+    private List<JpaDictItemVersionSnapshot> diff(Map<Long, JpaDictItemVersionSnapshot> previous, List<DictItem> items) {
+        Map<Long, JpaDictItemVersionSnapshot> removed = new LinkedHashMap<>(previous);
+        List<JpaDictItemVersionSnapshot> rows = new ArrayList<>();
+        for (DictItem item : items) {
+            JpaDictItemVersionSnapshot before = removed.remove(item.getId());
+            if (before == null || !sameContent(before, item)) {
+                rows.add(toSnapshot(item, JpaDictItemVersionSnapshot.CHANGE_UPSERT));
+            }
+        }
+        for (JpaDictItemVersionSnapshot before : removed.values()) {
+            JpaDictItemVersionSnapshot row = copy(before);
+            row.setChangeType(JpaDictItemVersionSnapshot.CHANGE_REMOVE);
+            rows.add(row);
+        }
+        return rows;
+    }
+    
+    private JpaDictItemVersionSnapshot toSnapshot(DictItem item, String changeType) {
+        JpaDictItemVersionSnapshot snapshot = new JpaDictItemVersionSnapshot();
+        snapshot.setDictItemId(item.getId());
+        snapshot.setTenantId(item.getTenantId());
+        snapshot.setChangeType(changeType);
+        snapshot.setValue(item.getValue());
+        snapshot.setLabel(item.getLabel());
+        snapshot.setSortOrder(item.getSortOrder());
+        snapshot.setEnabled(item.getEnabled());
+        snapshot.setExtAttrs(item.getExtAttrs());
+        return snapshot;
+    }
+    
+    private JpaDictItemVersionSnapshot copy(JpaDictItemVersionSnapshot source) {
+        JpaDictItemVersionSnapshot snapshot = new JpaDictItemVersionSnapshot();
+        snapshot.setDictItemId(source.getDictItemId());
+        snapshot.setTenantId(source.getTenantId());
+        snapshot.setChangeType(source.getChangeType());
+        snapshot.setValue(source.getValue());
+        snapshot.setLabel(source.getLabel());
+        snapshot.setSortOrder(source.getSortOrder());
+        snapshot.setEnabled(source.getEnabled());
+        snapshot.setExtAttrs(source.getExtAttrs());
+        return snapshot;
+    }
+    
+    private void applySnapshot(DictItem item, JpaDictItemVersionSnapshot snapshot) {
+        item.setValue(snapshot.getValue());
+        item.setLabel(snapshot.getLabel());
+        item.setSortOrder(snapshot.getSortOrder());
+        item.setEnabled(snapshot.getEnabled());
+        item.setExtAttrs(snapshot.getExtAttrs());
+    }
+    
+    private boolean sameContent(JpaDictItemVersionSnapshot snapshot, DictItem item) {
+        return Objects.equals(snapshot.getValue(), item.getValue())
+            && Objects.equals(snapshot.getLabel(), item.getLabel())
+            && Objects.equals(snapshot.getSortOrder(), item.getSortOrder())
+            && Objects.equals(snapshot.getEnabled(), item.getEnabled())
+            && Objects.equals(snapshot.getExtAttrs(), item.getExtAttrs());
+    }
+    
+    /**
+     * 版本序号转换为版本号：1 → 1.0.0，2 → 1.0.1，……
+     */
+    private String formatVersion(int versionNo) {
+        return "1.0." + (versionNo - 1);
     }
 }
-
@@ -0,0 +1,262 @@
+package com.tiny.core.dict.service;
+
+import com.tiny.core.dict.model.DictType;
+import com.tiny.core.dict.repository.DictItemRepository;
+import com.tiny.core.dict.repository.DictTypeRepository;
+import com.tiny.core.dict.repository.jpa.JdbcDictBatchWriter;
+import com.tiny.core.dict.repository.jpa.JpaDictItem;
+import com.tiny.core.dict.repository.jpa.JpaDictItemRepository;
+import com.tiny.core.dict.repository.jpa.JpaDictItemVersionSnapshotRepository;
+import com.tiny.core.dict.repository.jpa.JpaDictVersion;
+import com.tiny.core.dict.repository.jpa.JpaDictVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * DictVersionService 测试类
+ * 在 H2（MySQL 模式）上验证版本序号在字典类型行锁下分配，并发创建同一字典的版本不冲突，
+ * 以及强制变更为多个租户批量生成差异版本
+ */
+class DictVersionServiceTest {
+
+    private static final String DICT_CODE = "gender";
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private JpaDictVersionRepository versionRepository;
+    private JpaDictItemRepository jpaDictItemRepository;
+    private DictVersionService service;
+
+    /**
+     * 读取最大版本序号后等待另一个事务也读到（最多等待 300ms）；没有行锁时两个事务会取到相同的序号
+     */
+    private final CountDownLatch bothReadMax = new CountDownLatch(2);
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:dict_version;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000;NON_KEYWORDS=VALUE", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("CREATE TABLE dict_type (id BIGINT PRIMARY KEY AUTO_INCREMENT,"
+            + " dict_code VARCHAR(64) NOT NULL UNIQUE)");
+        jdbcTemplate.execute("CREATE TABLE dict_version (id BIGINT PRIMARY KEY AUTO_INCREMENT,"
+            + " dict_code VARCHAR(64) NOT NULL, version VARCHAR(32) NOT NULL, tenant_id BIGINT DEFAULT 0,"
+            + " version_no INT NOT NULL, checkpoint BOOLEAN NOT NULL, base_version_no INT NOT NULL,"
+            + " description VARCHAR(255), created_by VARCHAR(64), created_at DATETIME,"
+            + " CONSTRAINT uk_dict_version_no UNIQUE (dict_code, tenant_id, version_no))");
+        jdbcTemplate.execute("CREATE TABLE dict_item_version_snapshot (id BIGINT PRIMARY KEY AUTO_INCREMENT,"
+            + " dict_version_id BIGINT NOT NULL, dict_item_id BIGINT, tenant_id BIGINT NOT NULL,"
+            + " change_type VARCHAR(16) NOT NULL, value VARCHAR(64) NOT NULL, label VARCHAR(128) NOT NULL,"
+            + " sort_order INT, enabled BOOLEAN, ext_attrs VARCHAR(1000))");
+        jdbcTemplate.update("INSERT INTO dict_type (id, dict_code) VALUES (1, ?)", DICT_CODE);
+
+        DictTypeRepository dictTypeRepository = mock(DictTypeRepository.class);
+        DictType dictType = new DictType();
+        dictType.setId(1L);
+        dictType.setDictCode(DICT_CODE);
+        when(dictTypeRepository.findByDictCode(DICT_CODE)).thenReturn(Optional.of(dictType));
+        DictItemRepository dictItemRepository = mock(DictItemRepository.class);
+        when(dictItemRepository.findByDictTypeIdAndTenantIdInOrderBySortOrder(anyLong(), any())).thenReturn(List.of());
+        JpaDictItemVersionSnapshotRepository snapshotRepository = mock(JpaDictItemVersionSnapshotRepository.class);
+        when(snapshotRepository.findVersionChain(anyString(), anyLong(), anyInt(), anyInt())).thenReturn(List.of());
+
+        // 版本表的读写落到 H2，与批量写入共用事务连接
+        versionRepository = mock(JpaDictVersionRepository.class);
+        when(versionRepository.findMaxVersionNo(DICT_CODE, 1L)).thenAnswer(invocation -> {
+            Integer max = jdbcTemplate.queryForObject(
+                "SELECT MAX(version_no) FROM dict_version WHERE dict_code = ? AND tenant_id = ?",
+                Integer.class, DICT_CODE, 1L);
+            bothReadMax.countDown();
+            bothReadMax.await(300, TimeUnit.MILLISECONDS);
+            return max;
+        });
+        when(versionRepository.findByDictCodeAndTenantIdAndVersionNo(eq(DICT_CODE), eq(1L), anyInt()))
+            .thenAnswer(invocation -> jdbcTemplate.query(
+                "SELECT version_no, base_version_no FROM dict_version WHERE dict_code = ? AND tenant_id = ? AND version_no = ?",
+                (rs, i) -> version(rs.getInt(1), rs.getInt(2)), DICT_CODE, 1L, invocation.getArgument(2))
+                .stream().findFirst());
+        when(versionRepository.saveAndFlush(any())).thenAnswer(invocation -> insert(invocation.getArgument(0)));
+        when(versionRepository.findLatestVersions(DICT_CODE)).thenAnswer(invocation -> jdbcTemplate.query(
+            "SELECT tenant_id, version_no, base_version_no FROM dict_version v WHERE dict_code = ? AND version_no ="
+                + " (SELECT MAX(version_no) FROM dict_version l WHERE l.dict_code = v.dict_code AND l.tenant_id = v.tenant_id)",
+            (rs, i) -> {
+                JpaDictVersion version = version(rs.getInt(2), rs.getInt(3));
+                version.setTenantId(rs.getLong(1));
+                return version;
+            }, DICT_CODE));
+        // 每个租户都有字典值 PAID，字典项ID = 100 + 租户ID
+        jpaDictItemRepository = mock(JpaDictItemRepository.class);
+        when(jpaDictItemRepository.findByDictTypeIdAndTenantIdInAndValueIn(eq(1L), any(), eq(List.of("PAID"))))
+            .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(1).stream()
+                .map(tenantId -> item(tenantId, "PAID", "已付款-" + tenantId)).toList());
+
+        service = new DictVersionService(dictTypeRepository, dictItemRepository, jpaDictItemRepository, versionRepository,
+            snapshotRepository, new JdbcDictBatchWriter(jdbcTemplate), mock(DictChangeFeedService.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE dict_item_version_snapshot");
+        jdbcTemplate.execute("DROP TABLE dict_version");
+        jdbcTemplate.execute("DROP TABLE dict_type");
+    }
+
+    @Test
+    @DisplayName("测试 并发创建同一字典的版本时依次取号，不在唯一键上冲突")
+    void testConcurrentCreateVersionGetsDistinctNumbers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<JpaDictVersion> first = executor.submit(() -> createVersionInTransaction("a"));
+            Future<JpaDictVersion> second = executor.submit(() -> createVersionInTransaction("b"));
+
+            List<Integer> numbers = List.of(first.get(10, TimeUnit.SECONDS).getVersionNo(),
+                second.get(10, TimeUnit.SECONDS).getVersionNo());
+
+            assertTrue(numbers.containsAll(List.of(1, 2)), numbers.toString());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(List.of(1, 2), jdbcTemplate.queryForList(
+            "SELECT version_no FROM dict_version ORDER BY version_no", Integer.class));
+    }
+
+    @Test
+    @DisplayName("测试 版本序号递增，检查点之后生成差异版本")
+    void testVersionNumbersIncrease() {
+        JpaDictVersion v1 = createVersionInTransaction("v1");
+        JpaDictVersion v2 = createVersionInTransaction("v2");
+
+        assertEquals(1, v1.getVersionNo());
+        assertTrue(v1.getCheckpoint());
+        assertEquals(2, v2.getVersionNo());
+        assertEquals("1.0.1", v2.getVersion());
+        assertFalse(v2.getCheckpoint());
+        assertEquals(1, v2.getBaseVersionNo());
+    }
+
+    @Test
+    @DisplayName("测试 强制变更为每个保留版本历史的受影响租户生成一个差异版本，一次批量写入")
+    void testForceVersionsForSeveralTenants() {
+        insertVersion(1L, 1, true, 1);
+        insertVersion(1L, 2, false, 1);
+        insertVersion(2L, 1, true, 1);
+        insertVersion(3L, 1, true, 1);
+
+        // 租户 1、2、4 的字典项被修改；租户 3 未修改，租户 4 没有版本历史
+        List<JpaDictVersion> versions = transactionTemplate.execute(status -> service.createForceVersions(
+            DICT_CODE, 1L, "PAID", List.of(1L, 2L, 4L), "FORCE: PAID", "dict-force"));
+
+        assertEquals(2, versions.size());
+        assertEquals(List.of(
+                Map.of("TENANT_ID", 1L, "VERSION_NO", 1), Map.of("TENANT_ID", 1L, "VERSION_NO", 2),
+                Map.of("TENANT_ID", 1L, "VERSION_NO", 3), Map.of("TENANT_ID", 2L, "VERSION_NO", 1),
+                Map.of("TENANT_ID", 2L, "VERSION_NO", 2), Map.of("TENANT_ID", 3L, "VERSION_NO", 1)),
+            jdbcTemplate.queryForList("SELECT tenant_id, version_no FROM dict_version ORDER BY tenant_id, version_no"));
+        assertEquals(List.of(Map.of("TENANT_ID", 1L, "CHECKPOINT", false, "BASE_VERSION_NO", 1, "CREATED_BY", "dict-force"),
+                Map.of("TENANT_ID", 2L, "CHECKPOINT", false, "BASE_VERSION_NO", 1, "CREATED_BY", "dict-force")),
+            jdbcTemplate.queryForList("SELECT tenant_id, checkpoint, base_version_no, created_by FROM dict_version"
+                + " WHERE description = 'FORCE: PAID' ORDER BY tenant_id"));
+        assertEquals(List.of(Map.of("VERSION_TENANT", 1L, "DICT_ITEM_ID", 101L, "LABEL", "已付款-1", "CHANGE_TYPE", "UPSERT"),
+                Map.of("VERSION_TENANT", 2L, "DICT_ITEM_ID", 102L, "LABEL", "已付款-2", "CHANGE_TYPE", "UPSERT")),
+            snapshotRows());
+        // 只查询一次字典项，且只查询有版本历史的受影响租户
+        verify(jpaDictItemRepository, times(1)).findByDictTypeIdAndTenantIdInAndValueIn(1L, List.of(1L, 2L), List.of("PAID"));
+        verify(versionRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("测试 平台字典项被强制修改时，所有保留版本历史的租户都记录平台字典项")
+    void testForceVersionsWhenPlatformChanged() {
+        insertVersion(1L, 1, true, 1);
+        insertVersion(2L, 1, true, 1);
+
+        List<JpaDictVersion> versions = transactionTemplate.execute(status -> service.createForceVersions(
+            DICT_CODE, 1L, "PAID", List.of(0L, 1L), "FORCE: PAID", "dict-force"));
+
+        assertEquals(2, versions.size());
+        assertEquals(List.of(
+                Map.of("VERSION_TENANT", 1L, "DICT_ITEM_ID", 100L, "LABEL", "已付款-0", "CHANGE_TYPE", "UPSERT"),
+                Map.of("VERSION_TENANT", 1L, "DICT_ITEM_ID", 101L, "LABEL", "已付款-1", "CHANGE_TYPE", "UPSERT"),
+                Map.of("VERSION_TENANT", 2L, "DICT_ITEM_ID", 100L, "LABEL", "已付款-0", "CHANGE_TYPE", "UPSERT")),
+            snapshotRows());
+    }
+
+    private List<Map<String, Object>> snapshotRows() {
+        return jdbcTemplate.queryForList("SELECT v.tenant_id AS version_tenant, s.dict_item_id, s.label, s.change_type"
+            + " FROM dict_item_version_snapshot s JOIN dict_version v ON v.id = s.dict_version_id"
+            + " ORDER BY v.tenant_id, s.dict_item_id");
+    }
+
+    private void insertVersion(Long tenantId, int versionNo, boolean checkpoint, int baseVersionNo) {
+        jdbcTemplate.update("INSERT INTO dict_version (dict_code, version, tenant_id, version_no, checkpoint,"
+            + " base_version_no) VALUES (?, ?, ?, ?, ?, ?)", DICT_CODE, "1.0." + (versionNo - 1), tenantId, versionNo,
+            checkpoint, baseVersionNo);
+    }
+
+    private static JpaDictItem item(Long tenantId, String value, String label) {
+        JpaDictItem item = new JpaDictItem();
+        item.setId(100 + tenantId);
+        item.setDictTypeId(1L);
+        item.setTenantId(tenantId);
+        item.setValue(value);
+        item.setLabel(label);
+        return item;
+    }
+
+    private JpaDictVersion createVersionInTransaction(String description) {
+        return transactionTemplate.execute(status -> service.createVersion(DICT_CODE, 1L, description, "test"));
+    }
+
+    private JpaDictVersion insert(JpaDictVersion version) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("INSERT INTO dict_version (dict_code, version, tenant_id,"
+                + " version_no, checkpoint, base_version_no) VALUES (?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, version.getDictCode());
+            ps.setString(2, version.getVersion());
+            ps.setLong(3, version.getTenantId());
+            ps.setInt(4, version.getVersionNo());
+            ps.setBoolean(5, version.getCheckpoint());
+            ps.setInt(6, version.getBaseVersionNo());
+            return ps;
+        }, keyHolder);
+        version.setId(keyHolder.getKey().longValue());
+        return version;
+    }
+
+    private static JpaDictVersion version(int versionNo, int baseVersionNo) {
+        JpaDictVersion version = new JpaDictVersion();
+        version.setDictCode(DICT_CODE);
+        version.setTenantId(1L);
+        version.setVersionNo(versionNo);
+        version.setBaseVersionNo(baseVersionNo);
+        return version;
+    }
+}
@@ -1,9 +1,17 @@
 package com.tiny.core.dict.starter.autoconfigure;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tiny.core.dict.cache.DictCacheManager;
 import com.tiny.core.dict.repository.DictItemRepository;
 import com.tiny.core.dict.repository.DictTypeRepository;
+import com.tiny.core.dict.starter.event.DictCacheRefreshListener;
+import com.tiny.core.dict.starter.event.DictCacheRefreshMetrics;
+import com.tiny.core.dict.starter.jackson.AuthenticatedDictTenantResolver;
+import com.tiny.core.dict.starter.jackson.DictLabelModule;
+import com.tiny.core.dict.starter.jackson.DictTenantResolver;
+import com.tiny.core.dict.starter.jackson.RequestHeaderDictTenantResolver;
 import com.tiny.core.dict.starter.properties.DictProperties;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -11,7 +19,13 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.util.ClassUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 数据字典自动配置
@@ -31,6 +45,11 @@ import org.springframework.data.redis.core.RedisTemplate;
 @ConditionalOnProperty(prefix = "tiny.core.dict", name = "enabled", matchIfMissing = true)
 public class DictAutoConfiguration {
 
+    private static final String SECURITY_CONTEXT_HOLDER =
+        "org.springframework.security.core.context.SecurityContextHolder";
+    private static final String CLAIM_ACCESSOR = "org.springframework.security.oauth2.core.ClaimAccessor";
+    private static final String REQUEST_CONTEXT_HOLDER = "org.springframework.web.context.request.RequestContextHolder";
+
     /**
      * 内存缓存实现（默认，轻量模式）
      * 
@@ -57,5 +76,58 @@ public class DictAutoConfiguration {
      * 通过 RedisDictCacheAutoConfiguration 自动配置。
      * 这里不需要手动配置，只需要确保 Starter 模块不阻止 Redis 缓存的自动配置即可。
      */
-}
 
+    /**
+     * 字典标签 Jackson 模块（存在 Jackson 时启用）
+     * 
+     * <p>Spring Boot 会把容器中的 Module Bean 注册到默认 ObjectMapper。
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(ObjectMapper.class)
+    static class DictJacksonConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public DictLabelModule dictLabelModule(ObjectProvider<DictCacheManager> dictCacheManager,
+                                               ObjectProvider<DictTenantResolver> tenantResolver) {
+            return new DictLabelModule(dictCacheManager::getIfAvailable, tenantResolver.getIfAvailable());
+        }
+
+        /**
+         * 默认从认证主体读取租户（存在 Spring Security 时）；
+         * 请求头 X-Tenant-Id 由客户端控制，只在开启 tiny.core.dict.jackson.tenant-header-fallback 时作为回退
+         */
+        @Bean
+        @ConditionalOnMissingBean(DictTenantResolver.class)
+        public DictTenantResolver dictTenantResolver(DictProperties properties) {
+            ClassLoader classLoader = DictAutoConfiguration.class.getClassLoader();
+            List<DictTenantResolver> resolvers = new ArrayList<>();
+            if (ClassUtils.isPresent(SECURITY_CONTEXT_HOLDER, classLoader)
+                    && ClassUtils.isPresent(CLAIM_ACCESSOR, classLoader)) {
+                resolvers.add(new AuthenticatedDictTenantResolver(properties.getJackson().getTenantClaim()));
+            }
+            if (properties.getJackson().isTenantHeaderFallback()
+                    && ClassUtils.isPresent(REQUEST_CONTEXT_HOLDER, classLoader)) {
+                resolvers.add(new RequestHeaderDictTenantResolver());
+            }
+            return DictTenantResolver.firstOf(resolvers);
+        }
+    }
+
+    /**
+     * 缓存刷新指标（存在 Micrometer 时启用）
+     * 
+     * <p>Spring Boot Actuator 会把容器中的 MeterBinder Bean 绑定到 MeterRegistry。
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class DictMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnBean(DictCacheRefreshListener.class)
+        public DictCacheRefreshMetrics dictCacheRefreshMetrics(DictCacheRefreshListener listener) {
+            return new DictCacheRefreshMetrics(listener);
+        }
+    }
+}
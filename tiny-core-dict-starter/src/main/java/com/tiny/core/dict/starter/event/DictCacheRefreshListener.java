@@ -1,45 +1,169 @@
 package com.tiny.core.dict.starter.event;
 
 import com.tiny.core.dict.cache.DictCacheManager;
+import com.tiny.core.dict.starter.properties.DictProperties;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * 字典缓存刷新监听器
- * 
- * <p>监听字典变更事件，自动刷新缓存。
- * 
+ *
+ * <p>监听字典变更事件，合并后刷新缓存：
+ * <ul>
+ *   <li>同一 (dictCode, tenantId) 在防抖窗口内的多次变更只刷新一次，窗口从第一次变更开始计时</li>
+ *   <li>刷新执行期间到达的变更不会并发刷新，而是在本次刷新结束后再补一次</li>
+ *   <li>平台字典（tenantId=0）变更只刷新共享的平台快照一次，不逐租户重新加载</li>
+ *   <li>调度线程只负责防抖计时，刷新在 refresh-threads 个工作线程上执行，不同字典互不阻塞</li>
+ * </ul>
+ *
+ * <p>计数器由 {@link DictCacheRefreshMetrics} 注册到 Micrometer（存在 MeterRegistry 时）。
+ *
  * @author Tiny Platform
  * @version 1.0.0
  */
 @Component
 public class DictCacheRefreshListener {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(DictCacheRefreshListener.class);
-    
+
     private final DictCacheManager cacheManager;
-    
-    public DictCacheRefreshListener(DictCacheManager cacheManager) {
+    private final long debounceMillis;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService workers;
+
+    /**
+     * 待刷新或刷新中的 Key 及其状态
+     */
+    private final ConcurrentHashMap<RefreshKey, RefreshState> states = new ConcurrentHashMap<>();
+
+    private final LongAdder eventsReceived = new LongAdder();
+    private final LongAdder eventsCoalesced = new LongAdder();
+    private final LongAdder refreshesExecuted = new LongAdder();
+    private final LongAdder refreshesFailed = new LongAdder();
+
+    public DictCacheRefreshListener(DictCacheManager cacheManager, DictProperties properties) {
         this.cacheManager = cacheManager;
+        this.debounceMillis = Math.max(0, properties.getCache().getRefreshDebounceMillis());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dict-cache-refresh-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger workerIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, properties.getCache().getRefreshThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "dict-cache-refresh-" + workerIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
-    
+
     @EventListener
-    @Async
     public void handleDictChange(DictChangeEvent event) {
         logger.debug("收到字典变更事件: dictCode={}, tenantId={}, changeType={}",
             event.getDictCode(), event.getTenantId(), event.getChangeType());
-        
+        eventsReceived.increment();
+
+        RefreshKey key = new RefreshKey(event.getDictCode(), event.getTenantId());
+        while (true) {
+            if (states.putIfAbsent(key, RefreshState.SCHEDULED) == null) {
+                // 只有把状态从“无”改为 SCHEDULED 的线程负责安排，安排动作不放在 compute 里执行
+                schedule(key);
+                return;
+            }
+            RefreshState merged = states.computeIfPresent(key,
+                (k, state) -> state == RefreshState.RUNNING ? RefreshState.RUNNING_DIRTY : state);
+            if (merged != null) {
+                eventsCoalesced.increment();
+                return;
+            }
+            // 刷新恰好结束并移除了状态，重新尝试
+        }
+    }
+
+    private void schedule(RefreshKey key) {
+        scheduler.schedule(() -> workers.execute(() -> refresh(key)), debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void refresh(RefreshKey key) {
+        states.put(key, RefreshState.RUNNING);
         try {
-            cacheManager.refreshDictCacheAsync(event.getDictCode(), event.getTenantId());
-            logger.debug("字典缓存刷新完成: dictCode={}, tenantId={}",
-                event.getDictCode(), event.getTenantId());
+            cacheManager.refreshDictCache(key.dictCode(), key.tenantId());
+            refreshesExecuted.increment();
+            logger.debug("字典缓存刷新完成: dictCode={}, tenantId={}", key.dictCode(), key.tenantId());
         } catch (Exception e) {
-            logger.error("字典缓存刷新失败: dictCode={}, tenantId={}",
-                event.getDictCode(), event.getTenantId(), e);
+            refreshesFailed.increment();
+            logger.error("字典缓存刷新失败: dictCode={}, tenantId={}", key.dictCode(), key.tenantId(), e);
+        } finally {
+            // 刷新期间又有变更则再安排一次，否则移除
+            RefreshState next = states.computeIfPresent(key,
+                (k, state) -> state == RefreshState.RUNNING_DIRTY ? RefreshState.SCHEDULED : null);
+            if (next == RefreshState.SCHEDULED) {
+                schedule(key);
+            }
         }
     }
-}
 
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * 等待防抖或刷新中的字典数
+     */
+    public int getPendingRefreshes() {
+        return states.size();
+    }
+
+    /**
+     * 收到的变更事件数
+     */
+    public long getEventsReceived() {
+        return eventsReceived.sum();
+    }
+
+    /**
+     * 被合并（未单独触发刷新）的变更事件数
+     */
+    public long getEventsCoalesced() {
+        return eventsCoalesced.sum();
+    }
+
+    /**
+     * 实际执行的刷新次数
+     */
+    public long getRefreshesExecuted() {
+        return refreshesExecuted.sum();
+    }
+
+    /**
+     * 刷新失败次数
+     */
+    public long getRefreshesFailed() {
+        return refreshesFailed.sum();
+    }
+
+    private record RefreshKey(String dictCode, Long tenantId) {
+    }
+
+    private enum RefreshState {
+        /** 已安排，等待防抖窗口结束 */
+        SCHEDULED,
+        /** 刷新中 */
+        RUNNING,
+        /** 刷新中且期间有新的变更 */
+        RUNNING_DIRTY
+    }
+}
@@ -0,0 +1,51 @@
+package com.tiny.core.dict.starter.event;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 字典缓存刷新指标
+ *
+ * <p>把 {@link DictCacheRefreshListener} 的计数注册到 Micrometer：
+ * <ul>
+ *   <li>tiny.dict.cache.refresh.events{result=received|coalesced}：收到 / 被合并的变更事件</li>
+ *   <li>tiny.dict.cache.refresh.executions{result=success|failure}：实际执行的刷新</li>
+ *   <li>tiny.dict.cache.refresh.pending：等待防抖或刷新中的字典数</li>
+ * </ul>
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public class DictCacheRefreshMetrics implements MeterBinder {
+
+    private final DictCacheRefreshListener listener;
+
+    public DictCacheRefreshMetrics(DictCacheRefreshListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tiny.dict.cache.refresh.events", listener, DictCacheRefreshListener::getEventsReceived)
+            .tag("result", "received")
+            .description("收到的字典变更事件数")
+            .register(registry);
+        FunctionCounter.builder("tiny.dict.cache.refresh.events", listener, DictCacheRefreshListener::getEventsCoalesced)
+            .tag("result", "coalesced")
+            .description("被合并、未单独触发刷新的字典变更事件数")
+            .register(registry);
+        FunctionCounter.builder("tiny.dict.cache.refresh.executions", listener, DictCacheRefreshListener::getRefreshesExecuted)
+            .tag("result", "success")
+            .description("字典缓存刷新次数")
+            .register(registry);
+        FunctionCounter.builder("tiny.dict.cache.refresh.executions", listener, DictCacheRefreshListener::getRefreshesFailed)
+            .tag("result", "failure")
+            .description("字典缓存刷新失败次数")
+            .register(registry);
+        Gauge.builder("tiny.dict.cache.refresh.pending", listener, DictCacheRefreshListener::getPendingRefreshes)
+            .description("等待防抖或刷新中的字典数")
+            .register(registry);
+    }
+}
@@ -27,5 +27,12 @@ public class DictChangeNotifier {
         DictChangeEvent event = new DictChangeEvent(this, dictCode, tenantId, changeType);
         eventPublisher.publishEvent(event);
     }
+    
+    /**
+     * 通知字典类型变更
+     */
+    public void notifyDictTypeChanged(String dictCode, Long tenantId, DictChangeEvent.DictChangeType changeType) {
+        eventPublisher.publishEvent(new DictTypeChangeEvent(this, dictCode, tenantId, changeType));
+    }
 }
 
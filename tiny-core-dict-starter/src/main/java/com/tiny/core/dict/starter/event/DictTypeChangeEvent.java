@@ -0,0 +1,37 @@
+package com.tiny.core.dict.starter.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 字典类型变更事件
+ * 
+ * <p>字典类型创建、修改或删除时发布；字典项变更使用 {@link DictChangeEvent}。
+ * 
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public class DictTypeChangeEvent extends ApplicationEvent {
+    
+    private final String dictCode;
+    private final Long tenantId;
+    private final DictChangeEvent.DictChangeType changeType;
+    
+    public DictTypeChangeEvent(Object source, String dictCode, Long tenantId, DictChangeEvent.DictChangeType changeType) {
+        super(source);
+        this.dictCode = dictCode;
+        this.tenantId = tenantId;
+        this.changeType = changeType;
+    }
+    
+    public String getDictCode() {
+        return dictCode;
+    }
+    
+    public Long getTenantId() {
+        return tenantId;
+    }
+    
+    public DictChangeEvent.DictChangeType getChangeType() {
+        return changeType;
+    }
+}
@@ -0,0 +1,47 @@
+package com.tiny.core.dict.starter.jackson;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.ClaimAccessor;
+
+/**
+ * 从当前认证主体读取租户
+ *
+ * <p>主体为 {@link ClaimAccessor}（如 JWT）时读取租户 claim（默认 {@code tenantId}），与导出等模块一致；
+ * 未认证、主体不带该 claim 或格式不对时返回 null。租户只取自服务端校验过的认证信息，不信任客户端请求头。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public class AuthenticatedDictTenantResolver implements DictTenantResolver {
+
+    public static final String DEFAULT_TENANT_CLAIM = "tenantId";
+
+    private final String tenantClaim;
+
+    public AuthenticatedDictTenantResolver() {
+        this(DEFAULT_TENANT_CLAIM);
+    }
+
+    public AuthenticatedDictTenantResolver(String tenantClaim) {
+        this.tenantClaim = tenantClaim;
+    }
+
+    @Override
+    public Long currentTenantId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof ClaimAccessor claims)) {
+            return null;
+        }
+        String tenantId = claims.getClaimAsString(tenantClaim);
+        if (tenantId == null || tenantId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(tenantId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
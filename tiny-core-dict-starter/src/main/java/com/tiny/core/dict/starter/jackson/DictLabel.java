@@ -0,0 +1,45 @@
+package com.tiny.core.dict.starter.jackson;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 字典标签翻译注解
+ *
+ * <p>标注在字典值属性（字段或 getter）上，JSON 序列化时按当前租户的字典快照输出对应标签：
+ * <pre>
+ * public class UserDTO {
+ *     &#64;DictLabel("GENDER")
+ *     private String gender;      // 输出 "gender": "M", "genderLabel": "男"
+ * }
+ * </pre>
+ *
+ * <p>值为 null 时不输出标签；字典中不存在该值时输出空字符串（与 {@code DictRuntime.getLabel} 一致）。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ * @see DictLabelModule
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface DictLabel {
+
+    /**
+     * 字典编码
+     */
+    String value();
+
+    /**
+     * 标签属性名，默认为 属性名 + "Label"
+     */
+    String labelField() default "";
+
+    /**
+     * 是否用标签替换原值（不再输出字典值本身）
+     */
+    boolean replace() default false;
+}
@@ -0,0 +1,118 @@
+package com.tiny.core.dict.starter.jackson;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.tiny.core.dict.cache.DictCache;
+import com.tiny.core.dict.cache.DictCacheManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 字典标签 Jackson 模块
+ *
+ * <p>序列化 {@link DictLabel} 标注的属性时直接向输出写入标签，业务代码不再逐行调用 getLabel 再复制到 DTO：
+ * <ul>
+ *   <li>属性与字典的绑定在 Jackson 为每个类构建序列化器时计算一次，之后随序列化器缓存</li>
+ *   <li>同一次序列化（如一个列表响应）中，每个字典只取一次当前租户的缓存快照，所有行共用</li>
+ * </ul>
+ *
+ * <p>租户优先取本次序列化的属性 {@link #TENANT_ATTRIBUTE}
+ * （{@code objectMapper.writer().withAttribute(DictLabelModule.TENANT_ATTRIBUTE, tenantId)}），
+ * 其次取 {@link DictTenantResolver}，都没有时按平台字典（tenantId=0）翻译。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public class DictLabelModule extends SimpleModule {
+
+    /**
+     * 序列化属性：租户ID（Long）
+     */
+    public static final String TENANT_ATTRIBUTE = DictLabelModule.class.getName() + ".tenantId";
+
+    private static final Long PLATFORM_TENANT_ID = 0L;
+
+    /**
+     * 序列化属性：本次序列化的字典快照
+     */
+    private static final Object SNAPSHOTS_ATTRIBUTE = new Object();
+
+    private final Supplier<DictCacheManager> cacheManager;
+    private final DictTenantResolver tenantResolver;
+
+    /**
+     * @param cacheManager   字典缓存管理器（首次序列化时才获取，避免与缓存 Bean 的创建顺序耦合），可以返回 null
+     * @param tenantResolver 当前租户解析器，可以为 null
+     */
+    public DictLabelModule(Supplier<DictCacheManager> cacheManager, DictTenantResolver tenantResolver) {
+        super(DictLabelModule.class.getSimpleName());
+        this.cacheManager = cacheManager;
+        this.tenantResolver = tenantResolver;
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> beanProperties) {
+                for (int i = 0; i < beanProperties.size(); i++) {
+                    BeanPropertyWriter writer = beanProperties.get(i);
+                    DictLabel dictLabel = writer.getAnnotation(DictLabel.class);
+                    if (dictLabel != null) {
+                        beanProperties.set(i, new DictLabelPropertyWriter(writer, dictLabel, DictLabelModule.this));
+                    }
+                }
+                return beanProperties;
+            }
+        });
+    }
+
+    /**
+     * 查询本次序列化中当前租户的字典标签
+     *
+     * @return 标签，字典中不存在该值或没有字典缓存管理器时返回空字符串
+     */
+    String getLabel(SerializerProvider provider, String dictCode, String value) {
+        Snapshots snapshots = (Snapshots) provider.getAttribute(SNAPSHOTS_ATTRIBUTE);
+        if (snapshots == null) {
+            snapshots = new Snapshots(resolveTenantId(provider));
+            provider.setAttribute(SNAPSHOTS_ATTRIBUTE, snapshots);
+        }
+        DictCache cache = snapshots.caches.get(dictCode);
+        if (cache == null) {
+            DictCacheManager manager = cacheManager.get();
+            if (manager == null) {
+                return "";
+            }
+            cache = manager.getDictCache(dictCode, snapshots.tenantId);
+            snapshots.caches.put(dictCode, cache);
+        }
+        String label = cache.getLabel(value);
+        return label != null ? label : "";
+    }
+
+    private Long resolveTenantId(SerializerProvider provider) {
+        if (provider.getAttribute(TENANT_ATTRIBUTE) instanceof Long tenantId) {
+            return tenantId;
+        }
+        Long tenantId = tenantResolver != null ? tenantResolver.currentTenantId() : null;
+        return tenantId != null ? tenantId : PLATFORM_TENANT_ID;
+    }
+
+    /**
+     * 一次序列化内的租户和字典快照（序列化是单线程的，不需要并发容器）
+     */
+    private static final class Snapshots {
+
+        private final Long tenantId;
+        private final Map<String, DictCache> caches = new HashMap<>();
+
+        private Snapshots(Long tenantId) {
+            this.tenantId = tenantId;
+        }
+    }
+}
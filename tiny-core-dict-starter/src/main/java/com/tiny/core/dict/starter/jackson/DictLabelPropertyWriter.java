@@ -0,0 +1,90 @@
+package com.tiny.core.dict.starter.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+
+/**
+ * 字典标签属性写入器
+ *
+ * <p>包装原属性的写入器：先按原样写出字典值（{@link DictLabel#replace()} 时跳过），
+ * 再把标签作为字符串直接写入输出，不创建中间对象。
+ * 值为 null 时没有标签，{@link DictLabel#replace()} 模式按原属性写出（null 或按包含规则省略），字段不会消失。
+ * 原属性按包含规则（{@code @JsonInclude}）被省略时标签同样不写；
+ * 视图（{@code @JsonView}）和属性过滤器（{@code @JsonFilter}）排除原属性时不会调用本写入器。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+final class DictLabelPropertyWriter extends BeanPropertyWriter {
+
+    private final String dictCode;
+    private final boolean replace;
+    private final SerializedString labelName;
+    private final DictLabelModule module;
+
+    DictLabelPropertyWriter(BeanPropertyWriter base, DictLabel dictLabel, DictLabelModule module) {
+        super(base);
+        this.dictCode = dictLabel.value();
+        this.replace = dictLabel.replace();
+        String labelField = dictLabel.labelField().isEmpty() ? base.getName() + "Label" : dictLabel.labelField();
+        this.labelName = new SerializedString(replace ? base.getName() : labelField);
+        this.module = module;
+    }
+
+    private DictLabelPropertyWriter(DictLabelPropertyWriter base, PropertyName newName) {
+        super(base, newName);
+        this.dictCode = base.dictCode;
+        this.replace = base.replace;
+        this.labelName = base.replace ? new SerializedString(newName.getSimpleName()) : base.labelName;
+        this.module = base.module;
+    }
+
+    /**
+     * 重命名（如 {@code @JsonUnwrapped} 加前缀）时保留标签输出
+     */
+    @Override
+    protected BeanPropertyWriter _new(PropertyName newName) {
+        return new DictLabelPropertyWriter(this, newName);
+    }
+
+    @Override
+    public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        Object value = get(bean);
+        if (value == null) {
+            super.serializeAsField(bean, gen, prov);
+            return;
+        }
+        if (suppressed(value, prov)) {
+            return;
+        }
+        if (!replace) {
+            super.serializeAsField(bean, gen, prov);
+        }
+        gen.writeFieldName(labelName);
+        gen.writeString(module.getLabel(prov, dictCode, toDictValue(value)));
+    }
+
+    /**
+     * 原属性的包含规则是否省略该值（与 {@link BeanPropertyWriter#serializeAsField} 的判断一致）
+     */
+    private boolean suppressed(Object value, SerializerProvider prov) throws JsonMappingException {
+        if (_suppressableValue == null) {
+            return false;
+        }
+        if (_suppressableValue == MARKER_FOR_EMPTY) {
+            JsonSerializer<Object> serializer = _serializer != null
+                ? _serializer : prov.findValueSerializer(value.getClass(), this);
+            return serializer.isEmpty(prov, value);
+        }
+        return _suppressableValue.equals(value);
+    }
+
+    private static String toDictValue(Object value) {
+        return value instanceof Enum<?> e ? e.name() : value.toString();
+    }
+}
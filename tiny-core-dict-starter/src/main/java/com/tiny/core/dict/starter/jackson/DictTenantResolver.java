@@ -0,0 +1,39 @@
+package com.tiny.core.dict.starter.jackson;
+
+import java.util.List;
+
+/**
+ * 当前租户解析器
+ *
+ * <p>序列化时用于确定按哪个租户的字典翻译标签。应用可以声明自己的 Bean 覆盖默认实现
+ * （默认从认证主体读取，见 {@link AuthenticatedDictTenantResolver}；取不到时返回 null）。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface DictTenantResolver {
+
+    /**
+     * 当前租户ID
+     *
+     * @return 租户ID，无法确定时返回 null（按平台字典翻译）
+     */
+    Long currentTenantId();
+
+    /**
+     * 依次询问各解析器，返回第一个非 null 的租户
+     */
+    static DictTenantResolver firstOf(List<DictTenantResolver> resolvers) {
+        List<DictTenantResolver> chain = List.copyOf(resolvers);
+        return () -> {
+            for (DictTenantResolver resolver : chain) {
+                Long tenantId = resolver.currentTenantId();
+                if (tenantId != null) {
+                    return tenantId;
+                }
+            }
+            return null;
+        };
+    }
+}
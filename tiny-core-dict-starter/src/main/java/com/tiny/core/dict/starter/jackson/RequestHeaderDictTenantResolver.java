@@ -0,0 +1,37 @@
+package com.tiny.core.dict.starter.jackson;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * 从请求头读取当前租户
+ *
+ * <p>与字典接口一致使用 {@code X-Tenant-Id} 请求头；非请求线程或请求头缺失、格式不对时返回 null。
+ * 请求头由客户端控制，默认不启用，只作为 {@link AuthenticatedDictTenantResolver} 取不到租户时的回退
+ * （{@code tiny.core.dict.jackson.tenant-header-fallback=true}，适用于网关已校验该请求头的部署）。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public class RequestHeaderDictTenantResolver implements DictTenantResolver {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    @Override
+    public Long currentTenantId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        String header = servletAttributes.getRequest().getHeader(TENANT_HEADER);
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
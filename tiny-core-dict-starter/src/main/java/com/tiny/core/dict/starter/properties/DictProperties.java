@@ -21,6 +21,21 @@ public class DictProperties {
      */
     private Cache cache = new Cache();
     
+    /**
+     * 审计日志配置
+     */
+    private Audit audit = new Audit();
+    
+    /**
+     * 变更日志配置
+     */
+    private ChangeLog changeLog = new ChangeLog();
+    
+    /**
+     * 字典标签序列化配置
+     */
+    private Jackson jackson = new Jackson();
+    
     public boolean isEnabled() {
         return enabled;
     }
@@ -37,6 +52,30 @@ public class DictProperties {
         this.cache = cache;
     }
     
+    public Audit getAudit() {
+        return audit;
+    }
+    
+    public void setAudit(Audit audit) {
+        this.audit = audit;
+    }
+    
+    public ChangeLog getChangeLog() {
+        return changeLog;
+    }
+    
+    public void setChangeLog(ChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+    
+    public Jackson getJackson() {
+        return jackson;
+    }
+    
+    public void setJackson(Jackson jackson) {
+        this.jackson = jackson;
+    }
+    
     /**
      * 缓存配置
      */
@@ -56,6 +95,26 @@ public class DictProperties {
          */
         private long expireTime = 0;
         
+        /**
+         * 缓存刷新防抖窗口（毫秒），窗口内同一字典的多次变更合并为一次刷新
+         */
+        private long refreshDebounceMillis = 200;
+        
+        /**
+         * 执行缓存刷新的工作线程数，不同字典的刷新并行执行，同一字典始终串行
+         */
+        private int refreshThreads = 4;
+        
+        /**
+         * 字典读取接口的客户端缓存时间（秒），0 表示每次请求都用 ETag 重新验证
+         */
+        private long httpMaxAge = 0;
+        
+        /**
+         * Redis 缓存 Key 前缀，多个应用共享 Redis 时用于隔离命名空间
+         */
+        private String redisKeyPrefix = "dict:";
+        
         public String getType() {
             return type;
         }
@@ -79,6 +138,168 @@ public class DictProperties {
         public void setExpireTime(long expireTime) {
             this.expireTime = expireTime;
         }
+        
+        public long getRefreshDebounceMillis() {
+            return refreshDebounceMillis;
+        }
+        
+        public void setRefreshDebounceMillis(long refreshDebounceMillis) {
+            this.refreshDebounceMillis = refreshDebounceMillis;
+        }
+        
+        public int getRefreshThreads() {
+            return refreshThreads;
+        }
+        
+        public void setRefreshThreads(int refreshThreads) {
+            this.refreshThreads = refreshThreads;
+        }
+        
+        public long getHttpMaxAge() {
+            return httpMaxAge;
+        }
+        
+        public void setHttpMaxAge(long httpMaxAge) {
+            this.httpMaxAge = httpMaxAge;
+        }
+        
+        public String getRedisKeyPrefix() {
+            return redisKeyPrefix;
+        }
+        
+        public void setRedisKeyPrefix(String redisKeyPrefix) {
+            this.redisKeyPrefix = redisKeyPrefix;
+        }
+    }
+    
+    /**
+     * 审计日志配置
+     */
+    public static class Audit {
+        /**
+         * 写入模式：async（默认）、transactional 或 sync，取值无效时启动失败
+         */
+        private Mode mode = Mode.ASYNC;
+        
+        /**
+         * 异步模式下的刷新间隔（毫秒）
+         */
+        private long flushIntervalMillis = 1000;
+        
+        /**
+         * 每批写入的最大条数
+         */
+        private int batchSize = 500;
+        
+        /**
+         * 异步队列容量，队列满时在调用线程直接写入
+         */
+        private int queueCapacity = 10000;
+        
+        public Mode getMode() {
+            return mode;
+        }
+        
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+        
+        public long getFlushIntervalMillis() {
+            return flushIntervalMillis;
+        }
+        
+        public void setFlushIntervalMillis(long flushIntervalMillis) {
+            this.flushIntervalMillis = flushIntervalMillis;
+        }
+        
+        public int getBatchSize() {
+            return batchSize;
+        }
+        
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+        
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+        
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+        
+        /**
+         * 审计日志写入模式
+         */
+        public enum Mode {
+            /** 事务提交后进入内存队列，后台线程批量写入 */
+            ASYNC,
+            /** 在业务事务提交前批量写入，与业务数据同生共死 */
+            TRANSACTIONAL,
+            /** 调用时立即写入 */
+            SYNC
+        }
+    }
+    
+    /**
+     * 变更日志（增量同步）配置
+     */
+    public static class ChangeLog {
+        /**
+         * 变更日志保留天数，客户端版本早于保留范围时返回全量
+         */
+        private int retentionDays = 7;
+        
+        /**
+         * 清理过期变更日志的 cron 表达式
+         */
+        private String purgeCron = "0 30 3 * * *";
+        
+        public int getRetentionDays() {
+            return retentionDays;
+        }
+        
+        public void setRetentionDays(int retentionDays) {
+            this.retentionDays = retentionDays;
+        }
+        
+        public String getPurgeCron() {
+            return purgeCron;
+        }
+        
+        public void setPurgeCron(String purgeCron) {
+            this.purgeCron = purgeCron;
+        }
+    }
+    
+    /**
+     * 字典标签序列化配置
+     */
+    public static class Jackson {
+        /**
+         * 认证主体中租户ID所在的 claim（JWT 等 {@code ClaimAccessor} 主体）
+         */
+        private String tenantClaim = "tenantId";
+        
+        /**
+         * 认证主体中取不到租户时是否读取请求头 X-Tenant-Id；请求头由客户端控制，只在网关已校验该请求头时开启
+         */
+        private boolean tenantHeaderFallback = false;
+        
+        public String getTenantClaim() {
+            return tenantClaim;
+        }
+        
+        public void setTenantClaim(String tenantClaim) {
+            this.tenantClaim = tenantClaim;
+        }
+        
+        public boolean isTenantHeaderFallback() {
+            return tenantHeaderFallback;
+        }
+        
+        public void setTenantHeaderFallback(boolean tenantHeaderFallback) {
+            this.tenantHeaderFallback = tenantHeaderFallback;
+        }
     }
 }
-
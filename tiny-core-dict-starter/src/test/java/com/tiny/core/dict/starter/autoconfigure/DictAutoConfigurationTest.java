@@ -0,0 +1,144 @@
+package com.tiny.core.dict.starter.autoconfigure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.tiny.core.dict.cache.DictCache;
+import com.tiny.core.dict.cache.DictCacheManager;
+import com.tiny.core.dict.starter.jackson.DictLabel;
+import com.tiny.core.dict.starter.jackson.DictLabelModule;
+import com.tiny.core.dict.starter.jackson.DictTenantResolver;
+import com.tiny.core.dict.starter.jackson.RequestHeaderDictTenantResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.ClaimAccessor;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * DictAutoConfiguration 测试类
+ * 验证字典标签模块的装配，租户默认取自认证主体，请求头只在显式开启时作为回退
+ */
+class DictAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(DictAutoConfiguration.class))
+        .withBean(DictCacheManager.class, DictAutoConfigurationTest::cacheManager);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("测试 默认从认证主体的 tenantId claim 解析租户，忽略请求头")
+    void testResolvesTenantFromPrincipal() {
+        authenticate("tenantId", 7L);
+        requestHeader("9");
+
+        contextRunner.run(context -> {
+            assertEquals(7L, context.getBean(DictTenantResolver.class).currentTenantId());
+            assertEquals("{\"gender\":\"label-7\"}", serialize(context.getBean(DictLabelModule.class)));
+        });
+    }
+
+    @Test
+    @DisplayName("测试 未认证时默认不读取请求头，按平台字典翻译")
+    void testIgnoresHeaderByDefault() {
+        requestHeader("9");
+
+        contextRunner.run(context -> {
+            assertNull(context.getBean(DictTenantResolver.class).currentTenantId());
+            assertEquals("{\"gender\":\"label-0\"}", serialize(context.getBean(DictLabelModule.class)));
+        });
+    }
+
+    @Test
+    @DisplayName("测试 开启请求头回退后，认证主体优先，取不到时读取请求头")
+    void testHeaderFallbackWhenEnabled() {
+        requestHeader("9");
+
+        contextRunner.withPropertyValues("tiny.core.dict.jackson.tenant-header-fallback=true").run(context -> {
+            DictTenantResolver resolver = context.getBean(DictTenantResolver.class);
+            assertEquals(9L, resolver.currentTenantId());
+
+            authenticate("tenantId", 7L);
+            assertEquals(7L, resolver.currentTenantId());
+        });
+    }
+
+    @Test
+    @DisplayName("测试 可以配置租户 claim 名称")
+    void testCustomTenantClaim() {
+        authenticate("tid", "5");
+
+        contextRunner.withPropertyValues("tiny.core.dict.jackson.tenant-claim=tid")
+            .run(context -> assertEquals(5L, context.getBean(DictTenantResolver.class).currentTenantId()));
+    }
+
+    @Test
+    @DisplayName("测试 应用声明的租户解析器覆盖默认实现")
+    void testUserResolverWins() {
+        authenticate("tenantId", 7L);
+
+        contextRunner.withBean(DictTenantResolver.class, () -> () -> 3L).run(context -> {
+            assertEquals(3L, context.getBean(DictTenantResolver.class).currentTenantId());
+            assertEquals("{\"gender\":\"label-3\"}", serialize(context.getBean(DictLabelModule.class)));
+        });
+    }
+
+    @Test
+    @DisplayName("测试 关闭字典功能时不装配标签模块")
+    void testDisabled() {
+        contextRunner.withPropertyValues("tiny.core.dict.enabled=false")
+            .run(context -> assertTrue(context.getBeansOfType(DictLabelModule.class).isEmpty()));
+    }
+
+    private static String serialize(DictLabelModule module) throws Exception {
+        ObjectMapper mapper = JsonMapper.builder().addModule(module).build();
+        return mapper.writeValueAsString(new User("M"));
+    }
+
+    private static void authenticate(String claim, Object tenantId) {
+        ClaimAccessor principal = () -> Map.of(claim, tenantId);
+        SecurityContextHolder.getContext()
+            .setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static void requestHeader(String tenantId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestHeaderDictTenantResolver.TENANT_HEADER, tenantId);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static DictCacheManager cacheManager() {
+        DictCacheManager cacheManager = mock(DictCacheManager.class);
+        when(cacheManager.getDictCache(eq("GENDER"), anyLong())).thenAnswer(invocation ->
+            new DictCache(Map.of("M", "label-" + invocation.getArgument(1)), LocalDateTime.now()));
+        return cacheManager;
+    }
+
+    public static class User {
+        @DictLabel(value = "GENDER", replace = true)
+        public String gender;
+
+        User(String gender) {
+            this.gender = gender;
+        }
+    }
+}
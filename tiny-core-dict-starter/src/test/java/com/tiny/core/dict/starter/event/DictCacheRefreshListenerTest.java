@@ -0,0 +1,160 @@
+package com.tiny.core.dict.starter.event;
+
+import com.tiny.core.dict.cache.DictCacheManager;
+import com.tiny.core.dict.starter.properties.DictProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * DictCacheRefreshListener 测试类
+ * 验证防抖窗口内的变更合并、刷新中到达的变更补刷一次，以及失败计数
+ */
+class DictCacheRefreshListenerTest {
+
+    private final DictCacheManager cacheManager = mock(DictCacheManager.class);
+    private final List<Long> refreshedAt = new CopyOnWriteArrayList<>();
+    private DictCacheRefreshListener listener;
+
+    @AfterEach
+    void tearDown() {
+        if (listener != null) {
+            listener.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("测试 防抖窗口内同一字典的多次变更只刷新一次")
+    void testCoalescesWithinDebounceWindow() throws Exception {
+        recordRefreshes();
+        listener = newListener(200);
+
+        for (int i = 0; i < 5; i++) {
+            listener.handleDictChange(event("gender", 1L));
+        }
+        listener.handleDictChange(event("gender", 2L));
+
+        awaitTrue(() -> listener.getPendingRefreshes() == 0 && refreshedAt.size() == 2);
+        verify(cacheManager, times(1)).refreshDictCache("gender", 1L);
+        verify(cacheManager, times(1)).refreshDictCache("gender", 2L);
+        assertEquals(6, listener.getEventsReceived());
+        assertEquals(4, listener.getEventsCoalesced());
+        assertEquals(2, listener.getRefreshesExecuted());
+    }
+
+    @Test
+    @DisplayName("测试 刷新在防抖窗口结束后执行，窗口从第一次变更开始计时")
+    void testDebounceTiming() throws Exception {
+        recordRefreshes();
+        listener = newListener(300);
+
+        long start = System.nanoTime();
+        listener.handleDictChange(event("gender", 1L));
+        Thread.sleep(200);
+        listener.handleDictChange(event("gender", 1L));
+        assertTrue(refreshedAt.isEmpty());
+
+        awaitTrue(() -> refreshedAt.size() == 1);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(refreshedAt.get(0) - start);
+        assertTrue(elapsedMs >= 300, "refreshed after " + elapsedMs + "ms");
+        // 第二次变更没有重新开始计时
+        assertTrue(elapsedMs < 500, "refreshed after " + elapsedMs + "ms");
+    }
+
+    @Test
+    @DisplayName("测试 刷新期间到达的变更在本次刷新结束后补刷一次")
+    void testChangeDuringRefreshTriggersOneMoreRefresh() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            refreshedAt.add(System.nanoTime());
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(cacheManager).refreshDictCache(any(), any());
+        listener = newListener(0);
+
+        listener.handleDictChange(event("gender", 1L));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        listener.handleDictChange(event("gender", 1L));
+        listener.handleDictChange(event("gender", 1L));
+        assertEquals(1, refreshedAt.size());
+        release.countDown();
+
+        awaitTrue(() -> listener.getPendingRefreshes() == 0 && listener.getRefreshesExecuted() == 2);
+        verify(cacheManager, times(2)).refreshDictCache("gender", 1L);
+        assertEquals(2, listener.getEventsCoalesced());
+    }
+
+    @Test
+    @DisplayName("测试 刷新失败计入失败次数，之后的变更仍会刷新")
+    void testFailureCounting() throws Exception {
+        doThrow(new IllegalStateException("db down"))
+            .doAnswer(invocation -> refreshedAt.add(System.nanoTime()))
+            .when(cacheManager).refreshDictCache("gender", 1L);
+        listener = newListener(0);
+
+        listener.handleDictChange(event("gender", 1L));
+        awaitTrue(() -> listener.getRefreshesFailed() == 1 && listener.getPendingRefreshes() == 0);
+        assertEquals(0, listener.getRefreshesExecuted());
+
+        listener.handleDictChange(event("gender", 1L));
+        awaitTrue(() -> listener.getRefreshesExecuted() == 1);
+        assertEquals(1, listener.getRefreshesFailed());
+    }
+
+    @Test
+    @DisplayName("测试 指标 - 成功与失败的刷新分别计数")
+    void testMetrics() throws Exception {
+        doThrow(new IllegalStateException("db down")).when(cacheManager).refreshDictCache("gender", 1L);
+        listener = newListener(0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new DictCacheRefreshMetrics(listener).bindTo(registry);
+
+        listener.handleDictChange(event("gender", 1L));
+        awaitTrue(() -> listener.getRefreshesFailed() == 1);
+
+        FunctionCounter failed = registry.get("tiny.dict.cache.refresh.executions").tag("result", "failure").functionCounter();
+        FunctionCounter succeeded = registry.get("tiny.dict.cache.refresh.executions").tag("result", "success").functionCounter();
+        assertEquals(1.0, failed.count());
+        assertEquals(0.0, succeeded.count());
+        assertEquals("字典缓存刷新失败次数", failed.getId().getDescription());
+    }
+
+    private void recordRefreshes() {
+        doAnswer(invocation -> refreshedAt.add(System.nanoTime()))
+            .when(cacheManager).refreshDictCache(any(), any());
+    }
+
+    private DictCacheRefreshListener newListener(long debounceMillis) {
+        DictProperties properties = new DictProperties();
+        properties.getCache().setRefreshDebounceMillis(debounceMillis);
+        properties.getCache().setRefreshThreads(2);
+        return new DictCacheRefreshListener(cacheManager, properties);
+    }
+
+    private static DictChangeEvent event(String dictCode, Long tenantId) {
+        return new DictChangeEvent(DictCacheRefreshListenerTest.class, dictCode, tenantId,
+            DictChangeEvent.DictChangeType.UPDATE);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 5s");
+            Thread.sleep(10);
+        }
+    }
+}
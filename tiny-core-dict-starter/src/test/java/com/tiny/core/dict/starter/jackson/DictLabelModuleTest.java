@@ -0,0 +1,191 @@
+package com.tiny.core.dict.starter.jackson;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.tiny.core.dict.cache.DictCache;
+import com.tiny.core.dict.cache.DictCacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * DictLabelModule 测试类
+ * 验证标签输出、替换模式、包含规则与视图下的标签省略，以及租户选择和一次序列化内的快照复用
+ */
+class DictLabelModuleTest {
+
+    private final DictCacheManager cacheManager = mock(DictCacheManager.class);
+    private Long resolvedTenant;
+    private ObjectMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        when(cacheManager.getDictCache("GENDER", 0L)).thenReturn(cache(Map.of("M", "男", "F", "女")));
+        when(cacheManager.getDictCache("GENDER", 7L)).thenReturn(cache(Map.of("M", "男士")));
+        mapper = JsonMapper.builder()
+            .addModule(new DictLabelModule(() -> cacheManager, () -> resolvedTenant))
+            .disable(MapperFeature.DEFAULT_VIEW_INCLUSION)
+            .build();
+    }
+
+    @Test
+    @DisplayName("测试 标签写在字典值之后，字典中没有的值输出空字符串，null 值不输出标签")
+    void testWritesLabelAfterValue() throws Exception {
+        assertEquals("{\"gender\":\"M\",\"genderLabel\":\"男\"}", mapper.writeValueAsString(new User("M")));
+        assertEquals("{\"gender\":\"X\",\"genderLabel\":\"\"}", mapper.writeValueAsString(new User("X")));
+        assertEquals("{\"gender\":null}", mapper.writeValueAsString(new User(null)));
+    }
+
+    @Test
+    @DisplayName("测试 替换模式用标签替换字典值，指定标签属性名")
+    void testReplaceAndLabelField() throws Exception {
+        assertEquals("{\"gender\":\"男\"}", mapper.writeValueAsString(new ReplacedUser("M")));
+        assertEquals("{\"gender\":null}", mapper.writeValueAsString(new ReplacedUser(null)));
+        assertEquals("{\"gender\":\"F\",\"genderName\":\"女\"}", mapper.writeValueAsString(new NamedUser("F")));
+    }
+
+    @Test
+    @DisplayName("测试 原属性被包含规则省略时不写标签")
+    void testSkipsLabelWhenValueExcludedByInclusion() throws Exception {
+        assertEquals("{}", mapper.writeValueAsString(new NonEmptyUser("")));
+        assertEquals("{}", mapper.writeValueAsString(new NonEmptyUser(null)));
+        assertEquals("{\"gender\":\"M\",\"genderLabel\":\"男\"}", mapper.writeValueAsString(new NonEmptyUser("M")));
+        assertEquals("{}", mapper.writeValueAsString(new NonEmptyReplacedUser("")));
+        assertEquals("{\"gender\":\"男\"}", mapper.writeValueAsString(new NonEmptyReplacedUser("M")));
+    }
+
+    @Test
+    @DisplayName("测试 原属性被视图或属性过滤器排除时不写标签")
+    void testSkipsLabelWhenValueExcludedByViewOrFilter() throws Exception {
+        assertEquals("{\"name\":\"a\"}",
+            mapper.writerWithView(Views.Summary.class).writeValueAsString(new ViewUser("a", "M")));
+        assertEquals("{\"name\":\"a\",\"gender\":\"M\",\"genderLabel\":\"男\"}",
+            mapper.writerWithView(Views.Detail.class).writeValueAsString(new ViewUser("a", "M")));
+
+        SimpleFilterProvider filters = new SimpleFilterProvider()
+            .addFilter("user", SimpleBeanPropertyFilter.serializeAllExcept("gender"));
+        assertEquals("{\"name\":\"a\"}", mapper.writer(filters).writeValueAsString(new FilteredUser("a", "M")));
+    }
+
+    @Test
+    @DisplayName("测试 租户优先取序列化属性，其次取解析器，都没有时按平台翻译")
+    void testTenantSelection() throws Exception {
+        assertEquals("{\"gender\":\"男\"}", mapper.writeValueAsString(new ReplacedUser("M")));
+
+        resolvedTenant = 7L;
+        assertEquals("{\"gender\":\"男士\"}", mapper.writeValueAsString(new ReplacedUser("M")));
+
+        resolvedTenant = null;
+        assertEquals("{\"gender\":\"男士\"}", mapper.writer()
+            .withAttribute(DictLabelModule.TENANT_ATTRIBUTE, 7L).writeValueAsString(new ReplacedUser("M")));
+    }
+
+    @Test
+    @DisplayName("测试 一次序列化中每个字典只取一次缓存快照")
+    void testOneSnapshotPerSerialization() throws Exception {
+        List<User> users = List.of(new User("M"), new User("F"), new User("M"));
+
+        assertEquals("[{\"gender\":\"M\",\"genderLabel\":\"男\"},{\"gender\":\"F\",\"genderLabel\":\"女\"},"
+            + "{\"gender\":\"M\",\"genderLabel\":\"男\"}]", mapper.writeValueAsString(users));
+        verify(cacheManager, times(1)).getDictCache("GENDER", 0L);
+    }
+
+    private static DictCache cache(Map<String, String> labels) {
+        return new DictCache(labels, LocalDateTime.now());
+    }
+
+    public static class User {
+        @DictLabel("GENDER")
+        public String gender;
+
+        User(String gender) {
+            this.gender = gender;
+        }
+    }
+
+    public static class ReplacedUser {
+        @DictLabel(value = "GENDER", replace = true)
+        public String gender;
+
+        ReplacedUser(String gender) {
+            this.gender = gender;
+        }
+    }
+
+    public static class NamedUser {
+        @DictLabel(value = "GENDER", labelField = "genderName")
+        public String gender;
+
+        NamedUser(String gender) {
+            this.gender = gender;
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class NonEmptyUser {
+        @DictLabel("GENDER")
+        public String gender;
+
+        NonEmptyUser(String gender) {
+            this.gender = gender;
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public static class NonEmptyReplacedUser {
+        @DictLabel(value = "GENDER", replace = true)
+        public String gender;
+
+        NonEmptyReplacedUser(String gender) {
+            this.gender = gender;
+        }
+    }
+
+    public static class Views {
+        public interface Summary {
+        }
+
+        public interface Detail extends Summary {
+        }
+    }
+
+    public static class ViewUser {
+        @JsonView(Views.Summary.class)
+        public String name;
+
+        @JsonView(Views.Detail.class)
+        @DictLabel("GENDER")
+        public String gender;
+
+        ViewUser(String name, String gender) {
+            this.name = name;
+            this.gender = gender;
+        }
+    }
+
+    @JsonFilter("user")
+    public static class FilteredUser {
+        public String name;
+
+        @DictLabel("GENDER")
+        public String gender;
+
+        FilteredUser(String name, String gender) {
+            this.name = name;
+            this.gender = gender;
+        }
+    }
+}
@@ -1,19 +1,32 @@
 package com.tiny.core.dict.web.controller;
 
+import com.tiny.core.dict.model.DictDelta;
+import com.tiny.core.dict.cache.DictEtags;
 import com.tiny.core.dict.runtime.DictRuntime;
+import com.tiny.core.dict.service.DictBundleService;
+import com.tiny.core.dict.service.DictItemImportService;
 import com.tiny.core.dict.service.DictItemService;
 import com.tiny.core.dict.service.DictTypeService;
+import com.tiny.core.dict.starter.properties.DictProperties;
 import com.tiny.core.dict.web.dto.*;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 字典 REST API 控制器
@@ -25,16 +38,31 @@ import java.util.Map;
 @RequestMapping("/dict")
 public class DictController {
 
+    private static final String TENANT_HEADER = "X-Tenant-ID";
+    private static final String GZIP_ETAG_SUFFIX = "-gzip";
+
     private final DictRuntime dictRuntime;
     private final DictTypeService dictTypeService;
     private final DictItemService dictItemService;
+    private final DictItemImportService dictItemImportService;
+    private final DictBundleService dictBundleService;
+    private final CacheControl readCacheControl;
 
     public DictController(DictRuntime dictRuntime,
                          DictTypeService dictTypeService,
-                         DictItemService dictItemService) {
+                         DictItemService dictItemService,
+                         DictItemImportService dictItemImportService,
+                         DictBundleService dictBundleService,
+                         DictProperties dictProperties) {
         this.dictRuntime = dictRuntime;
         this.dictTypeService = dictTypeService;
         this.dictItemService = dictItemService;
+        this.dictItemImportService = dictItemImportService;
+        this.dictBundleService = dictBundleService;
+        long maxAge = dictProperties.getCache().getHttpMaxAge();
+        this.readCacheControl = maxAge > 0
+            ? CacheControl.maxAge(maxAge, TimeUnit.SECONDS).cachePrivate().mustRevalidate()
+            : CacheControl.noCache().cachePrivate();
     }
 
     /**
@@ -51,13 +79,65 @@ public class DictController {
 
     /**
      * 获取字典所有项
+     *
+     * <p>支持条件请求：If-None-Match 与当前 ETag 一致时直接返回 304，不复制字典数据。
      */
     @GetMapping("/{dictCode}")
     public ResponseEntity<Map<String, String>> getDict(
             @PathVariable String dictCode,
-            @RequestHeader("X-Tenant-ID") Long tenantId) {
+            @RequestHeader("X-Tenant-ID") Long tenantId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 先取 ETag 再取数据：并发刷新时只会出现旧 ETag 配新数据，下次请求即可纠正
+        String etag = dictRuntime.getDictEtag(dictCode, tenantId);
+        if (matchesEtag(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
         Map<String, String> dict = dictRuntime.getDict(dictCode, tenantId);
-        return ResponseEntity.ok(dict);
+        return cacheable(etag).body(dict);
+    }
+
+    /**
+     * 获取租户可见的所有字典（dictCode → value → label）
+     *
+     * <p>每个版本只序列化、压缩一次；客户端接受 gzip 时直接返回预压缩的内容。
+     * gzip 与未压缩是不同的表示，gzip 的 ETag 追加 {@value #GZIP_ETAG_SUFFIX}。
+     */
+    @GetMapping("/bundle")
+    public ResponseEntity<byte[]> getBundle(
+            @RequestHeader("X-Tenant-ID") Long tenantId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        DictBundleService.DictBundle bundle = dictBundleService.getBundle(tenantId);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? bundle.getEtag() + GZIP_ETAG_SUFFIX : bundle.getEtag();
+        if (matchesEtag(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(readCacheControl)
+                .varyBy(TENANT_HEADER, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+        ResponseEntity.BodyBuilder builder = cacheable(etag)
+            .varyBy(TENANT_HEADER, HttpHeaders.ACCEPT_ENCODING)
+            .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(bundle.getGzipJson());
+        }
+        return builder.body(bundle.getJson());
+    }
+
+    /**
+     * 获取字典增量变更
+     *
+     * <p>客户端保存返回的 version，下次作为 since 传入；since=0 或返回 fullResync=true 时替换本地全量。
+     */
+    @GetMapping("/{dictCode}/changes")
+    public ResponseEntity<DictDelta> getChanges(
+            @PathVariable String dictCode,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestHeader("X-Tenant-ID") Long tenantId) {
+        DictDelta delta = dictRuntime.getChanges(dictCode, tenantId, since);
+        return ResponseEntity.ok(delta);
     }
 
     /**
@@ -66,10 +146,17 @@ public class DictController {
     @PostMapping("/labels/batch")
     public ResponseEntity<Map<String, String>> getLabelsBatch(
             @Valid @RequestBody BatchLabelRequest request,
-            @RequestHeader("X-Tenant-ID") Long tenantId) {
+            @RequestHeader("X-Tenant-ID") Long tenantId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 响应由字典内容和请求的值列表共同决定
+        String etag = DictEtags.combine(
+            dictRuntime.getDictEtag(request.getDictCode(), tenantId), DictEtags.of(request.getValues()));
+        if (matchesEtag(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
         Map<String, String> labels = dictRuntime.getLabels(
             request.getDictCode(), request.getValues(), tenantId);
-        return ResponseEntity.ok(labels);
+        return cacheable(etag).body(labels);
     }
 
     /**
@@ -168,6 +255,19 @@ public class DictController {
         return ResponseEntity.ok(results);
     }
 
+    /**
+     * 导入字典项（CSV 文件，流式读取）
+     */
+    @PostMapping(value = "/items/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DictItemImportResultDTO> importItems(
+            @RequestParam("file") MultipartFile file,
+            @RequestHeader("X-Tenant-ID") Long tenantId) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            DictItemImportResultDTO result = dictItemImportService.importCsv(in, tenantId, null);
+            return ResponseEntity.ok(result);
+        }
+    }
+
     /**
      * 更新字典项
      */
@@ -204,5 +304,44 @@ public class DictController {
         // 如果 dictCode 为空，可以刷新所有缓存（需要扩展 DictRuntime 接口）
         return ResponseEntity.ok().build();
     }
-}
 
+    private ResponseEntity.BodyBuilder cacheable(String etag) {
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(readCacheControl)
+            .varyBy(TENANT_HEADER);
+    }
+
+    private <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(etag)
+            .cacheControl(readCacheControl)
+            .varyBy(TENANT_HEADER)
+            .build();
+    }
+
+    /**
+     * 判断 If-None-Match 是否命中（支持 *、多个值和弱校验前缀 W/）
+     */
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                tag = tag.substring(1, tag.length() - 1);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
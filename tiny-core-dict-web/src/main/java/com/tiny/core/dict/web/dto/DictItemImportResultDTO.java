@@ -0,0 +1,44 @@
+package com.tiny.core.dict.web.dto;
+
+import java.util.Map;
+
+/**
+ * 字典项批量导入结果 DTO
+ * 
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public class DictItemImportResultDTO {
+    /**
+     * 导入的字典项总数
+     */
+    private int importedCount;
+    /**
+     * 每个字典编码导入的字典项数
+     */
+    private Map<String, Integer> importedByDictCode;
+
+    public DictItemImportResultDTO() {
+    }
+
+    public DictItemImportResultDTO(int importedCount, Map<String, Integer> importedByDictCode) {
+        this.importedCount = importedCount;
+        this.importedByDictCode = importedByDictCode;
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public void setImportedCount(int importedCount) {
+        this.importedCount = importedCount;
+    }
+
+    public Map<String, Integer> getImportedByDictCode() {
+        return importedByDictCode;
+    }
+
+    public void setImportedByDictCode(Map<String, Integer> importedByDictCode) {
+        this.importedByDictCode = importedByDictCode;
+    }
+}
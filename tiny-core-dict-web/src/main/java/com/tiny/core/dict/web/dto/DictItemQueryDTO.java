@@ -10,6 +10,15 @@ public class DictItemQueryDTO {
     private String dictCode;
     private String value;
     private Boolean enabled;
+    /**
+     * 游标分页：上一页最后一条的 sortOrder 和 id，两者都传时按 (sortOrder, id) 升序从游标之后读取
+     */
+    private Integer lastSortOrder;
+    private Long lastId;
+    /**
+     * 是否查询总数，无限滚动场景传 false 可省去 COUNT 查询
+     */
+    private Boolean withCount = true;
 
     public String getDictCode() {
         return dictCode;
@@ -34,5 +43,28 @@ public class DictItemQueryDTO {
     public void setEnabled(Boolean enabled) {
         this.enabled = enabled;
     }
-}
 
+    public Integer getLastSortOrder() {
+        return lastSortOrder;
+    }
+
+    public void setLastSortOrder(Integer lastSortOrder) {
+        this.lastSortOrder = lastSortOrder;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+
+    public Boolean getWithCount() {
+        return withCount;
+    }
+
+    public void setWithCount(Boolean withCount) {
+        this.withCount = withCount;
+    }
+}
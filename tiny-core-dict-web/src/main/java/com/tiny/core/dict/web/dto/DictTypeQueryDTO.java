@@ -10,6 +10,14 @@ public class DictTypeQueryDTO {
     private String dictCode;
     private String dictName;
     private Long categoryId;
+    /**
+     * 游标分页：上一页最后一条的 id，传入时按 id 降序从游标之后读取
+     */
+    private Long lastId;
+    /**
+     * 是否查询总数，无限滚动场景传 false 可省去 COUNT 查询
+     */
+    private Boolean withCount = true;
 
     public String getDictCode() {
         return dictCode;
@@ -34,5 +42,20 @@ public class DictTypeQueryDTO {
     public void setCategoryId(Long categoryId) {
         this.categoryId = categoryId;
     }
-}
 
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+
+    public Boolean getWithCount() {
+        return withCount;
+    }
+
+    public void setWithCount(Boolean withCount) {
+        this.withCount = withCount;
+    }
+}
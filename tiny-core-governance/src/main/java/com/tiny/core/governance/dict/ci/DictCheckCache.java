@@ -0,0 +1,182 @@
+package com.tiny.core.governance.dict.ci;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * dict-checker 增量缓存
+ *
+ * <p>按文件内容摘要缓存每个文件的扫描结果，内容不变的文件直接复用。
+ * 缓存带有字典索引指纹，字典定义或规则变化时整体失效。
+ *
+ * <p>持久化格式（UTF-8，每行以 Tab 分隔，字段中的 \ Tab 换行转义）：
+ * <pre>
+ * #dict-checker  {版本}  {指纹}
+ * F  {相对路径}  {内容摘要}
+ * U  {类型}  {行号}  {dictCode}  {value}  {是否传入 tenantId}
+ * </pre>
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+final class DictCheckCache {
+
+    private static final String HEADER = "#dict-checker";
+    private static final String FORMAT_VERSION = "1";
+
+    private final String fingerprint;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    record Entry(String hash, List<DictChecker.DictUsage> usages) {
+    }
+
+    DictCheckCache(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * 获取内容未变化文件的缓存结果
+     *
+     * @return 摘要一致时返回缓存结果，否则返回 null
+     */
+    List<DictChecker.DictUsage> get(String path, String hash) {
+        Entry entry = entries.get(path);
+        return entry != null && entry.hash().equals(hash) ? entry.usages() : null;
+    }
+
+    void put(String path, String hash, List<DictChecker.DictUsage> usages) {
+        entries.put(path, new Entry(hash, List.copyOf(usages)));
+    }
+
+    /**
+     * 移除已不存在的文件
+     */
+    void retainPaths(Set<String> paths) {
+        entries.keySet().retainAll(paths);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * 从文件加载缓存；文件不存在、格式不对或指纹不一致时返回空缓存
+     */
+    static DictCheckCache load(Path file, String fingerprint) {
+        DictCheckCache cache = new DictCheckCache(fingerprint);
+        if (!Files.isRegularFile(file)) {
+            return cache;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null || !header.equals(HEADER + "\t" + FORMAT_VERSION + "\t" + fingerprint)) {
+                return cache;
+            }
+            String path = null;
+            String hash = null;
+            List<DictChecker.DictUsage> usages = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                if (fields[0].equals("F") && fields.length == 3) {
+                    if (path != null) {
+                        cache.put(path, hash, usages);
+                    }
+                    path = unescape(fields[1]);
+                    hash = fields[2];
+                    usages = new ArrayList<>();
+                } else if (fields[0].equals("U") && fields.length == 6 && path != null) {
+                    DictChecker.DictUsage usage = new DictChecker.DictUsage();
+                    usage.setFilePath(path);
+                    usage.setUsageType(DictChecker.UsageType.valueOf(fields[1]));
+                    usage.setLineNumber(Integer.parseInt(fields[2]));
+                    usage.setDictCode(fields[3].isEmpty() ? null : unescape(fields[3]));
+                    usage.setValue(fields[4].isEmpty() ? null : unescape(fields[4]));
+                    usage.setHasTenantId("1".equals(fields[5]));
+                    usages.add(usage);
+                } else {
+                    // 格式损坏，放弃整个缓存
+                    return new DictCheckCache(fingerprint);
+                }
+            }
+            if (path != null) {
+                cache.put(path, hash, usages);
+            }
+            return cache;
+        } catch (IOException | IllegalArgumentException e) {
+            return new DictCheckCache(fingerprint);
+        }
+    }
+
+    /**
+     * 保存缓存（先写临时文件再替换，避免中断留下半个文件）
+     */
+    void save(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(HEADER + "\t" + FORMAT_VERSION + "\t" + fingerprint);
+                writer.newLine();
+                for (Map.Entry<String, Entry> e : new TreeMap<>(entries).entrySet()) {
+                    writer.write("F\t" + escape(e.getKey()) + "\t" + e.getValue().hash());
+                    writer.newLine();
+                    for (DictChecker.DictUsage usage : e.getValue().usages()) {
+                        writer.write("U\t" + usage.getUsageType() + "\t" + usage.getLineNumber()
+                                + "\t" + escape(usage.getDictCode()) + "\t" + escape(usage.getValue())
+                                + "\t" + (usage.isHasTenantId() ? "1" : "0"));
+                        writer.newLine();
+                    }
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("保存 dict-checker 缓存失败: " + file, e);
+        }
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                result.append(switch (next) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> next;
+                });
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -1,13 +1,49 @@
 package com.tiny.core.governance.dict.ci;
 
+import com.tiny.core.dict.cache.DictEtags;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
 
 /**
  * dict-checker：字典静态校验工具
  * 
  * <p>用于 CI/CD 流程中校验字典使用是否符合规范。
  * 
+ * <p>扫描方式：
+ * <ul>
+ *   <li>Java 与前端源文件（js/ts/jsx/tsx/vue）按文件并行扫描，只做轻量词法分析</li>
+ *   <li>每个文件的结果按内容摘要缓存（可持久化到 cacheFile），再次运行只扫描有变化的文件</li>
+ *   <li>字符串字面量用 {@link DictValueMatcher} 一次匹配所有已知字典值，耗时与字典值数量无关</li>
+ * </ul>
+ * 
+ * <p>命令行（CI 中使用，有违规时退出码为 1）：
+ * <pre>
+ * mvn -pl tiny-core-governance exec:java -Dexec.mainClass=com.tiny.core.governance.dict.ci.DictChecker \
+ *     -Dexec.args="src/main/java --dicts dicts.properties --cache target/dict-check.cache"
+ * </pre>
+ * dicts.properties 每行一个字典：{@code GENDER=MALE,FEMALE}。
+ * 
  * @author Tiny Platform
  * @version 1.0.0
  */
@@ -20,6 +56,145 @@ public class DictChecker {
      * 3. 检查字典编码命名规范
      * 4. 检查字典使用是否传入 tenantId
      */
+    public static final String RULE_HARDCODED_VALUE = "HARDCODED_DICT_VALUE";
+    public static final String RULE_UNKNOWN_DICT_CODE = "UNKNOWN_DICT_CODE";
+    public static final String RULE_DICT_CODE_FORMAT = "DICT_CODE_FORMAT";
+    public static final String RULE_MISSING_TENANT_ID = "MISSING_TENANT_ID";
+    
+    /**
+     * 硬编码检查忽略的短字典值长度（如 "Y"、"1"），避免大量误报
+     */
+    static final int DEFAULT_MIN_VALUE_LENGTH = 3;
+    
+    private static final Pattern DICT_CODE_PATTERN = Pattern.compile("^[A-Z][A-Z0-9_]{2,63}$");
+    private static final Set<String> JAVA_EXTENSIONS = Set.of("java");
+    private static final Set<String> FRONTEND_EXTENSIONS = Set.of("js", "jsx", "ts", "tsx", "vue");
+    private static final Set<String> EXCLUDED_DIRECTORIES = Set.of(
+        ".git", ".idea", "target", "build", "dist", "node_modules");
+    
+    private final Set<String> dictCodes;
+    private final Map<String, Set<String>> dictCodesByValue;
+    private final DictValueMatcher valueMatcher;
+    private final Path cacheFile;
+    private final String fingerprint;
+    
+    /**
+     * 进程内缓存，同一实例多次校验时复用
+     */
+    private DictCheckCache cache;
+    
+    /**
+     * 不带字典定义：只校验字典编码规范和 tenantId
+     */
+    public DictChecker() {
+        this(Map.of(), null);
+    }
+    
+    /**
+     * @param dictionaries 已知字典：dictCode → 字典值
+     * @param cacheFile    增量缓存文件，为 null 时只在进程内缓存
+     */
+    public DictChecker(Map<String, ? extends Collection<String>> dictionaries, Path cacheFile) {
+        this(dictionaries, cacheFile, DEFAULT_MIN_VALUE_LENGTH);
+    }
+    
+    /**
+     * @param dictionaries   已知字典：dictCode → 字典值
+     * @param cacheFile      增量缓存文件，为 null 时只在进程内缓存
+     * @param minValueLength 参与硬编码检查的字典值最小长度
+     */
+    public DictChecker(Map<String, ? extends Collection<String>> dictionaries, Path cacheFile, int minValueLength) {
+        this.dictCodes = Set.copyOf(dictionaries.keySet());
+        Map<String, Set<String>> byValue = new HashMap<>();
+        for (Map.Entry<String, ? extends Collection<String>> entry : dictionaries.entrySet()) {
+            for (String value : entry.getValue()) {
+                if (value != null && value.length() >= minValueLength) {
+                    byValue.computeIfAbsent(value, k -> new TreeSet<>()).add(entry.getKey());
+                }
+            }
+        }
+        this.dictCodesByValue = byValue;
+        this.valueMatcher = new DictValueMatcher(byValue.keySet());
+        this.cacheFile = cacheFile;
+        this.fingerprint = DictEtags.combine(
+            DictEtags.of(new TreeSet<>(dictCodes)),
+            DictEtags.of(new TreeSet<>(byValue.keySet())),
+            String.valueOf(minValueLength));
+    }
+    
+    /**
+     * 命令行入口
+     * 
+     * <p>参数：{@code <源代码路径> [--dicts 字典定义文件] [--cache 缓存文件] [--min-length 最小值长度]}
+     */
+    public static void main(String[] args) throws IOException {
+        String sourcePath = null;
+        Path dictsFile = null;
+        Path cacheFile = null;
+        int minValueLength = DEFAULT_MIN_VALUE_LENGTH;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--") && i + 1 >= args.length) {
+                usage("缺少参数值: " + arg);
+                return;
+            }
+            switch (arg) {
+                case "--dicts" -> dictsFile = Path.of(args[++i]);
+                case "--cache" -> cacheFile = Path.of(args[++i]);
+                case "--min-length" -> minValueLength = Integer.parseInt(args[++i]);
+                default -> {
+                    if (arg.startsWith("--") || sourcePath != null) {
+                        usage("无法识别的参数: " + arg);
+                        return;
+                    }
+                    sourcePath = arg;
+                }
+            }
+        }
+        if (sourcePath == null) {
+            usage("缺少源代码路径");
+            return;
+        }
+        
+        DictChecker checker = new DictChecker(
+            dictsFile != null ? loadDictionaries(dictsFile) : Map.of(), cacheFile, minValueLength);
+        DictCheckResult result = checker.check(sourcePath);
+        for (DictViolation violation : result.getViolations()) {
+            System.out.println(violation.getFilePath() + ":" + violation.getLineNumber()
+                + " [" + violation.getRuleName() + "] " + violation.getMessage());
+        }
+        System.out.println("dict-checker: " + result.getViolations().size() + " 个违规");
+        if (result.hasViolations()) {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * 读取字典定义文件（properties 格式：dictCode=value1,value2）
+     */
+    static Map<String, List<String>> loadDictionaries(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, List<String>> dictionaries = new HashMap<>();
+        for (String dictCode : properties.stringPropertyNames()) {
+            List<String> values = new ArrayList<>();
+            for (String value : properties.getProperty(dictCode).split(",")) {
+                if (!value.isBlank()) {
+                    values.add(value.trim());
+                }
+            }
+            dictionaries.put(dictCode.trim(), values);
+        }
+        return dictionaries;
+    }
+    
+    private static void usage(String error) {
+        System.err.println(error);
+        System.err.println("用法: DictChecker <源代码路径> [--dicts 字典定义文件] [--cache 缓存文件] [--min-length 最小值长度]");
+        System.exit(2);
+    }
     
     /**
      * 校验源代码
@@ -45,44 +220,197 @@ public class DictChecker {
     
     /**
      * 扫描代码中的字典使用
+     * 
+     * <p>文件按路径排序后并行扫描，结果顺序稳定；内容摘要与缓存一致的文件不重新解析。
      */
-    private List<DictUsage> scanDictUsage(String sourceCodePath) {
-        // TODO: 实现代码扫描逻辑
-        // 可以使用 AST 解析器（如 JavaParser）扫描代码
-        return new ArrayList<>();
+    private synchronized List<DictUsage> scanDictUsage(String sourceCodePath) {
+        Path root = Path.of(sourceCodePath).toAbsolutePath().normalize();
+        if (cache == null) {
+            cache = cacheFile != null ? DictCheckCache.load(cacheFile, fingerprint) : new DictCheckCache(fingerprint);
+        }
+        List<Path> files = collectSourceFiles(root);
+        Set<String> paths = new HashSet<>();
+        for (Path file : files) {
+            paths.add(relativePath(root, file));
+        }
+        
+        List<DictUsage> usages = files.parallelStream()
+            .flatMap(file -> scanFile(root, file).stream())
+            .toList();
+        
+        cache.retainPaths(paths);
+        if (cacheFile != null) {
+            cache.save(cacheFile);
+        }
+        return usages;
+    }
+    
+    private List<DictUsage> scanFile(Path root, Path file) {
+        String path = relativePath(root, file);
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取源文件失败: " + file, e);
+        }
+        String hash = hash(bytes);
+        List<DictUsage> cached = cache.get(path, hash);
+        if (cached != null) {
+            return cached;
+        }
+        
+        boolean java = JAVA_EXTENSIONS.contains(extension(file));
+        DictSourceScanner.ScanResult result = DictSourceScanner.scan(new String(bytes, StandardCharsets.UTF_8), java);
+        List<DictUsage> usages = new ArrayList<>();
+        for (DictSourceScanner.ApiCall call : result.apiCalls()) {
+            DictUsage usage = new DictUsage();
+            usage.setUsageType(UsageType.API_CALL);
+            usage.setFilePath(path);
+            usage.setLineNumber(call.line());
+            usage.setDictCode(call.dictCode());
+            usage.setHasTenantId(call.hasTenantId());
+            usages.add(usage);
+        }
+        for (DictSourceScanner.Literal literal : result.literals()) {
+            String text = literal.text();
+            valueMatcher.findWholeWords(text, (value, start) -> {
+                DictUsage usage = new DictUsage();
+                usage.setUsageType(UsageType.LITERAL);
+                usage.setFilePath(path);
+                usage.setLineNumber(literal.lineAt(start));
+                usage.setValue(value);
+                usage.setHasTenantId(true);
+                usages.add(usage);
+            });
+        }
+        cache.put(path, hash, usages);
+        return usages;
     }
     
     /**
      * 校验字典值是否存在
+     * 
+     * <p>字符串字面量中出现已知字典值视为硬编码；API 调用的字典编码必须在已知字典中（提供了字典定义时）。
      */
     private List<DictViolation> validateDictValues(List<DictUsage> usages) {
-        // TODO: 实现字典值校验逻辑
-        // 需要连接数据库或字典服务，检查字典值是否存在
-        return new ArrayList<>();
+        List<DictViolation> violations = new ArrayList<>();
+        for (DictUsage usage : usages) {
+            if (usage.getUsageType() == UsageType.LITERAL) {
+                Set<String> codes = dictCodesByValue.getOrDefault(usage.getValue(), Set.of());
+                violations.add(violation(RULE_HARDCODED_VALUE, usage,
+                    "硬编码字典值 " + usage.getValue() + "（字典 " + String.join(",", codes) + "），应使用常量或字典 API"));
+            } else if (usage.getDictCode() != null && !dictCodes.isEmpty() && !dictCodes.contains(usage.getDictCode())) {
+                violations.add(violation(RULE_UNKNOWN_DICT_CODE, usage,
+                    "字典编码不存在: " + usage.getDictCode()));
+            }
+        }
+        return violations;
     }
     
     /**
      * 校验字典编码规范
+     * 
+     * <p>检查是否符合规范：大写字母开头，3-64字符
      */
     private List<DictViolation> validateDictCodeFormat(List<DictUsage> usages) {
-        // TODO: 实现字典编码格式校验
-        // 检查是否符合规范：大写字母开头，3-64字符
-        return new ArrayList<>();
+        List<DictViolation> violations = new ArrayList<>();
+        for (DictUsage usage : usages) {
+            if (usage.getUsageType() == UsageType.API_CALL && usage.getDictCode() != null
+                    && !DICT_CODE_PATTERN.matcher(usage.getDictCode()).matches()) {
+                violations.add(violation(RULE_DICT_CODE_FORMAT, usage,
+                    "字典编码不符合规范（大写字母开头，3-64位大写字母、数字、下划线）: " + usage.getDictCode()));
+            }
+        }
+        return violations;
     }
     
     /**
      * 校验多租户使用
+     * 
+     * <p>检查是否所有字典 API 调用都传入了 tenantId（缺少参数或传入 null 均视为违规）
      */
     private List<DictViolation> validateTenantUsage(List<DictUsage> usages) {
-        // TODO: 实现租户ID校验
-        // 检查是否所有字典使用都传入了 tenantId
-        return new ArrayList<>();
+        List<DictViolation> violations = new ArrayList<>();
+        for (DictUsage usage : usages) {
+            if (usage.getUsageType() == UsageType.API_CALL && !usage.isHasTenantId()) {
+                violations.add(violation(RULE_MISSING_TENANT_ID, usage, "字典 API 调用未传入 tenantId"));
+            }
+        }
+        return violations;
+    }
+    
+    private static DictViolation violation(String ruleName, DictUsage usage, String message) {
+        DictViolation violation = new DictViolation();
+        violation.setRuleName(ruleName);
+        violation.setMessage(message);
+        violation.setFilePath(usage.getFilePath());
+        violation.setLineNumber(usage.getLineNumber());
+        return violation;
+    }
+    
+    private static List<Path> collectSourceFiles(Path root) {
+        List<Path> files = new ArrayList<>();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    Path name = dir.getFileName();
+                    return name != null && !dir.equals(root) && EXCLUDED_DIRECTORIES.contains(name.toString())
+                        ? FileVisitResult.SKIP_SUBTREE
+                        : FileVisitResult.CONTINUE;
+                }
+                
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    String extension = extension(file);
+                    if (attrs.isRegularFile()
+                            && (JAVA_EXTENSIONS.contains(extension) || FRONTEND_EXTENSIONS.contains(extension))) {
+                        files.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("扫描源代码目录失败: " + root, e);
+        }
+        files.sort(null);
+        return files;
+    }
+    
+    private static String relativePath(Path root, Path file) {
+        return root.relativize(file).toString().replace('\\', '/');
+    }
+    
+    private static String extension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1);
+    }
+    
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+    
+    /**
+     * 字典使用类型
+     */
+    public enum UsageType {
+        /** 字典 API 调用，如 dictRuntime.getLabel("GENDER", value, tenantId) */
+        API_CALL,
+        /** 字符串字面量中出现的已知字典值 */
+        LITERAL
     }
     
     /**
      * 字典使用信息
      */
     public static class DictUsage {
+        private UsageType usageType;
         private String filePath;
         private int lineNumber;
         private String dictCode;
@@ -90,6 +418,14 @@ public class DictChecker {
         private boolean hasTenantId;
         
         // Getters and Setters
+        public UsageType getUsageType() {
+            return usageType;
+        }
+        
+        public void setUsageType(UsageType usageType) {
+            this.usageType = usageType;
+        }
+        
         public String getFilePath() {
             return filePath;
         }
@@ -0,0 +1,318 @@
+package com.tiny.core.governance.dict.ci;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 源文件词法扫描
+ *
+ * <p>单遍扫描源文件，跳过注释，提取字符串字面量和字典 API 调用。
+ * 不做完整语法分析：Java 与前端文件（JS/TS/Vue）共用一套规则，足以定位字面量和调用参数。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+final class DictSourceScanner {
+
+    /**
+     * 字典 API 方法名 → tenantId 参数下标
+     */
+    private static final Map<String, Integer> TENANT_ARG_INDEX = Map.of(
+            "getLabel", 2,
+            "getLabels", 2,
+            "getDict", 1,
+            "getDictEtag", 1,
+            "getDictCache", 1,
+            "getChanges", 1,
+            "refreshCache", 1);
+
+    private static final int IDENT = 0;
+    private static final int STRING = 1;
+    private static final int PUNCT = 2;
+    private static final int[] NO_LINE_BREAKS = new int[0];
+
+    private DictSourceScanner() {
+    }
+
+    /**
+     * 扫描结果
+     */
+    record ScanResult(List<Literal> literals, List<ApiCall> apiCalls) {
+    }
+
+    /**
+     * 字符串字面量
+     *
+     * @param line       起始行号（从 1 开始）
+     * @param text       内容（已处理转义）
+     * @param lineBreaks 源码换行在 text 中的位置（升序）；转义的 {@code \n} 不是源码换行，不计入
+     */
+    record Literal(int line, String text, int[] lineBreaks) {
+
+        /**
+         * text 中某个位置所在的源码行号
+         */
+        int lineAt(int offset) {
+            int lines = 0;
+            while (lines < lineBreaks.length && lineBreaks[lines] < offset) {
+                lines++;
+            }
+            return line + lines;
+        }
+    }
+
+    /**
+     * 字典 API 调用
+     *
+     * @param dictCode    第一个参数为字符串字面量时的字典编码，否则为 null
+     * @param hasTenantId 是否传入了非 null 的 tenantId
+     */
+    record ApiCall(int line, String method, String dictCode, boolean hasTenantId) {
+    }
+
+    private record Token(int type, String text, int line, int[] lineBreaks) {
+
+        Token(int type, String text, int line) {
+            this(type, text, line, NO_LINE_BREAKS);
+        }
+    }
+
+    /**
+     * 扫描源文件内容
+     *
+     * @param content 文件内容
+     * @param java    是否为 Java 文件（决定字符字面量、文本块的处理，以及是否识别字典 API 调用）
+     */
+    static ScanResult scan(String content, boolean java) {
+        List<Token> tokens = tokenize(content, java);
+        List<Literal> literals = new ArrayList<>();
+        for (Token token : tokens) {
+            if (token.type() == STRING) {
+                literals.add(new Literal(token.line(), token.text(), token.lineBreaks()));
+            }
+        }
+        List<ApiCall> apiCalls = java ? findApiCalls(tokens) : List.of();
+        return new ScanResult(literals, apiCalls);
+    }
+
+    private static List<Token> tokenize(String s, boolean java) {
+        List<Token> tokens = new ArrayList<>();
+        int n = s.length();
+        int line = 1;
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            if (c == '\n') {
+                line++;
+                i++;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '/' && i + 1 < n && s.charAt(i + 1) == '/') {
+                while (i < n && s.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < n && s.charAt(i + 1) == '*') {
+                int end = s.indexOf("*/", i + 2);
+                end = end < 0 ? n : end + 2;
+                line += countLines(s, i, end);
+                i = end;
+            } else if (java && s.startsWith("\"\"\"", i)) {
+                int end = findTextBlockEnd(s, i + 3);
+                LineBreaks breaks = new LineBreaks();
+                String text = unescape(s, i + 3, Math.max(i + 3, end - 3), breaks);
+                tokens.add(new Token(STRING, text, line, breaks.toArray()));
+                line += countLines(s, i, end);
+                i = end;
+            } else if (c == '"' || c == '\'' || (!java && c == '`')) {
+                int start = line;
+                StringBuilder text = new StringBuilder();
+                LineBreaks breaks = new LineBreaks();
+                int j = i + 1;
+                boolean closed = false;
+                while (j < n) {
+                    char ch = s.charAt(j);
+                    if (ch == '\\' && j + 1 < n) {
+                        if (s.charAt(j + 1) == '\n') {
+                            // 行连接符：源码换行，内容不变
+                            breaks.add(text.length());
+                            line++;
+                        } else {
+                            text.append(unescapeChar(s.charAt(j + 1)));
+                        }
+                        j += 2;
+                        continue;
+                    }
+                    if (ch == c) {
+                        closed = true;
+                        j++;
+                        break;
+                    }
+                    if (ch == '\n') {
+                        if (c != '`') {
+                            // 未闭合的单行字符串，按字符串结束处理
+                            break;
+                        }
+                        breaks.add(text.length());
+                        line++;
+                    }
+                    text.append(ch);
+                    j++;
+                }
+                // Java 的单引号是字符字面量，不是字符串
+                if (closed && !(java && c == '\'')) {
+                    tokens.add(new Token(STRING, text.toString(), start, breaks.toArray()));
+                }
+                i = j;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int j = i + 1;
+                while (j < n && Character.isJavaIdentifierPart(s.charAt(j))) {
+                    j++;
+                }
+                tokens.add(new Token(IDENT, s.substring(i, j), line));
+                i = j;
+            } else if (Character.isDigit(c)) {
+                int j = i + 1;
+                while (j < n && (Character.isLetterOrDigit(s.charAt(j)) || s.charAt(j) == '.' || s.charAt(j) == '_')) {
+                    j++;
+                }
+                i = j;
+            } else {
+                tokens.add(new Token(PUNCT, String.valueOf(c), line));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 识别 {@code xxx.getLabel("GENDER", value, tenantId)} 形式的调用（要求方法名前是 "."，排除方法声明）
+     */
+    private static List<ApiCall> findApiCalls(List<Token> tokens) {
+        List<ApiCall> calls = new ArrayList<>();
+        for (int i = 1; i + 1 < tokens.size(); i++) {
+            Token name = tokens.get(i);
+            if (name.type() != IDENT || !TENANT_ARG_INDEX.containsKey(name.text())
+                    || !isPunct(tokens.get(i - 1), '.') || !isPunct(tokens.get(i + 1), '(')) {
+                continue;
+            }
+            int tenantIndex = TENANT_ARG_INDEX.get(name.text());
+            List<Token> firstArg = new ArrayList<>();
+            List<Token> tenantArg = new ArrayList<>();
+            int argIndex = 0;
+            boolean empty = true;
+            int depth = 0;
+            for (int j = i + 2; j < tokens.size(); j++) {
+                Token token = tokens.get(j);
+                if (token.type() == PUNCT) {
+                    char p = token.text().charAt(0);
+                    if (p == '(' || p == '[' || p == '{') {
+                        depth++;
+                    } else if (p == ')' || p == ']' || p == '}') {
+                        if (depth == 0) {
+                            break;
+                        }
+                        depth--;
+                    } else if (p == ',' && depth == 0) {
+                        argIndex++;
+                        continue;
+                    }
+                }
+                empty = false;
+                if (argIndex == 0) {
+                    firstArg.add(token);
+                } else if (argIndex == tenantIndex) {
+                    tenantArg.add(token);
+                }
+            }
+            int argCount = empty ? 0 : argIndex + 1;
+            String dictCode = firstArg.size() == 1 && firstArg.get(0).type() == STRING ? firstArg.get(0).text() : null;
+            boolean nullTenant = tenantArg.size() == 1 && "null".equals(tenantArg.get(0).text());
+            calls.add(new ApiCall(name.line(), name.text(), dictCode, argCount > tenantIndex && !nullTenant));
+        }
+        return calls;
+    }
+
+    private static boolean isPunct(Token token, char c) {
+        return token.type() == PUNCT && token.text().charAt(0) == c;
+    }
+
+    private static int findTextBlockEnd(String s, int from) {
+        int i = from;
+        while (i < s.length()) {
+            if (s.charAt(i) == '\\') {
+                i += 2;
+            } else if (s.startsWith("\"\"\"", i)) {
+                return i + 3;
+            } else {
+                i++;
+            }
+        }
+        return s.length();
+    }
+
+    /**
+     * 处理转义，并记录源码换行在结果中的位置
+     */
+    private static String unescape(String s, int from, int to, LineBreaks breaks) {
+        StringBuilder text = new StringBuilder(to - from);
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c == '\\' && i + 1 < to) {
+                char escaped = s.charAt(++i);
+                if (escaped == '\n') {
+                    // 行连接符
+                    breaks.add(text.length());
+                } else {
+                    text.append(unescapeChar(escaped));
+                }
+            } else {
+                if (c == '\n') {
+                    breaks.add(text.length());
+                }
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    private static char unescapeChar(char c) {
+        return switch (c) {
+            case 'n' -> '\n';
+            case 't' -> '\t';
+            case 'r' -> '\r';
+            default -> c;
+        };
+    }
+
+    private static int countLines(String s, int from, int to) {
+        int lines = 0;
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * 字面量内源码换行位置的收集器
+     */
+    private static final class LineBreaks {
+
+        private int[] offsets = NO_LINE_BREAKS;
+        private int size;
+
+        void add(int offset) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, Math.max(4, size * 2));
+            }
+            offsets[size++] = offset;
+        }
+
+        int[] toArray() {
+            return size == 0 ? NO_LINE_BREAKS : Arrays.copyOf(offsets, size);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.tiny.core.governance.dict.ci;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * 字典值多模式匹配器（Aho–Corasick）
+ *
+ * <p>所有字典值构建为一个自动机，一次扫描文本即可找出其中出现的全部字典值，
+ * 耗时只与文本长度有关，与字典值数量无关。
+ *
+ * <p>每个状态只保存实际存在的转移（按字符有序，二分查找），内存与字典值总长度成正比；
+ * 根状态使用完整转移表，文本中大多数字符在根状态处理。
+ *
+ * <p>只报告整词匹配：匹配前后都不是字母、数字或下划线，避免 {@code PAID} 命中 {@code UNPAID}。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public final class DictValueMatcher {
+
+    private static final int ROOT = 0;
+    private static final char[] NO_CHARS = new char[0];
+    private static final int[] NO_TARGETS = new int[0];
+
+    private final String[] patterns;
+
+    /**
+     * 根状态的完整转移表：字符 → 下一状态（缺失的转移为根状态）
+     */
+    private final int[] rootTransitions = new int[Character.MAX_VALUE + 1];
+
+    /**
+     * 各状态的转移字符（升序）与对应的下一状态
+     */
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+
+    /**
+     * 失败链
+     */
+    private final int[] fail;
+
+    /**
+     * 在该状态结束的字典值下标，-1 表示无
+     */
+    private final int[] output;
+
+    /**
+     * 沿失败链最近的有输出的状态，-1 表示无
+     */
+    private final int[] outputLink;
+
+    /**
+     * @param values 字典值（重复值只保留一个）
+     */
+    public DictValueMatcher(Collection<String> values) {
+        Set<String> unique = new LinkedHashSet<>();
+        int totalChars = 0;
+        for (String value : values) {
+            if (value != null && !value.isEmpty() && unique.add(value)) {
+                totalChars += value.length();
+            }
+        }
+        this.patterns = unique.toArray(new String[0]);
+
+        int maxStates = totalChars + 1;
+        this.edgeChars = new char[maxStates][];
+        this.edgeTargets = new int[maxStates][];
+        this.fail = new int[maxStates];
+        this.output = new int[maxStates];
+        Arrays.fill(output, -1);
+        this.outputLink = new int[maxStates];
+        Arrays.fill(outputLink, -1);
+
+        int states = buildTrie();
+        buildFailureLinks(states);
+    }
+
+    /**
+     * 构建 Trie（按字典值排序插入，每个状态的子节点按字符有序追加），返回状态数
+     */
+    private int buildTrie() {
+        Integer[] order = new Integer[patterns.length];
+        for (int p = 0; p < order.length; p++) {
+            order[p] = p;
+        }
+        Arrays.sort(order, (a, b) -> patterns[a].compareTo(patterns[b]));
+
+        for (int s = 0; s < edgeChars.length; s++) {
+            edgeChars[s] = NO_CHARS;
+            edgeTargets[s] = NO_TARGETS;
+        }
+        int states = 1;
+        for (int p : order) {
+            String pattern = patterns[p];
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                int next = child(state, c);
+                if (next < 0) {
+                    // 有序插入保证同一状态的新字符总是最大的，直接追加
+                    next = states++;
+                    int n = edgeChars[state].length;
+                    edgeChars[state] = Arrays.copyOf(edgeChars[state], n + 1);
+                    edgeTargets[state] = Arrays.copyOf(edgeTargets[state], n + 1);
+                    edgeChars[state][n] = c;
+                    edgeTargets[state][n] = next;
+                }
+                state = next;
+            }
+            output[state] = p;
+        }
+        return states;
+    }
+
+    /**
+     * 广度优先计算失败链
+     */
+    private void buildFailureLinks(int states) {
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int e = 0; e < edgeChars[ROOT].length; e++) {
+            int next = edgeTargets[ROOT][e];
+            rootTransitions[edgeChars[ROOT][e]] = next;
+            fail[next] = ROOT;
+            queue[tail++] = next;
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            int failState = fail[state];
+            outputLink[state] = output[failState] >= 0 ? failState : outputLink[failState];
+            for (int e = 0; e < edgeChars[state].length; e++) {
+                int next = edgeTargets[state][e];
+                fail[next] = transition(failState, edgeChars[state][e]);
+                queue[tail++] = next;
+            }
+        }
+    }
+
+    /**
+     * 自动机转移：沿失败链回退直到存在该字符的转移
+     */
+    private int transition(int state, char c) {
+        while (state != ROOT) {
+            int next = child(state, c);
+            if (next >= 0) {
+                return next;
+            }
+            state = fail[state];
+        }
+        return rootTransitions[c];
+    }
+
+    /**
+     * Trie 中的直接子节点，不存在时为 -1
+     */
+    private int child(int state, char c) {
+        int index = Arrays.binarySearch(edgeChars[state], c);
+        return index >= 0 ? edgeTargets[state][index] : -1;
+    }
+
+    /**
+     * 查找文本中整词出现的字典值
+     *
+     * @param text    文本
+     * @param handler 回调：字典值、在文本中的起始位置
+     */
+    public void findWholeWords(CharSequence text, ObjIntConsumer<String> handler) {
+        if (patterns.length == 0) {
+            return;
+        }
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = transition(state, text.charAt(i));
+            for (int s = output[state] >= 0 ? state : outputLink[state]; s >= 0; s = outputLink[s]) {
+                String pattern = patterns[output[s]];
+                int start = i - pattern.length() + 1;
+                if (isBoundary(text, start - 1) && isBoundary(text, i + 1)) {
+                    handler.accept(pattern, start);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return patterns.length;
+    }
+
+    private static boolean isBoundary(CharSequence text, int index) {
+        if (index < 0 || index >= text.length()) {
+            return true;
+        }
+        char c = text.charAt(index);
+        return !(Character.isLetterOrDigit(c) || c == '_');
+    }
+}
@@ -3,24 +3,60 @@ package com.tiny.core.governance.dict.force;
 import com.tiny.core.dict.cache.DictCacheManager;
 import com.tiny.core.dict.model.DictItem;
 import com.tiny.core.dict.repository.DictItemRepository;
+import com.tiny.core.dict.repository.jpa.JdbcDictBatchWriter;
+import com.tiny.core.dict.service.DictChangeFeedService;
+import com.tiny.core.dict.service.DictVersionService;
+import com.tiny.core.dict.starter.event.DictChangeEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Level2：FORCE 变更服务
  *
  * <p>仅治理模块可用，允许以受控方式强制修改字典项。
+ *
+ * <p>批量强制变更按租户集合一次更新，变更日志一次批量写入，
+ * 提交后对所有受影响租户统一失效一次缓存，不逐租户加载、保存和刷新。
+ *
+ * <p>受影响租户中保留版本历史的，在同一事务内各生成一个差异版本（版本行、快照行各一次批量写入，
+ * 见 {@link DictVersionService#createForceVersions}），强制变更可以像普通变更一样回滚；
+ * 没有版本历史的租户不补建首个全量版本，否则平台级订正会退化为逐租户全量快照。
  */
 @Service
 public class DictForceService {
 
+    /**
+     * 强制变更生成版本的创建人
+     */
+    static final String FORCE_OPERATOR = "dict-force";
+
     private final DictItemRepository dictItemRepository;
     private final DictCacheManager dictCacheManager;
+    private final DictTypeCatalog dictTypeCatalog;
+    private final JdbcDictBatchWriter batchWriter;
+    private final DictChangeFeedService dictChangeFeedService;
+    private final DictVersionService dictVersionService;
 
     public DictForceService(DictItemRepository dictItemRepository,
-                            DictCacheManager dictCacheManager) {
+                            DictCacheManager dictCacheManager,
+                            DictTypeCatalog dictTypeCatalog,
+                            JdbcDictBatchWriter batchWriter,
+                            DictChangeFeedService dictChangeFeedService,
+                            DictVersionService dictVersionService) {
         this.dictItemRepository = dictItemRepository;
         this.dictCacheManager = dictCacheManager;
+        this.dictTypeCatalog = dictTypeCatalog;
+        this.batchWriter = batchWriter;
+        this.dictChangeFeedService = dictChangeFeedService;
+        this.dictVersionService = dictVersionService;
     }
 
     /**
@@ -32,20 +68,86 @@ public class DictForceService {
      */
     @Transactional
     public void forceUpdateLabel(String dictCode, String value, String newLabel, Long tenantId) {
-        // 这里简化实现：假设 Repository 已经支持通过 dictCode + value + tenantId 查询
+        Long dictTypeId = dictTypeCatalog.resolveDictTypeId(dictCode, tenantId);
         DictItem item = dictItemRepository
-                .findByDictTypeIdAndValueAndTenantId(resolveDictTypeId(dictCode), value, tenantId)
+                .findByDictTypeIdAndValueAndTenantId(dictTypeId, value, tenantId)
                 .orElseThrow(() -> new IllegalArgumentException("字典项不存在"));
 
         item.setLabel(newLabel);
         dictItemRepository.save(item);
 
-        // 异步刷新缓存
-        dictCacheManager.refreshDictCacheAsync(dictCode, tenantId);
+        // 记录变更，提交后通过字典变更事件刷新缓存
+        dictChangeFeedService.recordChanges(dictCode, tenantId, DictChangeEvent.DictChangeType.UPDATE, Set.of(value));
+        recordVersions(dictCode, dictTypeId, value, List.of(tenantId));
     }
 
-    private Long resolveDictTypeId(String dictCode) {
-        // TODO: 查询 DictType 获取 ID，这里简化为 0，占位实现
-        return 0L;
+    /**
+     * 批量强制更新多个租户的字典标签
+     *
+     * <p>只更新已存在该字典项的租户；不可见该字典的租户被忽略。
+     *
+     * @param dictCode  字典编码
+     * @param value     字典值
+     * @param newLabel  新标签
+     * @param tenantIds 租户ID列表
+     * @return 实际更新的租户数
+     */
+    @Transactional
+    public int forceUpdateLabel(String dictCode, String value, String newLabel, Collection<Long> tenantIds) {
+        Map<Long, Long> dictTypeIds = dictTypeCatalog.resolveDictTypeIds(dictCode, tenantIds);
+        if (dictTypeIds.isEmpty()) {
+            return 0;
+        }
+        // 字典编码全局唯一，可见租户解析到同一个字典类型
+        Long dictTypeId = dictTypeIds.values().iterator().next();
+        List<Long> updated = batchWriter.updateLabels(dictTypeId, value, newLabel, new ArrayList<>(dictTypeIds.keySet()));
+        afterForceUpdate(dictCode, dictTypeId, value, updated);
+        return updated.size();
+    }
+
+    /**
+     * 强制更新平台及所有租户的字典标签（平台级订正）
+     *
+     * @param dictCode 字典编码
+     * @param value    字典值
+     * @param newLabel 新标签
+     * @return 实际更新的租户数（含平台）
+     */
+    @Transactional
+    public int forceUpdateLabelForAllTenants(String dictCode, String value, String newLabel) {
+        Long dictTypeId = dictTypeCatalog.getDictTypeId(dictCode);
+        List<Long> updated = batchWriter.updateLabels(dictTypeId, value, newLabel, null);
+        afterForceUpdate(dictCode, dictTypeId, value, updated);
+        return updated.size();
+    }
+
+    /**
+     * 批量写入变更日志，提交后统一失效受影响租户的缓存
+     */
+    private void afterForceUpdate(String dictCode, Long dictTypeId, String value, List<Long> tenantIds) {
+        if (tenantIds.isEmpty()) {
+            return;
+        }
+        dictChangeFeedService.recordTenantChanges(dictCode, tenantIds, DictChangeEvent.DictChangeType.UPDATE, value);
+        recordVersions(dictCode, dictTypeId, value, tenantIds);
+
+        Runnable evict = () -> dictCacheManager.evictDictCache(dictCode, tenantIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    /**
+     * 为保留版本历史的受影响租户批量生成差异版本
+     */
+    private void recordVersions(String dictCode, Long dictTypeId, String value, Collection<Long> tenantIds) {
+        dictVersionService.createForceVersions(dictCode, dictTypeId, value, tenantIds, "FORCE: " + value, FORCE_OPERATOR);
     }
 }
@@ -0,0 +1,160 @@
+package com.tiny.core.governance.dict.force;
+
+import com.tiny.core.dict.repository.jpa.JpaDictType;
+import com.tiny.core.dict.repository.jpa.JpaDictTypeRepository;
+import com.tiny.core.dict.starter.event.DictTypeChangeEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 字典类型目录
+ *
+ * <p>在内存中维护 dictCode → 字典类型（ID、所属租户）的索引，解析 (tenantId, dictCode) → 字典类型ID 不访问数据库：
+ * <ul>
+ *   <li>首次使用时一次加载全部字典类型</li>
+ *   <li>目录中没有的编码按需查询后补入；数据库中也不存在的编码记为缺失，{@link #MISS_TTL_MILLIS} 内不再查询</li>
+ *   <li>字典类型创建、修改、删除提交后（{@link DictTypeChangeEvent}）移除对应编码；字典项变更不影响类型ID，不处理</li>
+ * </ul>
+ *
+ * <p>字典缓存（DictCacheManager）只保存 value → label，不含字典类型信息，目录因此单独维护一份类型索引，
+ * 与字典缓存同样常驻内存、由变更事件驱动失效。
+ *
+ * <p>字典编码全局唯一：平台字典（tenantId=0）对所有租户可见，租户字典只对所属租户可见。
+ */
+@Component
+public class DictTypeCatalog {
+
+    private static final Long PLATFORM_TENANT_ID = 0L;
+
+    /**
+     * 不存在的字典编码的缓存时长，避免重复查询数据库
+     */
+    static final long MISS_TTL_MILLIS = 30_000;
+
+    private final JpaDictTypeRepository dictTypeRepository;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> misses = new ConcurrentHashMap<>();
+    private volatile boolean warmed;
+
+    public DictTypeCatalog(JpaDictTypeRepository dictTypeRepository) {
+        this.dictTypeRepository = dictTypeRepository;
+    }
+
+    /**
+     * 解析租户可见的字典类型ID
+     *
+     * @param dictCode 字典编码
+     * @param tenantId 租户ID
+     * @return 字典类型ID
+     * @throws IllegalArgumentException 字典不存在或对该租户不可见
+     */
+    public Long resolveDictTypeId(String dictCode, Long tenantId) {
+        Entry entry = lookup(dictCode);
+        if (entry == null || !entry.visibleTo(tenantId)) {
+            throw new IllegalArgumentException("字典类型不存在: " + dictCode);
+        }
+        return entry.id();
+    }
+
+    /**
+     * 获取字典类型ID（不区分租户）
+     *
+     * @throws IllegalArgumentException 字典不存在
+     */
+    public Long getDictTypeId(String dictCode) {
+        Entry entry = lookup(dictCode);
+        if (entry == null) {
+            throw new IllegalArgumentException("字典类型不存在: " + dictCode);
+        }
+        return entry.id();
+    }
+
+    /**
+     * 批量解析多个租户可见的字典类型ID
+     *
+     * @param dictCode  字典编码
+     * @param tenantIds 租户ID列表
+     * @return tenantId → 字典类型ID，只包含可见该字典的租户
+     * @throws IllegalArgumentException 字典不存在
+     */
+    public Map<Long, Long> resolveDictTypeIds(String dictCode, Collection<Long> tenantIds) {
+        Entry entry = lookup(dictCode);
+        if (entry == null) {
+            throw new IllegalArgumentException("字典类型不存在: " + dictCode);
+        }
+        Map<Long, Long> result = new LinkedHashMap<>();
+        for (Long tenantId : tenantIds) {
+            if (entry.visibleTo(tenantId)) {
+                result.put(tenantId, entry.id());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 字典类型变更提交后移除对应编码（含缺失记录），下次使用时重新查询
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleDictTypeChange(DictTypeChangeEvent event) {
+        entries.remove(event.getDictCode());
+        misses.remove(event.getDictCode());
+    }
+
+    /**
+     * 清空目录，下次使用时重新加载全部字典类型
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        misses.clear();
+        warmed = false;
+    }
+
+    private Entry lookup(String dictCode) {
+        if (!warmed) {
+            warm();
+        }
+        Entry entry = entries.get(dictCode);
+        if (entry != null) {
+            return entry;
+        }
+        Long missedAt = misses.get(dictCode);
+        long now = System.currentTimeMillis();
+        if (missedAt != null && now - missedAt < MISS_TTL_MILLIS) {
+            return null;
+        }
+        entry = dictTypeRepository.findByDictCode(dictCode).map(Entry::of).orElse(null);
+        if (entry != null) {
+            entries.put(dictCode, entry);
+            misses.remove(dictCode);
+        } else {
+            misses.put(dictCode, now);
+        }
+        return entry;
+    }
+
+    private synchronized void warm() {
+        if (warmed) {
+            return;
+        }
+        for (JpaDictType dictType : dictTypeRepository.findAll()) {
+            entries.putIfAbsent(dictType.getDictCode(), Entry.of(dictType));
+        }
+        warmed = true;
+    }
+
+    private record Entry(Long id, Long tenantId) {
+
+        static Entry of(JpaDictType dictType) {
+            return new Entry(dictType.getId(), dictType.getTenantId());
+        }
+
+        boolean visibleTo(Long tenantId) {
+            return PLATFORM_TENANT_ID.equals(this.tenantId) || this.tenantId.equals(tenantId);
+        }
+    }
+}
@@ -4,10 +4,17 @@ import com.tiny.core.dict.runtime.DictRuntime;
 import com.tiny.core.governance.tenant.TenantPolicyService;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Level1：字典值严格校验服务
  *
- * <p>租户可选择启用，增强数据一致性。
+ * <p>租户可选择启用，增强数据一致性。策略从内存快照读取，校验不访问数据库。
  */
 @Service
 public class DictValidationService {
@@ -43,4 +50,47 @@ public class DictValidationService {
             );
         }
     }
+
+    /**
+     * 批量校验同一字典的值
+     *
+     * @see #validateValues(Map, Long)
+     */
+    public void validateValues(String dictCode, Collection<String> values, Long tenantId) {
+        validateValues(Map.of(dictCode, values), tenantId);
+    }
+
+    /**
+     * 批量校验字典值
+     *
+     * <p>整批使用同一份租户策略快照；每个字典只取一次缓存，去重后批量查询标签。
+     * 所有非法值收集后一次抛出。
+     *
+     * @param valuesByDictCode 字典编码 → 待校验的值
+     * @param tenantId         租户ID
+     * @throws IllegalArgumentException 如果存在非法值且租户启用了严格模式
+     */
+    public void validateValues(Map<String, ? extends Collection<String>> valuesByDictCode, Long tenantId) {
+        boolean strictEnabled = tenantPolicyService.getPolicies(tenantId).isEnabled(POLICY_STRICT_MODE);
+        if (!strictEnabled) {
+            return;
+        }
+        List<String> invalid = new ArrayList<>();
+        for (Map.Entry<String, ? extends Collection<String>> entry : valuesByDictCode.entrySet()) {
+            String dictCode = entry.getKey();
+            Set<String> distinct = new LinkedHashSet<>(entry.getValue());
+            Map<String, String> labels = dictRuntime.getLabels(dictCode, new ArrayList<>(distinct), tenantId);
+            for (String value : distinct) {
+                String label = labels.get(value);
+                if (label == null || label.isEmpty()) {
+                    invalid.add(dictCode + "/" + value);
+                }
+            }
+        }
+        if (!invalid.isEmpty()) {
+            throw new IllegalArgumentException(
+                    String.format("非法字典值: %s, tenantId=%d", invalid, tenantId)
+            );
+        }
+    }
 }
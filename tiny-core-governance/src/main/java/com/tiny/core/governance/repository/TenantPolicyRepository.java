@@ -2,8 +2,12 @@ package com.tiny.core.governance.repository;
 
 import com.tiny.core.governance.model.TenantPolicy;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,4 +17,12 @@ import java.util.Optional;
 public interface TenantPolicyRepository extends JpaRepository<TenantPolicy, Long> {
 
     Optional<TenantPolicy> findByTenantIdAndPolicyCode(Long tenantId, String policyCode);
+
+    List<TenantPolicy> findByTenantId(Long tenantId);
+
+    /**
+     * 查询指定时间之后有策略更新的租户
+     */
+    @Query("SELECT DISTINCT p.tenantId FROM TenantPolicy p WHERE p.updatedAt > :since")
+    List<Long> findTenantIdsUpdatedAfter(@Param("since") LocalDateTime since);
 }
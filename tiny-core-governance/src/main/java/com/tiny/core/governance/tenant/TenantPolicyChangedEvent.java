@@ -0,0 +1,28 @@
+package com.tiny.core.governance.tenant;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 租户策略变更事件
+ *
+ * <p>策略保存后发布，用于失效本节点的租户策略快照。
+ */
+public class TenantPolicyChangedEvent extends ApplicationEvent {
+
+    private final Long tenantId;
+    private final String policyCode;
+
+    public TenantPolicyChangedEvent(Object source, Long tenantId, String policyCode) {
+        super(source);
+        this.tenantId = tenantId;
+        this.policyCode = policyCode;
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    public String getPolicyCode() {
+        return policyCode;
+    }
+}
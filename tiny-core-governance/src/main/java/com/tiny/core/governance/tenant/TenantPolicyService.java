@@ -2,23 +2,49 @@ package com.tiny.core.governance.tenant;
 
 import com.tiny.core.governance.model.TenantPolicy;
 import com.tiny.core.governance.repository.TenantPolicyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 租户策略服务
  *
  * <p>用于判断租户是否启用了某些治理能力，例如 DICT_STRICT_MODE 等。
+ *
+ * <p>每个租户的策略首次使用时加载为不可变快照（{@link TenantPolicySet}），之后判断不访问数据库：
+ * <ul>
+ *   <li>本节点修改策略后发布 {@link TenantPolicyChangedEvent}，事务提交后失效该租户快照</li>
+ *   <li>其他节点每 {@value #SYNC_INTERVAL_SECONDS} 秒查询一次有更新的租户并失效其快照
+ *       （{@code @Scheduled}，需应用启用定时任务）</li>
+ * </ul>
  */
 @Service
 public class TenantPolicyService {
 
+    private static final Logger logger = LoggerFactory.getLogger(TenantPolicyService.class);
+
+    /**
+     * 跨节点同步间隔（秒）
+     */
+    static final long SYNC_INTERVAL_SECONDS = 30;
+
     private final TenantPolicyRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrentHashMap<Long, TenantPolicySet> policies = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSyncTime = LocalDateTime.now();
 
-    public TenantPolicyService(TenantPolicyRepository repository) {
+    public TenantPolicyService(TenantPolicyRepository repository, ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -29,8 +55,20 @@ public class TenantPolicyService {
      * @return 是否启用
      */
     public boolean isPolicyEnabled(Long tenantId, String policyCode) {
-        Optional<TenantPolicy> policy = repository.findByTenantIdAndPolicyCode(tenantId, policyCode);
-        return policy.map(TenantPolicy::getEnabled).orElse(false);
+        return getPolicies(tenantId).isEnabled(policyCode);
+    }
+
+    /**
+     * 获取租户策略快照
+     *
+     * <p>批量判断时取一次快照，保证同一批数据使用同一组策略。
+     */
+    public TenantPolicySet getPolicies(Long tenantId) {
+        TenantPolicySet policySet = policies.get(tenantId);
+        if (policySet != null) {
+            return policySet;
+        }
+        return policies.computeIfAbsent(tenantId, this::loadPolicies);
     }
 
     /**
@@ -47,6 +85,54 @@ public class TenantPolicyService {
                 });
         policy.setEnabled(enabled);
         policy.setUpdatedAt(LocalDateTime.now());
-        return repository.save(policy);
+        TenantPolicy saved = repository.save(policy);
+        eventPublisher.publishEvent(new TenantPolicyChangedEvent(this, tenantId, policyCode));
+        return saved;
+    }
+
+    /**
+     * 策略变更后失效租户快照（有事务时在提交后执行）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handlePolicyChanged(TenantPolicyChangedEvent event) {
+        evict(event.getTenantId());
+    }
+
+    /**
+     * 失效租户策略快照，下次使用时重新加载
+     *
+     * <p>与正在进行的加载互斥：加载完成后才会移除，不会留下失效前读到的旧快照。
+     */
+    public void evict(Long tenantId) {
+        policies.remove(tenantId);
+    }
+
+    private TenantPolicySet loadPolicies(Long tenantId) {
+        Set<String> enabled = new HashSet<>();
+        for (TenantPolicy policy : repository.findByTenantId(tenantId)) {
+            if (Boolean.TRUE.equals(policy.getEnabled())) {
+                enabled.add(policy.getPolicyCode());
+            }
+        }
+        return TenantPolicySet.of(enabled);
+    }
+
+    /**
+     * 失效其他节点修改过策略的租户
+     *
+     * <p>查询窗口向前多覆盖一个同步间隔，容忍节点时钟偏差和较晚提交的事务；多失效只会多加载一次。
+     */
+    @Scheduled(initialDelay = SYNC_INTERVAL_SECONDS, fixedDelay = SYNC_INTERVAL_SECONDS, timeUnit = TimeUnit.SECONDS)
+    public void syncChangedTenants() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            LocalDateTime since = lastSyncTime.minusSeconds(SYNC_INTERVAL_SECONDS);
+            for (Long tenantId : repository.findTenantIdsUpdatedAfter(since)) {
+                evict(tenantId);
+            }
+            lastSyncTime = now;
+        } catch (Exception e) {
+            logger.warn("同步租户策略失败", e);
+        }
     }
 }
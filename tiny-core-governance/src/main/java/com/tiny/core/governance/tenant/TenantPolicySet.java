@@ -0,0 +1,34 @@
+package com.tiny.core.governance.tenant;
+
+import java.util.Set;
+
+/**
+ * 租户策略快照
+ *
+ * <p>一个租户当前启用的策略编码集合，不可变，判断时不访问数据库。
+ */
+public final class TenantPolicySet {
+
+    private static final TenantPolicySet EMPTY = new TenantPolicySet(Set.of());
+
+    private final Set<String> enabledPolicies;
+
+    private TenantPolicySet(Set<String> enabledPolicies) {
+        this.enabledPolicies = enabledPolicies;
+    }
+
+    public static TenantPolicySet of(Set<String> enabledPolicies) {
+        return enabledPolicies.isEmpty() ? EMPTY : new TenantPolicySet(Set.copyOf(enabledPolicies));
+    }
+
+    /**
+     * 是否启用了指定策略
+     */
+    public boolean isEnabled(String policyCode) {
+        return enabledPolicies.contains(policyCode);
+    }
+
+    public Set<String> getEnabledPolicies() {
+        return enabledPolicies;
+    }
+}
@@ -0,0 +1,114 @@
+package com.tiny.core.governance.dict.ci;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * DictChecker 测试：规则、行号、增量缓存与字典定义文件
+ */
+class DictCheckerTest {
+
+    private Path root;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        root = Files.createTempDirectory("dict-checker");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    @DisplayName("测试报告硬编码字典值、未知字典编码和缺少 tenantId")
+    void shouldReportViolations() throws IOException {
+        write("src/Order.java", """
+            class Order {
+                void m() {
+                    String s = "status\\nPAID";
+                    dictRuntime.getLabel("UNKNOWN_CODE", s);
+                }
+            }
+            """);
+        write("web/order.ts", "const s = 'PAID';\n");
+        write("node_modules/lib.js", "const s = 'PAID';\n");
+
+        DictChecker checker = new DictChecker(Map.of("ORDER_STATUS", List.of("PAID", "Y")), null);
+        List<String> violations = summarize(checker.check(root.toString()));
+
+        // 按规则分组，组内按文件路径排序
+        assertEquals(List.of(
+            "src/Order.java:4 UNKNOWN_DICT_CODE",
+            "src/Order.java:3 HARDCODED_DICT_VALUE",
+            "web/order.ts:1 HARDCODED_DICT_VALUE",
+            "src/Order.java:4 MISSING_TENANT_ID"), violations);
+    }
+
+    @Test
+    @DisplayName("测试缓存文件命中时结果不变，文件修改后重新扫描")
+    void shouldReuseCache() throws IOException {
+        Path cacheFile = root.resolve("cache/dict-check.cache");
+        Files.createDirectories(cacheFile.getParent());
+        Path source = write("src/A.java", "class A { String s = \"PAID\"; }\n");
+        Map<String, List<String>> dicts = Map.of("ORDER_STATUS", List.of("PAID", "UNPAID"));
+
+        List<String> first = summarize(new DictChecker(dicts, cacheFile).check(root.resolve("src").toString()));
+        List<String> cached = summarize(new DictChecker(dicts, cacheFile).check(root.resolve("src").toString()));
+        Files.writeString(source, "class A {\n String s = \"UNPAID\"; }\n");
+        List<String> changed = summarize(new DictChecker(dicts, cacheFile).check(root.resolve("src").toString()));
+
+        assertEquals(List.of("A.java:1 HARDCODED_DICT_VALUE"), first);
+        assertEquals(first, cached);
+        assertEquals(List.of("A.java:2 HARDCODED_DICT_VALUE"), changed);
+    }
+
+    @Test
+    @DisplayName("测试读取 properties 格式的字典定义")
+    void shouldLoadDictionaries() throws IOException {
+        Path file = write("dicts.properties", "GENDER=MALE, FEMALE\nORDER_STATUS=PAID,,UNPAID\n");
+
+        Map<String, List<String>> dicts = DictChecker.loadDictionaries(file);
+
+        assertEquals(List.of("MALE", "FEMALE"), dicts.get("GENDER"));
+        assertEquals(List.of("PAID", "UNPAID"), dicts.get("ORDER_STATUS"));
+    }
+
+    @Test
+    @DisplayName("测试不带字典定义时只校验编码规范和 tenantId")
+    void shouldCheckFormatWithoutDictionaries() throws IOException {
+        write("A.java", "class A { void m() { r.getDict(\"gender\", 1L); } }\n");
+
+        DictChecker.DictCheckResult result = new DictChecker().check(root.toString());
+
+        assertTrue(result.hasViolations());
+        assertEquals(List.of("A.java:1 DICT_CODE_FORMAT"), summarize(result));
+    }
+
+    private Path write(String relative, String content) throws IOException {
+        Path file = root.resolve(relative);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+
+    private static List<String> summarize(DictChecker.DictCheckResult result) {
+        return result.getViolations().stream()
+            .map(v -> v.getFilePath() + ":" + v.getLineNumber() + " " + v.getRuleName())
+            .toList();
+    }
+}
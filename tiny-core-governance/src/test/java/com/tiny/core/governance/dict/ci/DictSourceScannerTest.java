@@ -0,0 +1,95 @@
+package com.tiny.core.governance.dict.ci;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * DictSourceScanner 测试：字面量提取、源码行号、字典 API 调用识别
+ */
+class DictSourceScannerTest {
+
+    @Test
+    @DisplayName("测试跳过注释，只提取字符串字面量")
+    void shouldSkipComments() {
+        String source = """
+            // "IN_LINE_COMMENT"
+            /* "IN_BLOCK_COMMENT"
+               */
+            String s = "REAL";
+            char c = 'X';
+            """;
+
+        List<DictSourceScanner.Literal> literals = DictSourceScanner.scan(source, true).literals();
+
+        assertEquals(1, literals.size());
+        assertEquals("REAL", literals.get(0).text());
+        assertEquals(4, literals.get(0).line());
+    }
+
+    @Test
+    @DisplayName("测试转义的换行不影响行号")
+    void shouldNotCountEscapedNewlines() {
+        String source = "String s = \"A\\nB\\nPAID\";\nString t = \"X\";\n";
+
+        DictSourceScanner.Literal literal = DictSourceScanner.scan(source, true).literals().get(0);
+
+        assertEquals("A\nB\nPAID", literal.text());
+        assertEquals(1, literal.lineAt(literal.text().indexOf("PAID")));
+    }
+
+    @Test
+    @DisplayName("测试文本块按源码换行计算行号")
+    void shouldCountTextBlockLines() {
+        String source = "String s = \"\"\"\n    FIRST \\n\n    PAID\n    \"\"\";\n";
+
+        DictSourceScanner.Literal literal = DictSourceScanner.scan(source, true).literals().get(0);
+
+        assertEquals(1, literal.line());
+        assertEquals(2, literal.lineAt(literal.text().indexOf("FIRST")));
+        assertEquals(3, literal.lineAt(literal.text().indexOf("PAID")));
+    }
+
+    @Test
+    @DisplayName("测试前端模板字符串跨行")
+    void shouldCountTemplateLiteralLines() {
+        String source = "const a = `x\n${y}\nPAID`;\n";
+
+        DictSourceScanner.Literal literal = DictSourceScanner.scan(source, false).literals().get(0);
+
+        assertEquals(3, literal.lineAt(literal.text().indexOf("PAID")));
+    }
+
+    @Test
+    @DisplayName("测试识别字典 API 调用及 tenantId 参数")
+    void shouldFindApiCalls() {
+        String source = """
+            class A {
+                String getLabel(String a, String b, Long c) { return null; }
+                void m() {
+                    dictRuntime.getLabel("GENDER", value, tenantId);
+                    dictRuntime.getLabel("GENDER", value, null);
+                    dictRuntime.getDict(code(), x(1, 2));
+                    dictRuntime.getDict("ORDER_STATUS");
+                }
+            }
+            """;
+
+        List<DictSourceScanner.ApiCall> calls = DictSourceScanner.scan(source, true).apiCalls();
+
+        assertEquals(4, calls.size());
+        assertEquals("GENDER", calls.get(0).dictCode());
+        assertEquals(4, calls.get(0).line());
+        assertTrue(calls.get(0).hasTenantId());
+        assertFalse(calls.get(1).hasTenantId());
+        assertNull(calls.get(2).dictCode());
+        assertTrue(calls.get(2).hasTenantId());
+        assertFalse(calls.get(3).hasTenantId());
+    }
+}
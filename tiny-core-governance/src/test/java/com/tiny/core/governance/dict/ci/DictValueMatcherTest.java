@@ -0,0 +1,115 @@
+package com.tiny.core.governance.dict.ci;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * DictValueMatcher 测试：整词匹配、重叠字典值，以及与逐个 indexOf 的结果一致
+ */
+class DictValueMatcherTest {
+
+    @Test
+    @DisplayName("测试只报告整词匹配")
+    void shouldReportWholeWordsOnly() {
+        DictValueMatcher matcher = new DictValueMatcher(List.of("PAID", "UNPAID", "ACTIVE"));
+
+        List<String> found = find(matcher, "status=UNPAID, PAID_AT, PAID; INACTIVE ACTIVE");
+
+        assertEquals(List.of("UNPAID@7", "PAID@24", "ACTIVE@39"), found);
+    }
+
+    @Test
+    @DisplayName("测试一个字典值是另一个的后缀时都能匹配")
+    void shouldMatchOverlappingValues() {
+        DictValueMatcher matcher = new DictValueMatcher(List.of("A_B", "B", "A", "A_B"));
+
+        assertEquals(3, matcher.size());
+        assertEquals(List.of("A@0", "A_B@2", "B@6"), find(matcher, "A A_B B"));
+    }
+
+    @Test
+    @DisplayName("测试非 ASCII 字典值和大字母表")
+    void shouldHandleLargeAlphabet() {
+        List<String> values = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder value = new StringBuilder();
+            for (int j = 0; j < 12; j++) {
+                value.append((char) (0x4E00 + random.nextInt(20_000)));
+            }
+            values.add(value.toString());
+        }
+        DictValueMatcher matcher = new DictValueMatcher(values);
+
+        String text = "前缀 " + values.get(123) + " 后缀";
+        assertEquals(List.of(values.get(123) + "@3"), find(matcher, text));
+    }
+
+    @Test
+    @DisplayName("测试随机文本的匹配结果与逐个 indexOf 一致")
+    void shouldAgreeWithBruteForce() {
+        Random random = new Random(42);
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            values.add(randomWord(random, 1 + random.nextInt(4)));
+        }
+        DictValueMatcher matcher = new DictValueMatcher(values);
+
+        for (int round = 0; round < 500; round++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < 30; i++) {
+                text.append(randomWord(random, 1 + random.nextInt(5))).append(random.nextBoolean() ? ' ' : '_');
+            }
+            assertEquals(bruteForce(new TreeSet<>(values), text.toString()),
+                new TreeSet<>(find(matcher, text.toString())), text.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("测试没有字典值时不匹配任何内容")
+    void shouldMatchNothingWhenEmpty() {
+        DictValueMatcher matcher = new DictValueMatcher(List.of());
+
+        assertTrue(find(matcher, "ANY TEXT").isEmpty());
+    }
+
+    private static List<String> find(DictValueMatcher matcher, String text) {
+        List<String> found = new ArrayList<>();
+        matcher.findWholeWords(text, (value, start) -> found.add(value + "@" + start));
+        return found;
+    }
+
+    private static TreeSet<String> bruteForce(TreeSet<String> values, String text) {
+        TreeSet<String> found = new TreeSet<>();
+        for (String value : values) {
+            for (int i = text.indexOf(value); i >= 0; i = text.indexOf(value, i + 1)) {
+                int end = i + value.length();
+                if (isBoundary(text, i - 1) && isBoundary(text, end)) {
+                    found.add(value + "@" + i);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        return index < 0 || index >= text.length()
+            || !(Character.isLetterOrDigit(text.charAt(index)) || text.charAt(index) == '_');
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('A' + random.nextInt(3)));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.tiny.core.governance.dict.force;
+
+import com.tiny.core.dict.cache.DictCacheManager;
+import com.tiny.core.dict.repository.DictItemRepository;
+import com.tiny.core.dict.repository.jpa.JdbcDictBatchWriter;
+import com.tiny.core.dict.service.DictChangeFeedService;
+import com.tiny.core.dict.service.DictVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * DictForceService 测试：多租户强制变更一次批量生成版本、一次失效缓存
+ */
+class DictForceServiceTest {
+
+    private DictTypeCatalog dictTypeCatalog;
+    private JdbcDictBatchWriter batchWriter;
+    private DictCacheManager dictCacheManager;
+    private DictVersionService dictVersionService;
+    private DictForceService service;
+
+    @BeforeEach
+    void setUp() {
+        dictTypeCatalog = mock(DictTypeCatalog.class);
+        batchWriter = mock(JdbcDictBatchWriter.class);
+        dictCacheManager = mock(DictCacheManager.class);
+        dictVersionService = mock(DictVersionService.class);
+        service = new DictForceService(mock(DictItemRepository.class), dictCacheManager, dictTypeCatalog,
+            batchWriter, mock(DictChangeFeedService.class), dictVersionService);
+    }
+
+    @Test
+    @DisplayName("测试多个租户的强制变更一次批量生成版本，不逐租户创建版本")
+    void shouldRecordVersionsForSeveralTenantsAtOnce() {
+        when(dictTypeCatalog.resolveDictTypeIds("gender", List.of(1L, 2L, 3L)))
+            .thenReturn(Map.of(1L, 9L, 2L, 9L, 3L, 9L));
+        when(batchWriter.updateLabels(any(), anyString(), anyString(), any())).thenReturn(List.of(1L, 2L, 3L));
+
+        int updated = service.forceUpdateLabel("gender", "M", "男性", List.of(1L, 2L, 3L));
+
+        assertEquals(3, updated);
+        verify(dictVersionService, times(1)).createForceVersions("gender", 9L, "M", List.of(1L, 2L, 3L),
+            "FORCE: M", DictForceService.FORCE_OPERATOR);
+        verify(dictVersionService, never()).createVersion(anyString(), any(), any(), any());
+        verify(dictCacheManager, times(1)).evictDictCache("gender", List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("测试平台级订正同样一次批量生成版本")
+    void shouldRecordVersionsForAllTenantsAtOnce() {
+        when(dictTypeCatalog.getDictTypeId("gender")).thenReturn(9L);
+        when(batchWriter.updateLabels(9L, "M", "男性", null)).thenReturn(List.of(0L, 1L, 2L));
+
+        service.forceUpdateLabelForAllTenants("gender", "M", "男性");
+
+        verify(dictVersionService, times(1)).createForceVersions("gender", 9L, "M", List.of(0L, 1L, 2L),
+            "FORCE: M", DictForceService.FORCE_OPERATOR);
+        verify(dictVersionService, never()).createVersion(anyString(), any(), any(), any());
+    }
+}
@@ -0,0 +1,90 @@
+package com.tiny.core.governance.dict.validation;
+
+import com.tiny.core.dict.runtime.DictRuntime;
+import com.tiny.core.governance.tenant.TenantPolicyService;
+import com.tiny.core.governance.tenant.TenantPolicySet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * DictValidationService 测试：严格模式开关、批量校验去重与一次报告所有非法值
+ */
+class DictValidationServiceTest {
+
+    private DictRuntime dictRuntime;
+    private TenantPolicyService tenantPolicyService;
+    private DictValidationService service;
+
+    @BeforeEach
+    void setUp() {
+        dictRuntime = mock(DictRuntime.class);
+        tenantPolicyService = mock(TenantPolicyService.class);
+        service = new DictValidationService(dictRuntime, tenantPolicyService);
+        when(dictRuntime.getLabels(anyString(), anyList(), anyLong())).thenAnswer(invocation -> {
+            Map<String, String> labels = new LinkedHashMap<>();
+            for (String value : invocation.<List<String>>getArgument(1)) {
+                if (value.startsWith("OK")) {
+                    labels.put(value, "label-" + value);
+                }
+            }
+            return labels;
+        });
+    }
+
+    @Test
+    @DisplayName("测试未启用严格模式时不查询标签")
+    void shouldSkipWhenStrictModeDisabled() {
+        when(tenantPolicyService.getPolicies(1L)).thenReturn(TenantPolicySet.of(Set.of()));
+
+        service.validateValues(Map.of("gender", List.of("BAD")), 1L);
+
+        verify(dictRuntime, never()).getLabels(anyString(), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("测试每个字典去重后只查询一次标签，所有非法值一次报告")
+    void shouldReportAllInvalidValuesAtOnce() {
+        when(tenantPolicyService.getPolicies(1L))
+            .thenReturn(TenantPolicySet.of(Set.of(DictValidationService.POLICY_STRICT_MODE)));
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        values.put("gender", List.of("OK1", "BAD1", "OK1", "BAD1", "OK2"));
+        values.put("status", List.of("BAD2", "OK3"));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+            () -> service.validateValues(values, 1L));
+
+        assertEquals("非法字典值: [gender/BAD1, status/BAD2], tenantId=1", ex.getMessage());
+        verify(dictRuntime, times(1)).getLabels("gender", List.of("OK1", "BAD1", "OK2"), 1L);
+        verify(dictRuntime, times(1)).getLabels("status", List.of("BAD2", "OK3"), 1L);
+        verify(tenantPolicyService, times(1)).getPolicies(1L);
+    }
+
+    @Test
+    @DisplayName("测试全部合法时不抛出异常")
+    void shouldPassWhenAllValid() {
+        when(tenantPolicyService.getPolicies(1L))
+            .thenReturn(TenantPolicySet.of(Set.of(DictValidationService.POLICY_STRICT_MODE)));
+
+        service.validateValues("gender", List.of("OK1", "OK2"), 1L);
+
+        verify(dictRuntime, times(1)).getLabels("gender", List.of("OK1", "OK2"), 1L);
+    }
+}
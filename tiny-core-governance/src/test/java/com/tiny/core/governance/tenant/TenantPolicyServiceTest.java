@@ -0,0 +1,118 @@
+package com.tiny.core.governance.tenant;
+
+import com.tiny.core.governance.model.TenantPolicy;
+import com.tiny.core.governance.repository.TenantPolicyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * TenantPolicyService 测试：策略快照缓存、变更后失效与跨节点同步
+ */
+class TenantPolicyServiceTest {
+
+    private static final String STRICT = "DICT_STRICT_MODE";
+
+    private TenantPolicyRepository repository;
+    private TenantPolicyService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(TenantPolicyRepository.class);
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        service = new TenantPolicyService(repository, publisher);
+        // 没有事务时监听器直接执行
+        doAnswer(invocation -> {
+            service.handlePolicyChanged(invocation.getArgument(0));
+            return null;
+        }).when(publisher).publishEvent(any(TenantPolicyChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("测试策略首次使用时加载一次，之后从快照判断")
+    void shouldLoadPoliciesOnce() {
+        when(repository.findByTenantId(1L)).thenReturn(List.of(policy(1L, STRICT, true), policy(1L, "OTHER", false)));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(service.isPolicyEnabled(1L, STRICT));
+            assertFalse(service.isPolicyEnabled(1L, "OTHER"));
+        }
+
+        verify(repository, times(1)).findByTenantId(1L);
+    }
+
+    @Test
+    @DisplayName("测试修改策略后失效该租户快照，其他租户不受影响")
+    void shouldEvictAfterPolicyChange() {
+        when(repository.findByTenantId(1L)).thenReturn(List.of());
+        when(repository.findByTenantId(2L)).thenReturn(List.of());
+        assertFalse(service.isPolicyEnabled(1L, STRICT));
+        assertFalse(service.isPolicyEnabled(2L, STRICT));
+
+        when(repository.findByTenantIdAndPolicyCode(1L, STRICT)).thenReturn(Optional.empty());
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.findByTenantId(1L)).thenReturn(List.of(policy(1L, STRICT, true)));
+        service.setPolicy(1L, STRICT, true);
+
+        assertTrue(service.isPolicyEnabled(1L, STRICT));
+        assertFalse(service.isPolicyEnabled(2L, STRICT));
+        verify(repository, times(2)).findByTenantId(1L);
+        verify(repository, times(1)).findByTenantId(2L);
+    }
+
+    @Test
+    @DisplayName("测试同步时只失效其他节点修改过策略的租户，查询窗口向前多覆盖一个间隔")
+    void shouldEvictTenantsChangedOnOtherNodes() {
+        when(repository.findByTenantId(any())).thenReturn(List.of());
+        service.getPolicies(1L);
+        service.getPolicies(2L);
+        LocalDateTime before = LocalDateTime.now();
+        when(repository.findTenantIdsUpdatedAfter(any())).thenAnswer(invocation -> {
+            LocalDateTime since = invocation.getArgument(0);
+            assertTrue(!since.isAfter(before.minusSeconds(TenantPolicyService.SYNC_INTERVAL_SECONDS)));
+            return List.of(1L);
+        });
+
+        service.syncChangedTenants();
+        service.getPolicies(1L);
+        service.getPolicies(2L);
+
+        verify(repository, times(2)).findByTenantId(1L);
+        verify(repository, times(1)).findByTenantId(2L);
+    }
+
+    @Test
+    @DisplayName("测试同步失败时保留现有快照")
+    void shouldKeepSnapshotsWhenSyncFails() {
+        when(repository.findByTenantId(1L)).thenReturn(List.of(policy(1L, STRICT, true)));
+        service.getPolicies(1L);
+        when(repository.findTenantIdsUpdatedAfter(any())).thenThrow(new IllegalStateException("db down"));
+
+        service.syncChangedTenants();
+
+        assertTrue(service.isPolicyEnabled(1L, STRICT));
+        verify(repository, times(1)).findByTenantId(1L);
+    }
+
+    private static TenantPolicy policy(Long tenantId, String code, boolean enabled) {
+        TenantPolicy policy = new TenantPolicy();
+        policy.setTenantId(tenantId);
+        policy.setPolicyCode(code);
+        policy.setEnabled(enabled);
+        return policy;
+    }
+}
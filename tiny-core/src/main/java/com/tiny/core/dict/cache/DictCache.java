@@ -23,6 +23,11 @@ public class DictCache {
      */
     private LocalDateTime lastUpdateTime;
 
+    /**
+     * 内容 ETag，首次读取时计算并随快照保存
+     */
+    private volatile String etag;
+
     public DictCache() {
     }
 
@@ -35,8 +40,37 @@ public class DictCache {
         return valueLabelMap;
     }
 
+    /**
+     * 获取单个字典值的标签
+     *
+     * @param value 字典值
+     * @return 标签，不存在时返回 null
+     */
+    public String getLabel(String value) {
+        return valueLabelMap != null ? valueLabelMap.get(value) : null;
+    }
+
     public void setValueLabelMap(Map<String, String> valueLabelMap) {
         this.valueLabelMap = valueLabelMap;
+        this.etag = null;
+    }
+
+    /**
+     * 获取内容 ETag（不含引号）
+     *
+     * <p>快照内容不变，ETag 只在首次读取时计算一次。
+     */
+    public String getEtag() {
+        String current = etag;
+        if (current == null) {
+            current = DictEtags.of(valueLabelMap);
+            etag = current;
+        }
+        return current;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
     }
 
     public LocalDateTime getLastUpdateTime() {
@@ -1,5 +1,7 @@
 package com.tiny.core.dict.cache;
 
+import java.util.Collection;
+
 /**
  * 字典缓存管理接口
  * 
@@ -47,6 +49,20 @@ public interface DictCacheManager {
      */
     void evictDictCache(String dictCode, Long tenantId);
 
+    /**
+     * 批量清除多个租户的字典缓存
+     * 
+     * <p>默认逐个清除，实现可以合并为一次操作。
+     * 
+     * @param dictCode 字典编码
+     * @param tenantIds 租户ID列表
+     */
+    default void evictDictCache(String dictCode, Collection<Long> tenantIds) {
+        for (Long tenantId : tenantIds) {
+            evictDictCache(dictCode, tenantId);
+        }
+    }
+
     /**
      * 清除所有字典缓存
      */
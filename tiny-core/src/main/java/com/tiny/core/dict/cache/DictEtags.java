@@ -0,0 +1,81 @@
+package com.tiny.core.dict.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * 字典 ETag 工具
+ *
+ * <p>ETag 为内容的 SHA-256 摘要前 16 位十六进制（不含引号），相同内容得到相同 ETag，可用作强校验值。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public final class DictEtags {
+
+    private static final int ETAG_BYTES = 8;
+
+    private DictEtags() {
+    }
+
+    /**
+     * 计算 value → label 映射的 ETag（与遍历顺序有关）
+     */
+    public static String of(Map<String, String> valueLabelMap) {
+        MessageDigest digest = newDigest();
+        if (valueLabelMap != null) {
+            for (Map.Entry<String, String> entry : valueLabelMap.entrySet()) {
+                update(digest, entry.getKey());
+                update(digest, entry.getValue());
+            }
+        }
+        return finish(digest);
+    }
+
+    /**
+     * 计算字符串集合的 ETag（与遍历顺序有关）
+     */
+    public static String of(Collection<String> values) {
+        MessageDigest digest = newDigest();
+        for (String value : values) {
+            update(digest, value);
+        }
+        return finish(digest);
+    }
+
+    /**
+     * 组合多个 ETag（或其他版本标识）为一个 ETag
+     */
+    public static String combine(String... parts) {
+        MessageDigest digest = newDigest();
+        for (String part : parts) {
+            update(digest, part);
+        }
+        return finish(digest);
+    }
+
+    private static void update(MessageDigest digest, String text) {
+        if (text != null) {
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+        }
+        // 分隔符，避免 ("ab","c") 与 ("a","bc") 冲突
+        digest.update((byte) 0);
+    }
+
+    private static String finish(MessageDigest digest) {
+        byte[] hash = digest.digest();
+        return HexFormat.of().formatHex(hash, 0, ETAG_BYTES);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+}
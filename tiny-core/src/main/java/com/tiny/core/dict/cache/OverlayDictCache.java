@@ -0,0 +1,248 @@
+package com.tiny.core.dict.cache;
+
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * 租户覆盖层字典缓存
+ *
+ * <p>只保存租户相对平台字典的差异（覆盖的标签、禁用的值），
+ * 平台字典通过 {@code base} 按需获取，所有租户共享同一份平台快照。
+ * 平台字典刷新后，覆盖层无需重建即可看到新的平台数据。
+ *
+ * <p>标签解析顺序：租户禁用 → 租户覆盖 → 平台字典。
+ *
+ * <p>{@link #getValueLabelMap} 返回只读视图，按 覆盖 → 禁用 → 平台 的顺序逐次查找，
+ * 不为每个租户复制平台映射；ETag 按平台快照缓存，平台快照不变时只计算一次。
+ * 调用 {@link #setValueLabelMap} 后覆盖层与平台快照脱钩，行为与普通 {@link DictCache} 一致；
+ * {@link #setEtag} 设置的 ETag 优先于计算值。
+ *
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public class OverlayDictCache extends DictCache {
+
+    private final Supplier<DictCache> base;
+    private final Map<String, String> overrides;
+    private final Set<String> disabled;
+    private final String overlayEtag;
+
+    /**
+     * 最近一次计算的 ETag 及其对应的平台快照，平台快照不变时直接复用
+     */
+    private volatile Memo<String> etagMemo;
+
+    /**
+     * 调用过 setValueLabelMap：不再叠加平台快照
+     */
+    private volatile boolean detached;
+
+    /**
+     * 通过 setEtag 显式设置的 ETag
+     */
+    private volatile String explicitEtag;
+
+    /**
+     * @param base           平台字典快照获取函数
+     * @param overrides      租户覆盖的 value → label
+     * @param disabled       租户禁用的 value
+     * @param lastUpdateTime 覆盖层加载时间
+     */
+    public OverlayDictCache(Supplier<DictCache> base,
+                            Map<String, String> overrides,
+                            Set<String> disabled,
+                            LocalDateTime lastUpdateTime) {
+        this.base = base;
+        this.overrides = Collections.unmodifiableMap(overrides);
+        this.disabled = Collections.unmodifiableSet(disabled);
+        this.overlayEtag = DictEtags.combine(DictEtags.of(this.overrides), DictEtags.of(new TreeSet<>(disabled)));
+        setLastUpdateTime(lastUpdateTime);
+    }
+
+    @Override
+    public String getLabel(String value) {
+        if (detached) {
+            return super.getLabel(value);
+        }
+        if (disabled.contains(value)) {
+            return null;
+        }
+        String label = overrides.get(value);
+        return label != null ? label : base.get().getLabel(value);
+    }
+
+    /**
+     * 返回平台 + 租户合并后的只读视图（不复制平台映射），视图绑定调用时的平台快照
+     */
+    @Override
+    public Map<String, String> getValueLabelMap() {
+        if (detached) {
+            return super.getValueLabelMap();
+        }
+        Map<String, String> baseMap = base.get().getValueLabelMap();
+        return new MergedView(baseMap != null ? baseMap : Collections.emptyMap());
+    }
+
+    /**
+     * 以给定映射替换合并结果，之后不再叠加平台快照
+     */
+    @Override
+    public void setValueLabelMap(Map<String, String> valueLabelMap) {
+        super.setValueLabelMap(valueLabelMap);
+        explicitEtag = null;
+        detached = true;
+    }
+
+    /**
+     * 由平台快照 ETag 与覆盖层 ETag 组合，平台快照未变化时不重新计算
+     */
+    @Override
+    public String getEtag() {
+        String explicit = explicitEtag;
+        if (explicit != null) {
+            return explicit;
+        }
+        if (detached) {
+            return super.getEtag();
+        }
+        DictCache baseCache = base.get();
+        Memo<String> memo = etagMemo;
+        if (memo == null || memo.base() != baseCache) {
+            memo = new Memo<>(baseCache, DictEtags.combine(baseCache.getEtag(), overlayEtag));
+            etagMemo = memo;
+        }
+        return memo.value();
+    }
+
+    @Override
+    public void setEtag(String etag) {
+        super.setEtag(etag);
+        explicitEtag = etag;
+    }
+
+    /**
+     * 取平台快照与覆盖层中较新的时间
+     */
+    @Override
+    public LocalDateTime getLastUpdateTime() {
+        LocalDateTime overlayTime = super.getLastUpdateTime();
+        LocalDateTime baseTime = base.get().getLastUpdateTime();
+        if (baseTime == null) {
+            return overlayTime;
+        }
+        return overlayTime == null || baseTime.isAfter(overlayTime) ? baseTime : overlayTime;
+    }
+
+    public Map<String, String> getOverrides() {
+        return overrides;
+    }
+
+    public Set<String> getDisabled() {
+        return disabled;
+    }
+
+    /**
+     * 平台映射上的只读合并视图
+     *
+     * <p>遍历顺序：平台映射的顺序（覆盖的值原位替换标签、禁用的值跳过），之后是平台中不存在的覆盖值
+     */
+    private final class MergedView extends AbstractMap<String, String> {
+
+        private final Map<String, String> baseMap;
+
+        private MergedView(Map<String, String> baseMap) {
+            this.baseMap = baseMap;
+        }
+
+        @Override
+        public String get(Object key) {
+            String label = overrides.get(key);
+            if (label != null || disabled.contains(key)) {
+                return label;
+            }
+            return baseMap.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return overrides.containsKey(key) || (!disabled.contains(key) && baseMap.containsKey(key));
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new MergedIterator(baseMap);
+                }
+
+                @Override
+                public int size() {
+                    int size = 0;
+                    for (Iterator<Entry<String, String>> it = iterator(); it.hasNext(); it.next()) {
+                        size++;
+                    }
+                    return size;
+                }
+            };
+        }
+    }
+
+    private final class MergedIterator implements Iterator<Map.Entry<String, String>> {
+
+        private final Map<String, String> baseMap;
+        private Iterator<Map.Entry<String, String>> baseIt;
+        private final Iterator<Map.Entry<String, String>> overrideIt;
+        private Map.Entry<String, String> next;
+
+        private MergedIterator(Map<String, String> baseMap) {
+            this.baseMap = baseMap;
+            this.baseIt = baseMap.entrySet().iterator();
+            this.overrideIt = overrides.entrySet().iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && baseIt != null && baseIt.hasNext()) {
+                Map.Entry<String, String> entry = baseIt.next();
+                String label = overrides.get(entry.getKey());
+                if (label != null) {
+                    next = new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), label);
+                } else if (!disabled.contains(entry.getKey())) {
+                    next = new AbstractMap.SimpleImmutableEntry<>(entry);
+                }
+            }
+            if (next == null) {
+                baseIt = null;
+            }
+            while (next == null && overrideIt.hasNext()) {
+                Map.Entry<String, String> entry = overrideIt.next();
+                if (!baseMap.containsKey(entry.getKey())) {
+                    next = entry;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, String> entry = next;
+            next = null;
+            return entry;
+        }
+    }
+
+    private record Memo<T>(DictCache base, T value) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.tiny.core.dict.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 字典增量变更
+ * 
+ * <p>纯 POJO，无框架依赖。客户端携带已知版本号请求，服务端只返回之后变化的字典项；
+ * 差距过大或版本号未知时返回全量（{@link #isFullResync()} 为 true），客户端应整体替换本地字典。
+ * 
+ * @author Tiny Platform
+ * @version 1.0.0
+ */
+public class DictDelta {
+    /**
+     * 本次结果对应的版本号，客户端下次请求时携带
+     */
+    private long version;
+    /**
+     * 是否为全量结果
+     */
+    private boolean fullResync;
+    /**
+     * 新增或变更的 value → label（全量时为完整字典）
+     */
+    private Map<String, String> upserts;
+    /**
+     * 已删除（或已禁用）的 value，全量时为空
+     */
+    private List<String> removed;
+
+    public DictDelta() {
+    }
+
+    public DictDelta(long version, boolean fullResync, Map<String, String> upserts, List<String> removed) {
+        this.version = version;
+        this.fullResync = fullResync;
+        this.upserts = upserts;
+        this.removed = removed;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isFullResync() {
+        return fullResync;
+    }
+
+    public void setFullResync(boolean fullResync) {
+        this.fullResync = fullResync;
+    }
+
+    public Map<String, String> getUpserts() {
+        return upserts;
+    }
+
+    public void setUpserts(Map<String, String> upserts) {
+        this.upserts = upserts;
+    }
+
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(List<String> removed) {
+        this.removed = removed;
+    }
+}
@@ -1,5 +1,7 @@
 package com.tiny.core.dict.runtime;
 
+import com.tiny.core.dict.model.DictDelta;
+
 import java.util.Map;
 
 /**
@@ -36,6 +38,17 @@ public interface DictRuntime {
      */
     Map<String, String> getDict(String dictCode, Long tenantId);
 
+    /**
+     * 获取字典当前内容的 ETag（不含引号）
+     * 
+     * <p>ETag 随缓存快照保存，不复制字典数据，可在返回字典内容前用于条件请求判断。
+     * 
+     * @param dictCode 字典编码
+     * @param tenantId 租户ID
+     * @return 内容 ETag，内容变化时随之变化
+     */
+    String getDictEtag(String dictCode, Long tenantId);
+
     /**
      * 批量获取字典标签
      * 
@@ -48,6 +61,19 @@ public interface DictRuntime {
      */
     Map<String, String> getLabels(String dictCode, java.util.List<String> values, Long tenantId);
 
+    /**
+     * 获取指定版本之后的字典增量变更
+     * 
+     * <p>只返回 sinceVersion 之后变化的字典项（已合并平台和租户）。
+     * sinceVersion 为 0、变更过多或版本已过期时返回全量结果。
+     * 
+     * @param dictCode 字典编码
+     * @param tenantId 租户ID
+     * @param sinceVersion 客户端已知的版本号，首次请求传 0
+     * @return 增量或全量变更
+     */
+    DictDelta getChanges(String dictCode, Long tenantId, long sinceVersion);
+
     /**
      * 刷新字典缓存
      * 
@@ -0,0 +1,86 @@
+package com.tiny.export.admission;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AdmissionPolicy —— 公平排队的准入决策（纯计算，由各 Store 在集群锁内调用）
+ *
+ * 每轮从等待票据中选出优先级最高且满足配额的一张放行，直到全局配额用尽或没有可放行的票据：
+ * <pre>
+ *   priority = weight × (等待毫秒 + 1000) / (1 + 该用户正在执行数)
+ * </pre>
+ * 等待越久、权重越高越靠前；已占用较多名额的用户自动让位，避免单个用户挤占整个集群。
+ * 租户或用户配额已满的票据被跳过，不阻塞后面的其他租户/用户。
+ */
+final class AdmissionPolicy {
+
+    private static final long BASE_WAIT_MS = 1000;
+
+    private AdmissionPolicy() {
+    }
+
+    /**
+     * @return 本轮应放行的票据 ID（按放行顺序）
+     */
+    static List<String> select(Collection<AdmissionTicket> live, AdmissionQuota quota, Instant now) {
+        int running = 0;
+        Map<String, Integer> runningByTenant = new HashMap<>();
+        Map<String, Integer> runningByUser = new HashMap<>();
+        List<AdmissionTicket> waiting = new ArrayList<>();
+        for (AdmissionTicket ticket : live) {
+            if (ticket.status() == AdmissionTicket.Status.RUNNING) {
+                running++;
+                if (ticket.tenantId() != null) {
+                    runningByTenant.merge(ticket.tenantId(), 1, Integer::sum);
+                }
+                runningByUser.merge(ticket.userId(), 1, Integer::sum);
+            } else {
+                waiting.add(ticket);
+            }
+        }
+
+        List<String> admitted = new ArrayList<>();
+        while (running < quota.maxGlobal() && !waiting.isEmpty()) {
+            AdmissionTicket best = null;
+            double bestPriority = -1;
+            for (AdmissionTicket ticket : waiting) {
+                int userRunning = runningByUser.getOrDefault(ticket.userId(), 0);
+                if (userRunning >= quota.maxPerUser()) {
+                    continue;
+                }
+                if (quota.maxPerTenant() > 0 && ticket.tenantId() != null
+                    && runningByTenant.getOrDefault(ticket.tenantId(), 0) >= quota.maxPerTenant()) {
+                    continue;
+                }
+                double priority = priority(ticket, userRunning, now);
+                if (priority > bestPriority
+                    || priority == bestPriority && ticket.enqueuedAt().isBefore(best.enqueuedAt())) {
+                    best = ticket;
+                    bestPriority = priority;
+                }
+            }
+            if (best == null) {
+                break;
+            }
+            waiting.remove(best);
+            admitted.add(best.ticketId());
+            running++;
+            if (best.tenantId() != null) {
+                runningByTenant.merge(best.tenantId(), 1, Integer::sum);
+            }
+            runningByUser.merge(best.userId(), 1, Integer::sum);
+        }
+        return admitted;
+    }
+
+    private static double priority(AdmissionTicket ticket, int userRunning, Instant now) {
+        long waitedMs = Math.max(0, Duration.between(ticket.enqueuedAt(), now).toMillis());
+        return (double) Math.max(1, ticket.weight()) * (waitedMs + BASE_WAIT_MS) / (1 + userRunning);
+    }
+}
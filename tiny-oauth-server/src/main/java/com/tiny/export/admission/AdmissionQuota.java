@@ -0,0 +1,17 @@
+package com.tiny.export.admission;
+
+/**
+ * AdmissionQuota —— 集群级导出配额
+ *
+ *  - maxGlobal: 全集群同时执行的导出数
+ *  - maxPerTenant: 单租户同时执行数，&lt;= 0 表示不限制；未识别租户的票据归入默认租户桶，同样受此限制
+ *  - maxPerUser: 单用户同时执行数
+ */
+public record AdmissionQuota(int maxGlobal, int maxPerTenant, int maxPerUser) {
+
+    public AdmissionQuota {
+        if (maxGlobal <= 0 || maxPerUser <= 0) {
+            throw new IllegalArgumentException("导出全局/用户并发配额必须大于 0");
+        }
+    }
+}
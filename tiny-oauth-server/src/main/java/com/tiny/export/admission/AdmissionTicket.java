@@ -0,0 +1,26 @@
+package com.tiny.export.admission;
+
+import java.time.Instant;
+
+/**
+ * AdmissionTicket —— 导出准入票据（对应 export_admission_ticket 表的一行）
+ *
+ * 排队中为 WAITING，获准执行后为 RUNNING；票据由所在节点按 TTL 续期，节点宕机后过期清除。
+ */
+public record AdmissionTicket(String ticketId,
+                              String tenantId,
+                              String userId,
+                              String nodeId,
+                              int weight,
+                              Status status,
+                              Instant enqueuedAt) {
+
+    public enum Status {
+        WAITING,
+        RUNNING
+    }
+
+    AdmissionTicket withStatus(Status newStatus) {
+        return new AdmissionTicket(ticketId, tenantId, userId, nodeId, weight, newStatus, enqueuedAt);
+    }
+}
@@ -0,0 +1,90 @@
+package com.tiny.export.admission;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ExportAdmission —— 一次导出的准入凭证
+ *
+ * 由 {@link ExportAdmissionService#submit} 创建并进入排队；{@link #admitted()} 在获准执行时完成。
+ * 无论是否已获准，导出结束或放弃时都必须 {@link #close()}（幂等），以释放集群名额。
+ */
+public final class ExportAdmission implements AutoCloseable {
+
+    private final AdmissionTicket ticket;
+    private final ExportAdmissionService service;
+    private final CompletableFuture<Void> admitted = new CompletableFuture<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile Instant admittedAt;
+
+    ExportAdmission(AdmissionTicket ticket, ExportAdmissionService service) {
+        this.ticket = ticket;
+        this.service = service;
+    }
+
+    public String getTicketId() {
+        return ticket.ticketId();
+    }
+
+    /**
+     * 获准执行时完成；close 后仍在排队的凭证以 CancellationException 结束
+     */
+    public CompletableFuture<Void> admitted() {
+        return admitted;
+    }
+
+    /**
+     * 阻塞等待获准（同步导出），超时或中断时放弃排队
+     *
+     * @throws IllegalStateException 超时或被中断
+     */
+    public void await(Duration maxWait) {
+        try {
+            admitted.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            close();
+            throw new IllegalStateException("系统当前导出任务过多，请稍后重试");
+        } catch (InterruptedException e) {
+            close();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("导出排队被中断");
+        } catch (ExecutionException e) {
+            close();
+            throw new IllegalStateException("导出排队失败: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * 排队耗时（毫秒），尚未获准时为到目前为止的等待时间
+     */
+    public long getWaitedMillis() {
+        Instant end = admittedAt != null ? admittedAt : Instant.now();
+        return Duration.between(ticket.enqueuedAt(), end).toMillis();
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            admitted.cancel(false);
+            service.release(this);
+        }
+    }
+
+    AdmissionTicket ticket() {
+        return ticket;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    void markAdmitted() {
+        admittedAt = Instant.now();
+        admitted.complete(null);
+    }
+}
@@ -0,0 +1,203 @@
+package com.tiny.export.admission;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExportAdmissionService —— 集群级导出准入控制（本节点侧）
+ *
+ * 每次导出先 {@link #submit} 登记票据进入共享队列，由 {@link ExportAdmissionStore} 按全局 / 租户 / 用户配额
+ * 与公平优先级（权重 × 等待时间，见 {@link AdmissionPolicy}）放行；超出配额时排队等待而不是直接拒绝。
+ *
+ * 未识别租户的导出归入默认租户桶（export.admission.default-tenant），同样受租户配额约束。
+ *
+ * 本节点只有一个调度线程：
+ *  - 有排队票据时每个轮询周期执行一次 dispatch，登记或释放票据时立即补一次
+ *  - 每 TTL/3 批量续期本节点全部票据；节点宕机后票据在 TTL 内过期，名额自动回收。续期数少于本节点票据数时
+ *    说明有票据已过期被清除（如数据库短暂不可用导致续期失败），按原状态重新登记，执行中的导出继续占用名额
+ *  - 本节点没有票据时不访问存储
+ */
+@Service
+public class ExportAdmissionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportAdmissionService.class);
+
+    private final ExportAdmissionStore store;
+    private final AdmissionQuota quota;
+    private final Duration leaseTtl;
+    private final long pollIntervalMs;
+    private final int syncWeight;
+    private final Map<String, Integer> tenantWeights;
+    private final String defaultTenant;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, ExportAdmission> local = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "export-admission");
+        t.setDaemon(true);
+        return t;
+    });
+    private Instant nextRenewAt = Instant.MIN;
+
+    public ExportAdmissionService(ExportAdmissionStore store,
+                                  @Value("${export.admission.max-global:10}") int maxGlobal,
+                                  @Value("${export.admission.max-per-tenant:0}") int maxPerTenant,
+                                  @Value("${export.admission.max-per-user:3}") int maxPerUser,
+                                  @Value("${export.admission.lease-ttl-seconds:60}") int leaseTtlSeconds,
+                                  @Value("${export.admission.poll-interval-ms:500}") long pollIntervalMs,
+                                  @Value("${export.admission.sync-weight:2}") int syncWeight,
+                                  @Value("${export.admission.tenant-weights:}") String tenantWeights,
+                                  @Value("${export.admission.default-tenant:_default}") String defaultTenant) {
+        this.store = store;
+        this.quota = new AdmissionQuota(maxGlobal, maxPerTenant, maxPerUser);
+        this.leaseTtl = Duration.ofSeconds(Math.max(3, leaseTtlSeconds));
+        this.pollIntervalMs = Math.max(50, pollIntervalMs);
+        this.syncWeight = Math.max(1, syncWeight);
+        this.tenantWeights = parseWeights(tenantWeights);
+        this.defaultTenant = defaultTenant == null || defaultTenant.isBlank() ? "_default" : defaultTenant.trim();
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::tickSafely, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        try {
+            store.releaseNode(nodeId);
+        } catch (RuntimeException ex) {
+            log.warn("failed to release export admission tickets of node {}, they will expire in {}s",
+                nodeId, leaseTtl.getSeconds(), ex);
+        }
+    }
+
+    /**
+     * 登记一次导出并进入排队
+     *
+     * @param tenantId 租户（取自认证主体），为空时归入默认租户桶
+     * @param sync     同步导出（调用方阻塞等待，按 sync-weight 提高优先级）
+     */
+    public ExportAdmission submit(String tenantId, String userId, boolean sync) {
+        String tenant = tenantId == null || tenantId.isBlank() ? defaultTenant : tenantId.trim();
+        int weight = tenantWeights.getOrDefault(tenant, 1) * (sync ? syncWeight : 1);
+        AdmissionTicket ticket = new AdmissionTicket(UUID.randomUUID().toString(), tenant,
+            userId == null ? "anonymous" : userId, nodeId, weight, AdmissionTicket.Status.WAITING, Instant.now());
+        ExportAdmission admission = new ExportAdmission(ticket, this);
+        store.enqueue(ticket, leaseTtl);
+        local.put(ticket.ticketId(), admission);
+        wakeUp();
+        return admission;
+    }
+
+    /**
+     * 当前节点持有的票据数（排队 + 执行中）
+     */
+    public int getLocalTicketCount() {
+        return local.size();
+    }
+
+    void release(ExportAdmission admission) {
+        String ticketId = admission.ticket().ticketId();
+        local.remove(ticketId);
+        try {
+            store.release(ticketId);
+        } catch (RuntimeException ex) {
+            log.warn("failed to release export admission ticket {}, it will expire in {}s",
+                ticketId, leaseTtl.getSeconds(), ex);
+        }
+        wakeUp();
+    }
+
+    private void wakeUp() {
+        try {
+            scheduler.execute(this::tickSafely);
+        } catch (RejectedExecutionException ignored) {
+            // 已停机
+        }
+    }
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (RuntimeException ex) {
+            log.warn("export admission dispatch failed, will retry in {}ms", pollIntervalMs, ex);
+        }
+    }
+
+    /**
+     * 只在调度线程执行
+     */
+    private void tick() {
+        if (local.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        boolean expired = false;
+        if (!now.isBefore(nextRenewAt)) {
+            // 登记时先写存储再放入 local，续期数少于此前的本地票据数即说明有票据已过期被清除
+            int held = local.size();
+            expired = store.renew(nodeId, leaseTtl) < held;
+            nextRenewAt = now.plus(leaseTtl.dividedBy(3));
+        }
+        // 先取快照：dispatch 期间新登记的票据留到下一轮，避免被误判为已过期
+        List<ExportAdmission> snapshot = List.copyOf(local.values());
+        if (!expired && snapshot.stream().allMatch(a -> a.admitted().isDone())) {
+            return;
+        }
+        Map<String, AdmissionTicket.Status> states = store.dispatch(nodeId, quota, now);
+        for (ExportAdmission admission : snapshot) {
+            if (admission.isClosed()) {
+                continue;
+            }
+            AdmissionTicket ticket = admission.ticket();
+            boolean running = admission.admitted().isDone();
+            AdmissionTicket.Status status = states.get(ticket.ticketId());
+            if (status == AdmissionTicket.Status.RUNNING && !running) {
+                admission.markAdmitted();
+            } else if (status == null) {
+                // 票据已过期被清除（如续期失败）：按原入队时间重新登记，等待中的不丢失排队位置，
+                // 执行中的以 RUNNING 登记、继续计入配额（过期期间名额可能已放行给其他票据，短暂超出配额）
+                log.warn("export admission ticket {} expired while {}, re-enqueue", ticket.ticketId(),
+                    running ? "running" : "waiting");
+                store.enqueue(running ? ticket.withStatus(AdmissionTicket.Status.RUNNING) : ticket, leaseTtl);
+                if (admission.isClosed()) {
+                    // 与 close 并发：close 的释放可能早于重新登记
+                    store.release(ticket.ticketId());
+                }
+            }
+        }
+    }
+
+    private static Map<String, Integer> parseWeights(String value) {
+        Map<String, Integer> weights = new HashMap<>();
+        if (value == null || value.isBlank()) {
+            return weights;
+        }
+        for (String pair : value.split(",")) {
+            String[] kv = pair.split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("export.admission.tenant-weights 格式应为 tenant=weight,... : " + value);
+            }
+            weights.put(kv[0].trim(), Math.max(1, Integer.parseInt(kv[1].trim())));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,50 @@
+package com.tiny.export.admission;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * ExportAdmissionStore —— 准入票据的共享存储
+ *
+ * 集群内所有节点共用一份票据（数据库表，或单机/测试时的内存实现），配额按全部节点合计，
+ * 节点数量变化不改变导出对数据库的最大并发压力。
+ *
+ * 实现要求 {@link #dispatch} 在集群范围内互斥执行（同一时刻只有一个节点做准入决策）。
+ * 票据的过期时间由存储按自身时钟（数据库为 NOW()）计算与判断，不依赖各节点时钟一致。
+ * Redis 等其他后端实现本接口即可替换。
+ */
+public interface ExportAdmissionStore {
+
+    /**
+     * 登记一张票据（按票据自身状态，过期后重新登记执行中的票据时为 RUNNING）
+     *
+     * @param ttl 自存储当前时间起的有效期
+     */
+    void enqueue(AdmissionTicket ticket, Duration ttl);
+
+    /**
+     * 清除过期票据，按 {@link AdmissionPolicy} 放行等待票据（包括其他节点的票据），
+     * 返回本节点所有仍存活票据的当前状态
+     *
+     * @param now 节点当前时间，只用于计算等待时长（优先级），不用于过期判断
+     */
+    Map<String, AdmissionTicket.Status> dispatch(String nodeId, AdmissionQuota quota, Instant now);
+
+    /**
+     * 续期本节点的全部票据
+     *
+     * @return 续期的票据数
+     */
+    int renew(String nodeId, Duration ttl);
+
+    /**
+     * 释放票据（执行结束或放弃排队）
+     */
+    void release(String ticketId);
+
+    /**
+     * 释放本节点的全部票据（节点停机）
+     */
+    void releaseNode(String nodeId);
+}
@@ -0,0 +1,109 @@
+package com.tiny.export.admission;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JdbcExportAdmissionStore —— 基于数据库表的准入票据存储（默认）
+ *
+ * 表结构见 db/changelog/005-create-export-admission.yaml：
+ *  - export_admission_ticket: 票据（状态、所属节点、权重、入队时间、过期时间）
+ *  - export_admission_lock: 单行锁，dispatch 时 SELECT ... FOR UPDATE 串行化各节点的准入决策
+ *
+ * 每个有排队票据的节点每个轮询周期只执行一次 dispatch 事务，数据库开销与排队任务数无关。
+ * expire_at 的写入与过期清除都使用数据库时间（CURRENT_TIMESTAMP），节点间时钟偏差不会误删其他节点的票据。
+ */
+public class JdbcExportAdmissionStore implements ExportAdmissionStore {
+
+    private static final String LOCK_NAME = "export";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcExportAdmissionStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void enqueue(AdmissionTicket ticket, Duration ttl) {
+        jdbcTemplate.update(
+            "INSERT INTO export_admission_ticket (ticket_id, tenant_id, user_id, node_id, weight, status, enqueued_at, expire_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3)))",
+            ticket.ticketId(), ticket.tenantId(), ticket.userId(), ticket.nodeId(), ticket.weight(),
+            ticket.status().name(), Timestamp.from(ticket.enqueuedAt()), ttl.toSeconds());
+    }
+
+    @Override
+    public Map<String, AdmissionTicket.Status> dispatch(String nodeId, AdmissionQuota quota, Instant now) {
+        return transactionTemplate.execute(status -> {
+            lock();
+            jdbcTemplate.update("DELETE FROM export_admission_ticket WHERE expire_at < CURRENT_TIMESTAMP(3)");
+            List<AdmissionTicket> live = jdbcTemplate.query(
+                "SELECT ticket_id, tenant_id, user_id, node_id, weight, status, enqueued_at FROM export_admission_ticket",
+                (rs, rowNum) -> new AdmissionTicket(
+                    rs.getString("ticket_id"),
+                    rs.getString("tenant_id"),
+                    rs.getString("user_id"),
+                    rs.getString("node_id"),
+                    rs.getInt("weight"),
+                    AdmissionTicket.Status.valueOf(rs.getString("status")),
+                    rs.getTimestamp("enqueued_at").toInstant()));
+            List<String> admitted = AdmissionPolicy.select(live, quota, now);
+            if (!admitted.isEmpty()) {
+                Timestamp admittedAt = Timestamp.from(now);
+                jdbcTemplate.batchUpdate(
+                    "UPDATE export_admission_ticket SET status = 'RUNNING', admitted_at = ? WHERE ticket_id = ?",
+                    admitted.stream().map(id -> new Object[]{admittedAt, id}).toList());
+            }
+            Map<String, AdmissionTicket.Status> states = new HashMap<>();
+            for (AdmissionTicket ticket : live) {
+                if (nodeId.equals(ticket.nodeId())) {
+                    states.put(ticket.ticketId(), admitted.contains(ticket.ticketId())
+                        ? AdmissionTicket.Status.RUNNING : ticket.status());
+                }
+            }
+            return states;
+        });
+    }
+
+    @Override
+    public int renew(String nodeId, Duration ttl) {
+        return jdbcTemplate.update(
+            "UPDATE export_admission_ticket SET expire_at = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3)) WHERE node_id = ?",
+            ttl.toSeconds(), nodeId);
+    }
+
+    @Override
+    public void release(String ticketId) {
+        jdbcTemplate.update("DELETE FROM export_admission_ticket WHERE ticket_id = ?", ticketId);
+    }
+
+    @Override
+    public void releaseNode(String nodeId) {
+        jdbcTemplate.update("DELETE FROM export_admission_ticket WHERE node_id = ?", nodeId);
+    }
+
+    private void lock() {
+        String sql = "SELECT name FROM export_admission_lock WHERE name = ? FOR UPDATE";
+        if (!jdbcTemplate.queryForList(sql, String.class, LOCK_NAME).isEmpty()) {
+            return;
+        }
+        // 锁行缺失（未执行初始化脚本）时补建，并发补建以主键冲突兜底
+        try {
+            jdbcTemplate.update("INSERT INTO export_admission_lock (name) VALUES (?)", LOCK_NAME);
+        } catch (DuplicateKeyException ignored) {
+            // 其他节点已插入
+        }
+        jdbcTemplate.queryForList(sql, String.class, LOCK_NAME);
+    }
+}
@@ -0,0 +1,66 @@
+package com.tiny.export.admission;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LocalExportAdmissionStore —— 内存实现（export.admission.store=local）
+ *
+ * 仅在单节点部署或测试中使用：配额只对当前 JVM 生效。
+ */
+public class LocalExportAdmissionStore implements ExportAdmissionStore {
+
+    private final Map<String, Entry> tickets = new LinkedHashMap<>();
+
+    private record Entry(AdmissionTicket ticket, Instant expireAt) { }
+
+    @Override
+    public synchronized void enqueue(AdmissionTicket ticket, Duration ttl) {
+        tickets.put(ticket.ticketId(), new Entry(ticket, Instant.now().plus(ttl)));
+    }
+
+    @Override
+    public synchronized Map<String, AdmissionTicket.Status> dispatch(String nodeId, AdmissionQuota quota, Instant now) {
+        Instant clock = Instant.now();
+        tickets.values().removeIf(e -> e.expireAt().isBefore(clock));
+        List<String> admitted = AdmissionPolicy.select(tickets.values().stream().map(Entry::ticket).toList(), quota, now);
+        for (String ticketId : admitted) {
+            Entry e = tickets.get(ticketId);
+            tickets.put(ticketId, new Entry(e.ticket().withStatus(AdmissionTicket.Status.RUNNING), e.expireAt()));
+        }
+        Map<String, AdmissionTicket.Status> states = new HashMap<>();
+        for (Entry e : tickets.values()) {
+            if (nodeId.equals(e.ticket().nodeId())) {
+                states.put(e.ticket().ticketId(), e.ticket().status());
+            }
+        }
+        return states;
+    }
+
+    @Override
+    public synchronized int renew(String nodeId, Duration ttl) {
+        Instant expireAt = Instant.now().plus(ttl);
+        int renewed = 0;
+        for (Map.Entry<String, Entry> e : tickets.entrySet()) {
+            if (nodeId.equals(e.getValue().ticket().nodeId())) {
+                e.setValue(new Entry(e.getValue().ticket(), expireAt));
+                renewed++;
+            }
+        }
+        return renewed;
+    }
+
+    @Override
+    public synchronized void release(String ticketId) {
+        tickets.remove(ticketId);
+    }
+
+    @Override
+    public synchronized void releaseNode(String nodeId) {
+        tickets.values().removeIf(e -> nodeId.equals(e.ticket().nodeId()));
+    }
+}
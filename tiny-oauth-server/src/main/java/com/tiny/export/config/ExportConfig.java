@@ -1,13 +1,26 @@
 package com.tiny.export.config;
 
+import com.tiny.export.admission.ExportAdmissionStore;
+import com.tiny.export.admission.JdbcExportAdmissionStore;
+import com.tiny.export.admission.LocalExportAdmissionStore;
+import com.tiny.export.storage.ExportFileStore;
+import com.tiny.export.storage.LocalExportFileStore;
+import com.tiny.export.storage.SharedDirectoryExportFileStore;
 import com.tiny.export.writer.WriterAdapter;
 import com.tiny.export.writer.poi.POIWriterAdapter;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -19,12 +32,17 @@ import java.util.concurrent.ThreadPoolExecutor;
  *  - aggregateMap 映射（aggregateKey -> AggregateStrategy）
  *  - topInfoDecorator
  *  - exportExecutor
+ *  - exportFetchExecutor（流水线取数线程）
+ *  - exportAdmissionStore（集群导出准入票据存储，export.admission.store=jdbc|local）
+ *  - exportFileStore（异步导出结果文件存储，export.storage.type=local|shared）
  *
  * 注意：生产环境请把 providers 与 aggregateMap 注入为具体业务实现
  */
 @Configuration
 public class ExportConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(ExportConfig.class);
+
     @Bean
     public WriterAdapter writerAdapter() {
         // 默认使用 POI SXSSF 流式写，避免一次性占用大量内存
@@ -57,4 +75,66 @@ public class ExportConfig {
         t.initialize();
         return t;
     }
-}
\ No newline at end of file
+
+    /**
+     * 流水线取数线程池：每个正在取数的 sheet 占用一个线程（取数期间占用一个连接）。
+     * 不与 exportExecutor 共用，避免 CallerRuns 时取数跑在写出线程上互相等待；
+     * 无界排队。未配置 export.pipeline.fetch-threads 时取连接池上限的一半，给业务请求留出连接；
+     * 配置值不小于连接池上限时告警（导出高峰会耗尽连接池）。
+     */
+    @Bean
+    public ThreadPoolTaskExecutor exportFetchExecutor(
+        @Value("${export.pipeline.fetch-threads:0}") int configuredFetchThreads,
+        @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize
+    ) {
+        int fetchThreads = configuredFetchThreads > 0 ? configuredFetchThreads : Math.max(1, connectionPoolSize / 2);
+        if (fetchThreads >= connectionPoolSize) {
+            log.warn("export.pipeline.fetch-threads={} is not below the connection pool size {}, "
+                + "concurrent exports can exhaust the pool", fetchThreads, connectionPoolSize);
+        }
+        ThreadPoolTaskExecutor t = new ThreadPoolTaskExecutor();
+        t.setCorePoolSize(fetchThreads);
+        t.setMaxPoolSize(fetchThreads);
+        t.setKeepAliveSeconds(60);
+        t.setAllowCoreThreadTimeOut(true);
+        t.setThreadNamePrefix("export-fetch-");
+        t.initialize();
+        return t;
+    }
+
+    /**
+     * 准入票据存储：默认数据库表，集群内所有节点共享配额；
+     * 单节点部署或测试可用 export.admission.store=local（仅对当前 JVM 生效）
+     */
+    @Bean
+    @ConditionalOnProperty(name = "export.admission.store", havingValue = "jdbc", matchIfMissing = true)
+    public ExportAdmissionStore exportAdmissionStore(JdbcTemplate jdbcTemplate,
+                                                     PlatformTransactionManager transactionManager) {
+        return new JdbcExportAdmissionStore(jdbcTemplate, transactionManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "export.admission.store", havingValue = "local")
+    public ExportAdmissionStore localExportAdmissionStore() {
+        return new LocalExportAdmissionStore();
+    }
+
+    /**
+     * 结果文件存放在本节点目录，只有生成文件的节点能响应下载（单机部署）
+     */
+    @Bean
+    @ConditionalOnProperty(name = "export.storage.type", havingValue = "local", matchIfMissing = true)
+    public ExportFileStore exportFileStore(
+        @Value("${export.storage.dir:${java.io.tmpdir}/tiny-export-files}") String dir) throws IOException {
+        return new LocalExportFileStore(Path.of(dir));
+    }
+
+    /**
+     * 结果文件存放在各节点共同挂载的目录，任一节点都能响应下载（集群部署）
+     */
+    @Bean
+    @ConditionalOnProperty(name = "export.storage.type", havingValue = "shared")
+    public ExportFileStore sharedExportFileStore(@Value("${export.storage.dir}") String dir) throws IOException {
+        return new SharedDirectoryExportFileStore(Path.of(dir));
+    }
+}
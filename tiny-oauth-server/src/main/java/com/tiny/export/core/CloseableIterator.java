@@ -0,0 +1,17 @@
+package com.tiny.export.core;
+
+import java.util.Iterator;
+
+/**
+ * CloseableIterator —— 持有数据库游标等资源的迭代器
+ *
+ * 迭代完毕时实现类应自行释放资源；导出中途失败时由 ExportService 调用 close 兜底释放。
+ */
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+
+    /**
+     * 释放资源（可重复调用），不抛受检异常
+     */
+    @Override
+    void close();
+}
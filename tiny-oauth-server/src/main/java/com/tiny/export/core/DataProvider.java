@@ -18,4 +18,13 @@ public interface DataProvider<T> {
      * Slice/Iterator 可重写
      */
     default long estimateTotal() { return -1L; }
+
+    /**
+     * 估算本次导出的行数，异步任务开始取数之前调用（{@link FilterAwareDataProvider} 的过滤条件已传入）。
+     * 实现应远比全量 COUNT(*) 便宜，宁可不准或返回 {@link RowEstimate#UNKNOWN}；默认沿用 {@link #estimateTotal()}
+     */
+    default RowEstimate estimate() {
+        long total = estimateTotal();
+        return total > 0 ? RowEstimate.ofRows(total) : RowEstimate.UNKNOWN;
+    }
 }
\ No newline at end of file
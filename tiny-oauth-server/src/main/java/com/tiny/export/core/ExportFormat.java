@@ -0,0 +1,98 @@
+package com.tiny.export.core;
+
+import java.util.Locale;
+
+/**
+ * ExportFormat —— 导出文件格式
+ *
+ *  - XLSX: 默认，Excel 工作簿（由 ExportConfig 中注册的 writerAdapter 写出）
+ *  - CSV: 逗号分隔文本，UTF-8 带 BOM（Excel 直接打开不乱码）；多个 sheet 时输出 zip，每个 sheet 一个 csv
+ *  - JSONL: JSON Lines，每行一个对象，键为列字段名；多个 sheet 时每行额外带 "_sheet"
+ *
+ * CSV（单 sheet）与 JSONL 可以在写出时 gzip 压缩（ExportRequest.gzip）。
+ */
+public enum ExportFormat {
+
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    CSV("csv", "text/csv; charset=UTF-8"),
+    JSONL("jsonl", "application/x-ndjson; charset=UTF-8");
+
+    private static final String ZIP_CONTENT_TYPE = "application/zip";
+    private static final String GZIP_CONTENT_TYPE = "application/gzip";
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() { return extension; }
+    public String getContentType() { return contentType; }
+
+    /**
+     * 解析格式，空值为 XLSX
+     */
+    public static ExportFormat of(String value) {
+        if (value == null || value.isBlank()) {
+            return XLSX;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的导出格式: " + value);
+        }
+    }
+
+    public static ExportFormat of(ExportRequest request) {
+        return of(request.getFormat());
+    }
+
+    /**
+     * 多 sheet 的 CSV 打包为 zip
+     */
+    public static boolean isZip(ExportRequest request) {
+        return of(request) == CSV && request.getSheets() != null && request.getSheets().size() > 1;
+    }
+
+    public static boolean isGzip(ExportRequest request) {
+        return request.isGzip() && of(request) != XLSX && !isZip(request);
+    }
+
+    /**
+     * 输出文件扩展名（含点），如 .xlsx、.csv.gz、.zip
+     */
+    public static String fileExtension(ExportRequest request) {
+        if (isZip(request)) {
+            return ".zip";
+        }
+        return "." + of(request).extension + (isGzip(request) ? ".gz" : "");
+    }
+
+    public static String contentType(ExportRequest request) {
+        if (isZip(request)) {
+            return ZIP_CONTENT_TYPE;
+        }
+        return isGzip(request) ? GZIP_CONTENT_TYPE : of(request).contentType;
+    }
+
+    /**
+     * 按文件名推断下载的 Content-Type（异步任务结果文件）
+     */
+    public static String contentTypeOfFile(String fileName) {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".zip")) {
+            return ZIP_CONTENT_TYPE;
+        }
+        if (name.endsWith(".gz")) {
+            return GZIP_CONTENT_TYPE;
+        }
+        for (ExportFormat format : values()) {
+            if (name.endsWith("." + format.extension)) {
+                return format.contentType;
+            }
+        }
+        return XLSX.contentType;
+    }
+}
@@ -6,23 +6,39 @@ import java.util.List;
  * ExportRequest —— 统一的导出请求，仅包含 sheets 配置
  *
  * 说明：
- *  - fileName: 最终的输出文件名（无扩展名），默认会加 .xlsx
+ *  - fileName: 最终的输出文件名（无扩展名），按格式追加扩展名（默认 .xlsx）
+ *  - format: 输出格式 xlsx（默认）/ csv / jsonl，见 {@link ExportFormat}
+ *  - gzip: csv / jsonl 是否 gzip 压缩输出
  *  - async: 是否异步导出
  *  - pageSize: 如果 DataProvider 支持分页，作为每页大小
  *  - sheets: 必填，至少包含一个 SheetConfig
+ *  - sheetParallelism: 多 sheet 并行取数的并发数，空则使用 export.pipeline.sheet-parallelism
+ *  - tenantId: 发起租户，由服务端按认证主体（JWT tenantId claim）填充（用于租户导出配额），请求体中的值会被覆盖
  */
 public class ExportRequest {
     private String fileName;
+    private String format;
+    private boolean gzip = false;
     private boolean async = false;
     private int pageSize = 5000;
     private List<SheetConfig> sheets;
+    private Integer sheetParallelism;
+    private String tenantId;
 
     public String getFileName() { return fileName; }
     public void setFileName(String fileName) { this.fileName = fileName; }
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+    public boolean isGzip() { return gzip; }
+    public void setGzip(boolean gzip) { this.gzip = gzip; }
     public boolean isAsync() { return async; }
     public void setAsync(boolean async) { this.async = async; }
     public int getPageSize() { return pageSize; }
     public void setPageSize(int pageSize) { this.pageSize = pageSize; }
     public List<SheetConfig> getSheets() { return sheets; }
     public void setSheets(List<SheetConfig> sheets) { this.sheets = sheets; }
+    public Integer getSheetParallelism() { return sheetParallelism; }
+    public void setSheetParallelism(Integer sheetParallelism) { this.sheetParallelism = sheetParallelism; }
+    public String getTenantId() { return tenantId; }
+    public void setTenantId(String tenantId) { this.tenantId = tenantId; }
 }
\ No newline at end of file
@@ -0,0 +1,767 @@
+package com.tiny.export.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * JdbcDataProvider —— 基于 JdbcTemplate 的 DataProvider 基类
+ *
+ * 子类只需提供 SELECT 语句、过滤条件、排序键和行映射，基类负责取数方式：
+ *  - KEYSET（默认）：按排序键做 seek 分页，每批带上上一批最后一行的键值，
+ *    SQL 形如 {@code WHERE ... AND (id < ?) ORDER BY id DESC LIMIT ?}，
+ *    每批的数据库代价与偏移量无关，也不再需要预先 COUNT(*)
+ *  - CURSOR：单条查询 + 只进游标流式读取，fetchSize 由 {@code export.jdbc.cursor-fetch-size} 控制，
+ *    未配置（0）时按数据库选择：MySQL 为 Integer.MIN_VALUE（Connector/J 逐行流式，只有 MySQL 驱动接受该值），
+ *    其他数据库为 {@value #DEFAULT_CURSOR_FETCH_SIZE}。MySQL 连接串开启 useCursorFetch=true 时应配置为正数，
+ *    改用服务端游标按批读取；PostgreSQL 只有在事务内（autocommit=false）才按 fetchSize 分批，否则一次读入全部结果。
+ *    游标期间占用一个连接，适合少量超大导出
+ *  - 导出当前页（filters 中 __mode=page、__page、__pageSize）：仍按 LIMIT/OFFSET 一次性返回该页
+ *
+ * <p>排序键（{@link #keyColumns()}）必须非空且组合唯一，否则 seek 分页会漏行或重复；
+ * 键列需要出现在 SELECT 列表中，基类按去掉表别名后的列名（{@link KeyColumn#label()}）从结果集读取键值，
+ * 行对象本身不必包含这些字段。连接查询中多个表有同名列时，应在 SELECT 列表中把键列放在同名列之前。</p>
+ *
+ * <p>过滤条件存放在实例级 ThreadLocal 中，fetchIterator 时即被迭代器捕获，之后 clearFilters 不影响已返回的迭代器。</p>
+ *
+ * <p>三种方式都支持 {@link #fetchIteratorAfter} 从某一行的键值之后续读：KEYSET / CURSOR 把键值作为 seek 条件，
+ * 导出当前页则在该页结果中跳过排序在键值之前（含）的行。</p>
+ *
+ * <p>行数估算（{@link #estimate()}）不做全量 COUNT(*)，方式见 {@link EstimateStrategy}：全局由
+ * {@code export.jdbc.estimate-strategy} 配置，子类可重写 {@link #estimateStrategy()} 按数据特点单独选择。
+ * 估算失败只记日志并视为未知，不影响导出。SAMPLED / KEY_RANGE 的探测查询按首列排序键 ORDER BY ... LIMIT，
+ * 只有存在以该列开头的索引时才是索引范围读取，否则每次探测都是全表扫描加排序；基类首次估算时通过
+ * {@link java.sql.DatabaseMetaData#getIndexInfo} 检查 {@link #keyTable()} 上的索引，没有时改用 PLANNER。</p>
+ */
+public abstract class JdbcDataProvider<T> implements FilterAwareDataProvider<T>, ResumableDataProvider<T> {
+
+    /**
+     * 取数方式
+     */
+    public enum FetchMode {
+        KEYSET,
+        CURSOR
+    }
+
+    /**
+     * 行数估算方式
+     */
+    public enum EstimateStrategy {
+        /**
+         * 不估算，进度未知
+         */
+        NONE,
+        /**
+         * 执行计划中的行数估算（EXPLAIN），只做查询规划、不读数据；支持 MySQL / MariaDB / PostgreSQL，其他数据库视为未知
+         */
+        PLANNER,
+        /**
+         * 按排序键顺序探测第 {@code export.jdbc.estimate-sample-rows} 行：不存在时统计这不足样本数的行即为准确行数，
+         * 否则按样本覆盖的首列键值跨度外推总行数。代价与样本数成正比，与表大小无关。
+         * 需要以首列排序键开头的索引，没有时改用 PLANNER
+         */
+        SAMPLED,
+        /**
+         * 不估算行数，只取首列排序键的首尾值，进度按当前行的键值在首尾之间的位置推算；首列须为数值或日期时间。
+         * 需要以首列排序键开头的索引，没有时改用 PLANNER
+         */
+        KEY_RANGE
+    }
+
+    /**
+     * 排序键列
+     *
+     * @param column     列名，可以带表别名（u.id），用于 WHERE / ORDER BY
+     * @param descending 是否倒序
+     */
+    public record KeyColumn(String column, boolean descending) {
+
+        public static KeyColumn asc(String column) {
+            return new KeyColumn(column, false);
+        }
+
+        public static KeyColumn desc(String column) {
+            return new KeyColumn(column, true);
+        }
+
+        /**
+         * 结果集中的列标签：去掉表别名与引号后的列名，u.id -> id
+         */
+        public String label() {
+            return unqualified(column);
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcDataProvider.class);
+
+    /**
+     * 非 MySQL 数据库的默认游标 fetchSize
+     */
+    static final int DEFAULT_CURSOR_FETCH_SIZE = 1000;
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+    private static final Pattern FROM_TABLE = Pattern.compile("\\bFROM\\s+[`\"]?([\\w.]+)", Pattern.CASE_INSENSITIVE);
+
+    protected final JdbcTemplate jdbcTemplate;
+
+    private final ThreadLocal<Map<String, Object>> filtersHolder = new ThreadLocal<>();
+
+    private FetchMode fetchMode = FetchMode.KEYSET;
+    private int cursorFetchSize;
+    private EstimateStrategy estimateStrategy = EstimateStrategy.PLANNER;
+    private int estimateSampleRows = 10_000;
+    private volatile String databaseProduct;
+    private volatile Boolean leadingKeyIndexed;
+
+    protected JdbcDataProvider(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * SELECT ... FROM ...（不含 WHERE / ORDER BY），需包含全部排序键列
+     */
+    protected abstract String selectSql();
+
+    /**
+     * 按过滤条件追加 WHERE 条件（不带 AND 前缀）和对应参数
+     *
+     * @param filters    过滤条件，非 null
+     * @param conditions 条件列表
+     * @param params     参数列表
+     */
+    protected abstract void appendConditions(Map<String, Object> filters, List<String> conditions, List<Object> params);
+
+    /**
+     * 排序键，组合必须唯一
+     */
+    protected abstract List<KeyColumn> keyColumns();
+
+    protected abstract T mapRow(ResultSet rs, int rowNum) throws SQLException;
+
+    @Value("${export.jdbc.fetch-mode:KEYSET}")
+    public void setFetchMode(FetchMode fetchMode) {
+        this.fetchMode = fetchMode;
+    }
+
+    /**
+     * 游标 fetchSize，0 表示按数据库选择（见 {@link #defaultCursorFetchSize}）
+     */
+    @Value("${export.jdbc.cursor-fetch-size:0}")
+    public void setCursorFetchSize(int cursorFetchSize) {
+        this.cursorFetchSize = cursorFetchSize;
+    }
+
+    @Value("${export.jdbc.estimate-strategy:PLANNER}")
+    public void setEstimateStrategy(EstimateStrategy estimateStrategy) {
+        this.estimateStrategy = estimateStrategy;
+    }
+
+    @Value("${export.jdbc.estimate-sample-rows:10000}")
+    public void setEstimateSampleRows(int estimateSampleRows) {
+        this.estimateSampleRows = Math.max(1, estimateSampleRows);
+    }
+
+    /**
+     * 本 provider 的行数估算方式，默认取全局配置
+     */
+    protected EstimateStrategy estimateStrategy() {
+        return estimateStrategy;
+    }
+
+    /**
+     * 排序键所在的表（用于检查 SAMPLED / KEY_RANGE 所需的索引），默认取 {@link #selectSql()} 中第一个 FROM 之后的表名；
+     * 连接查询或子查询时子类应重写。返回 null 表示无法确定，按没有索引处理
+     */
+    protected String keyTable() {
+        Matcher m = FROM_TABLE.matcher(selectSql());
+        return m.find() ? m.group(1) : null;
+    }
+
+    @Override
+    public void setFilters(Map<String, Object> filters) {
+        filtersHolder.set(filters);
+    }
+
+    @Override
+    public void clearFilters() {
+        filtersHolder.remove();
+    }
+
+    @Override
+    public Iterator<T> fetchIterator(int batchSize) {
+        return open(batchSize, null, false);
+    }
+
+    @Override
+    public ResumableIterator<T> fetchIteratorAfter(int batchSize, List<Object> afterKey) {
+        Object[] startKey = afterKey == null ? null : afterKey.toArray();
+        if (startKey != null && startKey.length != keyColumns().size()) {
+            throw new IllegalArgumentException("续传键值与排序键列数不一致: " + afterKey);
+        }
+        return open(batchSize, startKey, true);
+    }
+
+    private ResumableIterator<T> open(int batchSize, Object[] startKey, boolean trackKeys) {
+        Map<String, Object> filters = currentFilters();
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        appendConditions(filters, conditions, params);
+
+        if ("page".equals(filters.get("__mode"))) {
+            return fetchPage(filters, batchSize, conditions, params, startKey);
+        }
+        if (fetchMode == FetchMode.CURSOR) {
+            return new CursorIterator(conditions, params, startKey, trackKeys);
+        }
+        return new KeysetIterator(batchSize, conditions, params, startKey, trackKeys);
+    }
+
+    @Override
+    public RowEstimate estimate() {
+        Map<String, Object> filters = currentFilters();
+        if ("page".equals(filters.get("__mode"))) {
+            // 导出当前页：最多一页
+            return RowEstimate.ofRows(parseInt(filters.get("__pageSize"), -1));
+        }
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        appendConditions(filters, conditions, params);
+        EstimateStrategy strategy = estimateStrategy();
+        try {
+            if ((strategy == EstimateStrategy.SAMPLED || strategy == EstimateStrategy.KEY_RANGE) && !leadingKeyIndexed()) {
+                strategy = EstimateStrategy.PLANNER;
+            }
+            return switch (strategy) {
+                case NONE -> RowEstimate.UNKNOWN;
+                case PLANNER -> plannerEstimate(conditions, params);
+                case SAMPLED -> sampledEstimate(conditions, params);
+                case KEY_RANGE -> keyRangeEstimate(conditions, params);
+            };
+        } catch (DataAccessException ex) {
+            log.warn("export row estimation ({}) failed, progress will be unknown", strategy, ex);
+            return RowEstimate.UNKNOWN;
+        }
+    }
+
+    private RowEstimate plannerEstimate(List<String> conditions, List<Object> params) {
+        String sql = "EXPLAIN " + selectSql() + whereSql(conditions);
+        String product = databaseProduct();
+        if (product.contains("mysql") || product.contains("mariadb")) {
+            // 每个访问的表一行：rows 为扫描行数估算，filtered 为条件过滤后保留的百分比，连接时逐表相乘
+            return jdbcTemplate.query(sql, rs -> {
+                boolean hasFiltered = hasColumn(rs.getMetaData(), "filtered");
+                double rows = 1;
+                boolean any = false;
+                while (rs.next()) {
+                    any = true;
+                    double filtered = hasFiltered ? rs.getDouble("filtered") : 100;
+                    rows *= rs.getLong("rows") * (filtered <= 0 ? 100 : filtered) / 100;
+                }
+                return any ? RowEstimate.ofRows(Math.round(rows)) : RowEstimate.UNKNOWN;
+            }, params.toArray());
+        }
+        if (product.contains("postgresql")) {
+            // 第一行为顶层计划节点：Seq Scan on ... (cost=0.00..431.00 rows=10000 width=16)
+            return jdbcTemplate.query(sql, rs -> {
+                if (!rs.next()) {
+                    return RowEstimate.UNKNOWN;
+                }
+                Matcher m = PLAN_ROWS.matcher(rs.getString(1));
+                return m.find() ? RowEstimate.ofRows(Long.parseLong(m.group(1))) : RowEstimate.UNKNOWN;
+            }, params.toArray());
+        }
+        log.debug("planner row estimation is not supported on {}", product);
+        return RowEstimate.UNKNOWN;
+    }
+
+    private RowEstimate sampledEstimate(List<String> conditions, List<Object> params) {
+        String label = keyColumns().get(0).label();
+        List<Object> probeParams = new ArrayList<>(params);
+        probeParams.add(1);
+        probeParams.add(estimateSampleRows - 1);
+        List<Object> probe = jdbcTemplate.query(
+            selectSql() + whereSql(conditions) + orderBySql() + " LIMIT ? OFFSET ?",
+            (rs, rowNum) -> rs.getObject(label), probeParams.toArray());
+        if (probe.isEmpty()) {
+            List<Object> countParams = new ArrayList<>(params);
+            countParams.add(estimateSampleRows);
+            Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (" + selectSql() + whereSql(conditions) + " LIMIT ?) sampled",
+                Long.class, countParams.toArray());
+            return RowEstimate.ofRows(count == null ? 0 : count);
+        }
+        RowEstimate range = keyRangeEstimate(conditions, params);
+        if (range.keyRange() == null) {
+            return RowEstimate.UNKNOWN;
+        }
+        double fraction = range.keyRange().fractionOf(probe.get(0));
+        if (fraction <= 0) {
+            // 样本全部落在同一个首列键值上，无法外推
+            return range;
+        }
+        return new RowEstimate(Math.round(estimateSampleRows / fraction), range.keyRange());
+    }
+
+    private RowEstimate keyRangeEstimate(List<String> conditions, List<Object> params) {
+        KeyColumn lead = keyColumns().get(0);
+        String base = selectSql() + whereSql(conditions) + " ORDER BY " + lead.column();
+        List<Object> edgeParams = new ArrayList<>(params);
+        edgeParams.add(1);
+        RowMapper<Object> leading = (rs, rowNum) -> rs.getObject(lead.label());
+        List<Object> first = jdbcTemplate.query(base + (lead.descending() ? " DESC" : " ASC") + " LIMIT ?",
+            leading, edgeParams.toArray());
+        if (first.isEmpty()) {
+            return RowEstimate.ofRows(0);
+        }
+        List<Object> last = jdbcTemplate.query(base + (lead.descending() ? " ASC" : " DESC") + " LIMIT ?",
+            leading, edgeParams.toArray());
+        RowEstimate.KeyRange range = last.isEmpty() ? null : RowEstimate.KeyRange.of(first.get(0), last.get(0));
+        return range == null ? RowEstimate.UNKNOWN : new RowEstimate(-1, range);
+    }
+
+    /**
+     * 是否存在以首列排序键开头的索引（含主键），结果缓存；元数据读取失败时按没有索引处理
+     */
+    private boolean leadingKeyIndexed() {
+        Boolean indexed = leadingKeyIndexed;
+        if (indexed == null) {
+            String table = keyTable();
+            String column = keyColumns().get(0).label();
+            try {
+                indexed = table != null && jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+                    DatabaseMetaData meta = con.getMetaData();
+                    String name = unqualified(table);
+                    // 未加引号的表名在不同数据库中按原样、大写或小写保存
+                    for (String candidate : new LinkedHashSet<>(List.of(name,
+                        name.toUpperCase(Locale.ROOT), name.toLowerCase(Locale.ROOT)))) {
+                        if (hasLeadingIndex(meta, con.getCatalog(), candidate, column)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                });
+            } catch (DataAccessException ex) {
+                log.warn("failed to inspect indexes of {}", table, ex);
+                indexed = false;
+            }
+            if (!indexed) {
+                log.warn("no index on {} leads with sort key {}, {} row estimation falls back to PLANNER; "
+                    + "add an index starting with {} to use it", table, column, estimateStrategy(), column);
+            }
+            leadingKeyIndexed = indexed;
+        }
+        return indexed;
+    }
+
+    private static boolean hasLeadingIndex(DatabaseMetaData meta, String catalog, String table, String column)
+        throws SQLException {
+        try (ResultSet rs = meta.getIndexInfo(catalog, null, table, false, true)) {
+            while (rs.next()) {
+                if (rs.getShort("ORDINAL_POSITION") == 1 && column.equalsIgnoreCase(rs.getString("COLUMN_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 去掉表别名 / schema 前缀与引号：t.usage_date -> usage_date
+     */
+    private static String unqualified(String name) {
+        String stripped = name.replace("`", "").replace("\"", "");
+        return stripped.substring(stripped.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * 按数据库选择游标 fetchSize：只有 MySQL Connector/J 用 Integer.MIN_VALUE 表示逐行流式，
+     * 其他驱动（MariaDB、PostgreSQL、Oracle、H2 等）拒绝负数或会一次读入全部结果
+     *
+     * @param product 小写的数据库产品名
+     */
+    static int defaultCursorFetchSize(String product) {
+        return product.contains("mysql") ? Integer.MIN_VALUE : DEFAULT_CURSOR_FETCH_SIZE;
+    }
+
+    private String databaseProduct() {
+        String product = databaseProduct;
+        if (product == null) {
+            product = jdbcTemplate.execute((ConnectionCallback<String>) con ->
+                con.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT));
+            databaseProduct = product;
+        }
+        return product;
+    }
+
+    private static boolean hasColumn(ResultSetMetaData meta, String label) throws SQLException {
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            if (label.equalsIgnoreCase(meta.getColumnLabel(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<String, Object> currentFilters() {
+        Map<String, Object> filters = filtersHolder.get();
+        return filters == null ? Collections.emptyMap() : filters;
+    }
+
+    /**
+     * 导出当前页：与列表页的分页保持一致，偏移量很小，继续使用 LIMIT/OFFSET
+     */
+    private ResumableIterator<T> fetchPage(Map<String, Object> filters, int batchSize, List<String> conditions,
+                                           List<Object> params, Object[] startKey) {
+        int page = parseInt(filters.get("__page"), 1);
+        int pageSize = parseInt(filters.get("__pageSize"), batchSize);
+        if (page <= 0) {
+            page = 1;
+        }
+        if (pageSize <= 0) {
+            pageSize = batchSize;
+        }
+        String sql = selectSql() + whereSql(conditions) + orderBySql() + " LIMIT ? OFFSET ?";
+        List<Object> pageParams = new ArrayList<>(params);
+        pageParams.add(pageSize);
+        pageParams.add((long) (page - 1) * pageSize);
+        List<KeyedRow<T>> rows = jdbcTemplate.query(sql, (rs, rowNum) -> new KeyedRow<>(mapRow(rs, rowNum), readKey(rs)),
+            pageParams.toArray());
+        int from = 0;
+        if (startKey != null) {
+            while (from < rows.size() && compareKeys(rows.get(from).key(), startKey) <= 0) {
+                from++;
+            }
+        }
+        return new KeyedListIterator(rows.subList(from, rows.size()));
+    }
+
+    private Object[] readKey(ResultSet rs) throws SQLException {
+        List<KeyColumn> keys = keyColumns();
+        Object[] key = new Object[keys.size()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = rs.getObject(keys.get(i).label());
+        }
+        return key;
+    }
+
+    /**
+     * 按排序方向比较两组键值，a 排在 b 之前时为负
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int compareKeys(Object[] a, Object[] b) {
+        List<KeyColumn> keys = keyColumns();
+        for (int i = 0; i < keys.size(); i++) {
+            int c = ((Comparable) a[i]).compareTo(b[i]);
+            if (c != 0) {
+                return keys.get(i).descending() ? -c : c;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * seek 条件参数：与 {@link #seekCondition()} 的占位符一一对应
+     */
+    private static void appendSeekParams(Object[] key, List<Object> params) {
+        for (int i = 0; i < key.length; i++) {
+            for (int j = 0; j < i; j++) {
+                params.add(key[j]);
+            }
+            params.add(key[i]);
+        }
+    }
+
+    private String orderBySql() {
+        StringBuilder sb = new StringBuilder(" ORDER BY ");
+        List<KeyColumn> keys = keyColumns();
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(keys.get(i).column()).append(keys.get(i).descending() ? " DESC" : " ASC");
+        }
+        return sb.toString();
+    }
+
+    private static String whereSql(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    /**
+     * seek 条件：(k1 op ?) OR (k1 = ? AND k2 op ?) OR ...，op 随各列排序方向取 &lt; 或 &gt;
+     */
+    private String seekCondition() {
+        List<KeyColumn> keys = keyColumns();
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) {
+                sb.append(" OR ");
+            }
+            sb.append('(');
+            for (int j = 0; j < i; j++) {
+                sb.append(keys.get(j).column()).append(" = ? AND ");
+            }
+            sb.append(keys.get(i).column()).append(keys.get(i).descending() ? " < ?" : " > ?");
+            sb.append(')');
+        }
+        return sb.append(')').toString();
+    }
+
+    private static int parseInt(Object value, int defaultVal) {
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        if (value instanceof String s) {
+            try {
+                return Integer.parseInt(s.trim());
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return defaultVal;
+    }
+
+    private record KeyedRow<T>(T row, Object[] key) {
+    }
+
+    /**
+     * seek 分页迭代器：每批查询 batchSize 行，记录最后一行的键值作为下一批的起点
+     */
+    private final class KeysetIterator implements ResumableIterator<T> {
+        private final int batchSize;
+        private final String firstSql;
+        private final String nextSql;
+        private final List<Object> baseParams;
+        private final List<KeyColumn> keys = keyColumns();
+        private final RowMapper<T> rowMapper;
+        /**
+         * 最近映射的一行的键值，批次结束时即为该批最后一行
+         */
+        private final Object[] rowKey = new Object[keys.size()];
+        /**
+         * 续传时记录当前批每一行的键值
+         */
+        private final List<Object[]> batchKeys;
+
+        private Object[] lastKey;
+        private Object[] currentKey;
+        private List<T> currentBatch = Collections.emptyList();
+        private int currentBatchIndex = 0;
+        private boolean hasMore = true;
+
+        KeysetIterator(int batchSize, List<String> conditions, List<Object> params, Object[] startKey, boolean trackKeys) {
+            this.batchSize = batchSize;
+            this.lastKey = startKey;
+            this.batchKeys = trackKeys ? new ArrayList<>(batchSize) : null;
+            String orderBy = orderBySql() + " LIMIT ?";
+            this.firstSql = selectSql() + whereSql(conditions) + orderBy;
+            List<String> seekConditions = new ArrayList<>(conditions);
+            seekConditions.add(seekCondition());
+            this.nextSql = selectSql() + whereSql(seekConditions) + orderBy;
+            this.baseParams = params;
+            this.rowMapper = (rs, rowNum) -> {
+                T row = mapRow(rs, rowNum);
+                for (int i = 0; i < rowKey.length; i++) {
+                    rowKey[i] = rs.getObject(keys.get(i).label());
+                }
+                if (batchKeys != null) {
+                    batchKeys.add(rowKey.clone());
+                }
+                return row;
+            };
+        }
+
+        private void loadNextBatch() {
+            List<Object> params = new ArrayList<>(baseParams);
+            if (lastKey != null) {
+                appendSeekParams(lastKey, params);
+            }
+            params.add(batchSize);
+            if (batchKeys != null) {
+                batchKeys.clear();
+            }
+            currentBatch = jdbcTemplate.query(lastKey == null ? firstSql : nextSql, rowMapper, params.toArray());
+            currentBatchIndex = 0;
+            if (currentBatch.size() < batchSize) {
+                hasMore = false;
+            } else {
+                lastKey = rowKey.clone();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (currentBatchIndex >= currentBatch.size()) {
+                if (!hasMore) {
+                    return false;
+                }
+                loadNextBatch();
+            }
+            return currentBatchIndex < currentBatch.size();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (batchKeys != null) {
+                currentKey = batchKeys.get(currentBatchIndex);
+            }
+            return currentBatch.get(currentBatchIndex++);
+        }
+
+        @Override
+        public List<Object> currentKey() {
+            return currentKey == null ? null : Arrays.asList(currentKey);
+        }
+
+        @Override
+        public void close() {
+            // 每批查询完即释放连接，无需处理
+        }
+    }
+
+    /**
+     * 导出当前页的结果已全部在内存中
+     */
+    private final class KeyedListIterator implements ResumableIterator<T> {
+        private final Iterator<KeyedRow<T>> delegate;
+        private Object[] currentKey;
+
+        KeyedListIterator(List<KeyedRow<T>> rows) {
+            this.delegate = rows.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public T next() {
+            KeyedRow<T> row = delegate.next();
+            currentKey = row.key();
+            return row.row();
+        }
+
+        @Override
+        public List<Object> currentKey() {
+            return currentKey == null ? null : Arrays.asList(currentKey);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * 游标迭代器：单条只进查询，迭代完毕或 close 时释放语句与连接
+     */
+    private final class CursorIterator implements ResumableIterator<T> {
+        private final String sql;
+        private final Object[] params;
+        private final boolean trackKeys;
+
+        private Stream<?> stream;
+        private Iterator<?> delegate;
+        private Object[] currentKey;
+        private boolean closed;
+
+        CursorIterator(List<String> conditions, List<Object> params, Object[] startKey, boolean trackKeys) {
+            List<String> where = conditions;
+            List<Object> allParams = params;
+            if (startKey != null) {
+                where = new ArrayList<>(conditions);
+                where.add(seekCondition());
+                allParams = new ArrayList<>(params);
+                appendSeekParams(startKey, allParams);
+            }
+            this.sql = selectSql() + whereSql(where) + orderBySql();
+            this.params = allParams.toArray();
+            this.trackKeys = trackKeys;
+        }
+
+        private void open() {
+            RowMapper<?> mapper = trackKeys
+                ? (rs, rowNum) -> new KeyedRow<>(mapRow(rs, rowNum), readKey(rs))
+                : JdbcDataProvider.this::mapRow;
+            int fetchSize = cursorFetchSize != 0 ? cursorFetchSize : defaultCursorFetchSize(databaseProduct());
+            stream = jdbcTemplate.queryForStream(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < params.length; i++) {
+                    ps.setObject(i + 1, params[i]);
+                }
+                return ps;
+            }, mapper);
+            delegate = stream.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            if (delegate == null) {
+                open();
+            }
+            if (delegate.hasNext()) {
+                return true;
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (trackKeys) {
+                KeyedRow<T> row = (KeyedRow<T>) delegate.next();
+                currentKey = row.key();
+                return row.row();
+            }
+            return (T) delegate.next();
+        }
+
+        @Override
+        public List<Object> currentKey() {
+            return currentKey == null ? null : Arrays.asList(currentKey);
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (stream != null) {
+                stream.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.tiny.export.core;
+
+import java.util.List;
+
+/**
+ * ResumableDataProvider —— 支持断点续传的 DataProvider
+ *
+ * 行按唯一排序键有序输出，迭代器能报告刚返回的一行的键值，并能从某个键值之后继续读取。
+ * 异步导出据此在每个分段完成时保存检查点（sheet 序号 + 最后写出行的键值），
+ * 节点宕机后由其他节点从检查点继续，而不是从头重跑。
+ *
+ * 与 {@link FilterAwareDataProvider} 同时实现时，过滤条件同样在调用前通过 setFilters 传入。
+ */
+public interface ResumableDataProvider<T> extends DataProvider<T> {
+
+    /**
+     * 从 afterKey 之后（不含）开始读取
+     *
+     * @param afterKey 上次写出的最后一行的键值（{@link ResumableIterator#currentKey()}），null 表示从头读取
+     */
+    ResumableIterator<T> fetchIteratorAfter(int batchSize, List<Object> afterKey);
+}
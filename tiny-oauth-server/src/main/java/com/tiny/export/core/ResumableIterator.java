@@ -0,0 +1,14 @@
+package com.tiny.export.core;
+
+import java.util.List;
+
+/**
+ * ResumableIterator —— 能报告当前行排序键的迭代器
+ */
+public interface ResumableIterator<T> extends CloseableIterator<T> {
+
+    /**
+     * 最近一次 {@link #next()} 返回的行的排序键值（按键列顺序），尚未调用 next 时为 null
+     */
+    List<Object> currentKey();
+}
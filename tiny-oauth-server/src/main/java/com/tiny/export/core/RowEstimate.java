@@ -0,0 +1,83 @@
+package com.tiny.export.core;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * RowEstimate —— DataProvider 对一次导出行数的估算
+ *
+ * @param rows     估算行数，&lt; 0 表示未知
+ * @param keyRange 首列排序键按导出顺序的首尾值，null 表示不可用；行数未知时据此按当前行的键值位置推算进度
+ */
+public record RowEstimate(long rows, KeyRange keyRange) {
+
+    public static final RowEstimate UNKNOWN = new RowEstimate(-1, null);
+
+    public static RowEstimate ofRows(long rows) {
+        return new RowEstimate(rows, null);
+    }
+
+    public boolean hasRows() {
+        return rows >= 0;
+    }
+
+    /**
+     * 首列排序键的取值范围（数值或日期时间，统一换算为 double）
+     *
+     * @param first 导出第一行的键值
+     * @param last  导出最后一行的键值
+     */
+    public record KeyRange(double first, double last) {
+
+        /**
+         * @return 键值不是数值或日期时间类型时为 null
+         */
+        public static KeyRange of(Object first, Object last) {
+            Double f = toDouble(first);
+            Double l = toDouble(last);
+            return f == null || l == null ? null : new KeyRange(f, l);
+        }
+
+        /**
+         * 某一行在导出中的大致位置（0 ~ 1）
+         *
+         * @param key 该行的排序键值（{@link ResumableIterator#currentKey()}）
+         */
+        public double fractionOf(List<Object> key) {
+            if (key == null || key.isEmpty()) {
+                return 0;
+            }
+            return fractionOf(key.get(0));
+        }
+
+        public double fractionOf(Object leadingKey) {
+            Double v = toDouble(leadingKey);
+            if (v == null || first == last) {
+                return 0;
+            }
+            double fraction = (v - first) / (last - first);
+            return Math.max(0, Math.min(1, fraction));
+        }
+
+        private static Double toDouble(Object v) {
+            if (v instanceof Number n) {
+                return n.doubleValue();
+            }
+            if (v instanceof java.sql.Date d) {
+                return (double) d.toLocalDate().toEpochDay();
+            }
+            if (v instanceof java.util.Date d) {
+                return (double) d.getTime();
+            }
+            if (v instanceof LocalDate d) {
+                return (double) d.toEpochDay();
+            }
+            if (v instanceof LocalDateTime t) {
+                return (double) t.toInstant(ZoneOffset.UTC).toEpochMilli();
+            }
+            return null;
+        }
+    }
+}
@@ -1,15 +1,12 @@
 package com.tiny.export.demo;
 
-import com.tiny.export.core.FilterAwareDataProvider;
+import com.tiny.export.core.JdbcDataProvider;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Component;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -18,66 +15,29 @@ import java.util.Map;
  *
  * 仅用于演示导出能力，不参与正式业务。
  *
- * <p>注意：通过 ThreadLocal 存储当前线程的过滤条件，配合 FilterAwareDataProvider 接口使用。</p>
+ * <p>排序为 usage_date 倒序、tenant_code、product_code，末尾追加主键 id 保证排序键唯一，
+ * 导出全部时按该组合键 seek 分页（或游标流式）读取。</p>
+ *
+ * <p>用量数据按日期持续增长、分布较均匀，行数估算使用 KEY_RANGE：只取首尾 usage_date，按当前行日期推算进度。</p>
  */
 @Component("demo_export_usage")
-public class DemoExportUsageDataProvider implements FilterAwareDataProvider<DemoExportUsageRow> {
-
-    private final JdbcTemplate jdbcTemplate;
+public class DemoExportUsageDataProvider extends JdbcDataProvider<DemoExportUsageRow> {
 
-    // 使用 ThreadLocal 存储当前线程的过滤条件
-    private static final ThreadLocal<Map<String, Object>> FILTERS_HOLDER = new ThreadLocal<>();
+    private static final List<KeyColumn> KEY_COLUMNS = List.of(
+        KeyColumn.desc("usage_date"),
+        KeyColumn.asc("tenant_code"),
+        KeyColumn.asc("product_code"),
+        KeyColumn.asc("id"));
 
     public DemoExportUsageDataProvider(JdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
-    }
-
-    @Override
-    public void setFilters(Map<String, Object> filters) {
-        FILTERS_HOLDER.set(filters);
+        super(jdbcTemplate);
     }
 
     @Override
-    public void clearFilters() {
-        FILTERS_HOLDER.remove();
-    }
-
-    @Override
-    public Iterator<DemoExportUsageRow> fetchIterator(int batchSize) {
-        Map<String, Object> filters = FILTERS_HOLDER.get();
-
-        // 构建 WHERE 子句和参数
-        List<Object> params = new ArrayList<>();
-        StringBuilder whereClause = new StringBuilder();
-
-        if (filters != null) {
-            if (filters.containsKey("tenantCode") && filters.get("tenantCode") != null) {
-                String tenantCode = filters.get("tenantCode").toString().trim();
-                if (!tenantCode.isEmpty()) {
-                    whereClause.append(" AND tenant_code = ?");
-                    params.add(tenantCode);
-                }
-            }
-            if (filters.containsKey("productCode") && filters.get("productCode") != null) {
-                String productCode = filters.get("productCode").toString().trim();
-                if (!productCode.isEmpty()) {
-                    whereClause.append(" AND product_code = ?");
-                    params.add(productCode);
-                }
-            }
-            if (filters.containsKey("status") && filters.get("status") != null) {
-                String status = filters.get("status").toString().trim();
-                if (!status.isEmpty()) {
-                    whereClause.append(" AND status = ?");
-                    params.add(status);
-                }
-            }
-        }
-
-        // 构建基础 SQL
-        // 构建基础 SQL
-        String baseSql = """
-            SELECT tenant_code,
+    protected String selectSql() {
+        return """
+            SELECT id,
+                   tenant_code,
                    usage_date,
                    product_code,
                    product_name,
@@ -93,166 +53,58 @@ public class DemoExportUsageDataProvider implements FilterAwareDataProvider<Demo
                    status
               FROM demo_export_usage
             """;
+    }
 
-        String whereSql = whereClause.length() > 0
-            ? " WHERE " + whereClause.toString().substring(5) // 移除开头的 " AND "
-            : "";
-
-        String orderBySql = " ORDER BY usage_date DESC, tenant_code, product_code";
-
-        // 如果显式指定了“只导出当前页”，按当前页分页一次性返回
-        if (filters != null && "page".equals(filters.get("__mode"))) {
-            Object pageObj = filters.get("__page");
-            Object pageSizeObj = filters.get("__pageSize");
-            int page = 1;
-            int pageSizeForPage = batchSize;
-            if (pageObj instanceof Number) {
-                page = ((Number) pageObj).intValue();
-            } else if (pageObj instanceof String) {
-                try {
-                    page = Integer.parseInt((String) pageObj);
-                } catch (NumberFormatException ignored) {
-                }
-            }
-            if (pageSizeObj instanceof Number) {
-                pageSizeForPage = ((Number) pageSizeObj).intValue();
-            } else if (pageSizeObj instanceof String) {
-                try {
-                    pageSizeForPage = Integer.parseInt((String) pageSizeObj);
-                } catch (NumberFormatException ignored) {
-                }
-            }
-            if (page <= 0) {
-                page = 1;
-            }
-            if (pageSizeForPage <= 0) {
-                pageSizeForPage = batchSize;
-            }
-            int offset = (page - 1) * pageSizeForPage;
-
-            String sql = baseSql + whereSql + orderBySql + " LIMIT ? OFFSET ?";
-            List<Object> pageParams = new ArrayList<>(params);
-            pageParams.add(pageSizeForPage);
-            pageParams.add(offset);
-
-            List<DemoExportUsageRow> list = jdbcTemplate.query(sql, pageParams.toArray(), (rs, rowNum) -> {
-                DemoExportUsageRow row = new DemoExportUsageRow();
-                row.setTenantCode(rs.getString("tenant_code"));
-                row.setUsageDate(rs.getObject("usage_date", LocalDate.class));
-                row.setProductCode(rs.getString("product_code"));
-                row.setProductName(rs.getString("product_name"));
-                row.setPlanTier(rs.getString("plan_tier"));
-                row.setRegion(rs.getString("region"));
-                row.setUsageQty(rs.getBigDecimal("usage_qty"));
-                row.setUnit(rs.getString("unit"));
-                row.setUnitPrice(rs.getBigDecimal("unit_price"));
-                row.setAmount(rs.getBigDecimal("amount"));
-                row.setCurrency(rs.getString("currency"));
-                row.setTaxRate(rs.getBigDecimal("tax_rate"));
-                row.setBillable(rs.getBoolean("is_billable"));
-                row.setStatus(rs.getString("status"));
-                return row;
-            });
+    @Override
+    protected void appendConditions(Map<String, Object> filters, List<String> conditions, List<Object> params) {
+        addEquals(filters, "tenantCode", "tenant_code", conditions, params);
+        addEquals(filters, "productCode", "product_code", conditions, params);
+        addEquals(filters, "status", "status", conditions, params);
+    }
 
-            return list.iterator();
+    private static void addEquals(Map<String, Object> filters, String key, String column,
+                                  List<String> conditions, List<Object> params) {
+        Object value = filters.get(key);
+        if (value == null) {
+            return;
         }
-
-        // 默认：导出全部匹配记录 —— 先查询总数（用于分页流式写出）
-        String countSql = "SELECT COUNT(*) FROM demo_export_usage" + whereSql;
-        Long totalCount = jdbcTemplate.queryForObject(countSql, params.toArray(), Long.class);
-        if (totalCount == null || totalCount == 0) {
-            return new ArrayList<DemoExportUsageRow>().iterator();
+        String text = value.toString().trim();
+        if (!text.isEmpty()) {
+            conditions.add(column + " = ?");
+            params.add(text);
         }
-
-        // 创建分页迭代器
-        return new PaginatedIterator(batchSize, totalCount.intValue(), baseSql + whereSql + orderBySql, params);
     }
-    
+
     /**
-     * 分页迭代器，实现真正的分页循环查询
+     * 首尾键值探测走 idx_demo_usage_export_keyset（usage_date 开头，见 007 changeset）
      */
-    private class PaginatedIterator implements Iterator<DemoExportUsageRow> {
-        private final int batchSize;
-        private final int totalCount;
-        private final String baseSql;
-        private final List<Object> baseParams;
-        private int currentOffset = 0;
-        private List<DemoExportUsageRow> currentBatch = null;
-        private int currentBatchIndex = 0;
-        private boolean hasMore = true;
-
-        public PaginatedIterator(int batchSize, int totalCount, String baseSql, List<Object> baseParams) {
-            this.batchSize = batchSize;
-            this.totalCount = totalCount;
-            this.baseSql = baseSql;
-            this.baseParams = new ArrayList<>(baseParams);
-            loadNextBatch();
-        }
-
-        private void loadNextBatch() {
-            if (currentOffset >= totalCount) {
-                hasMore = false;
-                currentBatch = null;
-                return;
-            }
-            
-            String sql = baseSql + " LIMIT ? OFFSET ?";
-            List<Object> params = new ArrayList<>(baseParams);
-            params.add(batchSize);
-            params.add(currentOffset);
-            
-            currentBatch = jdbcTemplate.query(sql, params.toArray(), new RowMapper<DemoExportUsageRow>() {
-            @Override
-            public DemoExportUsageRow mapRow(ResultSet rs, int rowNum) throws SQLException {
-                DemoExportUsageRow row = new DemoExportUsageRow();
-                row.setTenantCode(rs.getString("tenant_code"));
-                row.setUsageDate(rs.getObject("usage_date", LocalDate.class));
-                row.setProductCode(rs.getString("product_code"));
-                row.setProductName(rs.getString("product_name"));
-                row.setPlanTier(rs.getString("plan_tier"));
-                row.setRegion(rs.getString("region"));
-                row.setUsageQty(rs.getBigDecimal("usage_qty"));
-                row.setUnit(rs.getString("unit"));
-                row.setUnitPrice(rs.getBigDecimal("unit_price"));
-                row.setAmount(rs.getBigDecimal("amount"));
-                row.setCurrency(rs.getString("currency"));
-                row.setTaxRate(rs.getBigDecimal("tax_rate"));
-                row.setBillable(rs.getBoolean("is_billable"));
-                row.setStatus(rs.getString("status"));
-                return row;
-            }
-        });
-            
-            currentBatchIndex = 0;
-            currentOffset += batchSize;
-            
-            if (currentBatch.isEmpty() || currentOffset >= totalCount) {
-                hasMore = false;
-            }
-        }
+    @Override
+    protected EstimateStrategy estimateStrategy() {
+        return EstimateStrategy.KEY_RANGE;
+    }
 
-        @Override
-        public boolean hasNext() {
-            if (currentBatch == null || currentBatchIndex >= currentBatch.size()) {
-                if (hasMore) {
-                    loadNextBatch();
-                } else {
-                    return false;
-                }
-            }
-            return currentBatch != null && currentBatchIndex < currentBatch.size();
-        }
+    @Override
+    protected List<KeyColumn> keyColumns() {
+        return KEY_COLUMNS;
+    }
 
-        @Override
-        public DemoExportUsageRow next() {
-            if (!hasNext()) {
-                throw new java.util.NoSuchElementException();
-            }
-            DemoExportUsageRow row = currentBatch.get(currentBatchIndex);
-            currentBatchIndex++;
-            return row;
-        }
+    @Override
+    protected DemoExportUsageRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        DemoExportUsageRow row = new DemoExportUsageRow();
+        row.setTenantCode(rs.getString("tenant_code"));
+        row.setUsageDate(rs.getObject("usage_date", LocalDate.class));
+        row.setProductCode(rs.getString("product_code"));
+        row.setProductName(rs.getString("product_name"));
+        row.setPlanTier(rs.getString("plan_tier"));
+        row.setRegion(rs.getString("region"));
+        row.setUsageQty(rs.getBigDecimal("usage_qty"));
+        row.setUnit(rs.getString("unit"));
+        row.setUnitPrice(rs.getBigDecimal("unit_price"));
+        row.setAmount(rs.getBigDecimal("amount"));
+        row.setCurrency(rs.getString("currency"));
+        row.setTaxRate(rs.getBigDecimal("tax_rate"));
+        row.setBillable(rs.getBoolean("is_billable"));
+        row.setStatus(rs.getString("status"));
+        return row;
     }
 }
-
-
@@ -63,6 +63,9 @@ public class ExportTaskEntity {
     @Column(name = "query_params", columnDefinition = "JSON")
     private String queryParams;
 
+    @Column(name = "checkpoint", columnDefinition = "TEXT")
+    private String checkpoint;
+
     @Column(name = "worker_id", length = 64)
     private String workerId;
 
@@ -197,6 +200,14 @@ public class ExportTaskEntity {
         this.queryParams = queryParams;
     }
 
+    public String getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(String checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
     public String getWorkerId() {
         return workerId;
     }
@@ -2,11 +2,9 @@ package com.tiny.export.persistence;
 
 import com.tiny.export.service.ExportTaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,9 +23,9 @@ public interface ExportTaskRepository extends JpaRepository<ExportTaskEntity, Lo
     List<ExportTaskEntity> findStuckTasks(@Param("status") ExportTaskStatus status,
                                           @Param("threshold") LocalDateTime threshold);
 
-    @Transactional
-    @Modifying
-    @Query("delete from ExportTaskEntity t where t.expireAt is not null and t.expireAt < :deadline")
-    int deleteExpired(LocalDateTime deadline);
+    /**
+     * 已过期的任务（按过期时间先后，每批最多 500 个）
+     */
+    List<ExportTaskEntity> findTop500ByExpireAtLessThanOrderByExpireAtAsc(LocalDateTime deadline);
 }
 
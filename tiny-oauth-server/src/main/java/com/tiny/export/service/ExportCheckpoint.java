@@ -0,0 +1,157 @@
+package com.tiny.export.service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ExportCheckpoint —— 异步导出断点（JSON 持久化到 export_task.checkpoint）
+ *
+ * 每写完一个分段文件保存一次：已完成的分段、下一段从哪个 sheet 的哪个键值之后继续，
+ * 以及该 sheet 已写部分的合计中间值。键值与合计值保留 Java 类型（{@link TypedValue}），
+ * 续读时按原类型绑定 SQL 参数。
+ */
+public class ExportCheckpoint {
+
+    private List<String> parts = new ArrayList<>(); // 已完成的分段文件（按顺序）
+    private int sheetIndex; // 下一段从第几个 sheet 开始
+    private List<TypedValue> lastKey; // 该 sheet 已写出的最后一行键值，null 表示从头开始
+    private Map<String, TypedValue> sums; // 该 sheet 已写部分的合计中间值
+    private long processedRows; // 已写出的总行数
+
+    /**
+     * 带类型的值
+     *
+     * @param type  类型标识，见 {@link #of(Object)}
+     * @param value 字符串形式
+     */
+    public record TypedValue(String type, String value) {
+
+        public static TypedValue of(Object v) {
+            if (v == null) {
+                return null;
+            }
+            String type;
+            if (v instanceof String) type = "string";
+            else if (v instanceof Integer) type = "int";
+            else if (v instanceof Long) type = "long";
+            else if (v instanceof BigDecimal) type = "decimal";
+            else if (v instanceof BigInteger) type = "bigint";
+            else if (v instanceof Double) type = "double";
+            else if (v instanceof Boolean) type = "boolean";
+            else if (v instanceof Timestamp) type = "timestamp";
+            else if (v instanceof java.sql.Date) type = "sqldate";
+            else if (v instanceof LocalDateTime) type = "datetime";
+            else if (v instanceof LocalDate) type = "date";
+            else throw new IllegalArgumentException("断点不支持的值类型: " + v.getClass().getName());
+            return new TypedValue(type, v.toString());
+        }
+
+        public Object toValue() {
+            return switch (type) {
+                case "string" -> value;
+                case "int" -> Integer.valueOf(value);
+                case "long" -> Long.valueOf(value);
+                case "decimal" -> new BigDecimal(value);
+                case "bigint" -> new BigInteger(value);
+                case "double" -> Double.valueOf(value);
+                case "boolean" -> Boolean.valueOf(value);
+                case "timestamp" -> Timestamp.valueOf(value);
+                case "sqldate" -> java.sql.Date.valueOf(value);
+                case "datetime" -> LocalDateTime.parse(value);
+                case "date" -> LocalDate.parse(value);
+                default -> throw new IllegalArgumentException("断点中未知的值类型: " + type);
+            };
+        }
+    }
+
+    public static List<TypedValue> encodeKey(List<Object> key) {
+        if (key == null) {
+            return null;
+        }
+        List<TypedValue> encoded = new ArrayList<>(key.size());
+        for (Object v : key) {
+            encoded.add(TypedValue.of(v));
+        }
+        return encoded;
+    }
+
+    public static List<Object> decodeKey(List<TypedValue> key) {
+        if (key == null) {
+            return null;
+        }
+        List<Object> decoded = new ArrayList<>(key.size());
+        for (TypedValue v : key) {
+            decoded.add(v == null ? null : v.toValue());
+        }
+        return decoded;
+    }
+
+    public static Map<String, TypedValue> encodeSums(Map<String, Object> sumMap) {
+        if (sumMap == null) {
+            return null;
+        }
+        Map<String, TypedValue> encoded = new LinkedHashMap<>();
+        sumMap.forEach((k, v) -> encoded.put(k, TypedValue.of(v)));
+        return encoded;
+    }
+
+    /**
+     * 还原合计中间值；字段集合以当前表头为准，断点中没有的字段为 null
+     */
+    public static Map<String, Object> decodeSums(Map<String, TypedValue> sums, List<String> leafFields) {
+        Map<String, Object> decoded = new HashMap<>();
+        for (String f : leafFields) {
+            TypedValue v = sums == null ? null : sums.get(f);
+            decoded.put(f, v == null ? null : v.toValue());
+        }
+        return decoded;
+    }
+
+    public List<String> getParts() {
+        return parts;
+    }
+
+    public void setParts(List<String> parts) {
+        this.parts = parts;
+    }
+
+    public int getSheetIndex() {
+        return sheetIndex;
+    }
+
+    public void setSheetIndex(int sheetIndex) {
+        this.sheetIndex = sheetIndex;
+    }
+
+    public List<TypedValue> getLastKey() {
+        return lastKey;
+    }
+
+    public void setLastKey(List<TypedValue> lastKey) {
+        this.lastKey = lastKey;
+    }
+
+    public Map<String, TypedValue> getSums() {
+        return sums;
+    }
+
+    public void setSums(Map<String, TypedValue> sums) {
+        this.sums = sums;
+    }
+
+    public long getProcessedRows() {
+        return processedRows;
+    }
+
+    public void setProcessedRows(long processedRows) {
+        this.processedRows = processedRows;
+    }
+}
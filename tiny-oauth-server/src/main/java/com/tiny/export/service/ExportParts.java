@@ -0,0 +1,79 @@
+package com.tiny.export.service;
+
+import com.tiny.export.core.ExportFormat;
+import com.tiny.export.core.ExportRequest;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ExportParts —— 分段文件的合并与清理
+ *
+ *  - 只有一段：直接作为结果文件
+ *  - 单 sheet CSV 与 JSONL（含 gzip）：按顺序拼接。续段不带 BOM 与表头；gzip 多成员拼接仍是合法的 gzip 文件
+ *  - XLSX 与多 sheet CSV：每段都是完整文件，打包为 zip（part-001.xlsx、part-002.xlsx ...）
+ */
+final class ExportParts {
+
+    private ExportParts() {
+    }
+
+    static Path assemble(ExportRequest request, String taskId, List<Path> parts) throws IOException {
+        String extension = ExportFormat.fileExtension(request);
+        if (parts.size() == 1) {
+            Path target = Files.createTempFile("export-" + taskId, extension);
+            Files.move(parts.get(0), target, StandardCopyOption.REPLACE_EXISTING);
+            return target;
+        }
+        if (ExportFormat.of(request) != ExportFormat.XLSX && !ExportFormat.isZip(request)) {
+            Path target = Files.createTempFile("export-" + taskId, extension);
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Path part : parts) {
+                    try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                        long size = in.size();
+                        long position = 0;
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    }
+                }
+            }
+            return target;
+        }
+        Path target = Files.createTempFile("export-" + taskId, ".zip");
+        try (ZipOutputStream zip = new ZipOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(target), 64 * 1024), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < parts.size(); i++) {
+                zip.putNextEntry(new ZipEntry(String.format("part-%03d%s", i + 1, extension)));
+                Files.copy(parts.get(i), zip);
+                zip.closeEntry();
+            }
+        }
+        return target;
+    }
+
+    /**
+     * 删除任务的分段目录（不存在时忽略）
+     */
+    static void deleteDirectory(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path p : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
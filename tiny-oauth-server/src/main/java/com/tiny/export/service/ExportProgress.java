@@ -0,0 +1,123 @@
+package com.tiny.export.service;
+
+import com.tiny.export.core.RowEstimate;
+import com.tiny.export.persistence.ExportTaskEntity;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ExportProgress —— 单个运行中任务的进度计数
+ *
+ * 取数 / 写出线程只做无锁累加（多个 sheet 并行取数时可能有多个线程），不触发任何数据库写入；
+ * 由 {@link ExportProgressTracker} 的后台线程按固定节奏批量落库。
+ *
+ * 百分比：每个 sheet 都估算出行数时按已处理行数 / 估算总行数；否则每个 sheet 都有首列键值范围时，
+ * 按各 sheet 当前行键值所处位置的平均值（{@link #advance}）；其余情况未知。
+ */
+final class ExportProgress {
+
+    private final ExportTaskEntity task;
+    private final long totalRows;
+    private final LongAdder processedRows = new LongAdder();
+    private final RowEstimate.KeyRange[] keyRanges; // 按键值位置推算进度时各 sheet 的键值范围，否则为 null
+    private final double[] positions; // 各 sheet 当前位置（0 ~ 1），读写不加锁，只用于展示
+
+    // 以下仅由刷新线程访问
+    long flushedRows = -1;
+    long flushedAt;
+
+    ExportProgress(ExportTaskEntity task, List<RowEstimate> estimates) {
+        this.task = task;
+        long sum = 0;
+        boolean allRows = true;
+        boolean allRanges = !estimates.isEmpty();
+        for (RowEstimate estimate : estimates) {
+            if (estimate.hasRows()) {
+                sum += estimate.rows();
+            } else {
+                allRows = false;
+            }
+            allRanges &= estimate.keyRange() != null;
+        }
+        if (allRows || !allRanges) {
+            // 部分 sheet 未知时沿用已知部分之和
+            this.totalRows = sum;
+            this.keyRanges = null;
+            this.positions = null;
+        } else {
+            this.totalRows = -1;
+            this.keyRanges = estimates.stream().map(RowEstimate::keyRange).toArray(RowEstimate.KeyRange[]::new);
+            this.positions = new double[keyRanges.length];
+        }
+    }
+
+    void increment(long delta) {
+        processedRows.add(delta);
+    }
+
+    /**
+     * 是否按键值位置推算进度；是时取数需要带上排序键以便调用 {@link #advance}
+     */
+    boolean isKeyDriven() {
+        return keyRanges != null;
+    }
+
+    /**
+     * 记录某个 sheet 刚处理的一行的排序键
+     */
+    void advance(int sheetIndex, List<Object> key) {
+        if (keyRanges != null && key != null) {
+            positions[sheetIndex] = keyRanges[sheetIndex].fractionOf(key);
+        }
+    }
+
+    /**
+     * 从断点继续时以断点记录的已写行数为起点（在开始累加之前调用），之前的 sheet 视为已完成
+     */
+    void resumeFrom(long rows, int sheetIndex) {
+        processedRows.reset();
+        processedRows.add(rows);
+        if (positions != null) {
+            for (int i = 0; i < sheetIndex && i < positions.length; i++) {
+                positions[i] = 1;
+            }
+        }
+    }
+
+    String getTaskId() {
+        return task.getTaskId();
+    }
+
+    /**
+     * markRunning 时的任务快照，本地轮询以它为底叠加实时进度
+     */
+    ExportTaskEntity getTask() {
+        return task;
+    }
+
+    long getProcessedRows() {
+        return processedRows.sum();
+    }
+
+    Long getTotalRowsOrNull() {
+        return totalRows > 0 ? totalRows : null;
+    }
+
+    /**
+     * 百分比（完成前最多 99），无法推算时为 null
+     */
+    Integer percent(long rows) {
+        if (totalRows > 0) {
+            return (int) Math.min(99, (rows * 100L) / totalRows);
+        }
+        if (positions != null) {
+            double sum = 0;
+            for (double p : positions) {
+                sum += p;
+            }
+            return (int) Math.min(99, sum * 100 / positions.length);
+        }
+        return null;
+    }
+}
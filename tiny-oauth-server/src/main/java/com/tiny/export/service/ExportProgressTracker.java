@@ -0,0 +1,273 @@
+package com.tiny.export.service;
+
+import com.tiny.export.core.RowEstimate;
+import com.tiny.export.persistence.ExportTaskEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExportProgressTracker —— 本节点运行中导出任务的进度
+ *
+ *  - 导出线程只对 {@link ExportProgress} 做无锁累加
+ *  - 一个后台线程每 export.progress.flush-interval-ms 把有变化的任务一次批量更新到 export_task；
+ *    进度无变化的任务每 export.progress.heartbeat-seconds 只续一次心跳（僵尸任务检测依赖 last_heartbeat）
+ *  - 任务在本节点运行时，轮询直接由内存给出实时进度（{@link #liveView}），订阅者（SSE）每
+ *    export.progress.push-interval-ms 收到一次推送；其他节点上的任务仍读取数据库
+ *  - 推送在独立的 export-progress-push 线程执行，慢客户端阻塞写出时不会推迟数据库刷新与心跳
+ */
+@Service
+public class ExportProgressTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportProgressTracker.class);
+
+    /**
+     * 进度订阅者（如 SSE 连接）
+     */
+    public interface Listener {
+
+        /**
+         * 推送实时进度
+         *
+         * @return false 表示订阅已失效（如客户端断开），不再推送
+         */
+        boolean onProgress(ExportTaskEntity view);
+
+        /**
+         * 任务在本节点结束（成功或失败），最终状态以数据库为准
+         */
+        void onEnd();
+    }
+
+    private final ExportTaskService taskService;
+    private final long flushIntervalMs;
+    private final long heartbeatMs;
+    private final long pushIntervalMs;
+
+    private final Map<String, ExportProgress> running = new ConcurrentHashMap<>();
+    private final Map<String, List<Listener>> listeners = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = newScheduler("export-progress");
+    private final ScheduledExecutorService pushScheduler = newScheduler("export-progress-push");
+
+    public ExportProgressTracker(ExportTaskService taskService,
+                                 @Value("${export.progress.flush-interval-ms:2000}") long flushIntervalMs,
+                                 @Value("${export.progress.heartbeat-seconds:30}") long heartbeatSeconds,
+                                 @Value("${export.progress.push-interval-ms:1000}") long pushIntervalMs) {
+        this.taskService = taskService;
+        this.flushIntervalMs = Math.max(100, flushIntervalMs);
+        this.heartbeatMs = Math.max(1, heartbeatSeconds) * 1000;
+        this.pushIntervalMs = Math.max(100, pushIntervalMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        pushScheduler.scheduleWithFixedDelay(this::pushSafely, pushIntervalMs, pushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        pushScheduler.shutdownNow();
+        scheduler.shutdownNow();
+        flushSafely();
+    }
+
+    /**
+     * 登记一个开始运行的任务
+     *
+     * @param task      markRunning 返回的任务
+     * @param estimates 各 sheet 的行数估算
+     */
+    ExportProgress track(ExportTaskEntity task, List<RowEstimate> estimates) {
+        ExportProgress progress = new ExportProgress(task, estimates);
+        running.put(task.getTaskId(), progress);
+        return progress;
+    }
+
+    /**
+     * 立即把当前行数写入数据库（任务失败、写入最终状态之前调用，保留已处理行数）
+     */
+    void flushNow(ExportProgress progress) {
+        try {
+            taskService.markProgressBatch(List.of(update(progress, progress.getProcessedRows())));
+        } catch (RuntimeException ex) {
+            log.warn("failed to flush export progress of task {}", progress.getTaskId(), ex);
+        }
+    }
+
+    /**
+     * 任务结束，移出跟踪并通知订阅者（可重复调用）。应在最终状态写入数据库之后调用，
+     * 订阅者收到结束通知时读取到的即为最终状态
+     */
+    void untrack(ExportProgress progress) {
+        if (!running.remove(progress.getTaskId(), progress)) {
+            return;
+        }
+        List<Listener> ended = listeners.remove(progress.getTaskId());
+        if (ended != null) {
+            ended.forEach(ExportProgressTracker::endQuietly);
+        }
+    }
+
+    /**
+     * 本节点正在运行的任务的实时视图（不访问数据库），其他情况为空
+     */
+    public Optional<ExportTaskEntity> liveView(String taskId) {
+        ExportProgress progress = running.get(taskId);
+        return progress == null ? Optional.empty() : Optional.of(view(progress));
+    }
+
+    /**
+     * 订阅实时进度
+     *
+     * @return false 表示任务不在本节点运行，调用方应改为读取数据库
+     */
+    public boolean subscribe(String taskId, Listener listener) {
+        ExportProgress progress = running.get(taskId);
+        if (progress == null) {
+            return false;
+        }
+        // 先在调用线程推送一次再登记，推送线程不会与这次推送同时调用同一个订阅者
+        if (!listener.onProgress(view(progress))) {
+            return true;
+        }
+        listeners.computeIfAbsent(taskId, k -> new CopyOnWriteArrayList<>()).add(listener);
+        if (!running.containsKey(taskId)) {
+            // 与 untrack 并发：任务已结束
+            List<Listener> ended = listeners.remove(taskId);
+            if (ended != null) {
+                ended.forEach(ExportProgressTracker::endQuietly);
+            }
+        }
+        return true;
+    }
+
+    public void unsubscribe(String taskId, Listener listener) {
+        listeners.computeIfPresent(taskId, (k, list) -> {
+            list.remove(listener);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    /**
+     * 只在 export-progress 线程执行
+     */
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("export progress flush failed, will retry in {}ms", flushIntervalMs, ex);
+        }
+    }
+
+    private void flush() {
+        if (running.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<ExportTaskService.ProgressUpdate> updates = new ArrayList<>();
+        List<ExportProgress> flushed = new ArrayList<>();
+        List<Long> flushedRows = new ArrayList<>();
+        for (ExportProgress progress : running.values()) {
+            long rows = progress.getProcessedRows();
+            if (rows != progress.flushedRows || now - progress.flushedAt >= heartbeatMs) {
+                updates.add(update(progress, rows));
+                flushed.add(progress);
+                flushedRows.add(rows);
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+        taskService.markProgressBatch(updates);
+        for (int i = 0; i < flushed.size(); i++) {
+            flushed.get(i).flushedRows = flushedRows.get(i);
+            flushed.get(i).flushedAt = now;
+        }
+    }
+
+    /**
+     * 只在 export-progress-push 线程执行
+     */
+    private void pushSafely() {
+        try {
+            push();
+        } catch (RuntimeException ex) {
+            log.warn("export progress push failed, will retry in {}ms", pushIntervalMs, ex);
+        }
+    }
+
+    private void push() {
+        for (Map.Entry<String, List<Listener>> entry : listeners.entrySet()) {
+            ExportProgress progress = running.get(entry.getKey());
+            if (progress == null) {
+                continue;
+            }
+            ExportTaskEntity view = view(progress);
+            for (Listener listener : entry.getValue()) {
+                boolean alive;
+                try {
+                    alive = listener.onProgress(view);
+                } catch (RuntimeException ex) {
+                    alive = false;
+                }
+                if (!alive) {
+                    unsubscribe(entry.getKey(), listener);
+                }
+            }
+        }
+    }
+
+    private static ExportTaskService.ProgressUpdate update(ExportProgress progress, long rows) {
+        return new ExportTaskService.ProgressUpdate(progress.getTaskId(), progress.percent(rows), rows,
+            progress.getTotalRowsOrNull());
+    }
+
+    private static ExportTaskEntity view(ExportProgress progress) {
+        ExportTaskEntity view = new ExportTaskEntity();
+        BeanUtils.copyProperties(progress.getTask(), view);
+        long rows = progress.getProcessedRows();
+        view.setStatus(ExportTaskStatus.RUNNING);
+        view.setProcessedRows(rows);
+        Integer percent = progress.percent(rows);
+        if (percent != null) {
+            view.setProgress(percent);
+        }
+        if (progress.getTotalRowsOrNull() != null) {
+            view.setTotalRows(progress.getTotalRowsOrNull());
+        }
+        view.setLastHeartbeat(LocalDateTime.now());
+        return view;
+    }
+
+    private static ScheduledExecutorService newScheduler(String name) {
+        return Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static void endQuietly(Listener listener) {
+        try {
+            listener.onEnd();
+        } catch (RuntimeException ignored) {
+            // 客户端已断开
+        }
+    }
+}
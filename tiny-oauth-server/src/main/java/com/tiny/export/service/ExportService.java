@@ -2,15 +2,25 @@ package com.tiny.export.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tiny.export.admission.ExportAdmission;
+import com.tiny.export.admission.ExportAdmissionService;
 import com.tiny.export.core.AggregateStrategy;
+import com.tiny.export.core.CloseableIterator;
 import com.tiny.export.core.DataProvider;
+import com.tiny.export.core.ExportFormat;
 import com.tiny.export.core.ExportRequest;
 import com.tiny.export.core.FilterAwareDataProvider;
+import com.tiny.export.core.ResumableDataProvider;
+import com.tiny.export.core.ResumableIterator;
+import com.tiny.export.core.RowEstimate;
 import com.tiny.export.core.SheetConfig;
 import com.tiny.export.core.TopInfoDecorator;
 import com.tiny.export.persistence.ExportTaskEntity;
+import com.tiny.export.storage.ExportFileStore;
+import com.tiny.export.storage.StoredExportFile;
 import com.tiny.export.util.HeaderBuilder;
 import com.tiny.export.writer.WriterAdapter;
+import com.tiny.export.writer.text.TextWriterAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -19,17 +29,22 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedOutputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import jakarta.annotation.PostConstruct;
 
 /**
@@ -41,11 +56,12 @@ public class ExportService {
     private static final Logger log = LoggerFactory.getLogger(ExportService.class);
     private static final String TRACE_PREFIX = "[EXPORT_TRACE]";
 
-    private static final int MAX_SYSTEM_CONCURRENT = 10;
-    private static final int MAX_USER_CONCURRENT = 3;
     private static final int DEFAULT_EXPIRE_DAYS = 7;
     private static final int DEFAULT_PAGE_SIZE = 1000;
     private static final Duration RECOVERY_HEARTBEAT_TIMEOUT = Duration.ofMinutes(5);
+    /**
+     * 连续无进展的尝试次数上限：每保存一次断点，尝试次数重新从本次算起
+     */
     private static final int MAX_ATTEMPTS = 3;
 
     private final WriterAdapter writerAdapter;
@@ -55,9 +71,19 @@ public class ExportService {
     private final ThreadPoolTaskExecutor executor;
     private final ExportTaskService exportTaskService;
     private final ObjectMapper objectMapper;
-    private final int queueRejectThreshold;
+    private final ExportAdmissionService admissionService;
+    private final ExportFileStore fileStore;
+    private final ExportProgressTracker progressTracker;
+    private final Duration syncMaxWait;
+    private final ThreadPoolTaskExecutor fetchExecutor;
+    private final boolean pipelineEnabled;
+    private final int pipelineBatchRows;
+    private final int pipelineInFlightBatches;
+    private final int sheetParallelism;
+    private final boolean checkpointEnabled;
+    private final long checkpointPartRows;
+    private final Path checkpointDir;
 
-    private final Map<String, RuntimeTask> runtimeTasks = new ConcurrentHashMap<>();
     private final String workerId = UUID.randomUUID().toString();
 
     public ExportService(WriterAdapter writerAdapter,
@@ -67,7 +93,20 @@ public class ExportService {
                          @Qualifier("exportExecutor") ThreadPoolTaskExecutor executor,
                          ExportTaskService exportTaskService,
                          ObjectMapper objectMapper,
-                         @Value("${export.executor.queue-reject-threshold:900}") int queueRejectThreshold) {
+                         ExportAdmissionService admissionService,
+                         ExportFileStore fileStore,
+                         ExportProgressTracker progressTracker,
+                         @Value("${export.admission.sync-max-wait-seconds:30}") int syncMaxWaitSeconds,
+                         @Qualifier("exportFetchExecutor") ThreadPoolTaskExecutor fetchExecutor,
+                         @Value("${export.pipeline.enabled:true}") boolean pipelineEnabled,
+                         @Value("${export.pipeline.batch-rows:500}") int pipelineBatchRows,
+                         @Value("${export.pipeline.in-flight-batches:4}") int pipelineInFlightBatches,
+                         @Value("${export.pipeline.sheet-parallelism:4}") int sheetParallelism,
+                         @Value("${export.checkpoint.enabled:true}") boolean checkpointEnabled,
+                         @Value("${export.checkpoint.part-rows:500000}") long checkpointPartRows,
+                         @Value("${export.checkpoint.dir:}") String checkpointDir,
+                         @Value("${export.storage.type:local}") String storageType,
+                         @Value("${export.storage.dir:}") String storageDir) {
         this.writerAdapter = writerAdapter;
         this.providers = providers;
         this.topInfoDecorator = topInfoDecorator;
@@ -75,7 +114,39 @@ public class ExportService {
         this.executor = executor;
         this.exportTaskService = exportTaskService;
         this.objectMapper = objectMapper;
-        this.queueRejectThreshold = queueRejectThreshold;
+        this.admissionService = admissionService;
+        this.fileStore = fileStore;
+        this.progressTracker = progressTracker;
+        this.syncMaxWait = Duration.ofSeconds(Math.max(0, syncMaxWaitSeconds));
+        this.fetchExecutor = fetchExecutor;
+        this.pipelineEnabled = pipelineEnabled;
+        this.pipelineBatchRows = pipelineBatchRows;
+        this.pipelineInFlightBatches = pipelineInFlightBatches;
+        this.sheetParallelism = sheetParallelism;
+        this.checkpointEnabled = checkpointEnabled;
+        this.checkpointPartRows = Math.max(1, checkpointPartRows);
+        this.checkpointDir = resolveCheckpointDir(checkpointDir, storageType, storageDir);
+    }
+
+    /**
+     * 分段目录：未配置时，共享存储（export.storage.type=shared，即集群部署）下使用共享目录中的 .checkpoint-parts，
+     * 否则使用本机临时目录；集群部署时显式配置到本机临时目录会告警 —— 其他节点接手任务时找不到分段，只能从头导出
+     */
+    static Path resolveCheckpointDir(String configured, String storageType, String storageDir) {
+        boolean shared = "shared".equalsIgnoreCase(storageType) && storageDir != null && !storageDir.isBlank();
+        Path tmp = Path.of(System.getProperty("java.io.tmpdir")).toAbsolutePath();
+        if (configured == null || configured.isBlank()) {
+            return shared
+                ? Path.of(storageDir).resolve(".checkpoint-parts").toAbsolutePath()
+                : tmp.resolve("tiny-export-parts");
+        }
+        Path dir = Path.of(configured).toAbsolutePath();
+        if (shared && dir.startsWith(tmp)) {
+            log.warn("export.checkpoint.dir={} is under the node-local temp directory while export.storage.type=shared,"
+                + " so checkpointed exports resumed on another node will restart from scratch;"
+                + " point it to a directory shared by all nodes", dir);
+        }
+        return dir;
     }
 
     @PostConstruct
@@ -93,12 +164,16 @@ public class ExportService {
     }
 
     /**
-     * 同步导出
+     * 同步导出 —— 在集群准入队列中最多等待 export.admission.sync-max-wait-seconds，超时提示稍后重试
      */
     public void exportSync(ExportRequest request, OutputStream out, String currentUserId) throws Exception {
         Instant start = Instant.now();
         validateRequest(request);
-        executeWithConcurrency(currentUserId, () -> performExport(request, out, null));
+        try (ExportAdmission admission = admissionService.submit(request.getTenantId(), currentUserId, true)) {
+            admission.await(syncMaxWait);
+            logAdmitted(admission, null, currentUserId);
+            performExport(request, out, null);
+        }
         Map<String, Object> extras = new HashMap<>();
         extras.put("sheetCount", request.getSheets() == null ? 0 : request.getSheets().size());
         logTrace("exportSync", null, currentUserId, Duration.between(start, Instant.now()).toMillis(), extras);
@@ -124,18 +199,35 @@ public class ExportService {
     }
 
     private void scheduleTaskExecution(String taskId, ExportRequest request, String userId) {
-        // 提交前做轻量级限流/观测：若队列过深，直接失败提示稍后再试
-        if (executor.getThreadPoolExecutor().getQueue().size() > queueRejectThreshold) {
-            exportTaskService.markFailed(taskId, "任务排队过多，请稍后重试", "QUEUE_SATURATED");
+        // 进入集群准入队列：任务保持 PENDING，获准后才占用导出线程
+        ExportAdmission admission;
+        try {
+            admission = admissionService.submit(request.getTenantId(), userId, false);
+        } catch (RuntimeException ex) {
+            log.error("export task admission failed taskId={}", taskId, ex);
+            exportTaskService.markFailed(taskId, "导出排队失败: " + ex.getMessage(), "ADMISSION_ERROR");
             Map<String, Object> extras = new HashMap<>();
-            extras.put("queueSize", executor.getThreadPoolExecutor().getQueue().size());
-            extras.put("active", executor.getActiveCount());
-            logTrace("runTask.rejected.queue", taskId, userId, 0, extras);
+            extras.put("error", ex.getMessage());
+            logTrace("runTask.rejected", taskId, userId, 0, extras);
             return;
         }
+        Map<String, Object> extras = new HashMap<>();
+        extras.put("ticketId", admission.getTicketId());
+        extras.put("tenantId", request.getTenantId());
+        logTrace("runTask.queued", taskId, userId, 0, extras);
+        admission.admitted().thenRun(() -> dispatchTask(taskId, request, userId, admission));
+    }
 
+    private void dispatchTask(String taskId, ExportRequest request, String userId, ExportAdmission admission) {
+        logAdmitted(admission, taskId, userId);
         try {
-            CompletableFuture.runAsync(() -> runTask(taskId, request, userId), executor)
+            CompletableFuture.runAsync(() -> {
+                try {
+                    runTask(taskId, request, userId);
+                } finally {
+                    admission.close();
+                }
+            }, executor)
                 .whenComplete((v, ex) -> {
                     if (ex != null) {
                         log.error("async export task failed taskId={}", taskId, ex);
@@ -146,6 +238,7 @@ public class ExportService {
                     }
                 });
         } catch (RejectedExecutionException rex) {
+            admission.close();
             log.warn("export task rejected by executor queue taskId={}", taskId, rex);
             exportTaskService.markFailed(taskId, "任务排队过多，请稍后重试", "REJECTED");
             Map<String, Object> extras = new HashMap<>();
@@ -156,55 +249,215 @@ public class ExportService {
         }
     }
 
+    private void logAdmitted(ExportAdmission admission, String taskId, String userId) {
+        Map<String, Object> extras = new HashMap<>();
+        extras.put("ticketId", admission.getTicketId());
+        extras.put("localTickets", admissionService.getLocalTicketCount());
+        logTrace("admission.admitted", taskId, userId, admission.getWaitedMillis(), extras);
+    }
+
     private void runTask(String taskId, ExportRequest request, String userId) {
         Instant start = Instant.now();
-        exportTaskService.markRunning(taskId, workerId);
-        TaskProgressReporter reporter = new TaskProgressReporter(exportTaskService, taskId, estimateTotalRows(request));
-        reporter.flush(true);
+        ExportTaskEntity task = exportTaskService.markRunning(taskId, workerId);
+        ExportProgress progress = progressTracker.track(task, estimateRows(taskId, request, userId));
+        boolean checkpointed = isCheckpointable(request);
         Path tmpFile = null;
         try {
-            tmpFile = Files.createTempFile("export-" + taskId, ".xlsx");
-            Path finalTmpFile = tmpFile;
-            Path absoluteFile = finalTmpFile.toAbsolutePath();
-            Path finalAbsoluteFile = absoluteFile;
-            executeWithConcurrency(userId, () -> {
-                try (OutputStream os = Files.newOutputStream(finalTmpFile)) {
-                    performExport(request, os, reporter);
+            if (checkpointed) {
+                tmpFile = performCheckpointedExport(taskId, request, userId, task.getCheckpoint(), progress);
+            } else {
+                tmpFile = Files.createTempFile("export-" + taskId, ExportFormat.fileExtension(request));
+                try (OutputStream os = Files.newOutputStream(tmpFile)) {
+                    performExport(request, os, progress);
                 }
-            });
-            Long totalRowsValue = reporter.getTotalRowsOrNull();
+            }
+            StoredExportFile stored = fileStore.save(taskId, tmpFile, resultFileName(request, tmpFile));
+            Long totalRowsValue = progress.getTotalRowsOrNull();
             if (totalRowsValue == null) {
-                long processed = reporter.getProcessedRows();
+                long processed = progress.getProcessedRows();
                 totalRowsValue = processed > 0 ? processed : null;
             }
-            exportTaskService.markSuccess(taskId, finalAbsoluteFile.toString(),
+            exportTaskService.markSuccess(taskId, stored.key(),
                 "/export/task/" + taskId + "/download", totalRowsValue);
             Map<String, Object> extras = new HashMap<>();
-            extras.put("processedRows", reporter.getProcessedRows());
+            extras.put("processedRows", progress.getProcessedRows());
             extras.put("totalRows", totalRowsValue);
             extras.put("sheetCount", request.getSheets() == null ? 0 : request.getSheets().size());
-            extras.put("tempFile", finalAbsoluteFile.toString());
+            extras.put("file", stored.key());
+            extras.put("fileSize", stored.size());
             logTrace("runTask.success", taskId, userId, Duration.between(start, Instant.now()).toMillis(), extras);
         } catch (Exception ex) {
             log.error("async export failed taskId={}", taskId, ex);
-            reporter.flush(true);
-            exportTaskService.markFailed(taskId, ex.getMessage(), ex.getClass().getSimpleName());
+            progressTracker.flushNow(progress);
+            // 分段导出保留断点重新排队，从最后一个分段继续；连续无进展的尝试达到上限才失败
+            boolean retry = checkpointed && attemptsOf(taskId) < MAX_ATTEMPTS;
+            if (retry) {
+                exportTaskService.markRetrying(taskId, ex.getMessage(), ex.getClass().getSimpleName());
+            } else {
+                exportTaskService.markFailed(taskId, ex.getMessage(), ex.getClass().getSimpleName());
+            }
+            if (checkpointed && !retry) {
+                discardCheckpoint(taskId);
+            }
             Map<String, Object> extras = new HashMap<>();
             extras.put("error", ex.getMessage());
+            extras.put("retry", retry);
             logTrace("runTask.failed", taskId, userId, Duration.between(start, Instant.now()).toMillis(), extras);
+            if (retry) {
+                scheduleTaskExecution(taskId, request, userId);
+            }
+        } finally {
+            // 最终状态已写入数据库，结束跟踪并通知订阅者
+            progressTracker.untrack(progress);
         }
     }
 
-    private void performExport(ExportRequest request, OutputStream out, TaskProgressReporter reporter) throws Exception {
-        Instant buildStart = Instant.now();
-        List<SheetWriteModel> sheetModels = buildSheetModels(request, reporter);
-        long buildMs = Duration.between(buildStart, Instant.now()).toMillis();
+    /**
+     * 当前尝试次数（markRunning 时加一，保存断点时重置为 1），读取失败时按已达上限处理
+     */
+    private int attemptsOf(String taskId) {
+        try {
+            return exportTaskService.findByTaskId(taskId)
+                .map(ExportTaskEntity::getAttempt)
+                .orElse(MAX_ATTEMPTS);
+        } catch (RuntimeException ex) {
+            log.warn("failed to read attempts of export task {}", taskId, ex);
+            return MAX_ATTEMPTS;
+        }
+    }
+
+    /**
+     * 下载文件名：请求的 fileName（替换路径分隔符等非法字符）+ 结果文件扩展名
+     */
+    private static String resultFileName(ExportRequest request, Path file) {
+        String name = request.getFileName();
+        String base = name == null || name.isBlank() ? "export" : name.trim().replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_");
+        String extension = ExportFormat.fileExtension(request);
+        if (!file.getFileName().toString().endsWith(extension)) {
+            // 分段导出的多个 XLSX 分段打包为 zip
+            extension = ".zip";
+        }
+        return base + extension;
+    }
+
+    /**
+     * 全部 sheet 的 DataProvider 都支持续读时才分段导出
+     */
+    private boolean isCheckpointable(ExportRequest request) {
+        if (!checkpointEnabled) {
+            return false;
+        }
+        for (SheetConfig sc : request.getSheets()) {
+            if (!(providers.get(sc.getExportType()) instanceof ResumableDataProvider<?>)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 分段导出：每写满 export.checkpoint.part-rows 行（或写完全部 sheet）落盘一个分段文件并保存断点，
+     * 节点宕机后任务被重新调度时从断点继续，全部完成后合并分段（见 {@link ExportParts}）。
+     * 分段目录需要各节点共享（export.checkpoint.dir），断点中的分段文件缺失时从头导出。
+     */
+    private Path performCheckpointedExport(String taskId, ExportRequest request, String userId, String savedCheckpoint,
+                                           ExportProgress progress) throws Exception {
+        Path partDir = checkpointDir.resolve(taskId);
+        ExportCheckpoint checkpoint = restoreCheckpoint(taskId, savedCheckpoint);
+        if (checkpoint == null) {
+            ExportParts.deleteDirectory(partDir);
+            checkpoint = new ExportCheckpoint();
+        } else {
+            Map<String, Object> extras = new HashMap<>();
+            extras.put("parts", checkpoint.getParts().size());
+            extras.put("sheetIndex", checkpoint.getSheetIndex());
+            extras.put("processedRows", checkpoint.getProcessedRows());
+            logTrace("runTask.resume", taskId, userId, 0, extras);
+        }
+        progress.resumeFrom(checkpoint.getProcessedRows(), checkpoint.getSheetIndex());
+        Files.createDirectories(partDir);
+
+        WriterAdapter writer = resolveWriter(request);
+        String extension = ExportFormat.fileExtension(request);
+        while (checkpoint.getSheetIndex() < request.getSheets().size()) {
+            Instant partStart = Instant.now();
+            Path part = partDir.resolve(String.format("part-%03d%s", checkpoint.getParts().size() + 1, extension));
+            checkpoint = new CheckpointPart(request, checkpoint, progress).write(writer, part);
+            exportTaskService.saveCheckpoint(taskId, serializeCheckpoint(checkpoint), checkpoint.getProcessedRows());
+            Map<String, Object> extras = new HashMap<>();
+            extras.put("part", part.getFileName().toString());
+            extras.put("sheetIndex", checkpoint.getSheetIndex());
+            extras.put("processedRows", checkpoint.getProcessedRows());
+            logTrace("runTask.checkpoint", taskId, userId, Duration.between(partStart, Instant.now()).toMillis(), extras);
+        }
+        List<Path> parts = checkpoint.getParts().stream().map(Path::of).toList();
+        Path result = ExportParts.assemble(request, taskId, parts);
+        ExportParts.deleteDirectory(partDir);
+        return result;
+    }
+
+    private ExportCheckpoint restoreCheckpoint(String taskId, String savedCheckpoint) {
+        if (savedCheckpoint == null || savedCheckpoint.isBlank()) {
+            return null;
+        }
+        ExportCheckpoint checkpoint;
+        try {
+            checkpoint = objectMapper.readValue(savedCheckpoint, ExportCheckpoint.class);
+        } catch (JsonProcessingException e) {
+            log.warn("invalid export checkpoint of task {}, restart from scratch", taskId, e);
+            return null;
+        }
+        for (String part : checkpoint.getParts()) {
+            if (!Files.isRegularFile(Path.of(part))) {
+                log.warn("export checkpoint part {} of task {} is missing, restart from scratch", part, taskId);
+                return null;
+            }
+        }
+        return checkpoint;
+    }
+
+    private String serializeCheckpoint(ExportCheckpoint checkpoint) {
+        try {
+            return objectMapper.writeValueAsString(checkpoint);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("导出断点序列化失败", e);
+        }
+    }
+
+    private void discardCheckpoint(String taskId) {
+        try {
+            exportTaskService.clearCheckpoint(taskId);
+            ExportParts.deleteDirectory(checkpointDir.resolve(taskId));
+        } catch (Exception ex) {
+            log.warn("failed to discard export checkpoint of task {}", taskId, ex);
+        }
+    }
 
-        Instant writeStart = Instant.now();
-        writerAdapter.writeMultiSheet(out, sheetModels);
-        long writeMs = Duration.between(writeStart, Instant.now()).toMillis();
+    private void performExport(ExportRequest request, OutputStream out, ExportProgress progress) throws Exception {
+        Instant buildStart = Instant.now();
+        List<AutoCloseable> resources = new ArrayList<>();
+        long buildMs;
+        long writeMs;
+        try {
+            List<RowPipeline> pipelines = new ArrayList<>();
+            List<SheetWriteModel> sheetModels = buildSheetModels(request, progress, resources, pipelines);
+            startPipelines(pipelines, resolveSheetParallelism(request));
+            buildMs = Duration.between(buildStart, Instant.now()).toMillis();
+
+            Instant writeStart = Instant.now();
+            resolveWriter(request).writeMultiSheet(out, sheetModels);
+            writeMs = Duration.between(writeStart, Instant.now()).toMillis();
+        } finally {
+            // 写出失败时游标/流水线不会被读完，这里兜底停止取数并释放连接
+            for (AutoCloseable resource : resources) {
+                try {
+                    resource.close();
+                } catch (Exception ex) {
+                    log.warn("failed to release export resource", ex);
+                }
+            }
+        }
 
-        if (reporter != null) reporter.flush(true);
         Map<String, Object> extras = new HashMap<>();
         extras.put("buildMs", buildMs);
         extras.put("writeMs", writeMs);
@@ -219,88 +472,125 @@ public class ExportService {
         if (request.getSheets() == null || request.getSheets().isEmpty()) {
             throw new IllegalArgumentException("sheets 不能为空，至少包含一个 sheet");
         }
+        ExportFormat.of(request);
     }
 
-    private void executeWithConcurrency(String userId, ExportCallback callback) throws Exception {
-        validateConcurrencyBeforeStart(userId);
-        String runtimeId = registerRuntimeTask(userId);
-        try {
-            callback.run();
-        } finally {
-            runtimeTasks.remove(runtimeId);
+    /**
+     * XLSX 使用配置的工作簿写出器，CSV / JSONL 使用流式文本写出器
+     */
+    private WriterAdapter resolveWriter(ExportRequest request) {
+        ExportFormat format = ExportFormat.of(request);
+        if (format == ExportFormat.XLSX) {
+            return writerAdapter;
         }
+        return new TextWriterAdapter(format, ExportFormat.isGzip(request), request.getSheets().size() > 1);
     }
 
-    private String registerRuntimeTask(String userId) {
-        String runtimeId = UUID.randomUUID().toString();
-        runtimeTasks.put(runtimeId, new RuntimeTask(runtimeId, userId, Instant.now()));
-        return runtimeId;
-    }
-
-    private void validateConcurrencyBeforeStart(String userId) {
-        long runningSystem = runtimeTasks.size();
-        if (runningSystem >= MAX_SYSTEM_CONCURRENT) {
-            throw new IllegalStateException("系统当前导出任务过多，请稍后重试");
-        }
-        long runningUser = runtimeTasks.values().stream()
-            .filter(t -> Objects.equals(t.userId, userId))
-            .count();
-        if (runningUser >= MAX_USER_CONCURRENT) {
-            throw new IllegalStateException("您有过多并发导出任务，请稍后重试");
+    private List<SheetWriteModel> buildSheetModels(ExportRequest request, ExportProgress progress,
+                                                   List<AutoCloseable> resources, List<RowPipeline> pipelines) {
+        List<SheetWriteModel> sheetModels = new ArrayList<>();
+        // 多个 sheet 并行取数时，写出器尚未轮到的 sheet 需要溢写，否则会阻塞在内存队列上
+        boolean spill = request.getSheets().size() > 1 && resolveSheetParallelism(request) > 1;
+        for (int i = 0; i < request.getSheets().size(); i++) {
+            sheetModels.add(buildSheetModel(request, i, progress, resources, pipelines, spill, null));
         }
-        Map<String, Object> extras = new HashMap<>();
-        extras.put("runningSystem", runningSystem);
-        extras.put("runningUser", runningUser);
-        logTrace("concurrencyChecked", null, userId, 0, extras);
+        return sheetModels;
     }
 
-    private List<SheetWriteModel> buildSheetModels(ExportRequest request, TaskProgressReporter reporter) {
-        List<SheetWriteModel> sheetModels = new ArrayList<>();
+    /**
+     * @param resume 非 null 时按分段导出构建：从断点键值之后续读，行带上排序键（{@link KeyedRow}），
+     *               合计与进度由写出侧的 {@link PartSegment} 累计，取数侧预读的行不计入
+     */
+    private SheetWriteModel buildSheetModel(ExportRequest request, int sheetIndex, ExportProgress progress,
+                                            List<AutoCloseable> resources, List<RowPipeline> pipelines,
+                                            boolean spill, ResumePoint resume) {
+        SheetConfig sc = request.getSheets().get(sheetIndex);
         int configuredPageSize = request.getPageSize();
         int pageSize = configuredPageSize <= 0 ? DEFAULT_PAGE_SIZE : configuredPageSize;
-        for (SheetConfig sc : request.getSheets()) {
-            String exportType = sc.getExportType();
-            DataProvider<?> provider = providers.get(exportType);
-            if (provider == null) {
-                throw new IllegalArgumentException("未注册的 exportType: " + exportType);
-            }
-            String sheetName = sc.getSheetName() == null ? exportType : sc.getSheetName();
-            if (sc.getColumns() == null || sc.getColumns().isEmpty()) {
-                throw new IllegalArgumentException("sheet " + sheetName + " 未配置 columns");
-            }
+        String exportType = sc.getExportType();
+        DataProvider<?> provider = providers.get(exportType);
+        if (provider == null) {
+            throw new IllegalArgumentException("未注册的 exportType: " + exportType);
+        }
+        String sheetName = sc.getSheetName() == null ? exportType : sc.getSheetName();
+        if (sc.getColumns() == null || sc.getColumns().isEmpty()) {
+            throw new IllegalArgumentException("sheet " + sheetName + " 未配置 columns");
+        }
 
-            HeaderBuilder.HeadAndFields hf = HeaderBuilder.build(sc.getColumns());
-            List<List<String>> head = hf.head;
-            List<String> leafFields = hf.leafFields;
+        HeaderBuilder.HeadAndFields hf = HeaderBuilder.build(sc.getColumns());
+        List<List<String>> head = hf.head;
+        List<String> leafFields = hf.leafFields;
 
-            List<List<String>> topInfoRows = topInfoDecorator.getTopInfoRows(request, exportType);
-            if (topInfoRows == null) {
-                topInfoRows = Collections.emptyList();
-            }
+        List<List<String>> topInfoRows = topInfoDecorator.getTopInfoRows(request, exportType);
+        if (topInfoRows == null) {
+            topInfoRows = Collections.emptyList();
+        }
 
-            AggregateStrategy strategy = sc.getAggregateKey() != null ? aggregateMap.get(sc.getAggregateKey()) : null;
+        AggregateStrategy strategy = sc.getAggregateKey() != null ? aggregateMap.get(sc.getAggregateKey()) : null;
 
-            Map<String, Object> sumMap = new HashMap<>();
+        Map<String, Object> sumMap;
+        if (resume != null) {
+            sumMap = ExportCheckpoint.decodeSums(resume.sums(), leafFields);
+        } else {
+            sumMap = new HashMap<>();
             for (String f : leafFields) {
                 sumMap.put(f, null);
             }
+        }
 
-            // 如果 DataProvider 支持过滤能力，则在当前导出上下文中传入 SheetConfig.filters
-            Iterator<?> dataIt;
-            if (provider instanceof FilterAwareDataProvider) {
-                FilterAwareDataProvider<?> filterAware = (FilterAwareDataProvider<?>) provider;
-                try {
-                    if (sc.getFilters() != null) {
-                        filterAware.setFilters(sc.getFilters());
+        // 按键值位置推算进度时需要每行的排序键
+        boolean trackPosition = resume == null && progress != null && progress.isKeyDriven()
+            && provider instanceof ResumableDataProvider<?>;
+        ResumePoint fetchFrom = trackPosition ? new ResumePoint(null, null) : resume;
+        Iterator<?> dataIt = withFilters(provider, sc, () -> fetch(provider, pageSize, fetchFrom));
+        Function<Object, List<Object>> transform = new Function<>() {
+            // 单态缓存：同一 sheet 的行类型几乎总是相同，命中时免去查表
+            private RowAccessor accessor;
+
+            @Override
+            public List<Object> apply(Object item) {
+                RowAccessor current = accessor;
+                if (current == null || current.rowType() != item.getClass()) {
+                    current = RowAccessor.of(item.getClass(), leafFields);
+                    accessor = current;
+                }
+                List<Object> row = current.read(item);
+                if (resume != null) {
+                    // 取数线程紧接 next() 调用，currentKey 即为本行的键
+                    return new KeyedRow(row, ((ResumableIterator<?>) dataIt).currentKey());
+                }
+                if (strategy != null) {
+                    for (int i = 0; i < leafFields.size(); i++) {
+                        String f = leafFields.get(i);
+                        Object val = row.get(i);
+                        if (strategy.isAggregate(f)) {
+                            sumMap.put(f, strategy.accumulate(f, val, sumMap.get(f)));
+                        }
                     }
-                    dataIt = provider.fetchIterator(pageSize);
-                } finally {
-                    filterAware.clearFilters();
                 }
-            } else {
-                dataIt = provider.fetchIterator(pageSize);
+                if (trackPosition) {
+                    // 键值随行带到写出侧，进度按写出的行推进
+                    return new KeyedRow(row, ((ResumableIterator<?>) dataIt).currentKey());
+                }
+                return row;
             }
-            Iterator<List<Object>> rowIterator = new Iterator<>() {
+        };
+
+        Iterator<List<Object>> rowIterator;
+        if (pipelineEnabled) {
+            // 取数与转换在 fetch 线程进行，合计 sumMap 在行读完（队列结束标记）之后才被写出器读取
+            RowPipeline pipeline = new RowPipeline(dataIt, transform, fetchExecutor,
+                pipelineBatchRows, pipelineInFlightBatches, spill ? new SpillFile("export-sheet-") : null);
+            resources.add(pipeline);
+            if (pipelines != null) {
+                pipelines.add(pipeline);
+            }
+            rowIterator = pipeline;
+        } else {
+            if (dataIt instanceof CloseableIterator<?> cursor) {
+                resources.add(cursor);
+            }
+            rowIterator = new Iterator<>() {
                 @Override
                 public boolean hasNext() {
                     return dataIt.hasNext();
@@ -308,46 +598,71 @@ public class ExportService {
 
                 @Override
                 public List<Object> next() {
-                    Object item = dataIt.next();
-                    List<Object> row = convertItemToRow(item, leafFields);
-                    if (strategy != null) {
-                        for (int i = 0; i < leafFields.size(); i++) {
-                            String f = leafFields.get(i);
-                            Object val = row.get(i);
-                            if (strategy.isAggregate(f)) {
-                                sumMap.put(f, strategy.accumulate(f, val, sumMap.get(f)));
-                            }
-                        }
-                    }
-                    if (reporter != null) reporter.increment(1);
-                    return row;
+                    return transform.apply(dataIt.next());
                 }
             };
+        }
 
-            SheetWriteModel model = new SheetWriteModel(sheetName, head, rowIterator, topInfoRows, leafFields, strategy, sumMap);
-            sheetModels.add(model);
+        if (resume == null && progress != null) {
+            rowIterator = new WrittenRows(rowIterator, progress, sheetIndex);
         }
-        return sheetModels;
+        return new SheetWriteModel(sheetName, head, rowIterator, topInfoRows, leafFields, strategy, sumMap);
     }
 
-    private List<Object> convertItemToRow(Object item, List<String> leafFields) {
-        List<Object> row = new ArrayList<>(leafFields.size());
-        if (item instanceof Map<?, ?> map) {
-            for (String f : leafFields) {
-                row.add(map.get(f));
+    /**
+     * 如果 DataProvider 支持过滤能力，则在当前导出上下文中传入 SheetConfig.filters
+     */
+    private static <R> R withFilters(DataProvider<?> provider, SheetConfig sc, Supplier<R> action) {
+        if (!(provider instanceof FilterAwareDataProvider<?> filterAware)) {
+            return action.get();
+        }
+        try {
+            if (sc.getFilters() != null) {
+                filterAware.setFilters(sc.getFilters());
             }
-        } else {
-            for (String f : leafFields) {
-                try {
-                    var field = item.getClass().getDeclaredField(f);
-                    field.setAccessible(true);
-                    row.add(field.get(item));
-                } catch (Exception e) {
-                    row.add(null);
-                }
+            return action.get();
+        } finally {
+            filterAware.clearFilters();
+        }
+    }
+
+    private static Iterator<?> fetch(DataProvider<?> provider, int pageSize, ResumePoint resume) {
+        if (resume == null) {
+            return provider.fetchIterator(pageSize);
+        }
+        return ((ResumableDataProvider<?>) provider).fetchIteratorAfter(pageSize, resume.afterKey());
+    }
+
+    /**
+     * 先启动前 parallelism 个 sheet 的取数，每结束一个再启动下一个；
+     * 写出器按顺序消费，轮到尚未启动的 sheet 时也会直接启动它
+     */
+    private void startPipelines(List<RowPipeline> pipelines, int parallelism) {
+        if (pipelines.isEmpty()) {
+            return;
+        }
+        AtomicInteger next = new AtomicInteger(parallelism);
+        Runnable startNext = () -> {
+            int i = next.getAndIncrement();
+            if (i < pipelines.size()) {
+                pipelines.get(i).start();
             }
+        };
+        for (RowPipeline pipeline : pipelines) {
+            pipeline.setOnFinish(startNext);
         }
-        return row;
+        for (int i = 0; i < Math.min(parallelism, pipelines.size()); i++) {
+            pipelines.get(i).start();
+        }
+    }
+
+    /**
+     * 单个任务的 sheet 并发数：请求指定优先，不超过取数线程池大小（取数线程池按数据源连接数配置）
+     */
+    private int resolveSheetParallelism(ExportRequest request) {
+        Integer requested = request.getSheetParallelism();
+        int parallelism = requested != null && requested > 0 ? requested : sheetParallelism;
+        return Math.max(1, Math.min(parallelism, fetchExecutor.getMaxPoolSize()));
     }
 
     private String serializeRequest(ExportRequest request) {
@@ -368,20 +683,30 @@ public class ExportService {
         return objectMapper.readValue(payload, ExportRequest.class);
     }
 
-    private long estimateTotalRows(ExportRequest request) {
-        if (request == null || request.getSheets() == null) {
-            return -1;
-        }
-        long sum = 0;
+    /**
+     * 各 sheet 的行数估算（带上各自的过滤条件），方式由 DataProvider 决定，见 {@link DataProvider#estimate()}
+     */
+    private List<RowEstimate> estimateRows(String taskId, ExportRequest request, String userId) {
+        Instant start = Instant.now();
+        List<RowEstimate> estimates = new ArrayList<>();
         for (SheetConfig sc : request.getSheets()) {
             DataProvider<?> provider = providers.get(sc.getExportType());
-            if (provider == null) continue;
-            long estimate = provider.estimateTotal();
-            if (estimate > 0) {
-                sum += estimate;
+            RowEstimate estimate = RowEstimate.UNKNOWN;
+            if (provider != null) {
+                try {
+                    estimate = withFilters(provider, sc, provider::estimate);
+                } catch (RuntimeException ex) {
+                    // 估算只影响进度展示，不影响导出
+                    log.warn("row estimation failed exportType={} taskId={}", sc.getExportType(), taskId, ex);
+                }
             }
+            estimates.add(estimate);
         }
-        return sum == 0 ? -1 : sum;
+        Map<String, Object> extras = new HashMap<>();
+        extras.put("rows", estimates.stream().map(RowEstimate::rows).toList());
+        extras.put("keyRange", estimates.stream().map(e -> e.keyRange() != null).toList());
+        logTrace("runTask.estimate", taskId, userId, Duration.between(start, Instant.now()).toMillis(), extras);
+        return estimates;
     }
 
     private void resumeTask(ExportTaskEntity task) {
@@ -424,58 +749,216 @@ public class ExportService {
             phase, taskId, userId, durationMs, traceId, payload);
     }
 
-    private static final class  TaskProgressReporter {
-        private static final long ROW_INTERVAL = 1000;
-        private static final long TIME_INTERVAL_MS = 5000;
+    /**
+     * 续读位置：afterKey 为 null 表示从头读取该 sheet
+     */
+    private record ResumePoint(List<Object> afterKey, Map<String, ExportCheckpoint.TypedValue> sums) {
+    }
 
-        private final ExportTaskService taskService;
-        private final String taskId;
-        private final long totalRows;
-        private final AtomicLong processedRows = new AtomicLong();
-        private volatile long lastReportedRows = 0;
-        private volatile long lastReportTime = System.currentTimeMillis();
+    /**
+     * 带排序键的行：取数侧预读不影响断点，键与合计在写出侧确认写出后才记入。
+     * 经过溢写文件时键随行一起写入（{@link SpillFile}）
+     */
+    static final class KeyedRow extends AbstractList<Object> {
+        final List<Object> values;
+        final List<Object> key;
 
-        private TaskProgressReporter(ExportTaskService taskService, String taskId, long totalRows) {
-            this.taskService = taskService;
-            this.taskId = taskId;
-            this.totalRows = totalRows;
+        KeyedRow(List<Object> values, List<Object> key) {
+            this.values = values;
+            this.key = key;
         }
 
-        void increment(long delta) {
-            processedRows.addAndGet(delta);
-            maybeFlush(false);
+        @Override
+        public Object get(int index) {
+            return values.get(index);
         }
 
-        void flush(boolean force) {
-            maybeFlush(force);
+        @Override
+        public int size() {
+            return values.size();
         }
+    }
 
-        Long getTotalRowsOrNull() {
-            return totalRows > 0 ? totalRows : null;
+    /**
+     * 写出器取走一行时推进进度：流水线取数会预读若干批，按取数计数会让进度跑在文件前面
+     */
+    private static final class WrittenRows implements Iterator<List<Object>> {
+        private final Iterator<List<Object>> rows;
+        private final ExportProgress progress;
+        private final int sheetIndex;
+
+        private WrittenRows(Iterator<List<Object>> rows, ExportProgress progress, int sheetIndex) {
+            this.rows = rows;
+            this.progress = progress;
+            this.sheetIndex = sheetIndex;
         }
 
-        long getProcessedRows() {
-            return processedRows.get();
+        @Override
+        public boolean hasNext() {
+            return rows.hasNext();
         }
 
-        private synchronized void maybeFlush(boolean force) {
-            long current = processedRows.get();
-            long now = System.currentTimeMillis();
-            if (!force && current - lastReportedRows < ROW_INTERVAL && now - lastReportTime < TIME_INTERVAL_MS) {
-                return;
+        @Override
+        public List<Object> next() {
+            List<Object> row = rows.next();
+            progress.increment(1);
+            if (row instanceof KeyedRow keyed) {
+                progress.advance(sheetIndex, keyed.key);
+                return keyed.values;
             }
-            Integer progressValue = totalRows > 0 ? (int) Math.min(99, (current * 100L) / totalRows) : null;
-            Long totalValue = totalRows > 0 ? totalRows : null;
-            taskService.markProgress(taskId, progressValue, current, totalValue);
-            lastReportedRows = current;
-            lastReportTime = now;
+            return row;
         }
     }
 
-    @FunctionalInterface
-    private interface ExportCallback {
-        void run() throws Exception;
+    /**
+     * 一个分段文件的写出：从断点处的 sheet 开始，按需构建后续 sheet，写满行数上限即结束
+     */
+    private final class CheckpointPart {
+        private final ExportRequest request;
+        private final ExportCheckpoint from;
+        private final ExportProgress progress;
+        private final List<AutoCloseable> resources = new ArrayList<>();
+        private long remaining = checkpointPartRows;
+        private long written;
+        private PartSegment current;
+
+        private CheckpointPart(ExportRequest request, ExportCheckpoint from, ExportProgress progress) {
+            this.request = request;
+            this.from = from;
+            this.progress = progress;
+        }
+
+        /**
+         * 写出分段文件并强制落盘，返回写完后的断点
+         */
+        ExportCheckpoint write(WriterAdapter writer, Path part) throws Exception {
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream os = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+                try {
+                    writer.writeSheets(os, new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            if (nextSheetIndex() >= request.getSheets().size()) {
+                                return false;
+                            }
+                            // 上一个 sheet 写完且还有余量才继续；写出器一次取出全部 sheet 时每段只写一个
+                            return current == null || (current.complete && remaining > 0);
+                        }
+
+                        @Override
+                        public SheetWriteModel next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            return openSheet(nextSheetIndex());
+                        }
+                    });
+                    os.flush();
+                } finally {
+                    for (AutoCloseable resource : resources) {
+                        try {
+                            resource.close();
+                        } catch (Exception ex) {
+                            log.warn("failed to release export resource", ex);
+                        }
+                    }
+                }
+                channel.force(true);
+            }
+
+            ExportCheckpoint next = new ExportCheckpoint();
+            List<String> parts = new ArrayList<>(from.getParts());
+            parts.add(part.toString());
+            next.setParts(parts);
+            next.setProcessedRows(from.getProcessedRows() + written);
+            if (current.complete) {
+                next.setSheetIndex(current.sheetIndex + 1);
+            } else {
+                next.setSheetIndex(current.sheetIndex);
+                next.setLastKey(ExportCheckpoint.encodeKey(current.lastKey));
+                next.setSums(ExportCheckpoint.encodeSums(current.model.getSumMap()));
+            }
+            return next;
+        }
+
+        private int nextSheetIndex() {
+            return current == null ? from.getSheetIndex() : current.sheetIndex + 1;
+        }
+
+        private SheetWriteModel openSheet(int sheetIndex) {
+            boolean continuation = current == null && from.getLastKey() != null;
+            ResumePoint resume = continuation
+                ? new ResumePoint(ExportCheckpoint.decodeKey(from.getLastKey()), from.getSums())
+                : new ResumePoint(null, null);
+            SheetWriteModel model = buildSheetModel(request, sheetIndex, null, resources, null, false, resume);
+            model.setContinuation(continuation);
+            current = new PartSegment(this, sheetIndex, model);
+            model.setRows(current);
+            return model;
+        }
     }
 
-    private record RuntimeTask(String runtimeId, String userId, Instant startTime) { }
-}
\ No newline at end of file
+    /**
+     * 分段内一个 sheet 的行：扣减分段余量，记录最后写出行的键，累计合计与进度。
+     * 余量用完而 sheet 还有行时截断，本段不写合计行（合计中间值随断点带到下一段）
+     */
+    private static final class PartSegment implements Iterator<List<Object>> {
+        private final CheckpointPart part;
+        private final int sheetIndex;
+        private final SheetWriteModel model;
+        private final Iterator<List<Object>> rows;
+        private final AggregateStrategy strategy;
+        private List<Object> lastKey;
+        private boolean complete;
+        private boolean cut;
+
+        private PartSegment(CheckpointPart part, int sheetIndex, SheetWriteModel model) {
+            this.part = part;
+            this.sheetIndex = sheetIndex;
+            this.model = model;
+            this.rows = model.getRows();
+            this.strategy = model.getStrategy();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (complete || cut) {
+                return false;
+            }
+            boolean more = rows.hasNext();
+            if (!more) {
+                complete = true;
+            } else if (part.remaining <= 0) {
+                cut = true;
+                model.setStrategy(null);
+                more = false;
+            }
+            return more;
+        }
+
+        @Override
+        public List<Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            KeyedRow row = (KeyedRow) rows.next();
+            lastKey = row.key;
+            part.remaining--;
+            part.written++;
+            if (strategy != null) {
+                List<String> leafFields = model.getLeafFields();
+                Map<String, Object> sumMap = model.getSumMap();
+                for (int i = 0; i < leafFields.size(); i++) {
+                    String f = leafFields.get(i);
+                    if (strategy.isAggregate(f)) {
+                        sumMap.put(f, strategy.accumulate(f, row.values.get(i), sumMap.get(f)));
+                    }
+                }
+            }
+            part.progress.increment(1);
+            part.progress.advance(sheetIndex, row.key);
+            return row.values;
+        }
+    }
+}
@@ -2,11 +2,20 @@ package com.tiny.export.service;
 
 import com.tiny.export.persistence.ExportTaskEntity;
 import com.tiny.export.persistence.ExportTaskRepository;
+import com.tiny.export.storage.ExportFileStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Sort;
 
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,10 +27,27 @@ import java.util.Optional;
 @Service
 public class ExportTaskService {
 
+    private static final Logger log = LoggerFactory.getLogger(ExportTaskService.class);
+    /** 每批清理的任务数，与 findTop500ByExpireAtLessThanOrderByExpireAtAsc 一致 */
+    private static final int CLEANUP_BATCH = 500;
+
     private final ExportTaskRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ExportFileStore fileStore;
+
+    /**
+     * 一个任务的进度快照，见 {@link #markProgressBatch(List)}
+     *
+     * @param progress  百分比，null 表示不更新
+     * @param totalRows 总行数，null 表示不更新
+     */
+    public record ProgressUpdate(String taskId, Integer progress, long processedRows, Long totalRows) {
+    }
 
-    public ExportTaskService(ExportTaskRepository repository) {
+    public ExportTaskService(ExportTaskRepository repository, JdbcTemplate jdbcTemplate, ExportFileStore fileStore) {
         this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.fileStore = fileStore;
     }
 
     /**
@@ -74,6 +100,31 @@ public class ExportTaskService {
         });
     }
 
+    /**
+     * 批量更新多个运行中任务的进度与心跳：一条 JDBC 批量语句，不逐个加载实体。
+     * 只更新仍为 RUNNING 的任务，已结束的任务不会被迟到的进度覆盖
+     */
+    @Transactional
+    public void markProgressBatch(List<ProgressUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+            "UPDATE export_task SET processed_rows = ?, progress = COALESCE(?, progress), "
+                + "total_rows = COALESCE(?, total_rows), last_heartbeat = ?, updated_at = ? "
+                + "WHERE task_id = ? AND status = ?",
+            updates, updates.size(), (ps, u) -> {
+                ps.setLong(1, u.processedRows());
+                ps.setObject(2, u.progress() == null ? null : Math.max(0, Math.min(100, u.progress())), Types.INTEGER);
+                ps.setObject(3, u.totalRows(), Types.BIGINT);
+                ps.setTimestamp(4, now);
+                ps.setTimestamp(5, now);
+                ps.setString(6, u.taskId());
+                ps.setString(7, ExportTaskStatus.RUNNING.name());
+            });
+    }
+
     @Transactional
     public ExportTaskEntity markSuccess(String taskId,
                                         String filePath,
@@ -88,10 +139,30 @@ public class ExportTaskService {
             }
             entity.setFilePath(filePath);
             entity.setDownloadUrl(downloadUrl);
+            entity.setCheckpoint(null);
+            entity.setLastHeartbeat(LocalDateTime.now());
+        });
+    }
+
+    /**
+     * 保存断点（分段写完后调用），同时刷新已处理行数与心跳。
+     * 本次尝试已有进展，尝试次数重置为 1，恢复上限只约束连续无进展的尝试
+     */
+    @Transactional
+    public ExportTaskEntity saveCheckpoint(String taskId, String checkpointJson, long processedRows) {
+        return updateTask(taskId, entity -> {
+            entity.setCheckpoint(checkpointJson);
+            entity.setProcessedRows(processedRows);
+            entity.setAttempt(1);
             entity.setLastHeartbeat(LocalDateTime.now());
         });
     }
 
+    @Transactional
+    public ExportTaskEntity clearCheckpoint(String taskId) {
+        return updateTask(taskId, entity -> entity.setCheckpoint(null));
+    }
+
     @Transactional
     public ExportTaskEntity markFailed(String taskId, String errorMsg, String errorCode) {
         return updateTask(taskId, entity -> {
@@ -102,6 +173,20 @@ public class ExportTaskService {
         });
     }
 
+    /**
+     * 失败后重新排队：回到 PENDING，保留断点、已处理行数与尝试次数，记录本次错误
+     */
+    @Transactional
+    public ExportTaskEntity markRetrying(String taskId, String errorMsg, String errorCode) {
+        return updateTask(taskId, entity -> {
+            entity.setStatus(ExportTaskStatus.PENDING);
+            entity.setWorkerId(null);
+            entity.setErrorMsg(errorMsg);
+            entity.setErrorCode(errorCode);
+            entity.setLastHeartbeat(LocalDateTime.now());
+        });
+    }
+
     @Transactional
     public ExportTaskEntity markCanceled(String taskId) {
         return updateTask(taskId, entity -> {
@@ -133,9 +218,62 @@ public class ExportTaskService {
         return repository.findByStatusOrderByCreatedAtAsc(ExportTaskStatus.PENDING);
     }
 
-    @Transactional
+    /**
+     * 定时清理过期任务（export.cleanup.interval-ms，默认每小时），多个节点同时执行时删除是幂等的
+     */
+    @Scheduled(initialDelayString = "${export.cleanup.interval-ms:3600000}",
+        fixedDelayString = "${export.cleanup.interval-ms:3600000}")
+    public void cleanupExpiredTasks() {
+        try {
+            int deleted = cleanupExpired(LocalDateTime.now());
+            if (deleted > 0) {
+                log.info("cleaned up {} expired export tasks", deleted);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("export task cleanup failed", ex);
+        }
+    }
+
+    /**
+     * 删除过期任务：先通过 {@link ExportFileStore} 删除结果文件，再删除任务记录。
+     * 文件删除失败的任务保留到下一轮，不留下无记录指向的文件
+     *
+     * @return 删除的任务数
+     */
     public int cleanupExpired(LocalDateTime now) {
-        return repository.deleteExpired(now);
+        int deleted = 0;
+        while (true) {
+            List<ExportTaskEntity> expired = repository.findTop500ByExpireAtLessThanOrderByExpireAtAsc(now);
+            List<Long> ids = new ArrayList<>();
+            int failed = 0;
+            for (ExportTaskEntity task : expired) {
+                if (task.getFilePath() != null) {
+                    try {
+                        fileStore.delete(task.getFilePath());
+                    } catch (IOException | RuntimeException ex) {
+                        // 存储不可用时整批都会失败，只记录第一个异常
+                        if (failed++ == 0) {
+                            log.warn("failed to delete export file {} of task {}, retry next cleanup",
+                                task.getFilePath(), task.getTaskId(), ex);
+                        }
+                        continue;
+                    }
+                }
+                ids.add(task.getId());
+            }
+            if (failed > 1) {
+                log.warn("failed to delete {} expired export files, retry next cleanup", failed);
+            }
+            if (!ids.isEmpty()) {
+                repository.deleteAllByIdInBatch(ids);
+                deleted += ids.size();
+            }
+            // 不满一批即已清理完；整批都删除失败时停止，避免反复读到同一批
+            if (expired.size() < CLEANUP_BATCH || ids.isEmpty()) {
+                break;
+            }
+        }
+        return deleted;
     }
 
     @Transactional
@@ -0,0 +1,182 @@
+package com.tiny.export.service;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RowAccessor —— 按列读取一行数据的预编译访问器
+ *
+ * 每个 (行类型, 列清单) 只解析一次，之后逐行读取不再有反射查找。结果按类缓存在 ClassValue 中，
+ * 每个类最多保留 {@link #MAX_ACCESSORS_PER_TYPE} 个列清单（LRU），列清单随请求变化时缓存不会无限增长；
+ * 访问器持有行类型及其 MethodHandle 的强引用，缓存中的行类型不会被卸载，只适合应用自身的行类型：
+ *  - Map 行（RowMapper 产出的 LinkedHashMap 等）：直接按列名 get
+ *  - record：组件访问器
+ *  - 普通类：公开 getter（getXxx / isXxx），没有 getter 时读字段（含父类字段）
+ *  - 找不到的列：恒为 null（与原先反射读取失败时的行为一致）
+ *
+ * 访问器以 MethodHandle 形式保存，类型统一适配为 (Object)Object。
+ */
+final class RowAccessor {
+
+    /**
+     * 每个行类型缓存的列清单数上限
+     */
+    static final int MAX_ACCESSORS_PER_TYPE = 64;
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final ClassValue<Map<List<String>, RowAccessor>> CACHE = new ClassValue<>() {
+        @Override
+        protected Map<List<String>, RowAccessor> computeValue(Class<?> type) {
+            return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<String>, RowAccessor> eldest) {
+                    return size() > MAX_ACCESSORS_PER_TYPE;
+                }
+            });
+        }
+    };
+
+    private final Class<?> rowType;
+    private final String[] fields;
+    /**
+     * 各列访问器；Map 行为 null，找不到的列对应元素为 null
+     */
+    private final MethodHandle[] getters;
+
+    private RowAccessor(Class<?> rowType, String[] fields, MethodHandle[] getters) {
+        this.rowType = rowType;
+        this.fields = fields;
+        this.getters = getters;
+    }
+
+    /**
+     * 获取（必要时编译）访问器；每次导出每个 sheet 只调用一次，同步的 LRU 不在逐行路径上
+     */
+    static RowAccessor of(Class<?> rowType, List<String> fields) {
+        return CACHE.get(rowType).computeIfAbsent(List.copyOf(fields), f -> compile(rowType, f));
+    }
+
+    Class<?> rowType() {
+        return rowType;
+    }
+
+    /**
+     * 读取一行，返回的 List 长度固定（与列清单一致）
+     */
+    List<Object> read(Object item) {
+        Object[] values = new Object[fields.length];
+        if (getters == null) {
+            Map<?, ?> map = (Map<?, ?>) item;
+            for (int i = 0; i < fields.length; i++) {
+                values[i] = map.get(fields[i]);
+            }
+        } else {
+            for (int i = 0; i < fields.length; i++) {
+                MethodHandle getter = getters[i];
+                if (getter != null) {
+                    values[i] = invoke(getter, item, fields[i]);
+                }
+            }
+        }
+        return Arrays.asList(values);
+    }
+
+    private static Object invoke(MethodHandle getter, Object item, String field) {
+        try {
+            return (Object) getter.invokeExact(item);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("读取导出字段失败: " + field, e);
+        }
+    }
+
+    private static RowAccessor compile(Class<?> rowType, List<String> fieldList) {
+        String[] fields = fieldList.toArray(new String[0]);
+        if (Map.class.isAssignableFrom(rowType)) {
+            return new RowAccessor(rowType, fields, null);
+        }
+        MethodHandles.Lookup lookup = lookupFor(rowType);
+        MethodHandle[] getters = new MethodHandle[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            getters[i] = resolve(lookup, rowType, fields[i]);
+        }
+        return new RowAccessor(rowType, fields, getters);
+    }
+
+    private static MethodHandles.Lookup lookupFor(Class<?> rowType) {
+        try {
+            return MethodHandles.privateLookupIn(rowType, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            // 模块未对本模块开放时只能访问公开成员
+            return MethodHandles.publicLookup();
+        }
+    }
+
+    private static MethodHandle resolve(MethodHandles.Lookup lookup, Class<?> rowType, String field) {
+        try {
+            Method getter = findGetter(rowType, field);
+            if (getter != null) {
+                return lookup.unreflect(getter).asType(GETTER_TYPE);
+            }
+            Field f = findField(rowType, field);
+            if (f != null) {
+                return lookup.unreflectGetter(f).asType(GETTER_TYPE);
+            }
+        } catch (IllegalAccessException ignored) {
+            // 无权访问时按找不到处理
+        }
+        return null;
+    }
+
+    private static Method findGetter(Class<?> rowType, String field) {
+        if (rowType.isRecord()) {
+            for (RecordComponent component : rowType.getRecordComponents()) {
+                if (component.getName().equals(field)) {
+                    return component.getAccessor();
+                }
+            }
+            return null;
+        }
+        if (field.isEmpty()) {
+            return null;
+        }
+        String suffix = Character.toUpperCase(field.charAt(0)) + field.substring(1);
+        for (String name : new String[]{"get" + suffix, "is" + suffix}) {
+            try {
+                Method method = rowType.getMethod(name);
+                if (!Modifier.isStatic(method.getModifiers()) && method.getReturnType() != void.class
+                    && (name.startsWith("get") || method.getReturnType() == boolean.class)) {
+                    return method;
+                }
+            } catch (NoSuchMethodException ignored) {
+                // 继续尝试下一种命名
+            }
+        }
+        return null;
+    }
+
+    private static Field findField(Class<?> rowType, String field) {
+        for (Class<?> c = rowType; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                Field f = c.getDeclaredField(field);
+                if (!Modifier.isStatic(f.getModifiers())) {
+                    return f;
+                }
+            } catch (NoSuchFieldException ignored) {
+                // 继续查找父类
+            }
+        }
+        return null;
+    }
+}
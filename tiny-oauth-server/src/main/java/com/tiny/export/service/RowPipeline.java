@@ -0,0 +1,329 @@
+package com.tiny.export.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * RowPipeline —— 单个 sheet 的取数/写出流水线
+ *
+ * 生产者在 fetch 线程池中读取 DataProvider 迭代器并转换成行（含合计；进度在写出侧按取走的行推进），按批放入队列；
+ * 写出线程通过本迭代器逐行消费。两侧并行后，导出耗时趋近于 max(取数, 写出) 而不是两者之和。
+ *
+ * <ul>
+ *   <li>背压：内存中最多 inFlightBatches 批，满了生产者阻塞，内存占用与导出总量无关</li>
+ *   <li>溢写：配置了 {@link SpillFile} 时（多 sheet 并行），内存满后的批次写入溢写文件而不阻塞，
+ *       队列中内存批次与溢写引用按产生顺序排列，读出顺序不变</li>
+ *   <li>批容器复用：写出线程消费完一批后清空归还，生产者优先复用（行对象本身由写出器持有，不复用）</li>
+ *   <li>{@link #start()} 可由调度方提前调用；未启动时写出线程首次 hasNext 会自行启动</li>
+ *   <li>生产者异常在写出线程的 hasNext 中抛出；close 会取消生产者并等待其释放数据源（如数据库游标）</li>
+ *   <li>溢写文件：生产者结束后由 close 删除；close 等待超时或被中断时，由被取消的生产者结束时自行删除</li>
+ * </ul>
+ */
+final class RowPipeline implements Iterator<List<Object>>, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RowPipeline.class);
+
+    private static final Object END = new Object();
+    private static final long OFFER_TIMEOUT_MS = 100;
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final Iterator<?> source;
+    private final Function<Object, List<Object>> transform;
+    private final Executor executor;
+    private final int batchRows;
+    private final int maxInMemory;
+    private final SpillFile spill;
+    private final BlockingQueue<List<List<Object>>> free;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * 待消费的批次：内存批次（List）、溢写引用（SpillFile.Ref）或结束标记，受 lock 保护
+     */
+    private final ArrayDeque<Object> entries = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private int inMemory;
+
+    private volatile boolean cancelled;
+    private volatile Throwable failure;
+    private volatile Runnable onFinish;
+
+    // 以下字段只由写出线程访问
+    private boolean done;
+    private List<List<Object>> current;
+    private int index;
+
+    /**
+     * @param spill 溢写文件，null 表示内存满时阻塞生产者
+     */
+    RowPipeline(Iterator<?> source, Function<Object, List<Object>> transform, Executor executor,
+                int batchRows, int inFlightBatches, SpillFile spill) {
+        this.source = source;
+        this.transform = transform;
+        this.executor = executor;
+        this.batchRows = Math.max(1, batchRows);
+        this.maxInMemory = Math.max(1, inFlightBatches);
+        this.spill = spill;
+        this.free = new ArrayBlockingQueue<>(maxInMemory + 1);
+    }
+
+    /**
+     * 生产者结束（正常、异常或取消）后的回调，在生产者线程执行，用于调度下一个 sheet
+     */
+    void setOnFinish(Runnable onFinish) {
+        this.onFinish = onFinish;
+    }
+
+    /**
+     * 启动生产者（幂等，可由任意线程调用）
+     */
+    void start() {
+        if (cancelled || !started.compareAndSet(false, true)) {
+            return;
+        }
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        try {
+            executor.execute(() -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    produce();
+                } finally {
+                    MDC.clear();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 线程池已关闭：以失败结束，避免写出线程一直等待
+            failure = e;
+            closeSource();
+            append(END);
+            finished.countDown();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (done) {
+            return false;
+        }
+        start();
+        while (current == null || index >= current.size()) {
+            if (current != null) {
+                current.clear();
+                free.offer(current);
+                current = null;
+            }
+            Object entry = take();
+            if (entry == END) {
+                done = true;
+                rethrowFailure();
+                return false;
+            }
+            current = entry instanceof SpillFile.Ref ref ? spill.read(ref) : castBatch(entry);
+            index = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public List<Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.get(index++);
+    }
+
+    @Override
+    public void close() {
+        cancelled = true;
+        done = true;
+        lock.lock();
+        try {
+            entries.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (started.compareAndSet(false, true)) {
+            // 从未启动：直接释放数据源
+            closeSource();
+            finished.countDown();
+        }
+        try {
+            if (!finished.await(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("export producer did not stop within {}s, data source will be released when it finishes",
+                    CLOSE_TIMEOUT_SECONDS);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        closeSpill();
+    }
+
+    private void closeSpill() {
+        if (spill == null) {
+            return;
+        }
+        try {
+            spill.close();
+        } catch (RuntimeException e) {
+            log.warn("failed to delete export spill file", e);
+        }
+    }
+
+    private void produce() {
+        try {
+            List<List<Object>> batch = borrow();
+            while (!cancelled && source.hasNext()) {
+                batch.add(transform.apply(source.next()));
+                if (batch.size() >= batchRows) {
+                    if (!put(batch)) {
+                        return;
+                    }
+                    batch = borrow();
+                }
+            }
+            if (!batch.isEmpty()) {
+                put(batch);
+            }
+        } catch (Throwable t) {
+            failure = t;
+        } finally {
+            closeSource();
+            append(END);
+            if (cancelled) {
+                // close 可能已等待超时返回，不再有人读取溢写文件
+                closeSpill();
+            }
+            finished.countDown();
+            Runnable callback = onFinish;
+            if (callback != null) {
+                try {
+                    callback.run();
+                } catch (RuntimeException e) {
+                    log.warn("export pipeline finish callback failed", e);
+                }
+            }
+        }
+    }
+
+    private List<List<Object>> borrow() {
+        List<List<Object>> batch = free.poll();
+        return batch != null ? batch : new ArrayList<>(batchRows);
+    }
+
+    private boolean put(List<List<Object>> batch) throws IOException, InterruptedException {
+        lock.lock();
+        try {
+            while (!cancelled && inMemory >= maxInMemory && spill == null) {
+                notFull.await(OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            }
+            if (cancelled) {
+                return false;
+            }
+            if (inMemory < maxInMemory) {
+                inMemory++;
+                entries.addLast(batch);
+                notEmpty.signal();
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        // 内存已满且允许溢写：在锁外写文件，只有生产者追加条目，顺序不受影响
+        SpillFile.Ref ref = spill.write(batch);
+        batch.clear();
+        free.offer(batch);
+        append(ref);
+        return !cancelled;
+    }
+
+    private void append(Object entry) {
+        lock.lock();
+        try {
+            if (!cancelled) {
+                entries.addLast(entry);
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Object take() {
+        Object entry = null;
+        lock.lock();
+        try {
+            while (entries.isEmpty()) {
+                notEmpty.await();
+            }
+            entry = entries.pollFirst();
+            if (entry instanceof List<?>) {
+                inMemory--;
+                notFull.signal();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+        if (entry == null) {
+            close();
+            throw new IllegalStateException("导出被中断");
+        }
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<List<Object>> castBatch(Object entry) {
+        return (List<List<Object>>) entry;
+    }
+
+    private void rethrowFailure() {
+        Throwable t = failure;
+        if (t == null) {
+            return;
+        }
+        if (t instanceof RuntimeException re) {
+            throw re;
+        }
+        if (t instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException("导出数据读取失败: " + t.getMessage(), t);
+    }
+
+    private void closeSource() {
+        if (source instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("failed to close export data source", e);
+            }
+        }
+    }
+}
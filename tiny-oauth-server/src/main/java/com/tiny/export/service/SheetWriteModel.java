@@ -18,11 +18,13 @@ public class SheetWriteModel {
     private Map<String,Object> sumMap; // 合计临时存储
     private List<String> leafFields; // 表头叶子字段
     private long estimatedTotalRows; // 估算总行数
+    private boolean continuation; // 续段：该 sheet 前面的行已写在上一个分段文件中
 
     public SheetWriteModel() {
     }
 
     public SheetWriteModel(String sheetName, List<List<String>> head, Iterator<List<Object>> rowIterator, List<List<String>> topInfoRows, List<String> leafFields, AggregateStrategy strategy, Map<String, Object> sumMap) {
+        this.sheetName = sheetName;
         this.head = head;
         this.rows = rowIterator;
         this.topInfoRows = topInfoRows;
@@ -94,4 +96,12 @@ public class SheetWriteModel {
     public void setEstimatedTotalRows(long estimatedTotalRows) {
         this.estimatedTotalRows = estimatedTotalRows;
     }
+
+    public boolean isContinuation() {
+        return continuation;
+    }
+
+    public void setContinuation(boolean continuation) {
+        this.continuation = continuation;
+    }
 }
\ No newline at end of file
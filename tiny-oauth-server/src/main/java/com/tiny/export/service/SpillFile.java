@@ -0,0 +1,278 @@
+package com.tiny.export.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * SpillFile —— 流水线的溢写文件
+ *
+ * 多 sheet 并行取数时，后面的 sheet 在写出器轮到它之前先把行批次追加写入临时文件，
+ * 取数可以提前完成（释放数据库连接），内存只保留有限批次。
+ *
+ * <p>单写多读：生产者顺序追加（FileChannel 直接写，不经用户态缓冲，写完即对读可见），
+ * 写出线程按 {@link Ref} 定位读取已写完的区域。常见单元格类型（字符串、数字、布尔、日期时间）
+ * 按类型标记紧凑编码，其余可序列化对象退回 Java 序列化，读回后类型与原值一致；
+ * 带排序键的行（{@link ExportService.KeyedRow}）连同键一起写入，读回后仍带键。</p>
+ */
+final class SpillFile implements AutoCloseable {
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte DECIMAL = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte LOCAL_DATE = 7;
+    private static final byte LOCAL_DATE_TIME = 8;
+    private static final byte DATE = 9;
+    private static final byte SERIALIZED = 10;
+    private static final byte SQL_TIMESTAMP = 11;
+    private static final byte SQL_DATE = 12;
+
+    /**
+     * 一个批次在文件中的位置
+     */
+    record Ref(long offset, int length) { }
+
+    private final String prefix;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream out = new DataOutputStream(buffer);
+
+    private Path path;
+    private FileChannel channel;
+    private long position;
+
+    SpillFile(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * 追加一个批次（仅生产者线程调用）
+     */
+    Ref write(List<List<Object>> batch) throws IOException {
+        if (channel == null) {
+            path = Files.createTempFile(prefix, ".spill");
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        buffer.reset();
+        out.writeInt(batch.size());
+        for (List<Object> row : batch) {
+            out.writeInt(row.size());
+            for (Object value : row) {
+                writeValue(value);
+            }
+            List<Object> key = row instanceof ExportService.KeyedRow keyed ? keyed.key : null;
+            out.writeInt(key == null ? -1 : key.size());
+            if (key != null) {
+                for (Object value : key) {
+                    writeValue(value);
+                }
+            }
+        }
+        out.flush();
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+        long offset = position;
+        while (bytes.hasRemaining()) {
+            position += channel.write(bytes, position);
+        }
+        return new Ref(offset, (int) (position - offset));
+    }
+
+    /**
+     * 读取一个已写完的批次（写出线程调用）
+     */
+    List<List<Object>> read(Ref ref) {
+        try {
+            ByteBuffer bytes = ByteBuffer.allocate(ref.length());
+            long pos = ref.offset();
+            while (bytes.hasRemaining()) {
+                int n = channel.read(bytes, pos + bytes.position());
+                if (n < 0) {
+                    throw new IOException("溢写文件被截断: " + path);
+                }
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.array()));
+            int rows = in.readInt();
+            List<List<Object>> batch = new ArrayList<>(rows);
+            for (int r = 0; r < rows; r++) {
+                Object[] values = new Object[in.readInt()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = readValue(in);
+                }
+                int keyLength = in.readInt();
+                if (keyLength < 0) {
+                    batch.add(Arrays.asList(values));
+                    continue;
+                }
+                Object[] key = new Object[keyLength];
+                for (int i = 0; i < key.length; i++) {
+                    key[i] = readValue(in);
+                }
+                batch.add(new ExportService.KeyedRow(Arrays.asList(values), Arrays.asList(key)));
+            }
+            return batch;
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取导出溢写文件失败", e);
+        }
+    }
+
+    /**
+     * 关闭并删除文件（幂等；写出线程与被取消的生产者都可能调用）
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+            if (path != null) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("删除导出溢写文件失败: " + path, e);
+        }
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String s) {
+            out.writeByte(STRING);
+            writeString(s);
+        } else if (value instanceof Integer i) {
+            out.writeByte(INT);
+            out.writeInt(i);
+        } else if (value instanceof Long l) {
+            out.writeByte(LONG);
+            out.writeLong(l);
+        } else if (value instanceof Double d) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(d);
+        } else if (value instanceof BigDecimal d) {
+            out.writeByte(DECIMAL);
+            out.writeInt(d.scale());
+            byte[] unscaled = d.unscaledValue().toByteArray();
+            out.writeInt(unscaled.length);
+            out.write(unscaled);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof LocalDate d) {
+            out.writeByte(LOCAL_DATE);
+            out.writeLong(d.toEpochDay());
+        } else if (value instanceof LocalDateTime t) {
+            out.writeByte(LOCAL_DATE_TIME);
+            out.writeLong(t.toLocalDate().toEpochDay());
+            out.writeLong(t.toLocalTime().toNanoOfDay());
+        } else if (value instanceof Timestamp t) {
+            out.writeByte(SQL_TIMESTAMP);
+            out.writeLong(t.getTime());
+            out.writeInt(t.getNanos());
+        } else if (value.getClass() == java.sql.Date.class) {
+            out.writeByte(SQL_DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value.getClass() == Date.class) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof Serializable) {
+            out.writeByte(SERIALIZED);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+                oos.writeObject(value);
+            }
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        } else {
+            // 不可序列化的值按文本写出，与写出器对未知类型调用 toString 的效果一致
+            out.writeByte(STRING);
+            writeString(value.toString());
+        }
+    }
+
+    private Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(in);
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case DECIMAL: {
+                int scale = in.readInt();
+                byte[] unscaled = new byte[in.readInt()];
+                in.readFully(unscaled);
+                return new BigDecimal(new BigInteger(unscaled), scale);
+            }
+            case BOOLEAN:
+                return in.readBoolean();
+            case LOCAL_DATE:
+                return LocalDate.ofEpochDay(in.readLong());
+            case LOCAL_DATE_TIME:
+                return LocalDateTime.of(LocalDate.ofEpochDay(in.readLong()), LocalTime.ofNanoOfDay(in.readLong()));
+            case DATE:
+                return new Date(in.readLong());
+            case SQL_TIMESTAMP: {
+                Timestamp t = new Timestamp(in.readLong());
+                t.setNanos(in.readInt());
+                return t;
+            }
+            case SQL_DATE:
+                return new java.sql.Date(in.readLong());
+            case SERIALIZED: {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    return ois.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("溢写数据类型不存在", e);
+                }
+            }
+            default:
+                throw new IOException("未知的溢写数据类型标记: " + tag);
+        }
+    }
+
+    /**
+     * writeUTF 限制 64KB，长文本按长度 + UTF-8 字节写出
+     */
+    private void writeString(String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
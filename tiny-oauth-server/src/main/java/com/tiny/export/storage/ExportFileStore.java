@@ -0,0 +1,44 @@
+package com.tiny.export.storage;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * ExportFileStore —— 异步导出结果文件的存储
+ *
+ * 导出完成后结果文件从本节点临时目录交给存储，export_task.file_path 记录存储返回的 key，
+ * 下载时按 key 读取，因此任一节点都能响应下载（本地实现除外）。
+ *
+ * 接口按对象存储的能力设计：保存整个文件、查询元数据、按区间读取、删除。
+ * S3 / OSS 等实现 {@link #transferTo} 时使用带 Range 的 GET 即可，{@link #localPath} 返回空。
+ */
+public interface ExportFileStore {
+
+    /**
+     * 保存结果文件（调用后 source 不再保留）
+     *
+     * @param taskId   任务ID，用于组织存储路径
+     * @param source   本节点上已写完的文件
+     * @param fileName 下载时使用的文件名
+     */
+    StoredExportFile save(String taskId, Path source, String fileName) throws IOException;
+
+    /**
+     * 查询文件元数据，不存在时为空
+     */
+    Optional<StoredExportFile> find(String key) throws IOException;
+
+    /**
+     * 把 [position, position + count) 区间写入 target，返回写入的字节数
+     */
+    long transferTo(String key, long position, long count, WritableByteChannel target) throws IOException;
+
+    /**
+     * 文件在本节点文件系统上的路径（可交给容器零拷贝发送），对象存储返回空
+     */
+    Optional<Path> localPath(String key);
+
+    void delete(String key) throws IOException;
+}
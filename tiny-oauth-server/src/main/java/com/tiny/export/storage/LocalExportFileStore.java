@@ -0,0 +1,135 @@
+package com.tiny.export.storage;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+
+/**
+ * LocalExportFileStore —— 本节点文件系统存储
+ *
+ * 文件保存在 {@code <root>/<taskId>/<fileName>}，key 为相对 root 的路径。只有生成文件的节点能响应下载，
+ * 适合单机部署；集群部署使用 {@link SharedDirectoryExportFileStore} 或对象存储实现。
+ *
+ * 磁盘上的文件名是下载文件名的 URL 编码（纯 ASCII），中文文件名不受 JVM 文件名编码（sun.jnu.encoding）影响。
+ *
+ * 兼容历史数据：key 为绝对路径时（旧版本直接记录临时文件路径）按原路径读取。
+ */
+public class LocalExportFileStore implements ExportFileStore {
+
+    /** 编码后文件名的长度上限（常见文件系统单个文件名 255 字节） */
+    private static final int MAX_ENCODED_NAME = 200;
+
+    protected final Path root;
+
+    public LocalExportFileStore(Path root) throws IOException {
+        this(root, true);
+    }
+
+    protected LocalExportFileStore(Path root, boolean createRoot) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        if (createRoot) {
+            Files.createDirectories(this.root);
+        }
+    }
+
+    @Override
+    public StoredExportFile save(String taskId, Path source, String fileName) throws IOException {
+        String key = key(taskId, fileName);
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        return describe(key, target);
+    }
+
+    @Override
+    public Optional<StoredExportFile> find(String key) throws IOException {
+        Path file = resolve(key);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(describe(key, file));
+    }
+
+    @Override
+    public long transferTo(String key, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            long end = Math.min(position + count, channel.size());
+            long pos = position;
+            while (pos < end) {
+                long n = channel.transferTo(pos, end - pos, target);
+                if (n <= 0) {
+                    break;
+                }
+                pos += n;
+            }
+            return pos - position;
+        } catch (NoSuchFileException e) {
+            throw new IllegalStateException("导出文件不存在: " + key, e);
+        }
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Path file = resolve(key);
+        Files.deleteIfExists(file);
+        Path dir = file.getParent();
+        if (dir != null && !dir.equals(root) && dir.startsWith(root)) {
+            try {
+                Files.deleteIfExists(dir);
+            } catch (IOException ignored) {
+                // 目录非空
+            }
+        }
+    }
+
+    /**
+     * 超长时从主名末尾截断，保留第一个 '.' 之后的扩展名
+     */
+    protected static String key(String taskId, String fileName) {
+        String name = fileName;
+        String encoded = URLEncoder.encode(name, StandardCharsets.UTF_8);
+        while (encoded.length() > MAX_ENCODED_NAME) {
+            int dot = name.indexOf('.');
+            String base = dot > 0 ? name.substring(0, dot) : name;
+            if (base.length() <= 1) {
+                break;
+            }
+            name = base.substring(0, base.length() - 1) + (dot > 0 ? name.substring(dot) : "");
+            encoded = URLEncoder.encode(name, StandardCharsets.UTF_8);
+        }
+        return taskId + "/" + encoded;
+    }
+
+    protected Path resolve(String key) {
+        Path path = Path.of(key);
+        if (path.isAbsolute()) {
+            return path;
+        }
+        Path resolved = root.resolve(path).normalize();
+        if (!resolved.startsWith(root)) {
+            throw new IllegalArgumentException("非法的导出文件 key: " + key);
+        }
+        return resolved;
+    }
+
+    private static StoredExportFile describe(String key, Path file) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        String fileName = URLDecoder.decode(file.getFileName().toString(), StandardCharsets.UTF_8);
+        return new StoredExportFile(key, fileName, attrs.size(), attrs.lastModifiedTime().toInstant());
+    }
+}
@@ -0,0 +1,48 @@
+package com.tiny.export.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * SharedDirectoryExportFileStore —— 集群共享目录存储（NFS / CIFS 等挂载点）
+ *
+ * 与本地存储相比：
+ *  - 根目录必须已存在，不自动创建，避免挂载缺失时把文件悄悄写到本机磁盘
+ *  - 先复制到根目录下的 .incoming 并 fsync，再原子 rename 到最终位置，其他节点不会读到写了一半的文件
+ */
+public class SharedDirectoryExportFileStore extends LocalExportFileStore {
+
+    private static final String INCOMING_DIR = ".incoming";
+
+    public SharedDirectoryExportFileStore(Path root) throws IOException {
+        super(root, false);
+        if (!Files.isDirectory(this.root)) {
+            throw new IllegalStateException("导出共享目录不存在或未挂载: " + this.root);
+        }
+        Files.createDirectories(this.root.resolve(INCOMING_DIR));
+    }
+
+    @Override
+    public StoredExportFile save(String taskId, Path source, String fileName) throws IOException {
+        String key = key(taskId, fileName);
+        Path target = resolve(key);
+        Path incoming = root.resolve(INCOMING_DIR).resolve(UUID.randomUUID().toString());
+        try {
+            Files.copy(source, incoming, StandardCopyOption.REPLACE_EXISTING);
+            try (FileChannel channel = FileChannel.open(incoming, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(incoming, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(incoming);
+        }
+        Files.deleteIfExists(source);
+        return find(key).orElseThrow(() -> new IllegalStateException("导出文件保存后不可见: " + key));
+    }
+}
@@ -0,0 +1,14 @@
+package com.tiny.export.storage;
+
+import java.time.Instant;
+
+/**
+ * StoredExportFile —— 已存储结果文件的元数据
+ *
+ * @param key          存储 key（写入 export_task.file_path）
+ * @param fileName     下载文件名
+ * @param size         字节数
+ * @param lastModified 最后修改时间（用于 ETag / If-Range）
+ */
+public record StoredExportFile(String key, String fileName, long size, Instant lastModified) {
+}
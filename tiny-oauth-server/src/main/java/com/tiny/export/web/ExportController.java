@@ -1,34 +1,46 @@
 package com.tiny.export.web;
 
+import com.tiny.export.core.ExportFormat;
 import com.tiny.export.core.ExportRequest;
 import com.tiny.export.persistence.ExportTaskEntity;
+import com.tiny.export.service.ExportProgressTracker;
 import com.tiny.export.service.ExportService;
 import com.tiny.export.service.ExportTaskService;
 import com.tiny.export.service.ExportTaskStatus;
+import com.tiny.export.storage.ExportFileStore;
+import com.tiny.export.storage.StoredExportFile;
 import com.tiny.oauthserver.sys.model.SecurityUser;
 import jakarta.servlet.AsyncContext;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.oauth2.core.ClaimAccessor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.InputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
-import java.nio.file.Files;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -36,12 +48,26 @@ import java.util.Optional;
 @RequestMapping("/export")
 public class ExportController {
 
+    /** 认证主体（JWT）中租户ID所在的 claim；发起租户只取自认证信息，不读请求头；用于租户导出配额 */
+    private static final String TENANT_CLAIM = "tenantId";
+
+    /** Tomcat sendfile 请求属性（NIO / NIO2 连接器开启 useSendfile 时由容器设置 support 属性） */
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final ExportService exportService;
     private final ExportTaskService exportTaskService;
+    private final ExportFileStore fileStore;
+    private final ExportProgressTracker progressTracker;
 
-    public ExportController(ExportService exportService, ExportTaskService exportTaskService) {
+    public ExportController(ExportService exportService, ExportTaskService exportTaskService, ExportFileStore fileStore,
+                            ExportProgressTracker progressTracker) {
         this.exportService = exportService;
         this.exportTaskService = exportTaskService;
+        this.fileStore = fileStore;
+        this.progressTracker = progressTracker;
     }
 
     /** 同步导出（阻塞，使用 StreamingResponseBody 避免错误状态下写入 Excel 头） */
@@ -51,9 +77,10 @@ public class ExportController {
         if (request == null || request.getSheets() == null || request.getSheets().isEmpty()) {
             throw new IllegalArgumentException("sheets 不能为空，至少包含一个 sheet");
         }
+        request.setTenantId(currentTenantId(currentAuthentication()));
 
-        String filename = (request.getFileName() == null || request.getFileName().isBlank())
-            ? "export.xlsx" : request.getFileName() + ".xlsx";
+        String filename = ((request.getFileName() == null || request.getFileName().isBlank())
+            ? "export" : request.getFileName()) + ExportFormat.fileExtension(request);
 
         StreamingResponseBody body = out -> {
             try {
@@ -67,14 +94,14 @@ public class ExportController {
         return ResponseEntity
             .ok()
             .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-            .contentType(MediaType.parseMediaType(
-                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+            .contentType(MediaType.parseMediaType(ExportFormat.contentType(request)))
             .body(body);
     }
 
     /** 异步任务提交 */
     @PostMapping("/async")
     public ResponseEntity<Map<String, String>> submitAsync(@RequestBody ExportRequest request) {
+        request.setTenantId(currentTenantId(currentAuthentication()));
         String uid = currentUserId();
         String taskId = exportService.submitAsync(request, uid);
         return ResponseEntity.accepted()
@@ -82,12 +109,72 @@ public class ExportController {
             .body(Map.of("taskId", taskId));
     }
 
-    /** 查询任务状态 */
+    /** 查询任务状态（任务在本节点运行时直接返回内存中的实时进度，不访问数据库），仅任务发起人或管理员可查看 */
     @GetMapping("/task/{taskId}")
     public ResponseEntity<?> getTask(@PathVariable String taskId) {
-        Optional<ExportTaskEntity> task = exportTaskService.findByTaskId(taskId);
-        return task.<ResponseEntity<?>>map(ResponseEntity::ok)
-            .orElseGet(() -> ResponseEntity.notFound().build());
+        Optional<ExportTaskEntity> task = progressTracker.liveView(taskId)
+            .or(() -> exportTaskService.findByTaskId(taskId));
+        if (task.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!canAccess(task.get(), currentAuthentication())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(task.get());
+    }
+
+    /**
+     * 订阅任务进度（SSE）
+     *
+     * 任务在本节点运行时按 export.progress.push-interval-ms 推送 progress 事件，结束后推送一次数据库中的最终状态并关闭；
+     * 任务不在本节点运行（排队中、在其他节点或已结束）时只推送一次数据库中的状态，客户端可改为轮询。
+     * 与下载相同，仅任务发起人或管理员可订阅
+     */
+    @GetMapping(value = "/task/{taskId}/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamProgress(@PathVariable String taskId) {
+        Optional<ExportTaskEntity> stored = exportTaskService.findByTaskId(taskId);
+        if (stored.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!canAccess(stored.get(), currentAuthentication())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        SseEmitter emitter = new SseEmitter(0L);
+        ExportProgressTracker.Listener listener = new ExportProgressTracker.Listener() {
+            @Override
+            public boolean onProgress(ExportTaskEntity view) {
+                try {
+                    emitter.send(SseEmitter.event().name("progress").data(view, MediaType.APPLICATION_JSON));
+                    return true;
+                } catch (IOException | IllegalStateException ex) {
+                    emitter.completeWithError(ex);
+                    return false;
+                }
+            }
+
+            @Override
+            public void onEnd() {
+                sendFinalState(emitter, exportTaskService.findByTaskId(taskId).orElse(null));
+            }
+        };
+        emitter.onCompletion(() -> progressTracker.unsubscribe(taskId, listener));
+        emitter.onTimeout(() -> progressTracker.unsubscribe(taskId, listener));
+        emitter.onError(ex -> progressTracker.unsubscribe(taskId, listener));
+        if (!progressTracker.subscribe(taskId, listener)) {
+            sendFinalState(emitter, stored.get());
+        }
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+    }
+
+    private static void sendFinalState(SseEmitter emitter, ExportTaskEntity task) {
+        try {
+            if (task != null) {
+                emitter.send(SseEmitter.event().name("progress").data(task, MediaType.APPLICATION_JSON));
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException ex) {
+            emitter.completeWithError(ex);
+        }
     }
 
     /** 查询当前用户任务，管理员可查看全部 */
@@ -102,9 +189,15 @@ public class ExportController {
         return ResponseEntity.ok(exportTaskService.findUserTasks(uid));
     }
 
-    /** 下载异步结果 */
+    /**
+     * 下载异步结果
+     *
+     * 支持单区间 Range / If-Range 断点续传（多区间时返回完整文件）；文件在本节点文件系统上且容器支持 sendfile 时
+     * 交给容器零拷贝发送，否则由 {@link ExportFileStore#transferTo} 经 FileChannel.transferTo 写出。
+     */
     @GetMapping("/task/{taskId}/download")
     public void downloadTaskResult(@PathVariable String taskId,
+                                   HttpServletRequest request,
                                    HttpServletResponse response) throws Exception {
         Optional<ExportTaskEntity> taskOpt = exportTaskService.findByTaskId(taskId);
         if (taskOpt.isEmpty()) {
@@ -112,9 +205,7 @@ public class ExportController {
             return;
         }
         ExportTaskEntity task = taskOpt.get();
-        Authentication auth = currentAuthentication();
-        String requester = currentUserId(auth);
-        if (!requester.equals(task.getUserId()) && !hasAdminAuthority(auth)) {
+        if (!canAccess(task, currentAuthentication())) {
             response.setStatus(HttpServletResponse.SC_FORBIDDEN);
             return;
         }
@@ -127,16 +218,78 @@ public class ExportController {
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             return;
         }
-        Path file = Path.of(task.getFilePath());
-        if (!Files.exists(file)) {
+        Optional<StoredExportFile> stored = fileStore.find(task.getFilePath());
+        if (stored.isEmpty()) {
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             return;
         }
-        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-        response.setHeader("Content-Disposition", "attachment; filename=\"" + file.getFileName() + "\"");
-        try (InputStream is = Files.newInputStream(file); OutputStream os = response.getOutputStream()) {
-            is.transferTo(os);
-            os.flush();
+        StoredExportFile file = stored.get();
+        long size = file.size();
+        String etag = "\"" + taskId + "-" + size + "-" + file.lastModified().toEpochMilli() + "\"";
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, file.lastModified().toEpochMilli());
+        response.setContentType(ExportFormat.contentTypeOfFile(file.fileName()));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(file.fileName(), StandardCharsets.UTF_8).build().toString());
+
+        long start = 0;
+        long length = size;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeApplies(request, etag, file.lastModified().toEpochMilli())) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException ex) {
+                ranges = List.of();
+            }
+            if (ranges.size() == 1) {
+                start = ranges.get(0).getRangeStart(size);
+                long end = ranges.get(0).getRangeEnd(size);
+                if (start >= size || end < start) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return;
+                }
+                length = end - start + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+        response.setContentLengthLong(length);
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        Optional<Path> localPath = fileStore.localPath(file.key());
+        if (localPath.isPresent() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, localPath.get().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        try (WritableByteChannel out = Channels.newChannel(response.getOutputStream())) {
+            fileStore.transferTo(file.key(), start, length, out);
+        }
+    }
+
+    /**
+     * If-Range 校验：缺省时区间有效；带 ETag 时须完全一致，带日期时须与最后修改时间（秒级）一致，
+     * 否则文件已变化，忽略 Range 返回完整文件
+     */
+    private static boolean rangeApplies(HttpServletRequest request, String etag, long lastModifiedMillis) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return date >= 0 && date / 1000 == lastModifiedMillis / 1000;
+        } catch (IllegalArgumentException ex) {
+            return false;
         }
     }
 
@@ -146,12 +299,14 @@ public class ExportController {
                                    HttpServletRequest httpRequest,
                                    HttpServletResponse response) {
         String uid = currentUserId();
+        request.setTenantId(currentTenantId(currentAuthentication()));
         AsyncContext async = httpRequest.startAsync();
         async.setTimeout(60_000L);
         async.start(() -> {
             try (OutputStream os = response.getOutputStream()) {
-                response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-                response.setHeader("Content-Disposition", "attachment; filename=\"export-asyncservlet.xlsx\"");
+                response.setContentType(ExportFormat.contentType(request));
+                response.setHeader("Content-Disposition",
+                    "attachment; filename=\"export-asyncservlet" + ExportFormat.fileExtension(request) + "\"");
                 exportService.exportSync(request, os, uid);
                 os.flush();
             } catch (Exception ex) {
@@ -193,6 +348,26 @@ public class ExportController {
         return name;
     }
 
+    /**
+     * 发起租户只取自认证主体（JWT 的 tenantId claim），不信任请求头或请求体；取不到时为 null，由准入控制归入默认租户桶
+     */
+    private String currentTenantId(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof ClaimAccessor claims) {
+            return claims.getClaimAsString(TENANT_CLAIM);
+        }
+        return null;
+    }
+
+    /**
+     * 任务发起人或管理员
+     */
+    private boolean canAccess(ExportTaskEntity task, Authentication authentication) {
+        return currentUserId(authentication).equals(task.getUserId()) || hasAdminAuthority(authentication);
+    }
+
     private boolean hasAdminAuthority(Authentication authentication) {
         if (authentication == null) {
             return false;
@@ -3,6 +3,8 @@ package com.tiny.export.writer;
 import com.tiny.export.service.SheetWriteModel;
 
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -10,4 +12,15 @@ import java.util.List;
  */
 public interface WriterAdapter {
     void writeMultiSheet(OutputStream out, List<SheetWriteModel> sheets) throws Exception;
+
+    /**
+     * 按需逐个写出 sheet：分段导出时一段能容纳几个 sheet 要等行数写到上限才知道，
+     * 迭代器在上一个 sheet 的行读完之后才决定是否还有下一个。
+     * 默认实现先取出全部 sheet 再调用 writeMultiSheet，此时每段只包含一个 sheet。
+     */
+    default void writeSheets(OutputStream out, Iterator<SheetWriteModel> sheets) throws Exception {
+        List<SheetWriteModel> all = new ArrayList<>();
+        sheets.forEachRemaining(all::add);
+        writeMultiSheet(out, all);
+    }
 }
\ No newline at end of file
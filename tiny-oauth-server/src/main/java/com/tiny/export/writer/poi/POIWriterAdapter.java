@@ -23,10 +23,16 @@ public class POIWriterAdapter implements WriterAdapter {
 
     @Override
     public void writeMultiSheet(OutputStream out, List<SheetWriteModel> sheets) throws Exception {
+        writeSheets(out, sheets.iterator());
+    }
+
+    @Override
+    public void writeSheets(OutputStream out, Iterator<SheetWriteModel> sheets) throws Exception {
         SXSSFWorkbook workbook = new SXSSFWorkbook(rowAccessWindowSize);
         try {
             int sheetIndex = 0;
-            for (SheetWriteModel model : sheets) {
+            while (sheets.hasNext()) {
+                SheetWriteModel model = sheets.next();
                 String sheetName = model.getSheetName() == null ? "Sheet" + (++sheetIndex) : model.getSheetName();
                 Sheet sheet = workbook.createSheet(sheetName);
                 List<List<String>> head = model.getHead();
@@ -0,0 +1,501 @@
+package com.tiny.export.writer.text;
+
+import com.tiny.export.core.ExportFormat;
+import com.tiny.export.service.SheetWriteModel;
+import com.tiny.export.writer.WriterAdapter;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * TextWriterAdapter —— CSV / JSON Lines 流式写出
+ *
+ * 面向机器读取的导出：不生成工作簿，行直接编码进一个复用的字符缓冲区再写入输出流
+ * （同步导出的响应流或异步任务文件），可选边写边 gzip。
+ *
+ * <ul>
+ *   <li>CSV：首行为表头（多级表头取最末一级标题），按 RFC 4180 转义；UTF-8 BOM 便于 Excel 打开。
+ *       以 = + - @ 制表符或回车开头的文本单元格前加 ' 并加引号，防止打开时被当作公式执行
+ *       （数值单元格和 "-12.5" 这类整体为数值的文本不受影响）。
+ *       多个 sheet 时输出 zip，每个 sheet 一个 csv 条目，重名（忽略大小写）的条目依次加 (2)、(3) 后缀。续段（{@link SheetWriteModel#isContinuation()}）
+ *       不写 BOM 与表头，分段文件按顺序拼接即为完整文件</li>
+ *   <li>JSONL：每行一个 JSON 对象，键为列字段名；多个 sheet 时每行首个键为 "_sheet"；文本按原文写出，不做公式防护</li>
+ *   <li>顶部信息行与合计行属于展示内容，不写出</li>
+ *   <li>整数、布尔、LocalDate、LocalDateTime 直接写入缓冲区，不为单元格创建中间字符串；
+ *       日期时间为 ISO-8601（yyyy-MM-dd'T'HH:mm:ss[.SSS]）；其他类型使用 toString</li>
+ * </ul>
+ */
+public class TextWriterAdapter implements WriterAdapter {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final char BOM = '﻿';
+
+    private final ExportFormat format;
+    private final boolean gzip;
+    private final boolean multiSheet;
+
+    /**
+     * @param format     CSV 或 JSONL
+     * @param gzip       是否 gzip 压缩（多 sheet CSV 输出 zip 时忽略）
+     * @param multiSheet 请求是否包含多个 sheet（决定 CSV 是否输出 zip、JSONL 是否带 "_sheet"）
+     */
+    public TextWriterAdapter(ExportFormat format, boolean gzip, boolean multiSheet) {
+        if (format != ExportFormat.CSV && format != ExportFormat.JSONL) {
+            throw new IllegalArgumentException("TextWriterAdapter 仅支持 CSV / JSONL: " + format);
+        }
+        this.format = format;
+        this.gzip = gzip;
+        this.multiSheet = multiSheet;
+    }
+
+    @Override
+    public void writeMultiSheet(OutputStream out, List<SheetWriteModel> sheets) throws Exception {
+        writeSheets(out, sheets.iterator());
+    }
+
+    @Override
+    public void writeSheets(OutputStream out, Iterator<SheetWriteModel> sheets) throws Exception {
+        // 输出流由调用方关闭，这里只 finish / flush
+        OutputStream target = new NonClosingOutputStream(out);
+        if (format == ExportFormat.CSV && multiSheet) {
+            writeZip(target, sheets);
+            return;
+        }
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(target, GZIP_BUFFER_SIZE) : null;
+        TextSink sink = new TextSink(gzipStream != null ? gzipStream : target);
+        int index = 0;
+        while (sheets.hasNext()) {
+            SheetWriteModel sheet = sheets.next();
+            index++;
+            if (format == ExportFormat.CSV) {
+                if (!sheet.isContinuation()) {
+                    sink.append(BOM);
+                }
+                writeCsv(sink, sheet, !sheet.isContinuation());
+            } else {
+                writeJsonLines(sink, sheet, multiSheet ? sheetName(sheet, index) : null);
+            }
+        }
+        sink.flush();
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        out.flush();
+    }
+
+    private void writeZip(OutputStream target, Iterator<SheetWriteModel> sheets) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(target, StandardCharsets.UTF_8);
+        TextSink sink = new TextSink(zip);
+        Set<String> entryNames = new HashSet<>();
+        int index = 0;
+        while (sheets.hasNext()) {
+            SheetWriteModel sheet = sheets.next();
+            zip.putNextEntry(new ZipEntry(uniqueEntryName(sheetName(sheet, ++index), entryNames)));
+            sink.append(BOM);
+            writeCsv(sink, sheet, true);
+            sink.flush();
+            zip.closeEntry();
+        }
+        zip.finish();
+        target.flush();
+    }
+
+    /**
+     * zip 条目名：替换文件名非法字符；与已有条目重名（忽略大小写，避免解压到不区分大小写的文件系统时互相覆盖）时加序号
+     */
+    static String uniqueEntryName(String sheetName, Set<String> used) {
+        String base = sheetName.replaceAll("[\\\\/:*?\"<>|]", "_");
+        String name = base + ".csv";
+        for (int n = 2; !used.add(name.toLowerCase(Locale.ROOT)); n++) {
+            name = base + " (" + n + ").csv";
+        }
+        return name;
+    }
+
+    private static String sheetName(SheetWriteModel sheet, int index) {
+        return sheet.getSheetName() == null ? "Sheet" + index : sheet.getSheetName();
+    }
+
+    private void writeCsv(TextSink sink, SheetWriteModel sheet, boolean withHead) throws IOException {
+        List<List<String>> head = sheet.getHead();
+        if (withHead && head != null && !head.isEmpty()) {
+            for (int c = 0; c < head.size(); c++) {
+                if (c > 0) {
+                    sink.append(',');
+                }
+                sink.appendCsv(leafTitle(head.get(c)));
+            }
+            sink.newLine();
+        }
+        Iterator<List<Object>> rows = sheet.getRows();
+        while (rows != null && rows.hasNext()) {
+            List<Object> row = rows.next();
+            for (int c = 0, n = row.size(); c < n; c++) {
+                if (c > 0) {
+                    sink.append(',');
+                }
+                sink.appendCsvValue(row.get(c));
+            }
+            sink.newLine();
+        }
+    }
+
+    private void writeJsonLines(TextSink sink, SheetWriteModel sheet, String sheetName) throws IOException {
+        List<String> fields = sheet.getLeafFields();
+        int columns = fields == null ? 0 : fields.size();
+        // 预先编码每列的 "key": 前缀，行内只做拷贝
+        char[][] keys = new char[columns][];
+        for (int c = 0; c < columns; c++) {
+            keys[c] = (TextSink.jsonString(fields.get(c)) + ':').toCharArray();
+        }
+        char[] sheetPrefix = sheetName == null ? null : ("\"_sheet\":" + TextSink.jsonString(sheetName)).toCharArray();
+
+        Iterator<List<Object>> rows = sheet.getRows();
+        while (rows != null && rows.hasNext()) {
+            List<Object> row = rows.next();
+            sink.append('{');
+            boolean first = true;
+            if (sheetPrefix != null) {
+                sink.append(sheetPrefix);
+                first = false;
+            }
+            for (int c = 0, n = Math.min(columns, row.size()); c < n; c++) {
+                if (!first) {
+                    sink.append(',');
+                }
+                first = false;
+                sink.append(keys[c]);
+                sink.appendJsonValue(row.get(c));
+            }
+            sink.append('}');
+            sink.newLine();
+        }
+    }
+
+    private static String leafTitle(List<String> levels) {
+        for (int i = levels.size() - 1; i >= 0; i--) {
+            String title = levels.get(i);
+            if (title != null && !title.isEmpty()) {
+                return title;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * 复用字符缓冲区的文本输出，缓冲区满时整体交给 UTF-8 编码器
+     */
+    static final class TextSink {
+
+        private final Writer writer;
+        private final char[] buf = new char[BUFFER_SIZE];
+        private int pos;
+
+        TextSink(OutputStream out) {
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        }
+
+        void append(char c) throws IOException {
+            if (pos == buf.length) {
+                drain();
+            }
+            buf[pos++] = c;
+        }
+
+        void append(char[] chars) throws IOException {
+            if (chars.length > buf.length - pos) {
+                drain();
+                if (chars.length > buf.length) {
+                    writer.write(chars);
+                    return;
+                }
+            }
+            System.arraycopy(chars, 0, buf, pos, chars.length);
+            pos += chars.length;
+        }
+
+        void append(String s) throws IOException {
+            int len = s.length();
+            if (len > buf.length - pos) {
+                drain();
+                if (len > buf.length) {
+                    writer.write(s);
+                    return;
+                }
+            }
+            s.getChars(0, len, buf, pos);
+            pos += len;
+        }
+
+        void newLine() throws IOException {
+            append('\n');
+        }
+
+        void flush() throws IOException {
+            drain();
+            writer.flush();
+        }
+
+        private void drain() throws IOException {
+            if (pos > 0) {
+                writer.write(buf, 0, pos);
+                pos = 0;
+            }
+        }
+
+        // ---------------- CSV ----------------
+
+        void appendCsvValue(Object v) throws IOException {
+            if (v == null) {
+                return;
+            }
+            if (!appendScalar(v)) {
+                appendCsv(v.toString());
+            }
+        }
+
+        void appendCsv(String s) throws IOException {
+            boolean formula = isFormulaLike(s);
+            if (!formula && !needsCsvQuote(s)) {
+                append(s);
+                return;
+            }
+            append('"');
+            if (formula) {
+                append('\'');
+            }
+            for (int i = 0, n = s.length(); i < n; i++) {
+                char c = s.charAt(i);
+                if (c == '"') {
+                    append('"');
+                }
+                append(c);
+            }
+            append('"');
+        }
+
+        /**
+         * 电子表格会把这些字符开头的单元格当作公式（CSV 注入）；只用于 CSV，JSONL 不经电子表格打开，按原文写出。
+         * 以 + / - 开头但整体是数值的文本（如 "-12.5"）不是公式，不加前缀，否则在电子表格中变成文本
+         */
+        private static boolean isFormulaLike(String s) {
+            if (s.isEmpty()) {
+                return false;
+            }
+            char c = s.charAt(0);
+            if (c == '+' || c == '-') {
+                return !isNumber(s);
+            }
+            return c == '=' || c == '@' || c == '\t' || c == '\r';
+        }
+
+        private static boolean isNumber(String s) {
+            try {
+                new BigDecimal(s);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private static boolean needsCsvQuote(String s) {
+            for (int i = 0, n = s.length(); i < n; i++) {
+                char c = s.charAt(i);
+                if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // ---------------- JSON ----------------
+
+        void appendJsonValue(Object v) throws IOException {
+            if (v == null) {
+                append("null");
+                return;
+            }
+            if (v instanceof Double d && (d.isNaN() || d.isInfinite())
+                || v instanceof Float f && (f.isNaN() || f.isInfinite())) {
+                append("null");
+                return;
+            }
+            if (v instanceof Number || v instanceof Boolean) {
+                appendScalar(v);
+                return;
+            }
+            append('"');
+            if (!appendScalar(v)) {
+                appendJsonEscaped(v.toString());
+            }
+            append('"');
+        }
+
+        private void appendJsonEscaped(String s) throws IOException {
+            for (int i = 0, n = s.length(); i < n; i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '"' -> append("\\\"");
+                    case '\\' -> append("\\\\");
+                    case '\n' -> append("\\n");
+                    case '\r' -> append("\\r");
+                    case '\t' -> append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            append("\\u00");
+                            append(Character.forDigit(c >> 4, 16));
+                            append(Character.forDigit(c & 0xF, 16));
+                        } else {
+                            append(c);
+                        }
+                    }
+                }
+            }
+        }
+
+        static String jsonString(String s) {
+            StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+            for (int i = 0, n = s.length(); i < n; i++) {
+                char c = s.charAt(i);
+                if (c == '"' || c == '\\') {
+                    sb.append('\\').append(c);
+                } else if (c < 0x20) {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+            return sb.append('"').toString();
+        }
+
+        // ---------------- 标量 ----------------
+
+        /**
+         * 直接写出无需转义的标量，返回 false 表示需要调用方按文本处理
+         */
+        private boolean appendScalar(Object v) throws IOException {
+            if (v instanceof Integer || v instanceof Long || v instanceof Short || v instanceof Byte) {
+                appendLong(((Number) v).longValue());
+            } else if (v instanceof BigDecimal d) {
+                append(d.toPlainString());
+            } else if (v instanceof Number) {
+                append(v.toString());
+            } else if (v instanceof Boolean b) {
+                append(b ? "true" : "false");
+            } else if (v instanceof LocalDate d && d.getYear() >= 0 && d.getYear() <= 9999) {
+                appendDate(d);
+            } else if (v instanceof LocalDateTime t && t.getYear() >= 0 && t.getYear() <= 9999) {
+                appendDate(t.toLocalDate());
+                append('T');
+                appendTime(t.toLocalTime());
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        private void appendLong(long value) throws IOException {
+            if (value == Long.MIN_VALUE) {
+                append("-9223372036854775808");
+                return;
+            }
+            if (value < 0) {
+                append('-');
+                value = -value;
+            }
+            if (value < 10) {
+                append((char) ('0' + value));
+                return;
+            }
+            if (buf.length - pos < 20) {
+                drain();
+            }
+            int digits = 0;
+            for (long v = value; v > 0; v /= 10) {
+                digits++;
+            }
+            int end = pos + digits;
+            for (int i = end - 1; i >= pos; i--) {
+                buf[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+            pos = end;
+        }
+
+        private void appendDate(LocalDate d) throws IOException {
+            appendPadded(d.getYear(), 4);
+            append('-');
+            appendPadded(d.getMonthValue(), 2);
+            append('-');
+            appendPadded(d.getDayOfMonth(), 2);
+        }
+
+        private void appendTime(LocalTime t) throws IOException {
+            appendPadded(t.getHour(), 2);
+            append(':');
+            appendPadded(t.getMinute(), 2);
+            append(':');
+            appendPadded(t.getSecond(), 2);
+            int nano = t.getNano();
+            if (nano == 0) {
+                return;
+            }
+            append('.');
+            if (nano % 1_000_000 == 0) {
+                appendPadded(nano / 1_000_000, 3);
+            } else if (nano % 1_000 == 0) {
+                appendPadded(nano / 1_000, 6);
+            } else {
+                appendPadded(nano, 9);
+            }
+        }
+
+        private void appendPadded(int value, int width) throws IOException {
+            if (buf.length - pos < width) {
+                drain();
+            }
+            for (int i = pos + width - 1; i >= pos; i--) {
+                buf[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+            pos += width;
+        }
+    }
+
+    /**
+     * 屏蔽 close，避免 gzip / zip 流关闭调用方的输出流
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
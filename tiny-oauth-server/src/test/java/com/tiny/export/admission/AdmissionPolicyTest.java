@@ -0,0 +1,123 @@
+package com.tiny.export.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AdmissionPolicy 测试类
+ * 验证公平排队：权重 × 等待时间的优先级、正在执行数的让位，以及全局 / 租户 / 用户配额
+ */
+class AdmissionPolicyTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("测试 等待时间相同时权重高的先放行，权重相同时等待久的先放行")
+    void testWeightAndWaitOrder() {
+        List<AdmissionTicket> live = List.of(
+            waiting("w1-new", "t1", "u1", 1, 1_000),
+            waiting("w1-old", "t1", "u2", 1, 5_000),
+            waiting("w3-new", "t2", "u3", 3, 1_000));
+
+        List<String> admitted = AdmissionPolicy.select(live, new AdmissionQuota(10, 0, 10), NOW);
+
+        // 优先级：w3-new = 3 × 2000，w1-old = 1 × 6000，w1-new = 1 × 2000；同优先级先入队的在前
+        assertEquals(List.of("w1-old", "w3-new", "w1-new"), admitted);
+    }
+
+    @Test
+    @DisplayName("测试 等待足够久的低权重票据最终排在高权重新票据之前（不饿死）")
+    void testLongWaitBeatsWeight() {
+        List<AdmissionTicket> live = List.of(
+            waiting("heavy", "t1", "u1", 4, 0),
+            waiting("starving", "t2", "u2", 1, 60_000));
+
+        List<String> admitted = AdmissionPolicy.select(live, new AdmissionQuota(1, 0, 10), NOW);
+
+        assertEquals(List.of("starving"), admitted);
+    }
+
+    @Test
+    @DisplayName("测试 已有执行中导出的用户让位：同样等待时间下空闲用户先放行")
+    void testBusyUserYields() {
+        List<AdmissionTicket> live = List.of(
+            running("r1", "t1", "busy"),
+            waiting("busy-2", "t1", "busy", 1, 10_000),
+            waiting("idle-1", "t1", "idle", 1, 6_000));
+
+        List<String> admitted = AdmissionPolicy.select(live, new AdmissionQuota(2, 0, 10), NOW);
+
+        // busy-2: 11000 / 2 = 5500 < idle-1: 7000
+        assertEquals(List.of("idle-1"), admitted);
+    }
+
+    @Test
+    @DisplayName("测试 全局配额：执行中 + 本轮放行不超过 maxGlobal")
+    void testGlobalCap() {
+        List<AdmissionTicket> live = new ArrayList<>();
+        live.add(running("r1", "t1", "u0"));
+        for (int i = 0; i < 5; i++) {
+            live.add(waiting("w" + i, "t" + i, "u" + (i + 1), 1, 1_000 * (5 - i)));
+        }
+
+        List<String> admitted = AdmissionPolicy.select(live, new AdmissionQuota(3, 0, 10), NOW);
+
+        assertEquals(List.of("w0", "w1"), admitted);
+    }
+
+    @Test
+    @DisplayName("测试 用户配额已满的票据被跳过，不阻塞其他用户")
+    void testPerUserQuotaSkips() {
+        List<AdmissionTicket> live = List.of(
+            running("r1", "t1", "u1"),
+            waiting("u1-next", "t1", "u1", 10, 30_000),
+            waiting("u2-first", "t1", "u2", 1, 1_000));
+
+        List<String> admitted = AdmissionPolicy.select(live, new AdmissionQuota(10, 0, 1), NOW);
+
+        assertEquals(List.of("u2-first"), admitted);
+    }
+
+    @Test
+    @DisplayName("测试 租户配额已满的票据被跳过，同一轮内放行也计入租户配额")
+    void testPerTenantQuota() {
+        List<AdmissionTicket> live = List.of(
+            waiting("a1", "ta", "u1", 1, 9_000),
+            waiting("a2", "ta", "u2", 1, 8_000),
+            waiting("a3", "ta", "u3", 1, 7_000),
+            waiting("b1", "tb", "u4", 1, 1_000));
+
+        List<String> admitted = AdmissionPolicy.select(live, new AdmissionQuota(10, 2, 10), NOW);
+
+        assertEquals(List.of("a1", "a2", "b1"), admitted);
+    }
+
+    @Test
+    @DisplayName("测试 默认租户桶与普通租户一样受租户配额约束")
+    void testDefaultBucketBoundByTenantQuota() {
+        List<AdmissionTicket> live = List.of(
+            running("r1", "_default", "u1"),
+            waiting("d1", "_default", "u2", 1, 5_000),
+            waiting("t1", "t1", "u3", 1, 1_000));
+
+        List<String> admitted = AdmissionPolicy.select(live, new AdmissionQuota(10, 1, 10), NOW);
+
+        assertEquals(List.of("t1"), admitted);
+    }
+
+    private static AdmissionTicket waiting(String id, String tenant, String user, int weight, long waitedMs) {
+        return new AdmissionTicket(id, tenant, user, "node", weight, AdmissionTicket.Status.WAITING,
+            NOW.minusMillis(waitedMs));
+    }
+
+    private static AdmissionTicket running(String id, String tenant, String user) {
+        return new AdmissionTicket(id, tenant, user, "node", 1, AdmissionTicket.Status.RUNNING,
+            NOW.minusSeconds(60));
+    }
+}
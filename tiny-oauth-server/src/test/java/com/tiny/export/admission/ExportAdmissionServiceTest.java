@@ -0,0 +1,83 @@
+package com.tiny.export.admission;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExportAdmissionService 测试类
+ * 基于内存存储验证默认租户桶和过期票据的重新登记
+ */
+class ExportAdmissionServiceTest {
+
+    private final LocalExportAdmissionStore store = new LocalExportAdmissionStore();
+    private ExportAdmissionService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("测试 无租户的导出归入默认租户桶，受租户配额约束")
+    void testTenantlessSubmitUsesDefaultBucket() throws Exception {
+        service = start(1);
+
+        ExportAdmission first = service.submit(null, "u1", false);
+        ExportAdmission second = service.submit(" ", "u2", false);
+        first.admitted().get(5, TimeUnit.SECONDS);
+
+        assertEquals("_default", first.ticket().tenantId());
+        assertEquals("_default", second.ticket().tenantId());
+        Thread.sleep(300);
+        assertFalse(second.admitted().isDone());
+
+        first.close();
+        second.admitted().get(5, TimeUnit.SECONDS);
+        second.close();
+    }
+
+    @Test
+    @DisplayName("测试 执行中的票据过期被清除后，续期时以 RUNNING 重新登记并继续占用名额")
+    void testExpiredRunningTicketReenqueued() throws Exception {
+        service = start(0);
+        ExportAdmission admission = service.submit("t1", "u1", false);
+        admission.admitted().get(5, TimeUnit.SECONDS);
+
+        // 模拟续期失败导致票据被清除
+        store.release(admission.ticket().ticketId());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (states(admission).isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(Map.of(admission.ticket().ticketId(), AdmissionTicket.Status.RUNNING), states(admission));
+
+        // 名额仍被占用：其他用户的导出排队等待
+        ExportAdmission other = service.submit("t2", "u2", false);
+        Thread.sleep(300);
+        assertFalse(other.admitted().isDone());
+        admission.close();
+        other.admitted().get(5, TimeUnit.SECONDS);
+        other.close();
+    }
+
+    private Map<String, AdmissionTicket.Status> states(ExportAdmission admission) {
+        return store.dispatch(admission.ticket().nodeId(), new AdmissionQuota(1, 0, 1), Instant.now());
+    }
+
+    private ExportAdmissionService start(int maxPerTenant) {
+        // lease-ttl 取最小值 3s，每 1s 续期一次
+        ExportAdmissionService s = new ExportAdmissionService(store, 1, maxPerTenant, 1, 3, 50, 2, "", "");
+        s.start();
+        return s;
+    }
+}
@@ -0,0 +1,87 @@
+package com.tiny.export.admission;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JdbcExportAdmissionStore 测试类
+ * 在 H2（MySQL 模式）上验证过期时间按数据库时钟写入与清除，以及 dispatch 的放行结果
+ */
+class JdbcExportAdmissionStoreTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcExportAdmissionStore store;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:admission;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE export_admission_ticket (ticket_id VARCHAR(64) PRIMARY KEY,"
+            + " tenant_id VARCHAR(64), user_id VARCHAR(64) NOT NULL, node_id VARCHAR(64) NOT NULL,"
+            + " weight INT NOT NULL, status VARCHAR(20) NOT NULL, enqueued_at DATETIME(3) NOT NULL,"
+            + " admitted_at DATETIME(3), expire_at DATETIME(3) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE export_admission_lock (name VARCHAR(64) PRIMARY KEY)");
+        store = new JdbcExportAdmissionStore(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE export_admission_ticket");
+        jdbcTemplate.execute("DROP TABLE export_admission_lock");
+    }
+
+    @Test
+    @DisplayName("测试 节点时钟超前于数据库时不会清除仍在有效期内的票据")
+    void testNodeClockSkewDoesNotPurge() {
+        store.enqueue(ticket("a", "node-1", AdmissionTicket.Status.WAITING), Duration.ofSeconds(60));
+
+        // 另一个节点的时钟快了 10 分钟
+        Map<String, AdmissionTicket.Status> states = store.dispatch("node-1", new AdmissionQuota(1, 0, 1),
+            Instant.now().plus(Duration.ofMinutes(10)));
+
+        assertEquals(Map.of("a", AdmissionTicket.Status.RUNNING), states);
+    }
+
+    @Test
+    @DisplayName("测试 按数据库时间已过期的票据在 dispatch 时清除，续期按数据库时间延长")
+    void testExpireAndRenewUseDatabaseClock() {
+        store.enqueue(ticket("stale", "node-1", AdmissionTicket.Status.RUNNING), Duration.ofSeconds(60));
+        store.enqueue(ticket("live", "node-2", AdmissionTicket.Status.RUNNING), Duration.ofSeconds(60));
+        jdbcTemplate.update("UPDATE export_admission_ticket SET expire_at = TIMESTAMPADD(SECOND, -1, CURRENT_TIMESTAMP(3))");
+
+        assertEquals(1, store.renew("node-2", Duration.ofSeconds(60)));
+        Map<String, AdmissionTicket.Status> states = store.dispatch("node-1", new AdmissionQuota(5, 0, 5), Instant.now());
+
+        assertTrue(states.isEmpty());
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM export_admission_ticket WHERE ticket_id = 'live'"
+                + " AND expire_at > TIMESTAMPADD(SECOND, 30, CURRENT_TIMESTAMP(3))", Integer.class));
+    }
+
+    @Test
+    @DisplayName("测试 重新登记的 RUNNING 票据计入全局配额")
+    void testReenqueuedRunningTicketHoldsQuota() {
+        store.enqueue(ticket("running", "node-1", AdmissionTicket.Status.RUNNING), Duration.ofSeconds(60));
+        store.enqueue(ticket("waiting", "node-2", AdmissionTicket.Status.WAITING), Duration.ofSeconds(60));
+
+        Map<String, AdmissionTicket.Status> states = store.dispatch("node-2", new AdmissionQuota(1, 0, 5), Instant.now());
+
+        assertEquals(Map.of("waiting", AdmissionTicket.Status.WAITING), states);
+    }
+
+    private static AdmissionTicket ticket(String id, String node, AdmissionTicket.Status status) {
+        return new AdmissionTicket(id, "t1", "user-" + id, node, 1, status, Instant.now().minusSeconds(1));
+    }
+}
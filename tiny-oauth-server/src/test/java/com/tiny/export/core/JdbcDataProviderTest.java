@@ -0,0 +1,277 @@
+package com.tiny.export.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JdbcDataProvider 测试类
+ * 在 H2（MySQL 模式）上验证组合排序键的 seek 分页、游标读取和续读
+ */
+class JdbcDataProviderTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private UsageProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:keyset;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE usage_row (id BIGINT PRIMARY KEY, usage_date DATE NOT NULL,"
+            + " tenant_code VARCHAR(16) NOT NULL, amount INT NOT NULL)");
+        List<Object[]> rows = new ArrayList<>();
+        long id = 1;
+        // 3 天 × 3 租户 × 每组 4 行：同一 (usage_date, tenant_code) 内只能靠 id 区分
+        for (int day = 0; day < 3; day++) {
+            for (String tenant : List.of("t-b", "t-a", "t-c")) {
+                for (int i = 0; i < 4; i++) {
+                    rows.add(new Object[]{id, Date.valueOf(LocalDate.of(2024, 1, 1).plusDays(day)), tenant, (int) id});
+                    id++;
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO usage_row VALUES (?, ?, ?, ?)", rows);
+        provider = new UsageProvider(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE usage_row");
+    }
+
+    @Test
+    @DisplayName("测试 KEYSET - 批大小小于相同前缀的行数时不漏行、不重复，顺序与 ORDER BY 一致")
+    void testKeysetMatchesOrderBy() {
+        List<Long> expected = jdbcTemplate.queryForList(
+            "SELECT id FROM usage_row ORDER BY usage_date DESC, tenant_code ASC, id ASC", Long.class);
+        for (int batchSize : new int[]{1, 3, 5, 36, 100}) {
+            assertEquals(expected, ids(provider.fetchIterator(batchSize)), "batchSize=" + batchSize);
+        }
+    }
+
+    @Test
+    @DisplayName("测试 KEYSET - 过滤条件与 seek 条件同时生效")
+    void testKeysetWithFilter() {
+        provider.setFilters(Map.of("tenantCode", "t-a"));
+        try {
+            List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM usage_row WHERE tenant_code = 't-a' ORDER BY usage_date DESC, tenant_code, id", Long.class);
+            assertEquals(expected, ids(provider.fetchIterator(3)));
+        } finally {
+            provider.clearFilters();
+        }
+    }
+
+    @Test
+    @DisplayName("测试 CURSOR - 单条查询流式读取，结果与 KEYSET 相同")
+    void testCursorMatchesKeyset() {
+        List<Long> keyset = ids(provider.fetchIterator(4));
+        provider.setFetchMode(JdbcDataProvider.FetchMode.CURSOR);
+        provider.setCursorFetchSize(10);
+        assertEquals(keyset, ids(provider.fetchIterator(4)));
+    }
+
+    @Test
+    @DisplayName("测试 fetchIteratorAfter - 从某一行的键值之后续读，两种取数方式一致")
+    void testResumeAfterKey() {
+        List<Long> all = ids(provider.fetchIterator(100));
+        ResumableIterator<Long> first = provider.fetchIteratorAfter(5, null);
+        List<Long> head = new ArrayList<>();
+        for (int i = 0; i < 13; i++) {
+            head.add(first.next());
+        }
+        List<Object> key = first.currentKey();
+        assertEquals(3, key.size());
+        assertEquals(head.get(12), ((Number) key.get(2)).longValue());
+
+        List<Long> tail = ids(provider.fetchIteratorAfter(5, key));
+        assertEquals(all.subList(13, all.size()), tail);
+
+        provider.setFetchMode(JdbcDataProvider.FetchMode.CURSOR);
+        provider.setCursorFetchSize(10);
+        assertEquals(all.subList(13, all.size()), ids(provider.fetchIteratorAfter(5, key)));
+    }
+
+    @Test
+    @DisplayName("测试导出当前页 - 按 LIMIT/OFFSET 返回该页，续读时跳过已写出的行")
+    void testPageMode() {
+        List<Long> all = ids(provider.fetchIterator(100));
+        provider.setFilters(Map.of("__mode", "page", "__page", 2, "__pageSize", 10));
+        try {
+            assertEquals(all.subList(10, 20), ids(provider.fetchIterator(100)));
+            List<Object> key = List.of(
+                jdbcTemplate.queryForObject("SELECT usage_date FROM usage_row WHERE id = ?", Date.class, all.get(14)),
+                jdbcTemplate.queryForObject("SELECT tenant_code FROM usage_row WHERE id = ?", String.class, all.get(14)),
+                all.get(14));
+            assertEquals(all.subList(15, 20), ids(provider.fetchIteratorAfter(100, key)));
+        } finally {
+            provider.clearFilters();
+        }
+    }
+
+    @Test
+    @DisplayName("测试 fetchIteratorAfter - 键值列数不一致时拒绝续读")
+    void testResumeKeyArity() {
+        assertThrows(IllegalArgumentException.class, () -> provider.fetchIteratorAfter(5, List.of(1L)));
+    }
+
+    private static List<Long> ids(Iterator<Long> iterator) {
+        List<Long> ids = new ArrayList<>();
+        iterator.forEachRemaining(ids::add);
+        if (iterator instanceof CloseableIterator<?> closeable) {
+            closeable.close();
+        }
+        return ids;
+    }
+
+    /**
+     * 排序键 (usage_date DESC, tenant_code ASC, id ASC)，与示例导出相同的混合方向
+     */
+    @Test
+    @DisplayName("测试 行数估算 - 首列排序键没有索引时 SAMPLED / KEY_RANGE 改用 PLANNER（H2 不支持，视为未知）")
+    void testProbeStrategiesFallBackWithoutLeadingIndex() {
+        provider.setEstimateStrategy(JdbcDataProvider.EstimateStrategy.KEY_RANGE);
+        assertEquals(RowEstimate.UNKNOWN, provider.estimate());
+
+        UsageProvider sampled = new UsageProvider(jdbcTemplate);
+        sampled.setEstimateStrategy(JdbcDataProvider.EstimateStrategy.SAMPLED);
+        assertEquals(RowEstimate.UNKNOWN, sampled.estimate());
+    }
+
+    @Test
+    @DisplayName("测试 行数估算 - 存在以首列排序键开头的索引时按键值探测")
+    void testProbeStrategiesWithLeadingIndex() {
+        jdbcTemplate.execute("CREATE INDEX idx_usage_row_keyset ON usage_row (usage_date DESC, tenant_code, id)");
+
+        provider.setEstimateStrategy(JdbcDataProvider.EstimateStrategy.KEY_RANGE);
+        RowEstimate range = provider.estimate();
+        assertFalse(range.hasRows());
+        assertNotNull(range.keyRange());
+        assertEquals(LocalDate.of(2024, 1, 3).toEpochDay(), range.keyRange().first());
+        assertEquals(LocalDate.of(2024, 1, 1).toEpochDay(), range.keyRange().last());
+
+        // 样本数大于总行数：探测不到第 N 行，统计得到准确行数
+        UsageProvider sampled = new UsageProvider(jdbcTemplate);
+        sampled.setEstimateStrategy(JdbcDataProvider.EstimateStrategy.SAMPLED);
+        sampled.setEstimateSampleRows(100);
+        assertEquals(36, sampled.estimate().rows());
+    }
+
+    @Test
+    @DisplayName("测试 CURSOR - 未配置 fetchSize 时按数据库选择，H2 上使用正数")
+    void testCursorDefaultFetchSize() {
+        assertEquals(Integer.MIN_VALUE, JdbcDataProvider.defaultCursorFetchSize("mysql"));
+        assertEquals(JdbcDataProvider.DEFAULT_CURSOR_FETCH_SIZE, JdbcDataProvider.defaultCursorFetchSize("mariadb"));
+        assertEquals(JdbcDataProvider.DEFAULT_CURSOR_FETCH_SIZE, JdbcDataProvider.defaultCursorFetchSize("postgresql"));
+
+        List<Long> keyset = ids(provider.fetchIterator(4));
+        provider.setFetchMode(JdbcDataProvider.FetchMode.CURSOR);
+        provider.setCursorFetchSize(0);
+        assertEquals(keyset, ids(provider.fetchIterator(4)));
+    }
+
+    @Test
+    @DisplayName("测试 排序键带表别名 - 按去掉别名后的列名读取键值，seek 分页、游标、续读和估算都可用")
+    void testQualifiedKeyColumns() {
+        jdbcTemplate.execute("CREATE INDEX idx_usage_row_keyset ON usage_row (usage_date DESC, tenant_code, id)");
+        List<Long> expected = ids(provider.fetchIterator(100));
+        AliasedUsageProvider aliased = new AliasedUsageProvider(jdbcTemplate);
+
+        assertEquals("id", JdbcDataProvider.KeyColumn.asc("u.id").label());
+        assertEquals(expected, ids(aliased.fetchIterator(5)));
+
+        ResumableIterator<Long> first = aliased.fetchIteratorAfter(5, null);
+        for (int i = 0; i < 7; i++) {
+            first.next();
+        }
+        List<Object> key = first.currentKey();
+        assertEquals(expected.get(6), ((Number) key.get(2)).longValue());
+        assertEquals(expected.subList(7, expected.size()), ids(aliased.fetchIteratorAfter(5, key)));
+
+        aliased.setFetchMode(JdbcDataProvider.FetchMode.CURSOR);
+        assertEquals(expected.subList(7, expected.size()), ids(aliased.fetchIteratorAfter(5, key)));
+
+        aliased.setEstimateStrategy(JdbcDataProvider.EstimateStrategy.KEY_RANGE);
+        assertEquals(LocalDate.of(2024, 1, 3).toEpochDay(), aliased.estimate().keyRange().first());
+    }
+
+    @Test
+    @DisplayName("测试 排序键所在的表 - 默认取 FROM 之后的表名")
+    void testDefaultKeyTable() {
+        assertEquals("usage_row", provider.keyTable());
+    }
+
+    /**
+     * 与 UsageProvider 相同，但 SQL 带表别名，排序键写成 u.usage_date 等
+     */
+    static final class AliasedUsageProvider extends JdbcDataProvider<Long> {
+
+        AliasedUsageProvider(JdbcTemplate jdbcTemplate) {
+            super(jdbcTemplate);
+        }
+
+        @Override
+        protected String selectSql() {
+            return "SELECT u.id, u.usage_date, u.tenant_code, u.amount FROM usage_row u";
+        }
+
+        @Override
+        protected void appendConditions(Map<String, Object> filters, List<String> conditions, List<Object> params) {
+        }
+
+        @Override
+        protected List<KeyColumn> keyColumns() {
+            return List.of(KeyColumn.desc("u.usage_date"), KeyColumn.asc("u.tenant_code"), KeyColumn.asc("u.id"));
+        }
+
+        @Override
+        protected Long mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return rs.getLong("id");
+        }
+    }
+
+    static final class UsageProvider extends JdbcDataProvider<Long> {
+
+        UsageProvider(JdbcTemplate jdbcTemplate) {
+            super(jdbcTemplate);
+        }
+
+        @Override
+        protected String selectSql() {
+            return "SELECT id, usage_date, tenant_code, amount FROM usage_row";
+        }
+
+        @Override
+        protected void appendConditions(Map<String, Object> filters, List<String> conditions, List<Object> params) {
+            if (filters.get("tenantCode") != null) {
+                conditions.add("tenant_code = ?");
+                params.add(filters.get("tenantCode"));
+            }
+        }
+
+        @Override
+        protected List<KeyColumn> keyColumns() {
+            return List.of(KeyColumn.desc("usage_date"), KeyColumn.asc("tenant_code"), KeyColumn.asc("id"));
+        }
+
+        @Override
+        protected Long mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return rs.getLong("id");
+        }
+    }
+}
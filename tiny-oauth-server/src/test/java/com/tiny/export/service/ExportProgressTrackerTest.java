@@ -0,0 +1,108 @@
+package com.tiny.export.service;
+
+import com.tiny.export.core.RowEstimate;
+import com.tiny.export.persistence.ExportTaskEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * ExportProgressTracker 测试类
+ * 验证 SSE 推送与数据库刷新在不同线程执行，慢订阅者不推迟进度落库
+ */
+class ExportProgressTrackerTest {
+
+    private ExportTaskService taskService;
+    private ExportProgressTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(ExportTaskService.class);
+        tracker = new ExportProgressTracker(taskService, 100, 30, 100);
+        tracker.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.stop();
+    }
+
+    @Test
+    @DisplayName("测试 订阅者阻塞在推送中时，进度仍按刷新周期写入数据库")
+    void testBlockedListenerDoesNotDelayFlush() throws Exception {
+        ExportTaskEntity task = new ExportTaskEntity();
+        task.setTaskId("t1");
+        task.setUserId("u1");
+        ExportProgress progress = tracker.track(task, List.of(RowEstimate.ofRows(100)));
+        CountDownLatch pushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            assertTrue(tracker.subscribe("t1", new ExportProgressTracker.Listener() {
+                private boolean first = true;
+
+                @Override
+                public boolean onProgress(ExportTaskEntity view) {
+                    if (first) {
+                        // subscribe 时在调用线程推送一次，不阻塞
+                        first = false;
+                        return true;
+                    }
+                    assertEquals("export-progress-push", Thread.currentThread().getName());
+                    pushing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return true;
+                }
+
+                @Override
+                public void onEnd() {
+                }
+            }));
+            assertTrue(pushing.await(5, TimeUnit.SECONDS));
+
+            progress.increment(42);
+            verify(taskService, timeout(5000).atLeastOnce()).markProgressBatch(anyList());
+        } finally {
+            release.countDown();
+            tracker.untrack(progress);
+        }
+    }
+
+    @Test
+    @DisplayName("测试 推送返回 false 的订阅者被移除，任务结束时其余订阅者收到结束通知")
+    void testDeadListenerRemovedAndEndNotified() throws Exception {
+        ExportTaskEntity task = new ExportTaskEntity();
+        task.setTaskId("t2");
+        ExportProgress progress = tracker.track(task, List.of(RowEstimate.UNKNOWN));
+        CountDownLatch ended = new CountDownLatch(1);
+        ExportProgressTracker.Listener dead = mock(ExportProgressTracker.Listener.class);
+        when(dead.onProgress(any())).thenReturn(false);
+        ExportProgressTracker.Listener alive = mock(ExportProgressTracker.Listener.class);
+        when(alive.onProgress(any())).thenReturn(true);
+        doAnswer(inv -> {
+            ended.countDown();
+            return null;
+        }).when(alive).onEnd();
+
+        tracker.subscribe("t2", dead);
+        tracker.subscribe("t2", alive);
+        verify(alive, timeout(5000).atLeast(2)).onProgress(any());
+        tracker.untrack(progress);
+
+        assertTrue(ended.await(5, TimeUnit.SECONDS));
+        verify(dead, times(1)).onProgress(any());
+        verify(dead, never()).onEnd();
+    }
+}
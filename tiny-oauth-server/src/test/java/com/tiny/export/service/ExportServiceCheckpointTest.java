@@ -0,0 +1,485 @@
+package com.tiny.export.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tiny.export.admission.ExportAdmissionService;
+import com.tiny.export.admission.LocalExportAdmissionStore;
+import com.tiny.export.core.AggregateStrategy;
+import com.tiny.export.core.ColumnNode;
+import com.tiny.export.core.DataProvider;
+import com.tiny.export.core.DefaultTopInfoDecorator;
+import com.tiny.export.core.ExportRequest;
+import com.tiny.export.core.JdbcDataProvider;
+import com.tiny.export.core.ResumableIterator;
+import com.tiny.export.core.SheetConfig;
+import com.tiny.export.persistence.ExportTaskEntity;
+import com.tiny.export.storage.LocalExportFileStore;
+import com.tiny.export.writer.WriterAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExportService 分段导出测试类
+ * 在 H2（MySQL 模式）上验证按键续读、分段合并、截断 sheet 的合计，以及失败后保留断点重新排队
+ */
+class ExportServiceCheckpointTest {
+
+    private static final int ROWS = 12;
+    private static final long PART_ROWS = 5;
+
+    private JdbcTemplate jdbcTemplate;
+    private FlakyProvider provider;
+    private InMemoryTaskService taskService;
+    private RecordingWriter xlsxWriter;
+    private ExportAdmissionService admissionService;
+    private ThreadPoolTaskExecutor executor;
+    private ThreadPoolTaskExecutor fetchExecutor;
+    private Path workDir;
+    private Path checkpointDir;
+    private LocalExportFileStore fileStore;
+    private ExportService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:checkpoint;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE usage_row (id BIGINT PRIMARY KEY, amount INT NOT NULL)");
+        jdbcTemplate.batchUpdate("INSERT INTO usage_row VALUES (?, ?)",
+            IntStream.rangeClosed(1, ROWS).mapToObj(i -> new Object[]{(long) i, i}).toList());
+        provider = new FlakyProvider(jdbcTemplate);
+        provider.setEstimateStrategy(JdbcDataProvider.EstimateStrategy.NONE);
+
+        workDir = Files.createTempDirectory("export-checkpoint-test");
+        checkpointDir = workDir.resolve("parts");
+        fileStore = new LocalExportFileStore(workDir.resolve("files"));
+        taskService = new InMemoryTaskService();
+        xlsxWriter = new RecordingWriter();
+        admissionService = new ExportAdmissionService(new LocalExportAdmissionStore(), 2, 0, 2, 60, 50, 2, "", "");
+        admissionService.start();
+        executor = executor("export-test-");
+        fetchExecutor = executor("export-fetch-test-");
+        service = new ExportService(xlsxWriter, Map.<String, DataProvider<?>>of("usage", provider),
+            new DefaultTopInfoDecorator(), Map.of("sum", new SumStrategy()), executor, taskService,
+            new ObjectMapper(), admissionService, fileStore, new ExportProgressTracker(taskService, 2000, 30, 1000),
+            30, fetchExecutor, true, 4, 2, 1, true, PART_ROWS, checkpointDir.toString(), "local", "");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        admissionService.stop();
+        executor.shutdown();
+        fetchExecutor.shutdown();
+        jdbcTemplate.execute("DROP TABLE usage_row");
+        ExportParts.deleteDirectory(workDir);
+    }
+
+    @Test
+    @DisplayName("测试 XLSX 分段 - 每段按键续读、按顺序打包 zip，只有最后一段写合计且等于全部行之和")
+    void testPartsZippedAndCutSheetTotals() throws Exception {
+        ExportTaskEntity task = runToEnd(request("xlsx", false));
+
+        assertEquals(ExportTaskStatus.SUCCESS, task.getStatus());
+        assertEquals(List.of(Arrays.asList((Object) null), List.of(5L), List.of(10L)), provider.afterKeys);
+        assertEquals(3, xlsxWriter.parts.size());
+        assertEquals(ids(1, 5), xlsxWriter.parts.get(0).ids());
+        assertEquals(ids(6, 10), xlsxWriter.parts.get(1).ids());
+        assertEquals(ids(11, 12), xlsxWriter.parts.get(2).ids());
+        assertEquals(List.of(false, true, true), xlsxWriter.parts.stream().map(Part::continuation).toList());
+        // 截断的 sheet 不写合计，合计中间值随断点带到下一段
+        assertNull(xlsxWriter.parts.get(0).total());
+        assertNull(xlsxWriter.parts.get(1).total());
+        assertEquals(78L, xlsxWriter.parts.get(2).total());
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(open(task))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(List.of("part-001.xlsx", "part-002.xlsx", "part-003.xlsx"), List.copyOf(entries.keySet()));
+        assertEquals(ids(11, 12).toString(), entries.get("part-003.xlsx"));
+        assertFalse(Files.exists(checkpointDir.resolve(task.getTaskId())));
+    }
+
+    @Test
+    @DisplayName("测试 CSV 分段 - 续段不重复表头，拼接结果与一次导出相同")
+    void testCsvPartsConcatenated() throws Exception {
+        ExportTaskEntity task = runToEnd(request("csv", false));
+
+        assertEquals(ExportTaskStatus.SUCCESS, task.getStatus());
+        List<String> lines = new String(open(task).readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        assertEquals(ROWS + 1, lines.size());
+        assertTrue(lines.get(0).endsWith("编号,金额"));
+        for (int i = 1; i <= ROWS; i++) {
+            assertEquals(i + "," + i, lines.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("测试 JSONL gzip 分段 - 结果为多个 gzip 成员的拼接，首个成员只含第一段")
+    void testGzipMembersConcatenated() throws Exception {
+        ExportTaskEntity task = runToEnd(request("jsonl", true));
+
+        assertEquals(ExportTaskStatus.SUCCESS, task.getStatus());
+        byte[] bytes;
+        try (InputStream in = open(task)) {
+            bytes = in.readAllBytes();
+        }
+        List<String> lines;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            lines = new String(gzip.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+        assertEquals(ROWS, lines.size());
+        assertEquals("{\"id\":1,\"amount\":1}", lines.get(0));
+        assertEquals("{\"id\":12,\"amount\":12}", lines.get(ROWS - 1));
+
+        // 手工解开第一个成员（GZIPOutputStream 的头固定 10 字节）
+        Inflater inflater = new Inflater(true);
+        inflater.setInput(bytes, 10, bytes.length - 10);
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        byte[] buf = new byte[256];
+        while (!inflater.finished()) {
+            first.write(buf, 0, inflater.inflate(buf));
+        }
+        assertEquals(PART_ROWS, first.toString(StandardCharsets.UTF_8).lines().count());
+        // 8 字节尾部之后还有后续成员
+        assertTrue(inflater.getRemaining() > 8);
+        inflater.end();
+    }
+
+    @Test
+    @DisplayName("测试 失败重试 - 保留断点重新排队，从最后一个分段的键之后续读，不丢行不重复")
+    void testFailureKeepsCheckpointAndResumes() throws Exception {
+        provider.failAfterKey = List.of(5L);
+        provider.failAtId = 8;
+        provider.failures.set(1);
+
+        ExportTaskEntity task = runToEnd(request("csv", false));
+
+        assertEquals(ExportTaskStatus.SUCCESS, task.getStatus());
+        assertEquals(List.of(ExportTaskStatus.PENDING), taskService.retries.get(task.getTaskId()));
+        // 第一次：从头 → 键 5 之后（失败）；重试：键 5 之后 → 键 10 之后
+        assertEquals(List.of(Arrays.asList((Object) null), List.of(5L), List.of(5L), List.of(10L)), provider.afterKeys);
+        // 重试中保存了新断点，尝试次数重新从 1 算起
+        assertEquals(1, task.getAttempt());
+        List<String> lines = new String(open(task).readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        assertEquals(ROWS + 1, lines.size());
+        for (int i = 1; i <= ROWS; i++) {
+            assertEquals(i + "," + i, lines.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("测试 失败重试 - 连续无进展达到最大尝试次数后失败并清理断点")
+    void testRetriesExhausted() throws Exception {
+        provider.failAtId = 1;
+        provider.failures.set(Integer.MAX_VALUE);
+
+        ExportTaskEntity task = runToEnd(request("csv", false));
+
+        assertEquals(ExportTaskStatus.FAILED, task.getStatus());
+        assertEquals(3, task.getAttempt());
+        assertEquals(2, taskService.retries.get(task.getTaskId()).size());
+        assertNull(task.getCheckpoint());
+        assertFalse(Files.exists(checkpointDir.resolve(task.getTaskId())));
+    }
+
+    @Test
+    @DisplayName("测试 分段目录 - 共享存储下默认放在共享目录中，本地存储默认放在临时目录，显式配置优先")
+    void testResolveCheckpointDir() {
+        Path tmp = Path.of(System.getProperty("java.io.tmpdir")).toAbsolutePath();
+        Path shared = workDir.resolve("shared").toAbsolutePath();
+
+        assertEquals(shared.resolve(".checkpoint-parts"),
+            ExportService.resolveCheckpointDir("", "shared", shared.toString()));
+        assertEquals(tmp.resolve("tiny-export-parts"), ExportService.resolveCheckpointDir(null, "local", ""));
+        assertEquals(tmp.resolve("x"), ExportService.resolveCheckpointDir(tmp.resolve("x").toString(), "shared",
+            shared.toString()));
+    }
+
+    private ExportTaskEntity runToEnd(ExportRequest request) throws InterruptedException {
+        String taskId = service.submitAsync(request, "u1");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (System.nanoTime() < deadline) {
+            ExportTaskEntity task = taskService.tasks.get(taskId);
+            if (task.getStatus() == ExportTaskStatus.SUCCESS || task.getStatus() == ExportTaskStatus.FAILED) {
+                return task;
+            }
+            Thread.sleep(20);
+        }
+        fail("export task did not finish: " + taskService.tasks.get(taskId).getStatus());
+        return null;
+    }
+
+    private InputStream open(ExportTaskEntity task) throws IOException {
+        return Files.newInputStream(fileStore.localPath(task.getFilePath()).orElseThrow());
+    }
+
+    private static ExportRequest request(String format, boolean gzip) {
+        SheetConfig sheet = new SheetConfig();
+        sheet.setSheetName("usage");
+        sheet.setExportType("usage");
+        sheet.setAggregateKey("sum");
+        sheet.setColumns(List.of(new ColumnNode("编号", "id", null), new ColumnNode("金额", "amount", null)));
+        ExportRequest request = new ExportRequest();
+        request.setFileName("usage");
+        request.setFormat(format);
+        request.setGzip(gzip);
+        request.setSheets(List.of(sheet));
+        return request;
+    }
+
+    private static List<Long> ids(long from, long to) {
+        List<Long> ids = new ArrayList<>();
+        for (long i = from; i <= to; i++) {
+            ids.add(i);
+        }
+        return ids;
+    }
+
+    private static ThreadPoolTaskExecutor executor(String prefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setThreadNamePrefix(prefix);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 按 id 升序导出，记录每次续读的起点；failures 大于 0 时，从 failAfterKey 之后续读的迭代器读到 id == failAtId 的行抛出异常
+     * （取数线程会预读到分段截断点之后，按续读起点限定失败的分段）
+     */
+    static final class FlakyProvider extends JdbcDataProvider<Map<String, Object>> {
+
+        final List<List<Object>> afterKeys = new CopyOnWriteArrayList<>();
+        final AtomicInteger failures = new AtomicInteger();
+        volatile List<Object> failAfterKey;
+        volatile long failAtId = -1;
+
+        FlakyProvider(JdbcTemplate jdbcTemplate) {
+            super(jdbcTemplate);
+        }
+
+        @Override
+        public ResumableIterator<Map<String, Object>> fetchIteratorAfter(int batchSize, List<Object> afterKey) {
+            afterKeys.add(afterKey == null ? Arrays.asList((Object) null) : afterKey);
+            ResumableIterator<Map<String, Object>> delegate = super.fetchIteratorAfter(batchSize, afterKey);
+            boolean flaky = Objects.equals(afterKey, failAfterKey);
+            return new ResumableIterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return delegate.hasNext();
+                }
+
+                @Override
+                public Map<String, Object> next() {
+                    Map<String, Object> row = delegate.next();
+                    if (flaky && ((Number) row.get("id")).longValue() == failAtId && failures.getAndDecrement() > 0) {
+                        throw new IllegalStateException("simulated failure at id " + failAtId);
+                    }
+                    return row;
+                }
+
+                @Override
+                public List<Object> currentKey() {
+                    return delegate.currentKey();
+                }
+
+                @Override
+                public void close() {
+                    delegate.close();
+                }
+            };
+        }
+
+        @Override
+        protected String selectSql() {
+            return "SELECT id, amount FROM usage_row";
+        }
+
+        @Override
+        protected void appendConditions(Map<String, Object> filters, List<String> conditions, List<Object> params) {
+        }
+
+        @Override
+        protected List<KeyColumn> keyColumns() {
+            return List.of(KeyColumn.asc("id"));
+        }
+
+        @Override
+        protected Map<String, Object> mapRow(ResultSet rs, int rowNum) throws SQLException {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", rs.getLong("id"));
+            row.put("amount", rs.getInt("amount"));
+            return row;
+        }
+    }
+
+    static final class SumStrategy implements AggregateStrategy {
+
+        @Override
+        public boolean isAggregate(String fieldName) {
+            return "amount".equals(fieldName);
+        }
+
+        @Override
+        public Object accumulate(String fieldName, Object currentValue, Object accumulatedValue) {
+            long sum = accumulatedValue == null ? 0 : ((Number) accumulatedValue).longValue();
+            return sum + ((Number) currentValue).longValue();
+        }
+
+        @Override
+        public Object finalize(String fieldName, Object accumulatedValue) {
+            return accumulatedValue;
+        }
+    }
+
+    record Part(List<Long> ids, boolean continuation, Object total) {
+    }
+
+    /**
+     * 记录每个分段收到的行与合计，文件内容写出行的 id 列表
+     */
+    static final class RecordingWriter implements WriterAdapter {
+
+        final List<Part> parts = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void writeMultiSheet(OutputStream out, List<SheetWriteModel> sheets) throws Exception {
+            for (SheetWriteModel sheet : sheets) {
+                List<Long> ids = new ArrayList<>();
+                Iterator<List<Object>> rows = sheet.getRows();
+                while (rows.hasNext()) {
+                    ids.add(((Number) rows.next().get(0)).longValue());
+                }
+                Object total = sheet.getStrategy() == null ? null
+                    : sheet.getStrategy().finalize("amount", sheet.getSumMap().get("amount"));
+                parts.add(new Part(ids, sheet.isContinuation(), total));
+                out.write(ids.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * 内存中的任务表：只实现导出流程用到的状态变更
+     */
+    static final class InMemoryTaskService extends ExportTaskService {
+
+        final Map<String, ExportTaskEntity> tasks = new ConcurrentHashMap<>();
+        final Map<String, List<ExportTaskStatus>> retries = new ConcurrentHashMap<>();
+
+        InMemoryTaskService() {
+            super(null, null, null);
+        }
+
+        @Override
+        public ExportTaskEntity createPendingTask(String taskId, String userId, String username, Integer sheetCount,
+                                                  String queryParamsJson, LocalDateTime expireAt) {
+            ExportTaskEntity entity = new ExportTaskEntity();
+            entity.setTaskId(taskId);
+            entity.setUserId(userId);
+            entity.setStatus(ExportTaskStatus.PENDING);
+            entity.setAttempt(0);
+            tasks.put(taskId, entity);
+            retries.put(taskId, new CopyOnWriteArrayList<>());
+            return entity;
+        }
+
+        @Override
+        public ExportTaskEntity markRunning(String taskId, String workerId) {
+            ExportTaskEntity entity = tasks.get(taskId);
+            entity.setStatus(ExportTaskStatus.RUNNING);
+            entity.setAttempt(entity.getAttempt() + 1);
+            return entity;
+        }
+
+        @Override
+        public void markProgressBatch(List<ProgressUpdate> updates) {
+        }
+
+        @Override
+        public ExportTaskEntity saveCheckpoint(String taskId, String checkpointJson, long processedRows) {
+            ExportTaskEntity entity = tasks.get(taskId);
+            entity.setCheckpoint(checkpointJson);
+            entity.setProcessedRows(processedRows);
+            entity.setAttempt(1);
+            return entity;
+        }
+
+        @Override
+        public ExportTaskEntity clearCheckpoint(String taskId) {
+            ExportTaskEntity entity = tasks.get(taskId);
+            entity.setCheckpoint(null);
+            return entity;
+        }
+
+        @Override
+        public ExportTaskEntity markRetrying(String taskId, String errorMsg, String errorCode) {
+            ExportTaskEntity entity = tasks.get(taskId);
+            entity.setStatus(ExportTaskStatus.PENDING);
+            entity.setErrorCode(errorCode);
+            retries.get(taskId).add(ExportTaskStatus.PENDING);
+            return entity;
+        }
+
+        @Override
+        public ExportTaskEntity markFailed(String taskId, String errorMsg, String errorCode) {
+            ExportTaskEntity entity = tasks.get(taskId);
+            entity.setErrorCode(errorCode);
+            entity.setStatus(ExportTaskStatus.FAILED);
+            return entity;
+        }
+
+        @Override
+        public ExportTaskEntity markSuccess(String taskId, String filePath, String downloadUrl, Long totalRows) {
+            ExportTaskEntity entity = tasks.get(taskId);
+            entity.setFilePath(filePath);
+            entity.setCheckpoint(null);
+            entity.setTotalRows(totalRows);
+            entity.setStatus(ExportTaskStatus.SUCCESS);
+            return entity;
+        }
+
+        @Override
+        public Optional<ExportTaskEntity> findByTaskId(String taskId) {
+            return Optional.ofNullable(tasks.get(taskId));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.tiny.export.service;
+
+import com.tiny.export.persistence.ExportTaskEntity;
+import com.tiny.export.persistence.ExportTaskRepository;
+import com.tiny.export.storage.ExportFileStore;
+import com.tiny.export.storage.LocalExportFileStore;
+import com.tiny.export.storage.StoredExportFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * ExportTaskService 测试类
+ * 验证过期任务清理先通过 ExportFileStore 删除结果文件，再删除任务记录
+ */
+class ExportTaskServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 8, 0, 0);
+
+    private Path workDir;
+    private ExportTaskRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        workDir = Files.createTempDirectory("export-task-cleanup-test");
+        repository = mock(ExportTaskRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        ExportParts.deleteDirectory(workDir);
+    }
+
+    @Test
+    @DisplayName("测试 过期清理 - 结果文件通过存储删除，任务记录随后删除")
+    void testCleanupDeletesFilesThroughStore() throws Exception {
+        LocalExportFileStore store = new LocalExportFileStore(workDir.resolve("files"));
+        StoredExportFile stored = store.save("t1", Files.writeString(workDir.resolve("result.csv"), "a,b"), "usage.csv");
+        assertTrue(store.find(stored.key()).isPresent());
+        when(repository.findTop500ByExpireAtLessThanOrderByExpireAtAsc(NOW))
+            .thenReturn(List.of(task(1L, "t1", stored.key()), task(2L, "t2", null)));
+
+        int deleted = new ExportTaskService(repository, null, store).cleanupExpired(NOW);
+
+        assertEquals(2, deleted);
+        assertTrue(store.find(stored.key()).isEmpty());
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("测试 过期清理 - 文件删除失败的任务保留记录，留到下一轮")
+    void testCleanupKeepsTaskWhenFileDeleteFails() throws Exception {
+        ExportFileStore store = mock(ExportFileStore.class);
+        doThrow(new IOException("nfs unavailable")).when(store).delete("broken");
+        when(repository.findTop500ByExpireAtLessThanOrderByExpireAtAsc(NOW))
+            .thenReturn(List.of(task(1L, "t1", "broken"), task(2L, "t2", "ok")));
+
+        int deleted = new ExportTaskService(repository, null, store).cleanupExpired(NOW);
+
+        assertEquals(1, deleted);
+        verify(store).delete("ok");
+        verify(repository).deleteAllByIdInBatch(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("测试 过期清理 - 满批时继续下一批，整批都失败时停止")
+    void testCleanupBatches() throws Exception {
+        ExportFileStore store = mock(ExportFileStore.class);
+        List<ExportTaskEntity> fullBatch = new ArrayList<>();
+        for (long i = 0; i < 500; i++) {
+            fullBatch.add(task(i, "t" + i, null));
+        }
+        when(repository.findTop500ByExpireAtLessThanOrderByExpireAtAsc(NOW))
+            .thenReturn(fullBatch, List.of(task(500L, "last", null)));
+
+        assertEquals(501, new ExportTaskService(repository, null, store).cleanupExpired(NOW));
+
+        List<ExportTaskEntity> failing = new ArrayList<>();
+        for (long i = 0; i < 500; i++) {
+            failing.add(task(i, "f" + i, "f" + i));
+        }
+        reset(repository);
+        when(repository.findTop500ByExpireAtLessThanOrderByExpireAtAsc(NOW)).thenReturn(failing);
+        doThrow(new IOException("down")).when(store).delete(any());
+
+        assertEquals(0, new ExportTaskService(repository, null, store).cleanupExpired(NOW));
+        verify(repository, times(1)).findTop500ByExpireAtLessThanOrderByExpireAtAsc(NOW);
+        verify(repository, never()).deleteAllByIdInBatch(any());
+    }
+
+    private static ExportTaskEntity task(Long id, String taskId, String filePath) {
+        ExportTaskEntity task = new ExportTaskEntity();
+        // id 由数据库生成，实体没有 setter
+        ReflectionTestUtils.setField(task, "id", id);
+        task.setTaskId(taskId);
+        task.setFilePath(filePath);
+        task.setExpireAt(NOW.minusDays(1));
+        return task;
+    }
+}
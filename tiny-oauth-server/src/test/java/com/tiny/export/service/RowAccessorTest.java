@@ -0,0 +1,77 @@
+package com.tiny.export.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RowAccessor 测试类
+ * 验证各种行类型的按列读取以及按类缓存的上限
+ */
+class RowAccessorTest {
+
+    record RecordRow(String name, int age) {
+    }
+
+    static class Base {
+        private final String region = "cn";
+    }
+
+    static class BeanRow extends Base {
+        private final String code = "c1";
+        private final boolean active = true;
+
+        public String getCode() {
+            return code + "-getter";
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+    }
+
+    @Test
+    @DisplayName("测试 record 行 - 按组件访问器读取，未知列为 null")
+    void testRecordRow() {
+        RowAccessor accessor = RowAccessor.of(RecordRow.class, List.of("age", "name", "missing"));
+        assertEquals(Arrays.asList(30, "alice", null), accessor.read(new RecordRow("alice", 30)));
+    }
+
+    @Test
+    @DisplayName("测试普通类 - getter 优先，没有 getter 时读取字段（含父类字段）")
+    void testBeanRow() {
+        RowAccessor accessor = RowAccessor.of(BeanRow.class, List.of("code", "active", "region"));
+        assertEquals(List.of("c1-getter", true, "cn"), accessor.read(new BeanRow()));
+    }
+
+    @Test
+    @DisplayName("测试 Map 行 - 直接按列名读取")
+    void testMapRow() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("a", 1);
+        row.put("b", "x");
+        RowAccessor accessor = RowAccessor.of(LinkedHashMap.class, List.of("b", "a", "c"));
+        assertEquals(Arrays.asList("x", 1, null), accessor.read(row));
+    }
+
+    @Test
+    @DisplayName("测试缓存 - 同一列清单复用访问器，列清单超过上限时淘汰最久未用的")
+    void testCacheIsBounded() {
+        List<String> first = List.of("name");
+        RowAccessor cached = RowAccessor.of(RecordRow.class, first);
+        assertSame(cached, RowAccessor.of(RecordRow.class, first));
+
+        for (int i = 0; i < RowAccessor.MAX_ACCESSORS_PER_TYPE; i++) {
+            RowAccessor.of(RecordRow.class, List.of("name", "col" + i));
+        }
+        RowAccessor recompiled = RowAccessor.of(RecordRow.class, first);
+        assertNotSame(cached, recompiled);
+        assertEquals(List.of("bob"), recompiled.read(new RecordRow("bob", 1)));
+    }
+}
@@ -0,0 +1,211 @@
+package com.tiny.export.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RowPipeline 测试类
+ * 验证取数/写出流水线的顺序、背压、异常传递与资源释放
+ */
+class RowPipelineTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("测试顺序 - 跨批次逐行读出，顺序与数据源一致")
+    void testPreservesOrder() {
+        RowPipeline pipeline = new RowPipeline(new CountingSource(1003), toRow(), executor, 10, 2, null);
+        List<Object> values = new ArrayList<>();
+        pipeline.forEachRemaining(row -> values.add(row.get(0)));
+        pipeline.close();
+        assertEquals(1003, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(i, values.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("测试背压 - 不消费时生产者最多预读 inFlightBatches 批")
+    void testBackpressure() throws InterruptedException {
+        CountingSource source = new CountingSource(10_000);
+        RowPipeline pipeline = new RowPipeline(source, toRow(), executor, 10, 3, null);
+        pipeline.start();
+        Thread.sleep(300);
+        // 3 批在队列中，第 4 批已读满、等待入队
+        assertTrue(source.produced.get() <= 40, "produced " + source.produced.get());
+        assertTrue(pipeline.hasNext());
+        pipeline.close();
+        assertTrue(source.closed.get());
+    }
+
+    @Test
+    @DisplayName("测试异常 - 取数异常在写出线程的 hasNext 中抛出，之前的行照常读出")
+    void testFailurePropagates() {
+        Iterator<Integer> failing = new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                if (next == 25) {
+                    throw new IllegalStateException("boom");
+                }
+                return next++;
+            }
+        };
+        RowPipeline pipeline = new RowPipeline(failing, toRow(), executor, 10, 2, null);
+        AtomicInteger read = new AtomicInteger();
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> {
+            while (pipeline.hasNext()) {
+                pipeline.next();
+                read.incrementAndGet();
+            }
+        });
+        assertEquals("boom", ex.getMessage());
+        pipeline.close();
+        // 两个满批已入队，失败时未满的第三批丢弃
+        assertEquals(20, read.get());
+    }
+
+    @Test
+    @DisplayName("测试关闭 - 未启动的流水线关闭时直接释放数据源")
+    void testCloseBeforeStart() {
+        CountingSource source = new CountingSource(5);
+        RowPipeline pipeline = new RowPipeline(source, toRow(), executor, 10, 2, null);
+        pipeline.close();
+        assertTrue(source.closed.get());
+        assertEquals(0, source.produced.get());
+        assertFalse(pipeline.hasNext());
+    }
+
+    @Test
+    @DisplayName("测试溢写 - 内存满后不阻塞生产者，读出顺序不变，关闭后删除溢写文件")
+    void testSpillKeepsOrderAndIsDeleted() throws Exception {
+        String prefix = "pipeline-test-" + UUID.randomUUID() + "-";
+        CountingSource source = new CountingSource(1000);
+        RowPipeline pipeline = new RowPipeline(source, toRow(), executor, 10, 1, new SpillFile(prefix));
+        pipeline.start();
+        // 不消费：只能靠溢写读完全部数据
+        for (int i = 0; i < 100 && !source.closed.get(); i++) {
+            Thread.sleep(20);
+        }
+        assertTrue(source.closed.get(), "producer should finish by spilling");
+        assertEquals(1, spillFiles(prefix));
+
+        List<Object> values = new ArrayList<>();
+        pipeline.forEachRemaining(row -> values.add(row.get(0)));
+        assertEquals(1000, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(i, values.get(i));
+        }
+        pipeline.close();
+        assertEquals(0, spillFiles(prefix));
+    }
+
+    @Test
+    @DisplayName("测试溢写 - close 被中断提前返回时，由生产者结束时删除溢写文件")
+    void testSpillDeletedWhenCloseIsInterrupted() throws Exception {
+        String prefix = "pipeline-test-" + UUID.randomUUID() + "-";
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Object, List<Object>> transform = item -> {
+            if ((Integer) item == 50) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return List.of(item);
+        };
+        RowPipeline pipeline = new RowPipeline(new CountingSource(1000), transform, executor, 10, 1,
+            new SpillFile(prefix));
+        pipeline.start();
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        assertEquals(1, spillFiles(prefix));
+
+        Thread.currentThread().interrupt();
+        pipeline.close();
+        assertTrue(Thread.interrupted(), "close should keep the interrupt flag");
+        assertEquals(1, spillFiles(prefix), "producer still running, file not yet deleted");
+
+        release.countDown();
+        for (int i = 0; i < 100 && spillFiles(prefix) > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, spillFiles(prefix));
+    }
+
+    private static long spillFiles(String prefix) throws IOException {
+        try (var files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(f -> f.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+
+    private static Function<Object, List<Object>> toRow() {
+        return item -> List.of(item);
+    }
+
+    /**
+     * 产出 0..n-1 并记录读取数量与是否被关闭
+     */
+    static final class CountingSource implements Iterator<Integer>, AutoCloseable {
+        private final int size;
+        final AtomicInteger produced = new AtomicInteger();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        CountingSource(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return produced.get() < size;
+        }
+
+        @Override
+        public Integer next() {
+            return produced.getAndIncrement();
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.tiny.export.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SpillFile 测试类
+ * 验证溢写批次读回后的类型、值与排序键
+ */
+class SpillFileTest {
+
+    @Test
+    @DisplayName("测试读写 - 常见单元格类型读回后类型与值不变")
+    void testRoundTrip() throws Exception {
+        List<Object> row = Arrays.asList("text", 1, 2L, 1.5d, new BigDecimal("12.3400"), true,
+            LocalDate.of(2024, 2, 29), LocalDateTime.of(2024, 1, 1, 8, 30, 15, 123_000_000),
+            Timestamp.valueOf("2024-01-01 00:00:00.000000001"), java.sql.Date.valueOf("2024-03-01"), null);
+        try (SpillFile spill = new SpillFile("spill-test-")) {
+            SpillFile.Ref first = spill.write(List.of(row));
+            SpillFile.Ref second = spill.write(List.of(List.of("a"), List.of("b")));
+            assertEquals(List.of(List.of("a"), List.of("b")), spill.read(second));
+            List<Object> read = spill.read(first).get(0);
+            assertEquals(row, read);
+            for (int i = 0; i < row.size(); i++) {
+                if (row.get(i) != null) {
+                    assertEquals(row.get(i).getClass(), read.get(i).getClass(), "column " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("测试排序键 - 带键的行经过溢写后仍带键")
+    void testKeyedRowKeepsKey() throws Exception {
+        List<Object> key = Arrays.asList(LocalDate.of(2024, 1, 2), "t-a", 7L);
+        try (SpillFile spill = new SpillFile("spill-test-")) {
+            SpillFile.Ref ref = spill.write(List.of(new ExportService.KeyedRow(List.of("v", 1), key), List.of("plain")));
+            List<List<Object>> batch = spill.read(ref);
+            ExportService.KeyedRow keyed = assertInstanceOf(ExportService.KeyedRow.class, batch.get(0));
+            assertEquals(List.of("v", 1), keyed.values);
+            assertEquals(key, keyed.key);
+            assertFalse(batch.get(1) instanceof ExportService.KeyedRow);
+        }
+    }
+}
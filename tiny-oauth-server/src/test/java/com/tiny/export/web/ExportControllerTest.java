@@ -0,0 +1,92 @@
+package com.tiny.export.web;
+
+import com.tiny.export.persistence.ExportTaskEntity;
+import com.tiny.export.service.ExportProgressTracker;
+import com.tiny.export.service.ExportService;
+import com.tiny.export.service.ExportTaskService;
+import com.tiny.export.service.ExportTaskStatus;
+import com.tiny.export.storage.ExportFileStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * ExportController 测试类
+ * 验证任务查询与进度订阅只对任务发起人和管理员开放
+ */
+class ExportControllerTest {
+
+    private ExportTaskService taskService;
+    private ExportProgressTracker tracker;
+    private ExportController controller;
+
+    @BeforeEach
+    void setUp() {
+        taskService = mock(ExportTaskService.class);
+        tracker = mock(ExportProgressTracker.class);
+        controller = new ExportController(mock(ExportService.class), taskService, mock(ExportFileStore.class), tracker);
+        ExportTaskEntity task = new ExportTaskEntity();
+        task.setTaskId("t1");
+        task.setUserId("alice");
+        task.setStatus(ExportTaskStatus.RUNNING);
+        when(taskService.findByTaskId("t1")).thenReturn(Optional.of(task));
+        when(tracker.liveView(any())).thenReturn(Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("测试 进度订阅 - 其他用户订阅返回 403 且不登记订阅")
+    void testStreamProgressForbiddenForOtherUser() {
+        login("bob");
+
+        ResponseEntity<?> response = controller.streamProgress("t1");
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verify(tracker, never()).subscribe(any(), any());
+    }
+
+    @Test
+    @DisplayName("测试 进度订阅 - 发起人与管理员可以订阅")
+    void testStreamProgressAllowedForOwnerAndAdmin() {
+        when(tracker.subscribe(eq("t1"), any())).thenReturn(true);
+
+        login("alice");
+        assertEquals(HttpStatus.OK, controller.streamProgress("t1").getStatusCode());
+        login("root", "ROLE_ADMIN");
+        assertEquals(HttpStatus.OK, controller.streamProgress("t1").getStatusCode());
+        verify(tracker, times(2)).subscribe(eq("t1"), any());
+    }
+
+    @Test
+    @DisplayName("测试 任务查询 - 其他用户返回 403，发起人可以查看，不存在返回 404")
+    void testGetTaskChecksOwner() {
+        login("bob");
+        assertEquals(HttpStatus.FORBIDDEN, controller.getTask("t1").getStatusCode());
+        login("alice");
+        assertEquals(HttpStatus.OK, controller.getTask("t1").getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.getTask("missing").getStatusCode());
+    }
+
+    private static void login(String user, String... authorities) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null,
+            List.of(authorities).stream().map(SimpleGrantedAuthority::new).toList()));
+    }
+}
@@ -0,0 +1,163 @@
+package com.tiny.export.writer.text;
+
+import com.tiny.export.core.ExportFormat;
+import com.tiny.export.service.SheetWriteModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TextWriterAdapter 测试类
+ * 验证 CSV 转义与公式注入防护、JSONL 编码、gzip 与多 sheet zip 输出
+ */
+class TextWriterAdapterTest {
+
+    private static final String BOM = "﻿";
+
+    @Test
+    @DisplayName("测试 CSV - 按 RFC 4180 转义逗号、引号和换行")
+    void testCsvQuoting() throws Exception {
+        String csv = csv(sheet("s", List.of("a", "b", "c"),
+            Arrays.asList("x,y", "say \"hi\"", "line1\nline2"),
+            Arrays.asList("plain", null, 42)));
+        assertEquals(BOM + "a,b,c\n\"x,y\",\"say \"\"hi\"\"\",\"line1\nline2\"\nplain,,42\n", csv);
+    }
+
+    @Test
+    @DisplayName("测试 CSV - 公式字符开头的文本单元格加 ' 前缀并加引号，数值不受影响")
+    void testCsvFormulaNeutralised() throws Exception {
+        String csv = csv(sheet("s", List.of("v"),
+            List.of("=SUM(A1:A2)"), List.of("+1+1"), List.of("-2+3"), List.of("@cmd"), List.of("\tx"), List.of("\rx"),
+            List.of("=\"a\",b"), List.of(-5), List.of(new BigDecimal("-1.50")), List.of("a=b")));
+        String[] lines = csv.substring(BOM.length()).split("\n", -1);
+        assertEquals("\"'=SUM(A1:A2)\"", lines[1]);
+        assertEquals("\"'+1+1\"", lines[2]);
+        assertEquals("\"'-2+3\"", lines[3]);
+        assertEquals("\"'@cmd\"", lines[4]);
+        assertEquals("\"'\tx\"", lines[5]);
+        assertEquals("\"'\rx\"", lines[6]);
+        assertEquals("\"'=\"\"a\"\",b\"", lines[7]);
+        assertEquals("-5", lines[8]);
+        assertEquals("-1.50", lines[9]);
+        assertEquals("a=b", lines[10]);
+    }
+
+    @Test
+    @DisplayName("测试 CSV - 以 + / - 开头的数值文本按原样写出，不加 ' 前缀")
+    void testCsvNumericStringsNotNeutralised() throws Exception {
+        String csv = csv(sheet("s", List.of("v"),
+            List.of("-5"), List.of("-12.50"), List.of("+3"), List.of("-1e5"), List.of("-.5"), List.of("-"), List.of("-5-"),
+            List.of("-1,000")));
+        String[] lines = csv.substring(BOM.length()).split("\n", -1);
+        assertEquals("-5", lines[1]);
+        assertEquals("-12.50", lines[2]);
+        assertEquals("+3", lines[3]);
+        assertEquals("-1e5", lines[4]);
+        assertEquals("-.5", lines[5]);
+        assertEquals("\"'-\"", lines[6]);
+        assertEquals("\"'-5-\"", lines[7]);
+        assertEquals("\"'-1,000\"", lines[8]);
+    }
+
+    @Test
+    @DisplayName("测试 JSONL - 公式字符开头的文本按原文写出，不加 ' 前缀")
+    void testJsonLinesNotNeutralised() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TextWriterAdapter(ExportFormat.JSONL, false, false).writeMultiSheet(out, List.of(
+            sheet("s", List.of("a", "b", "c"), List.of("=SUM(A1)", "-2+3", "-5"))));
+        assertEquals("{\"a\":\"=SUM(A1)\",\"b\":\"-2+3\",\"c\":\"-5\"}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("测试 CSV - 日期时间按 ISO-8601 写出，续段不写 BOM 和表头")
+    void testCsvContinuation() throws Exception {
+        SheetWriteModel first = sheet("s", List.of("d", "t"),
+            List.of(LocalDate.of(2024, 1, 2), LocalDateTime.of(2024, 1, 2, 3, 4, 5)));
+        SheetWriteModel next = sheet("s", List.of("d", "t"), List.of(LocalDate.of(2024, 1, 3), "x"));
+        next.setContinuation(true);
+        assertEquals(BOM + "d,t\n2024-01-02,2024-01-02T03:04:05\n", csv(first));
+        assertEquals("2024-01-03,x\n", csv(next));
+    }
+
+    @Test
+    @DisplayName("测试 JSONL - 每行一个对象，控制字符转义，多 sheet 带 _sheet")
+    void testJsonLines() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TextWriterAdapter(ExportFormat.JSONL, false, true).writeMultiSheet(out, List.of(
+            sheet("users", List.of("name", "n"), Arrays.asList("a\"b\\c\n\u0001", 1), Arrays.asList(null, Double.NaN))));
+        assertEquals("{\"_sheet\":\"users\",\"name\":\"a\\\"b\\\\c\\n\\u0001\",\"n\":1}\n"
+            + "{\"_sheet\":\"users\",\"name\":null,\"n\":null}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("测试 gzip - 输出为完整 gzip 流，解压后与未压缩内容一致")
+    void testGzip() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TextWriterAdapter(ExportFormat.CSV, true, false).writeMultiSheet(out, List.of(
+            sheet("s", List.of("a"), List.of("x"), List.of("y"))));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(BOM + "a\nx\ny\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("测试多 sheet CSV - 输出 zip，重名 sheet（含大小写不同）不互相覆盖")
+    void testZipEntryNamesAreUnique() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TextWriterAdapter(ExportFormat.CSV, false, true).writeMultiSheet(out, List.of(
+            sheet("用户", List.of("a"), List.of("1")),
+            sheet("用户", List.of("a"), List.of("2")),
+            sheet("a/b", List.of("a"), List.of("3")),
+            sheet("A_B", List.of("a"), List.of("4"))));
+        List<String> names = new ArrayList<>();
+        List<String> contents = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8)) {
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                names.add(entry.getName());
+                contents.add(new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(List.of("用户.csv", "用户 (2).csv", "a_b.csv", "A_B (2).csv"), names);
+        assertEquals(BOM + "a\n2\n", contents.get(1));
+    }
+
+    @Test
+    @DisplayName("测试 uniqueEntryName - 已用名称依次加序号")
+    void testUniqueEntryName() {
+        Set<String> used = new HashSet<>();
+        assertEquals("x.csv", TextWriterAdapter.uniqueEntryName("x", used));
+        assertEquals("x (2).csv", TextWriterAdapter.uniqueEntryName("x", used));
+        assertEquals("X (3).csv", TextWriterAdapter.uniqueEntryName("X", used));
+    }
+
+    private static String csv(SheetWriteModel sheet) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TextWriterAdapter(ExportFormat.CSV, false, false).writeMultiSheet(out, List.of(sheet));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @SafeVarargs
+    private static SheetWriteModel sheet(String name, List<String> fields, List<Object>... rows) {
+        List<List<String>> head = new ArrayList<>();
+        for (String field : fields) {
+            head.add(List.of(field));
+        }
+        return new SheetWriteModel(name, head, Arrays.asList(rows).iterator(), List.of(), fields, null, null);
+    }
+}